@@ -0,0 +1,24 @@
+-- Borrow and return requests for load-benchmark.sh: wrk -s borrow-return.lua <url> -- <borrower> <first book> <books> <threads>
+-- Each thread cycles through its own slice of the seeded books, borrowing the whole slice and then
+-- returning it. While the slice is larger than the thread's connections, a book is only returned
+-- once its borrow has completed. Books left on loan by an earlier run fail one borrow and recover.
+local threads = 0
+
+function setup(thread)
+    thread:set("index", threads)
+    threads = threads + 1
+end
+
+function init(args)
+    borrower = args[1]
+    slice = math.floor(tonumber(args[3]) / tonumber(args[4]))
+    first_book = tonumber(args[2]) + index * slice
+    n = 0
+end
+
+function request()
+    local book = first_book + n % slice
+    local action = (math.floor(n / slice) % 2 == 0) and "borrow" or "return"
+    n = n + 1
+    return wrk.format("POST", "/api/v1/library/" .. action .. "/" .. borrower .. "/" .. book)
+end
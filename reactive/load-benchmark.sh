@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Compares the servlet and reactive services under load with wrk.
+# Both services must be running against the same migrated database: the servlet service on
+# SERVLET_URL and the reactive service on REACTIVE_URL. A borrower and BOOKS books are registered,
+# then each service gets a catalog read run and a borrow/return run per connection count.
+# Results are printed and written to target/load-benchmark.txt.
+#
+# Usage: ./load-benchmark.sh [duration] [connections...]    e.g. ./load-benchmark.sh 60s 64 256 1024
+set -euo pipefail
+cd "$(dirname "$0")"
+
+DURATION=${1:-30s}
+CONNECTIONS=(64 256 1024)
+if [ $# -gt 1 ]; then
+    CONNECTIONS=("${@:2}")
+fi
+SERVLET_URL=${SERVLET_URL:-http://localhost:8080}
+REACTIVE_URL=${REACTIVE_URL:-http://localhost:8081}
+BOOKS=${BOOKS:-4096}
+THREADS=${THREADS:-$(nproc)}
+RESULTS=target/load-benchmark.txt
+
+command -v wrk > /dev/null || { echo "wrk is required" >&2; exit 1; }
+
+post_json() {
+    curl -sf -X POST -H 'Content-Type: application/json' -d "$2" "$SERVLET_URL$1"
+}
+
+# Prints a valid ISBN-13 for a sequence number
+isbn() {
+    local digits sum=0 i
+    digits=$(printf '978%09d' "$1")
+    for ((i = 0; i < 12; i++)); do
+        sum=$((sum + ${digits:i:1} * (i % 2 == 0 ? 1 : 3)))
+    done
+    echo "$digits$(((10 - sum % 10) % 10))"
+}
+
+borrower=$(post_json /api/v1/borrowers/register \
+    '{"name":"Load Tester","email":"load.tester@example.com"}' | grep -o '"id":[0-9]*' | cut -d: -f2)
+first_book=""
+for ((i = 1; i <= BOOKS; i++)); do
+    id=$(post_json /api/v1/books/register \
+        "{\"isbn\":\"$(isbn "$i")\",\"title\":\"Load Test Book $i\",\"author\":\"Load Tester\"}" \
+        | grep -o '"id":[0-9]*' | cut -d: -f2)
+    first_book=${first_book:-$id}
+done
+if [ $((id - first_book + 1)) -ne "$BOOKS" ]; then
+    echo "Book IDs $first_book..$id are not contiguous, run against an otherwise idle database" >&2
+    exit 1
+fi
+# Let the servlet service's catalog view pick up the new books
+sleep 2
+
+# Runs wrk and prints requests/s, mean and p99 latency and the count of non-2xx responses
+measure() {
+    local connections=$1
+    shift
+    wrk -t "$((connections < THREADS ? connections : THREADS))" -c "$connections" -d "$DURATION" --latency "$@" \
+        | awk '/Requests\/sec/ { rps = $2 } /^ +Latency +[0-9]/ { mean = $2 } / 99%/ { p99 = $2 }
+               /Non-2xx/ { errors = $NF } END { printf "%10s req/s  mean %8s  p99 %8s  non-2xx %s\n", rps, mean, p99, errors + 0 }'
+}
+
+mkdir -p target
+{
+    echo "wrk $DURATION per run, $BOOKS books ($(date -u +%Y-%m-%dT%H:%M:%SZ))"
+    for workload in catalog borrow-return; do
+        for connections in "${CONNECTIONS[@]}"; do
+            for service in servlet reactive; do
+                url=$SERVLET_URL
+                [ "$service" = reactive ] && url=$REACTIVE_URL
+                threads=$((connections < THREADS ? connections : THREADS))
+                printf '%-13s %-8s c=%-5s ' "$workload" "$service" "$connections"
+                if [ "$workload" = catalog ]; then
+                    measure "$connections" -H 'Accept: application/json' "$url/api/v1/books/all"
+                else
+                    measure "$connections" -s borrow-return.lua "$url" -- "$borrower" "$first_book" "$BOOKS" "$threads"
+                fi
+            done
+        done
+    done
+} | tee "$RESULTS"
@@ -0,0 +1,17 @@
+package com.san.libraryservice.reactive;
+
+import com.san.libraryservice.exception.ErrorCounters;
+import com.san.libraryservice.exception.GlobalExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import({GlobalExceptionHandler.class, ErrorCounters.class})
+public class ReactiveLibraryServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveLibraryServiceApplication.class, args);
+    }
+
+}
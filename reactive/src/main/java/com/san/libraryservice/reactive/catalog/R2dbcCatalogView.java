@@ -0,0 +1,90 @@
+package com.san.libraryservice.reactive.catalog;
+
+import com.san.libraryservice.catalog.CatalogEntry;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.reactive.constant.R2dbcConstants.*;
+
+/**
+ * The {@code catalog_view} table of the servlet service, read and written through R2DBC.
+ * <p>
+ * An entry is saved as the servlet service saves it: an update guarded by the loan version, an insert
+ * if the book has no entry yet, and the update again if the insert lost a race with another writer.
+ * Each write takes a new entry version, so the servlet service rebuilds its serialized catalog.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+@RequiredArgsConstructor
+public class R2dbcCatalogView {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Reads every entry of the view.
+     *
+     * @return the entries, ordered by book ID
+     * @author Supunsan
+     */
+    public Flux<CatalogEntry> findAll() {
+        return databaseClient.sql(SELECT_CATALOG_VIEW)
+                .map(R2dbcCatalogView::toEntry)
+                .all();
+    }
+
+    /**
+     * Saves an entry, unless the view already holds one built from a later loan version of the book.
+     *
+     * @param entry the entry to save
+     * @return completes once the entry is saved or skipped
+     * @author Supunsan
+     */
+    public Mono<Void> save(CatalogEntry entry) {
+        LocalDateTime now = LocalDateTime.now();
+        return write(UPDATE_CATALOG_ENTRY, entry, now)
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : write(INSERT_CATALOG_ENTRY, entry, now))
+                .flatMap(inserted -> inserted > 0 ? Mono.just(inserted) : write(UPDATE_CATALOG_ENTRY, entry, now))
+                .then();
+    }
+
+    private Mono<Long> write(String sql, CatalogEntry entry, LocalDateTime now) {
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(sql)
+                .bind("bookId", entry.bookId())
+                .bind("available", entry.available())
+                .bind("activeLoans", entry.activeLoans())
+                .bind("loanVersion", entry.loanVersion())
+                .bind("changedAt", entry.changedAt())
+                .bind("refreshedAt", now);
+        statement = bindNullable(statement, "isbn", entry.isbn(), String.class);
+        statement = bindNullable(statement, "title", entry.title(), String.class);
+        statement = bindNullable(statement, "author", entry.author(), String.class);
+        statement = bindNullable(statement, "dueAt", entry.dueAt(), LocalDateTime.class);
+        return statement.fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec statement,
+                                                                  String name, Object value, Class<?> type) {
+        return value == null ? statement.bindNull(name, type) : statement.bind(name, value);
+    }
+
+    private static CatalogEntry toEntry(Readable row) {
+        return new CatalogEntry(
+                row.get("book_id", Long.class),
+                row.get("isbn", String.class),
+                row.get("title", String.class),
+                row.get("author", String.class),
+                row.get("available", Boolean.class),
+                row.get("active_loans", Integer.class),
+                row.get("due_at", LocalDateTime.class),
+                row.get("loan_version", Integer.class),
+                row.get("changed_at", LocalDateTime.class));
+    }
+}
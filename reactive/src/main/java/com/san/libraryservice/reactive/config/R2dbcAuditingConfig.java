@@ -0,0 +1,15 @@
+package com.san.libraryservice.reactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+/**
+ * Fills the {@code createdAt} and {@code updatedAt} columns of R2DBC entities, as JPA auditing does
+ * for the servlet service.
+ *
+ * @author Supunsan
+ */
+@Configuration
+@EnableR2dbcAuditing
+public class R2dbcAuditingConfig {
+}
@@ -0,0 +1,34 @@
+package com.san.libraryservice.reactive.constant;
+
+public class R2dbcConstants {
+
+    private R2dbcConstants() {
+    }
+
+    // The same statements as LedgerConstants and CatalogConstants, with named bind markers
+    public static final String SELECT_LATEST_BOOK_EVENT = """
+            SELECT type, book_version, borrower_id, loan_id, occurred_at, due_at FROM loan_event
+            WHERE book_id = :bookId
+            ORDER BY book_version DESC LIMIT 1""";
+    public static final String INSERT_LOAN_EVENT = """
+            INSERT INTO loan_event (sequence, type, book_id, book_version, borrower_id, loan_id, occurred_at, due_at)
+            VALUES (:sequence, :type, :bookId, :bookVersion, :borrowerId, :loanId, :occurredAt, :dueAt)""";
+
+    public static final String SELECT_CATALOG_VIEW = """
+            SELECT book_id, isbn, title, author, available, active_loans, due_at, loan_version, changed_at
+            FROM catalog_view
+            ORDER BY book_id""";
+    public static final String UPDATE_CATALOG_ENTRY = """
+            UPDATE catalog_view
+            SET isbn = :isbn, title = :title, author = :author, available = :available, active_loans = :activeLoans,
+                due_at = :dueAt, loan_version = :loanVersion, changed_at = :changedAt, refreshed_at = :refreshedAt,
+                entry_version = nextval('catalog_view_version_seq')
+            WHERE book_id = :bookId AND loan_version <= :loanVersion""";
+    public static final String INSERT_CATALOG_ENTRY = """
+            INSERT INTO catalog_view (book_id, isbn, title, author, available, active_loans, due_at, loan_version,
+                                      changed_at, refreshed_at, entry_version)
+            VALUES (:bookId, :isbn, :title, :author, :available, :activeLoans, :dueAt, :loanVersion, :changedAt,
+                    :refreshedAt, nextval('catalog_view_version_seq'))
+            ON CONFLICT DO NOTHING""";
+
+}
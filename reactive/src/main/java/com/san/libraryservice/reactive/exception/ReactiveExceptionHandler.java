@@ -0,0 +1,40 @@
+package com.san.libraryservice.reactive.exception;
+
+import com.san.libraryservice.exception.ApiErrors;
+import com.san.libraryservice.exception.GlobalExceptionHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+/**
+ * Adapts the WebFlux-specific exceptions to the servlet service's {@link GlobalExceptionHandler}, which
+ * handles everything else, so both services return the same {@link ApiErrors} bodies and count the
+ * same errors.
+ *
+ * @author Supunsan
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ReactiveExceptionHandler {
+
+    private final GlobalExceptionHandler globalExceptionHandler;
+
+    /**
+     * Handles a request body that failed {@code @Valid} validation as a {@link MethodArgumentNotValidException}.
+     *
+     * @param ex the exception raised by WebFlux for the invalid body
+     * @return ResponseEntity<ApiErrors> The response entity containing the field errors
+     * @author Supunsan
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiErrors> handleBindException(WebExchangeBindException ex) {
+        return globalExceptionHandler.handleCustomExceptions(
+                new MethodArgumentNotValidException(ex.getMethodParameter(), ex.getBindingResult()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.san.libraryservice.reactive.ledger;
+
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanEventType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.constant.LedgerConstants.SELECT_NEXT_EVENT_SEQUENCE;
+import static com.san.libraryservice.reactive.constant.R2dbcConstants.INSERT_LOAN_EVENT;
+import static com.san.libraryservice.reactive.constant.R2dbcConstants.SELECT_LATEST_BOOK_EVENT;
+
+/**
+ * The {@code loan_event} ledger of the servlet service, read and appended through R2DBC.
+ * <p>
+ * There is no in-memory projection here: a book's loan state is its latest event, read through the
+ * {@code (book_id, book_version)} unique index. Appends are guarded by the same index, so a borrow or
+ * return built from a state that is no longer current fails with a duplicate key, whichever service
+ * appended the competing event.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+@RequiredArgsConstructor
+public class R2dbcLoanLedger {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Reads the current loan state of a book.
+     *
+     * @param bookId the ID of the book
+     * @return the state after the book's latest event, or {@link BookLoanState#AVAILABLE} if it has none
+     * @author Supunsan
+     */
+    public Mono<BookLoanState> state(long bookId) {
+        return databaseClient.sql(SELECT_LATEST_BOOK_EVENT)
+                .bind("bookId", bookId)
+                .map(R2dbcLoanLedger::toState)
+                .one()
+                .defaultIfEmpty(BookLoanState.AVAILABLE);
+    }
+
+    /**
+     * Appends an event with the next ledger sequence.
+     *
+     * @param event the event to append, without a sequence
+     * @return the appended event, failing with a {@link org.springframework.dao.DuplicateKeyException}
+     * if the book already has an event at its version
+     * @author Supunsan
+     */
+    public Mono<LedgerEvent> append(LedgerEvent event) {
+        return databaseClient.sql(SELECT_NEXT_EVENT_SEQUENCE)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(event::appended)
+                .flatMap(appended -> {
+                    DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(INSERT_LOAN_EVENT)
+                            .bind("sequence", appended.sequence())
+                            .bind("type", appended.type().name())
+                            .bind("bookId", appended.bookId())
+                            .bind("bookVersion", appended.bookVersion())
+                            .bind("borrowerId", appended.borrowerId())
+                            .bind("loanId", appended.loanId())
+                            .bind("occurredAt", appended.occurredAt());
+                    insert = appended.dueAt() == null
+                            ? insert.bindNull("dueAt", LocalDateTime.class)
+                            : insert.bind("dueAt", appended.dueAt());
+                    return insert.fetch().rowsUpdated().thenReturn(appended);
+                });
+    }
+
+    private static BookLoanState toState(Readable row) {
+        int version = row.get("book_version", Integer.class);
+        if (LoanEventType.valueOf(row.get("type", String.class)) != LoanEventType.BOOK_BORROWED) {
+            return new BookLoanState(version, 0, 0, null, null);
+        }
+        return new BookLoanState(version, row.get("borrower_id", Long.class), row.get("loan_id", Long.class),
+                row.get("occurred_at", LocalDateTime.class), row.get("due_at", LocalDateTime.class));
+    }
+}
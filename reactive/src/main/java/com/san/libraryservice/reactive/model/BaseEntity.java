@@ -0,0 +1,30 @@
+package com.san.libraryservice.reactive.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns shared by the {@code book} and {@code borrower} tables, mapped for R2DBC.
+ *
+ * @author Supunsan
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class BaseEntity {
+
+    @Id
+    private Long id;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
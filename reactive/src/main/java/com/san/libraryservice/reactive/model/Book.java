@@ -0,0 +1,19 @@
+package com.san.libraryservice.reactive.model;
+
+import lombok.*;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("book")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Book extends BaseEntity {
+
+    private String isbn;
+    private String title;
+    private String author;
+    private boolean available;
+
+}
@@ -0,0 +1,17 @@
+package com.san.libraryservice.reactive.model;
+
+import lombok.*;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("borrower")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Borrower extends BaseEntity {
+
+    private String name;
+    private String email;
+
+}
@@ -0,0 +1,19 @@
+package com.san.libraryservice.reactive.repository;
+
+import com.san.libraryservice.reactive.model.Book;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface BookRepository extends ReactiveCrudRepository<Book, Long> {
+
+    /**
+     * Retrieves the first book that matches the given ISBN.
+     *
+     * @param isbn the ISBN of the book to search for
+     * @return a Mono emitting the first matching Book, or completing empty if no match exists
+     */
+    Mono<Book> findFirstByIsbn(String isbn);
+
+}
@@ -0,0 +1,9 @@
+package com.san.libraryservice.reactive.repository;
+
+import com.san.libraryservice.reactive.model.Borrower;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BorrowerRepository extends ReactiveCrudRepository<Borrower, Long> {
+}
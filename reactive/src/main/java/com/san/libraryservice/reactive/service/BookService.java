@@ -0,0 +1,37 @@
+package com.san.libraryservice.reactive.service;
+
+import com.san.libraryservice.dto.BookRequest;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.reactive.model.Book;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BookService {
+
+    /**
+     * Adds a new book to the repository and returns its response DTO.
+     *
+     * @param bookRequest the DTO containing details of the book to add
+     * @return a Mono emitting the {@link BookResponse} of the saved book
+     * @author Supunsan
+     */
+    Mono<BookResponse> addBook(BookRequest bookRequest);
+
+    /**
+     * Retrieves all books from the catalog view.
+     *
+     * @return a Flux of {@link BookResponse}, failing with {@link RecordNotFoundException} if there are no books
+     * @author Supunsan
+     */
+    Flux<BookResponse> getAllBooks();
+
+    /**
+     * Retrieves a book by its unique identifier.
+     *
+     * @param bookId the ID of the book to retrieve
+     * @return a Mono emitting the book, failing with {@link RecordNotFoundException} if it does not exist
+     * @author Supunsan
+     */
+    Mono<Book> getBookById(Long bookId);
+}
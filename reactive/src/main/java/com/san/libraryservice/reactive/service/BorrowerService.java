@@ -0,0 +1,17 @@
+package com.san.libraryservice.reactive.service;
+
+import com.san.libraryservice.dto.BorrowerRequest;
+import com.san.libraryservice.dto.BorrowerResponse;
+import reactor.core.publisher.Mono;
+
+public interface BorrowerService {
+
+    /**
+     * Registers a new borrower.
+     *
+     * @param borrowerRequest the borrower request containing name and email
+     * @return a Mono emitting the {@link BorrowerResponse} of the saved borrower
+     * @author Supunsan
+     */
+    Mono<BorrowerResponse> register(BorrowerRequest borrowerRequest);
+}
@@ -0,0 +1,50 @@
+package com.san.libraryservice.reactive.service;
+
+import com.san.libraryservice.exception.ActiveBorrowRecordNotFoundException;
+import com.san.libraryservice.exception.BookUnavailableException;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.reactive.model.Borrower;
+import reactor.core.publisher.Mono;
+
+public interface LibraryService {
+
+    /**
+     * Processes the borrowing of a book by a borrower.
+     * <p>
+     * The borrow event is appended to the loan ledger and the book's catalog view entry is updated in
+     * one transaction.
+     * </p>
+     *
+     * @param borrowerId the ID of the borrower
+     * @param bookId     the ID of the book to be borrowed
+     * @return completes once the book is borrowed, failing with {@link RecordNotFoundException} if the
+     * borrower or book is not found, or {@link BookUnavailableException} if the book is on loan
+     * @author Supunsan
+     */
+    Mono<Void> borrowBook(Long borrowerId, Long bookId);
+
+    /**
+     * Retrieves a borrower by their unique ID.
+     *
+     * @param borrowerId the ID of the borrower to retrieve
+     * @return a Mono emitting the borrower, failing with {@link RecordNotFoundException} if it does not exist
+     * @author Supunsan
+     */
+    Mono<Borrower> getBorrowerById(Long borrowerId);
+
+    /**
+     * Processes the return of a borrowed book by a borrower.
+     * <p>
+     * The return event is appended to the loan ledger and the book's catalog view entry is updated in
+     * one transaction.
+     * </p>
+     *
+     * @param borrowerId the ID of the borrower returning the book
+     * @param bookId     the ID of the book being returned
+     * @return completes once the book is returned, failing with {@link RecordNotFoundException} if the
+     * borrower or book does not exist, or {@link ActiveBorrowRecordNotFoundException} if the borrower
+     * has no active loan of the book
+     * @author Supunsan
+     */
+    Mono<Void> returnBook(Long borrowerId, Long bookId);
+}
@@ -0,0 +1,152 @@
+package com.san.libraryservice.reactive.service.impl;
+
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.dto.BookRequest;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.reactive.catalog.R2dbcCatalogView;
+import com.san.libraryservice.reactive.model.Book;
+import com.san.libraryservice.reactive.repository.BookRepository;
+import com.san.libraryservice.reactive.service.BookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.constant.LogConstants.*;
+import static com.san.libraryservice.constant.MessageConstants.BOOK_NOT_FOUND_BY_ID;
+import static com.san.libraryservice.constant.MessageConstants.BOOK_NOT_FOUND_MESSAGE;
+import static com.san.libraryservice.constant.MessageConstants.ISBN_CONFLICT_MESSAGE;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookServiceImpl implements BookService {
+
+    private final BookRepository bookRepository;
+    private final R2dbcCatalogView catalogView;
+
+    /**
+     * Adds a new book to the repository and returns its response DTO.
+     * The book's catalog view entry is inserted in the same transaction.
+     *
+     * @param bookRequest the DTO containing details of the book to add
+     * @return a Mono emitting the {@link BookResponse} of the saved book, failing with an
+     * {@link IllegalArgumentException} if the ISBN belongs to a different book
+     * @author Supunsan
+     */
+    @Override
+    @Transactional
+    public Mono<BookResponse> addBook(BookRequest bookRequest) {
+        return bookRepository.findFirstByIsbn(bookRequest.getIsbn())
+                .doFirst(() -> log.info(ADD_BOOK_SERVICE_START, bookRequest.getIsbn()))
+                .filter(book -> !(book.getTitle().equals(bookRequest.getTitle())
+                        && book.getAuthor().equals(bookRequest.getAuthor())))
+                .flatMap(book -> {
+                    log.warn(ADD_BOOK_ISBN_CONFLICT, bookRequest.getIsbn());
+                    return Mono.<Book>error(new IllegalArgumentException(ISBN_CONFLICT_MESSAGE));
+                })
+                .then(bookRepository.save(mapToBook(bookRequest)))
+                .flatMap(savedBook -> catalogView.save(mapToCatalogEntry(savedBook)).thenReturn(savedBook))
+                .doOnNext(savedBook -> log.info(ADD_BOOK_SERVICE_SUCCESS, bookRequest.getIsbn()))
+                .map(this::mapToBookResponse);
+    }
+
+    /**
+     * Retrieves all books from the catalog view, ordered by ID.
+     *
+     * @return a Flux of {@link BookResponse}, failing with {@link RecordNotFoundException} if there are no books
+     * @author Supunsan
+     */
+    @Override
+    public Flux<BookResponse> getAllBooks() {
+        return catalogView.findAll()
+                .doFirst(() -> log.info(GET_ALL_BOOKS_SERVICE_START))
+                .map(this::mapToBookResponse)
+                .switchIfEmpty(Flux.defer(() -> {
+                    log.warn(GET_ALL_BOOKS_EMPTY);
+                    return Flux.error(new RecordNotFoundException(BOOK_NOT_FOUND_MESSAGE));
+                }));
+    }
+
+    /**
+     * Retrieves a book by its unique identifier.
+     *
+     * @param bookId the ID of the book to retrieve
+     * @return a Mono emitting the book, failing with {@link RecordNotFoundException} if it does not exist
+     * @author Supunsan
+     */
+    @Override
+    public Mono<Book> getBookById(Long bookId) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new RecordNotFoundException(BOOK_NOT_FOUND_BY_ID, bookId)));
+    }
+
+    /**
+     * Maps a {@link BookRequest} DTO to a {@link Book} entity.
+     *
+     * @param request the book request DTO
+     * @return a new {@link Book} entity populated from the request DTO
+     * @author Supunsan
+     */
+    private Book mapToBook(BookRequest request) {
+        return Book.builder()
+                .isbn(request.getIsbn())
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .available(true)
+                .build();
+    }
+
+    /**
+     * Maps a new {@link Book} to its catalog view entry, available and with no loan events.
+     *
+     * @param book the saved book entity
+     * @return the book's first {@link CatalogEntry}
+     * @author Supunsan
+     */
+    private CatalogEntry mapToCatalogEntry(Book book) {
+        return new CatalogEntry(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(), true, 0, null,
+                0, LocalDateTime.now());
+    }
+
+    /**
+     * Maps a {@link Book} entity to a {@link BookResponse} DTO.
+     *
+     * @param book the book entity
+     * @return a new {@link BookResponse} DTO populated from the book entity
+     * @author Supunsan
+     */
+    private BookResponse mapToBookResponse(Book book) {
+        return BookResponse.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .borrowed(book.isAvailable())
+                .build();
+    }
+
+    /**
+     * Maps a {@link CatalogEntry} to a {@link BookResponse} DTO, as the servlet service's catalog does.
+     *
+     * @param entry the catalog view entry
+     * @return a new {@link BookResponse} DTO populated from the entry
+     * @author Supunsan
+     */
+    private BookResponse mapToBookResponse(CatalogEntry entry) {
+        return BookResponse.builder()
+                .id(entry.bookId())
+                .isbn(entry.isbn())
+                .title(entry.title())
+                .author(entry.author())
+                .borrowed(!entry.available())
+                .activeLoans(entry.activeLoans())
+                .dueAt(entry.dueAt())
+                .build();
+    }
+}
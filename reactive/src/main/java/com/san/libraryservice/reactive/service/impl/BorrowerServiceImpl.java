@@ -0,0 +1,65 @@
+package com.san.libraryservice.reactive.service.impl;
+
+import com.san.libraryservice.dto.BorrowerRequest;
+import com.san.libraryservice.dto.BorrowerResponse;
+import com.san.libraryservice.reactive.model.Borrower;
+import com.san.libraryservice.reactive.repository.BorrowerRepository;
+import com.san.libraryservice.reactive.service.BorrowerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import static com.san.libraryservice.constant.LogConstants.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BorrowerServiceImpl implements BorrowerService {
+
+    private final BorrowerRepository borrowerRepository;
+
+    /**
+     * Registers a new borrower by saving the provided request data to the repository.
+     *
+     * @param borrowerRequest The borrower request containing name and email.
+     * @return a Mono emitting the {@link BorrowerResponse} of the saved borrower.
+     * @author Supunsan
+     */
+    @Override
+    public Mono<BorrowerResponse> register(BorrowerRequest borrowerRequest) {
+        return borrowerRepository.save(mapToBorrower(borrowerRequest))
+                .doFirst(() -> log.info(REGISTER_BORROWER_SERVICE_START, borrowerRequest.getEmail()))
+                .doOnNext(savedBorrower -> log.info(REGISTER_BORROWER_SUCCESS, savedBorrower.getId()))
+                .map(this::mapToBorrowerResponse);
+    }
+
+    /**
+     * Maps a {@link BorrowerRequest} DTO to a {@link Borrower} entity.
+     *
+     * @param borrowerRequest The DTO containing borrower input data.
+     * @return {@link Borrower} entity ready to be saved in the database.
+     * @author Supunsan
+     */
+    private Borrower mapToBorrower(BorrowerRequest borrowerRequest) {
+        return Borrower.builder()
+                .name(borrowerRequest.getName())
+                .email(borrowerRequest.getEmail())
+                .build();
+    }
+
+    /**
+     * Maps a {@link Borrower} entity to a {@link BorrowerResponse} DTO.
+     *
+     * @param borrower The saved borrower entity.
+     * @return {@link BorrowerResponse} containing ID, name, and email.
+     * @author Supunsan
+     */
+    private BorrowerResponse mapToBorrowerResponse(Borrower borrower) {
+        return BorrowerResponse.builder()
+                .id(borrower.getId())
+                .name(borrower.getName())
+                .email(borrower.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.san.libraryservice.reactive.service.impl;
+
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.exception.ActiveBorrowRecordNotFoundException;
+import com.san.libraryservice.exception.BookUnavailableException;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.reactive.catalog.R2dbcCatalogView;
+import com.san.libraryservice.reactive.ledger.R2dbcLoanLedger;
+import com.san.libraryservice.reactive.model.Book;
+import com.san.libraryservice.reactive.model.Borrower;
+import com.san.libraryservice.reactive.repository.BorrowerRepository;
+import com.san.libraryservice.reactive.service.BookService;
+import com.san.libraryservice.reactive.service.LibraryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.constant.FineConstants.LOAN_PERIOD_DAYS;
+import static com.san.libraryservice.constant.LogConstants.*;
+import static com.san.libraryservice.constant.MessageConstants.BORROWER_NOT_FOUND_BY_ID;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LibraryServiceImpl implements LibraryService {
+
+    private final BorrowerRepository borrowerRepository;
+    private final BookService bookService;
+    private final R2dbcLoanLedger loanLedger;
+    private final R2dbcCatalogView catalogView;
+
+    /**
+     * Processes the borrowing of a book by a borrower.
+     * <p>
+     * Steps performed by this method:
+     * <br>1. Fetches the borrower and book by their IDs.
+     * <br>2. Reads the book's loan state from the ledger and validates that it is available.
+     * <br>3. Appends a borrow event for the next version of the book, with its due date.
+     * <br>4. Updates the book's catalog view entry from the event.
+     * </p>
+     * <p>
+     * The append and the view update commit together. If another borrow of the book was appended
+     * since the state was read, by this or the servlet service, the version is taken and the book is
+     * reported as unavailable. The borrow record and the book's availability flag are projected from
+     * the event by the servlet service's ledger job.
+     * </p>
+     *
+     * @param borrowerId the ID of the borrower
+     * @param bookId     the ID of the book to be borrowed
+     * @return completes once the book is borrowed, failing with {@link RecordNotFoundException} if the
+     * borrower or book is not found, or {@link BookUnavailableException} if the book is on loan
+     * @author Supunsan
+     */
+    @Override
+    @Transactional
+    public Mono<Void> borrowBook(Long borrowerId, Long bookId) {
+        return getBorrowerById(borrowerId)
+                .doFirst(() -> log.info(BORROW_BOOK_SERVICE_START, borrowerId, bookId))
+                .then(bookService.getBookById(bookId))
+                .flatMap(book -> loanLedger.state(bookId)
+                        .flatMap(state -> {
+                            log.info(BORROW_BOOK_VALIDATION, bookId);
+                            if (state.isBorrowed()) {
+                                return Mono.error(new BookUnavailableException(bookId));
+                            }
+                            LocalDateTime borrowedAt = LocalDateTime.now();
+                            return loanLedger.append(LedgerEvent.borrowed(bookId, state.version() + 1, borrowerId,
+                                    borrowedAt, borrowedAt.plusDays(LOAN_PERIOD_DAYS)));
+                        })
+                        .onErrorMap(DuplicateKeyException.class, e -> new BookUnavailableException(bookId))
+                        .doOnNext(borrowed -> log.info(BORROW_EVENT_APPENDED, borrowerId, bookId))
+                        .flatMap(borrowed -> catalogView.save(mapToCatalogEntry(book, borrowed))))
+                .doOnSuccess(done -> log.info(BORROW_BOOK_SUCCESS, borrowerId, bookId));
+    }
+
+    /**
+     * Retrieves a borrower by their unique ID.
+     *
+     * @param borrowerId the ID of the borrower to retrieve
+     * @return a Mono emitting the borrower, failing with {@link RecordNotFoundException} if it does not exist
+     * @author Supunsan
+     */
+    @Override
+    public Mono<Borrower> getBorrowerById(Long borrowerId) {
+        return borrowerRepository.findById(borrowerId)
+                .switchIfEmpty(Mono.error(() -> new RecordNotFoundException(BORROWER_NOT_FOUND_BY_ID, borrowerId)));
+    }
+
+    /**
+     * Processes the return of a borrowed book by a borrower.
+     * <p>
+     * Steps performed by this method:
+     * <br>1. Validates that the borrower and book exist.
+     * <br>2. Reads the book's loan state from the ledger and checks that the borrower holds it.
+     * <br>3. Appends a return event for the active loan at the next version of the book.
+     * <br>4. Updates the book's catalog view entry from the event.
+     * </p>
+     * <p>
+     * The append and the view update commit together. If the book changed since its state was read,
+     * for example by a concurrent return of the same loan, the loan is no longer active.
+     * </p>
+     *
+     * @param borrowerId the ID of the borrower returning the book
+     * @param bookId     the ID of the book being returned
+     * @return completes once the book is returned, failing with {@link RecordNotFoundException} if the
+     * borrower or book does not exist, or {@link ActiveBorrowRecordNotFoundException} if the borrower
+     * has no active loan of the book
+     * @author Supunsan
+     */
+    @Override
+    @Transactional
+    public Mono<Void> returnBook(Long borrowerId, Long bookId) {
+        return getBorrowerById(borrowerId)
+                .doFirst(() -> log.info(RETURN_BOOK_SERVICE_START, borrowerId, bookId))
+                .then(bookService.getBookById(bookId))
+                .flatMap(book -> loanLedger.state(bookId)
+                        .flatMap(state -> {
+                            if (!state.isBorrowedBy(borrowerId)) {
+                                return Mono.error(new ActiveBorrowRecordNotFoundException(borrowerId, bookId));
+                            }
+                            log.info(RETURN_BOOK_LOAN_FOUND, state.loanId(), borrowerId, bookId);
+                            return loanLedger.append(LedgerEvent.returned(bookId, state.version() + 1, borrowerId,
+                                    state.loanId(), LocalDateTime.now()));
+                        })
+                        .onErrorMap(DuplicateKeyException.class,
+                                e -> new ActiveBorrowRecordNotFoundException(borrowerId, bookId))
+                        .doOnNext(returned -> log.info(RETURN_EVENT_APPENDED, borrowerId, bookId))
+                        .flatMap(returned -> catalogView.save(mapToCatalogEntry(book, returned))))
+                .doOnSuccess(done -> log.info(RETURN_BOOK_SUCCESS, bookId, borrowerId));
+    }
+
+    /**
+     * Maps a book and its latest loan event to the book's catalog view entry.
+     *
+     * @param book  the book
+     * @param event the book's latest loan event
+     * @return the {@link CatalogEntry} at the event's version of the book
+     * @author Supunsan
+     */
+    private CatalogEntry mapToCatalogEntry(Book book, LedgerEvent event) {
+        boolean borrowed = event.type() == BOOK_BORROWED;
+        return new CatalogEntry(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(), !borrowed,
+                borrowed ? 1 : 0, event.dueAt(), event.bookVersion(), event.occurredAt());
+    }
+}
@@ -0,0 +1,189 @@
+package com.san.libraryservice.reactive.service;
+
+import com.san.libraryservice.exception.ActiveBorrowRecordNotFoundException;
+import com.san.libraryservice.exception.BookUnavailableException;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanEventType;
+import com.san.libraryservice.reactive.catalog.R2dbcCatalogView;
+import com.san.libraryservice.reactive.ledger.R2dbcLoanLedger;
+import com.san.libraryservice.reactive.model.Book;
+import com.san.libraryservice.reactive.model.Borrower;
+import com.san.libraryservice.reactive.repository.BorrowerRepository;
+import com.san.libraryservice.reactive.service.impl.LibraryServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LibraryServiceImplTest {
+
+    @Mock
+    private BorrowerRepository borrowerRepository;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private R2dbcLoanLedger loanLedger;
+
+    @Mock
+    private R2dbcCatalogView catalogView;
+
+    @InjectMocks
+    private LibraryServiceImpl libraryService;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        // Initialize Mockito mocks and keep the AutoCloseable resource
+        mocks = MockitoAnnotations.openMocks(this);
+        when(catalogView.save(any())).thenReturn(Mono.empty());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // Release resources held by Mockito mocks
+        if (mocks != null) {
+            mocks.close();
+        }
+    }
+
+    @Test
+    void borrowBook_shouldAppendBorrowEventAndUpdateView_whenBookIsAvailable() {
+        // Book 100 was borrowed and returned once, so the borrow creates its version 3
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanLedger.state(bookId)).thenReturn(Mono.just(new BookLoanState(2, 0, 0, null, null)));
+        when(loanLedger.append(any(LedgerEvent.class))).thenAnswer(invocation ->
+                Mono.just(invocation.<LedgerEvent>getArgument(0).appended(42)));
+
+        StepVerifier.create(libraryService.borrowBook(borrowerId, bookId)).verifyComplete();
+
+        ArgumentCaptor<LedgerEvent> appended = ArgumentCaptor.forClass(LedgerEvent.class);
+        verify(loanLedger).append(appended.capture());
+        LedgerEvent event = appended.getValue();
+        assertEquals(LoanEventType.BOOK_BORROWED, event.type());
+        assertEquals(3, event.bookVersion());
+        assertEquals(event.occurredAt().plusDays(14), event.dueAt());
+        verify(catalogView).save(argThat(entry -> !entry.available() && entry.activeLoans() == 1
+                && entry.loanVersion() == 3 && event.dueAt().equals(entry.dueAt())));
+    }
+
+    @Test
+    void borrowBook_shouldFail_whenBookIsBorrowed() {
+        // The latest event is an active loan, so nothing is appended
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanLedger.state(bookId)).thenReturn(Mono.just(new BookLoanState(1, 2L, 7L, null, null)));
+
+        StepVerifier.create(libraryService.borrowBook(borrowerId, bookId))
+                .verifyError(BookUnavailableException.class);
+
+        verify(loanLedger, never()).append(any());
+        verify(catalogView, never()).save(any());
+    }
+
+    @Test
+    void borrowBook_shouldFail_whenVersionWasTakenConcurrently() {
+        // Another borrow was appended between the read and the append
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanLedger.state(bookId)).thenReturn(Mono.just(BookLoanState.AVAILABLE));
+        when(loanLedger.append(any(LedgerEvent.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("loan_event_book_version_key")));
+
+        StepVerifier.create(libraryService.borrowBook(borrowerId, bookId))
+                .verifyError(BookUnavailableException.class);
+
+        verify(catalogView, never()).save(any());
+    }
+
+    @Test
+    void borrowBook_shouldFail_whenBorrowerNotFound() {
+        // Simulate missing borrower; the book lookup is never subscribed
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        when(borrowerRepository.findById(borrowerId)).thenReturn(Mono.empty());
+        when(bookService.getBookById(bookId)).thenReturn(Mono.just(new Book()));
+
+        StepVerifier.create(libraryService.borrowBook(borrowerId, bookId))
+                .verifyError(RecordNotFoundException.class);
+
+        verifyNoInteractions(loanLedger, catalogView);
+    }
+
+    @Test
+    void returnBook_shouldAppendReturnEventAndUpdateView_whenBorrowerHoldsBook() {
+        // The return closes loan 7 at the next version of the book
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanLedger.state(bookId)).thenReturn(Mono.just(new BookLoanState(1, borrowerId, 7L,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(13))));
+        when(loanLedger.append(any(LedgerEvent.class))).thenAnswer(invocation ->
+                Mono.just(invocation.<LedgerEvent>getArgument(0).appended(43)));
+
+        StepVerifier.create(libraryService.returnBook(borrowerId, bookId)).verifyComplete();
+
+        verify(loanLedger).append(argThat(event -> event.type() == LoanEventType.BOOK_RETURNED
+                && event.loanId() == 7 && event.bookVersion() == 2));
+        verify(catalogView).save(argThat(entry -> entry.available() && entry.activeLoans() == 0
+                && entry.loanVersion() == 2 && entry.dueAt() == null));
+    }
+
+    @Test
+    void returnBook_shouldFail_whenBookIsHeldByAnotherBorrower() {
+        // Only the borrower holding the book can return it
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanLedger.state(bookId)).thenReturn(Mono.just(new BookLoanState(1, 2L, 7L, null, null)));
+
+        StepVerifier.create(libraryService.returnBook(borrowerId, bookId))
+                .verifyError(ActiveBorrowRecordNotFoundException.class);
+
+        verify(loanLedger, never()).append(any());
+    }
+
+    @Test
+    void returnBook_shouldFail_whenLoanWasReturnedConcurrently() {
+        // A concurrent return of the same loan took the version first
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanLedger.state(bookId)).thenReturn(Mono.just(new BookLoanState(1, borrowerId, 7L, null, null)));
+        when(loanLedger.append(any(LedgerEvent.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("loan_event_book_version_key")));
+
+        StepVerifier.create(libraryService.returnBook(borrowerId, bookId))
+                .verifyError(ActiveBorrowRecordNotFoundException.class);
+
+        verify(catalogView, never()).save(any());
+    }
+
+    private void stubBorrowerAndBook(Long borrowerId, Long bookId) {
+        Borrower borrower = new Borrower();
+        borrower.setId(borrowerId);
+        Book book = new Book();
+        book.setId(bookId);
+        when(borrowerRepository.findById(borrowerId)).thenReturn(Mono.just(borrower));
+        when(bookService.getBookById(bookId)).thenReturn(Mono.just(book));
+    }
+}
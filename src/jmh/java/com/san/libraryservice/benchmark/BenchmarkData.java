@@ -0,0 +1,58 @@
+package com.san.libraryservice.benchmark;
+
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.model.Book;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared fixtures for the benchmarks: synthetic catalog data and stub repositories.
+ *
+ * @author Supunsan
+ */
+final class BenchmarkData {
+
+    static final String[] ISBNS = {"9780134685991", "9780132350884", "9780201633610", "9780596009205"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Book> books(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Book book = Book.builder()
+                    .isbn(ISBNS[i % ISBNS.length])
+                    .title("Benchmark Title " + i)
+                    .author("Benchmark Author")
+                    .available(i % 3 != 0)
+                    .build();
+            book.setId((long) i + 1);
+            books.add(book);
+        }
+        return books;
+    }
+
+    static List<BookResponse> bookResponses(int count) {
+        return books(count).stream()
+                .map(book -> BookResponse.builder()
+                        .id(book.getId())
+                        .isbn(book.getIsbn())
+                        .title(book.getTitle())
+                        .author(book.getAuthor())
+                        .borrowed(!book.isAvailable())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Creates a repository stub whose methods are answered by the given handler,
+     * so service mapping can be measured without a database or a mocking framework.
+     */
+    static <T> T repository(Class<T> repositoryType, InvocationHandler handler) {
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler));
+    }
+}
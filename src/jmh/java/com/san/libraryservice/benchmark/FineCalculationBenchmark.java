@@ -0,0 +1,156 @@
+package com.san.libraryservice.benchmark;
+
+import com.san.libraryservice.service.impl.FineServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.san.libraryservice.constant.FineConstants.LOAN_PERIOD_DAYS;
+import static com.san.libraryservice.constant.FineConstants.SELECT_MAX_BORROW_RECORD_ID;
+import static com.san.libraryservice.constant.FineConstants.SELECT_OVERDUE_IN_RANGE;
+
+/**
+ * Measures a full fine calculation run over millions of synthetic loans with each pool parallelism,
+ * to show how the waves of id ranges scale with the number of cores.
+ * <p>
+ * The database is replaced by a {@link JdbcTemplate} that generates the overdue loans of each range and
+ * binds every fine to a stub statement, so the measurement is the calculation, the mapping and the batch
+ * binding of {@link FineServiceImpl}, without the I/O that would dominate against a real database.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FineCalculationBenchmark {
+
+    // The longest loan generated, in days, so some loans are not overdue yet
+    private static final int MAX_LOAN_AGE_DAYS = 60;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"1000000", "4000000"})
+    public long loans;
+
+    private FineServiceImpl fineService;
+
+    @Setup(Level.Trial)
+    public void createService() {
+        fineService = new FineServiceImpl(new SyntheticLoans(loans), new TransactionTemplate(new NoTransactions()),
+                parallelism);
+    }
+
+    @Benchmark
+    public int calculateFines() {
+        return fineService.calculateFines();
+    }
+
+    /**
+     * Answers the fine calculation's statements from generated loans: every fourth loan was returned, and
+     * loan {@code id} was borrowed {@code id % MAX_LOAN_AGE_DAYS} days before the run.
+     */
+    private static final class SyntheticLoans extends JdbcTemplate {
+
+        private final long loans;
+
+        SyntheticLoans(long loans) {
+            this.loans = loans;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            if (!SELECT_MAX_BORROW_RECORD_ID.equals(sql)) {
+                throw new IllegalArgumentException(sql);
+            }
+            return requiredType.cast(loans);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            if (!SELECT_OVERDUE_IN_RANGE.equals(sql)) {
+                // The checkpoint, which the run starts without
+                return List.of();
+            }
+            long lowerBound = (Long) args[0];
+            long upperBound = (Long) args[1];
+            LocalDateTime asOf = ((Timestamp) args[2]).toLocalDateTime();
+
+            long[] id = new long[1];
+            Timestamp[] dueAt = new Timestamp[1];
+            ResultSet row = BenchmarkData.repository(ResultSet.class, (proxy, method, methodArgs) ->
+                    "getLong".equals(method.getName()) ? id[0] : dueAt[0]);
+
+            List<T> overdue = new ArrayList<>();
+            try {
+                for (long loan = lowerBound + 1; loan <= upperBound; loan++) {
+                    long daysBorrowed = loan % MAX_LOAN_AGE_DAYS;
+                    if (loan % 4 != 0 && daysBorrowed > LOAN_PERIOD_DAYS) {
+                        id[0] = loan;
+                        dueAt[0] = Timestamp.valueOf(asOf.minusDays(daysBorrowed - LOAN_PERIOD_DAYS));
+                        overdue.add(rowMapper.mapRow(row, overdue.size()));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return overdue;
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            PreparedStatement statement = BenchmarkData.repository(PreparedStatement.class,
+                    (proxy, method, methodArgs) -> null);
+            try {
+                for (T batchArg : batchArgs) {
+                    pss.setValues(statement, batchArg);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return new int[][]{new int[batchArgs.size()]};
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            return 1;
+        }
+    }
+
+    private static final class NoTransactions implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.san.libraryservice.benchmark;
+
+import com.san.libraryservice.validation.IsbnValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass {@link IsbnValidator} with the original regex based validation.
+ * Run with {@code -prof gc} to compare allocation rates as well as latency.
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IsbnValidatorBenchmark {
+
+    @Param({
+            "9780134685991",
+            "978-0-13-468599-1",
+            "0-306-40615-2",
+            "080442957X",
+            "978-0-13-468599-2",
+            "97801346859A1"
+    })
+    private String isbn;
+
+    private final IsbnValidator validator = new IsbnValidator();
+
+    @Benchmark
+    public boolean regexIsValid() {
+        return RegexIsbnValidator.isValid(isbn);
+    }
+
+    @Benchmark
+    public boolean singlePassIsValid() {
+        return validator.isValid(isbn, null);
+    }
+
+    @Benchmark
+    public long singlePassToIsbn13() {
+        return IsbnValidator.toIsbn13(isbn);
+    }
+}
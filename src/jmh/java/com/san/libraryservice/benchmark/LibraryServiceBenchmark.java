@@ -0,0 +1,134 @@
+package com.san.libraryservice.benchmark;
+
+import com.san.libraryservice.LibraryServiceApplication;
+import com.san.libraryservice.dto.BookRequest;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.dto.CatalogSnapshot;
+import com.san.libraryservice.dto.Suggestion;
+import com.san.libraryservice.dto.TitleResponse;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.model.Borrower;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.repository.BorrowerRepository;
+import com.san.libraryservice.service.AutocompleteService;
+import com.san.libraryservice.service.BookService;
+import com.san.libraryservice.service.CatalogService;
+import com.san.libraryservice.service.InventoryService;
+import com.san.libraryservice.service.LibraryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the service methods end to end, through Spring transactions and Hibernate,
+ * against an embedded H2 database seeded with a synthetic catalog. Each benchmark runs with
+ * the Hibernate second-level cache on and off.
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LibraryServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private LibraryService libraryService;
+    private BookService bookService;
+    private CatalogService catalogService;
+    private InventoryService inventoryService;
+    private AutocompleteService autocompleteService;
+    private long borrowerId;
+    private long[] bookIds;
+    private int nextBook;
+    private int nextTitle;
+    private BookRequest bookRequest;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(LibraryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+
+        libraryService = context.getBean(LibraryService.class);
+        bookService = context.getBean(BookService.class);
+        catalogService = context.getBean(CatalogService.class);
+        inventoryService = context.getBean(InventoryService.class);
+        autocompleteService = context.getBean(AutocompleteService.class);
+
+        Borrower borrower = context.getBean(BorrowerRepository.class)
+                .save(Borrower.builder().name("Benchmark Borrower").email("benchmark@example.com").build());
+        borrowerId = borrower.getId();
+
+        List<Book> catalog = BenchmarkData.books(CATALOG_SIZE);
+        catalog.forEach(book -> {
+            book.setId(null);
+            book.setAvailable(true);
+        });
+        bookIds = context.getBean(BookRepository.class).saveAll(catalog).stream()
+                .mapToLong(Book::getId)
+                .toArray();
+        catalogService.rebuildView();
+        inventoryService.reconcile();
+        autocompleteService.rebuild();
+        bookRequest = new BookRequest("978-0-13-468599-1", "Effective Java", "Joshua Bloch");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void borrowAndReturnBook() {
+        long bookId = bookIds[nextBook];
+        nextBook = (nextBook + 1) % bookIds.length;
+        libraryService.borrowBook(borrowerId, bookId);
+        libraryService.returnBook(borrowerId, bookId);
+    }
+
+    @Benchmark
+    public void borrowAndReturnCopy() {
+        String isbn = BenchmarkData.ISBNS[nextTitle];
+        nextTitle = (nextTitle + 1) % BenchmarkData.ISBNS.length;
+        libraryService.returnBook(borrowerId, libraryService.borrowCopy(borrowerId, isbn));
+    }
+
+    @Benchmark
+    public TitleResponse getTitle() {
+        return inventoryService.getTitle(BenchmarkData.ISBNS[0]);
+    }
+
+    @Benchmark
+    public List<Suggestion> suggest() {
+        return autocompleteService.suggest("benchmark ti");
+    }
+
+    @Benchmark
+    public BookResponse addBook() {
+        return bookService.addBook(bookRequest);
+    }
+
+    @Benchmark
+    public List<BookResponse> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @Benchmark
+    public CatalogSnapshot getCatalogSnapshot() {
+        return catalogService.getSnapshot();
+    }
+}
@@ -0,0 +1,95 @@
+package com.san.libraryservice.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.san.libraryservice.logging.LoggerSamplingTurboFilter;
+import com.san.libraryservice.service.impl.LibraryServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static com.san.libraryservice.constant.LogConstants.*;
+
+/**
+ * Measures the caller-side cost of the five INFO lines logged per borrow, comparing the
+ * default synchronous appender with the production async appender, with and without sampling.
+ * Output goes to a discarding stream so the terminal is not part of the measurement.
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async", "async-sampled"})
+    private String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level [%thread] %logger{40} : %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        Appender<ILoggingEvent> appender = output;
+        if (!mode.equals("sync")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(output);
+            async.start();
+            appender = async;
+        }
+
+        if (mode.equals("async-sampled")) {
+            LoggerSamplingTurboFilter sampling = new LoggerSamplingTurboFilter();
+            sampling.setContext(context);
+            sampling.setLoggerName(LibraryServiceImpl.class.getName());
+            sampling.setSampleRate(100);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        logger = context.getLogger(LibraryServiceImpl.class);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logBorrow() {
+        Long borrowerId = 42L;
+        Long bookId = 1001L;
+        logger.info(BORROW_BOOK_CONTROLLER_START, borrowerId, bookId);
+        logger.info(BORROW_BOOK_SERVICE_START, borrowerId, bookId);
+        logger.info(BORROW_BOOK_VALIDATION, bookId);
+        logger.info(BORROW_EVENT_APPENDED, borrowerId, bookId);
+        logger.info(BORROW_BOOK_SUCCESS, borrowerId, bookId);
+    }
+}
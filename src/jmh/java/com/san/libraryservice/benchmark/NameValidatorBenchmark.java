@@ -0,0 +1,49 @@
+package com.san.libraryservice.benchmark;
+
+import com.san.libraryservice.validation.NameValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the code point scanning {@link NameValidator} with the original trim and regex validation.
+ * The regex baseline only accepts ASCII letters, so it rejects the accented inputs early.
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NameValidatorBenchmark {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[A-Za-z][A-Za-z\\s'\\-]{1,48}[A-Za-z]$");
+
+    @Param({
+            "Supun San",
+            "  Mary-Jane O'Connor  ",
+            "José Álvarez",
+            "Hubert Blaine Wolfeschlegelsteinhausenbergerdorff",
+            "R2D2"
+    })
+    private String name;
+
+    private final NameValidator validator = new NameValidator();
+
+    @Benchmark
+    public boolean regexIsValid() {
+        if (Objects.isNull(name) || name.isBlank()) {
+            return true;
+        }
+        return NAME_PATTERN.matcher(name.trim()).matches();
+    }
+
+    @Benchmark
+    public boolean codePointIsValid() {
+        return validator.isValid(name, null);
+    }
+}
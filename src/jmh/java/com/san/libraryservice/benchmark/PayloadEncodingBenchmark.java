@@ -0,0 +1,69 @@
+package com.san.libraryservice.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.san.libraryservice.dto.BookResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON and CBOR encoding of a 10k-book catalog: serialize and parse time per payload.
+ * Payload sizes are printed once per trial.
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadEncodingBenchmark {
+
+    private static final TypeReference<List<BookResponse>> BOOK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10000"})
+    private int bookCount;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private List<BookResponse> books;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = JsonMapper.builder().findAndAddModules().build();
+        cborMapper = CBORMapper.builder().findAndAddModules().build();
+        books = BenchmarkData.bookResponses(bookCount);
+        json = jsonMapper.writeValueAsBytes(books);
+        cbor = cborMapper.writeValueAsBytes(books);
+        System.out.printf("%nPayload for %d books: JSON %d bytes, CBOR %d bytes%n", bookCount, json.length, cbor.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public List<BookResponse> parseJson() throws IOException {
+        return jsonMapper.readValue(json, BOOK_LIST);
+    }
+
+    @Benchmark
+    public List<BookResponse> parseCbor() throws IOException {
+        return cborMapper.readValue(cbor, BOOK_LIST);
+    }
+}
@@ -0,0 +1,57 @@
+package com.san.libraryservice.benchmark;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * The original regex based ISBN validation, kept as the baseline for {@link IsbnValidatorBenchmark}.
+ *
+ * @author Supunsan
+ */
+final class RegexIsbnValidator {
+
+    private static final Pattern ISBN_10_PATTERN = Pattern.compile("\\d{9}[\\dXx]");
+    private static final Pattern ISBN_13_PATTERN = Pattern.compile("\\d{13}");
+
+    private RegexIsbnValidator() {
+    }
+
+    static boolean isValid(String value) {
+        if (Objects.isNull(value) || value.isBlank()) return true;
+
+        String isbn = value.replaceAll("[\\s-]", "");
+
+        return switch (isbn.length()) {
+            case 10 -> isValidIsbn10(isbn);
+            case 13 -> isValidIsbn13(isbn);
+            default -> false;
+        };
+    }
+
+    private static boolean isValidIsbn10(String isbn) {
+        if (!ISBN_10_PATTERN.matcher(isbn).matches()) return false;
+
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += Character.getNumericValue(isbn.charAt(i)) * (10 - i);
+        }
+
+        char checkChar = isbn.charAt(9);
+        int checkValue = (checkChar == 'X' || checkChar == 'x') ? 10 : Character.getNumericValue(checkChar);
+
+        return (sum + checkValue) % 11 == 0;
+    }
+
+    private static boolean isValidIsbn13(String isbn) {
+        if (!ISBN_13_PATTERN.matcher(isbn).matches()) return false;
+
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = Character.getNumericValue(isbn.charAt(i));
+            sum += digit * ((i % 2 == 0) ? 1 : 3);
+        }
+
+        int checkDigit = (10 - (sum % 10)) % 10;
+        return checkDigit == Character.getNumericValue(isbn.charAt(12));
+    }
+}
@@ -0,0 +1,106 @@
+package com.san.libraryservice.benchmark;
+
+import com.san.libraryservice.dto.BookLookupRequest;
+import com.san.libraryservice.dto.BookRequest;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.dto.BorrowerRequest;
+import com.san.libraryservice.dto.BorrowerResponse;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.repository.BorrowerRepository;
+import com.san.libraryservice.service.StatsService;
+import com.san.libraryservice.service.impl.BookServiceImpl;
+import com.san.libraryservice.service.impl.BorrowerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.san.libraryservice.constant.CommonConstants.BOOK_LOOKUP_MAX_ITEMS;
+
+/**
+ * Measures the DTO mapping done by {@link BookServiceImpl} and {@link BorrowerServiceImpl}
+ * against stub repositories, isolating it from persistence.
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceMappingBenchmark {
+
+    @Param({"10", "1000"})
+    private int bookCount;
+
+    private BookServiceImpl bookService;
+    private BorrowerServiceImpl borrowerService;
+    private BookRequest bookRequest;
+    private BookLookupRequest lookupRequest;
+    private BorrowerRequest borrowerRequest;
+
+    @Setup
+    public void setUp() {
+        List<Book> books = BenchmarkData.books(bookCount);
+        List<Book> lookedUp = books.subList(0, Math.min(bookCount, BOOK_LOOKUP_MAX_ITEMS));
+
+        BookRepository bookRepository = BenchmarkData.repository(BookRepository.class,
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> books;
+                    case "findFirstByIsbn" -> Optional.empty();
+                    case "findAllByIdInOrIsbnIn" -> lookedUp;
+                    case "save" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        BorrowerRepository borrowerRepository = BenchmarkData.repository(BorrowerRepository.class,
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        LoanLedger loanLedger = BenchmarkData.repository(LoanLedger.class, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        TitleInventory titleInventory = BenchmarkData.repository(TitleInventory.class,
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "addCopy" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        StatsService statsService = BenchmarkData.repository(StatsService.class, (proxy, method, args) -> null);
+
+        bookService = new BookServiceImpl(bookRepository, event -> {
+        }, new LoanProjection(loanLedger), titleInventory);
+        borrowerService = new BorrowerServiceImpl(borrowerRepository, statsService);
+        bookRequest = new BookRequest("978-0-13-468599-1", "Effective Java", "Joshua Bloch");
+        borrowerRequest = new BorrowerRequest("Supun San", "supunsan@example.com");
+        lookupRequest = new BookLookupRequest(lookedUp.stream().map(Book::getId).toList(), List.of());
+    }
+
+    @Benchmark
+    public List<BookResponse> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @Benchmark
+    public List<BookResponse> lookupBooks() {
+        return bookService.lookupBooks(lookupRequest);
+    }
+
+    @Benchmark
+    public BookResponse addBook() {
+        return bookService.addBook(bookRequest);
+    }
+
+    @Benchmark
+    public BorrowerResponse registerBorrower() {
+        return borrowerService.register(borrowerRequest);
+    }
+}
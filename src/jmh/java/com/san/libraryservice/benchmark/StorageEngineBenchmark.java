@@ -0,0 +1,113 @@
+package com.san.libraryservice.benchmark;
+
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.model.BorrowRecord;
+import com.san.libraryservice.model.Borrower;
+import com.san.libraryservice.storage.InMemoryBookRepository;
+import com.san.libraryservice.storage.InMemoryBorrowRecordRepository;
+import com.san.libraryservice.storage.InMemoryBorrowerRepository;
+import com.san.libraryservice.storage.StorageEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the in-memory storage engine without Spring: a borrow and a return through the repositories,
+ * each committed as one transaction, and the active-loan lookup on {@code borrow_record}.
+ *
+ * @author Supunsan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageEngineBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"true", "false"})
+    public boolean fsync;
+
+    private Path directory;
+    private StorageEngine engine;
+    private InMemoryBookRepository bookRepository;
+    private InMemoryBorrowRecordRepository borrowRecordRepository;
+    private Borrower borrower;
+    private long[] bookIds;
+    private int nextBook;
+
+    @Setup(Level.Trial)
+    public void openEngine() throws IOException {
+        directory = Files.createTempDirectory("storage-benchmark");
+        engine = new StorageEngine(directory, fsync);
+        bookRepository = new InMemoryBookRepository(engine);
+        borrowRecordRepository = new InMemoryBorrowRecordRepository(engine);
+        borrower = new InMemoryBorrowerRepository(engine)
+                .save(Borrower.builder().name("Benchmark Borrower").email("benchmark@example.com").build());
+
+        List<Book> catalog = BenchmarkData.books(CATALOG_SIZE);
+        catalog.forEach(book -> {
+            book.setId(null);
+            book.setAvailable(true);
+        });
+        engine.begin();
+        bookIds = bookRepository.saveAll(catalog).stream()
+                .mapToLong(Book::getId)
+                .toArray();
+        engine.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeEngine() throws IOException {
+        engine.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void borrowAndReturnBook() {
+        long bookId = bookIds[nextBook];
+        nextBook = (nextBook + 1) % bookIds.length;
+
+        engine.begin();
+        Book book = bookRepository.findById(bookId).orElseThrow();
+        if (borrowRecordRepository.existsByBookIdAndReturnedAtIsNull(bookId)) {
+            throw new IllegalStateException("Book " + bookId + " is already borrowed");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        borrowRecordRepository.save(BorrowRecord.builder()
+                .borrower(borrower).book(book).borrowedAt(now).dueAt(now.plusDays(14)).build());
+        book.setAvailable(false);
+        bookRepository.save(book);
+        engine.commit();
+
+        engine.begin();
+        BorrowRecord borrowRecord = borrowRecordRepository
+                .findByBorrowerIdAndBookIdAndReturnedAtIsNull(borrower.getId(), bookId).orElseThrow();
+        borrowRecord.setReturnedAt(LocalDateTime.now());
+        borrowRecordRepository.save(borrowRecord);
+        book.setAvailable(true);
+        bookRepository.save(book);
+        engine.commit();
+    }
+
+    @Benchmark
+    public boolean isBookBorrowed() {
+        long bookId = bookIds[nextBook];
+        nextBook = (nextBook + 1) % bookIds.length;
+        return borrowRecordRepository.existsByBookIdAndReturnedAtIsNull(bookId);
+    }
+}
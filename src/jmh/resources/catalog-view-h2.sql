@@ -0,0 +1,21 @@
+-- H2 equivalent of the catalog_view table in V5__catalog_view.sql, V7 and V8
+CREATE SEQUENCE IF NOT EXISTS catalog_view_version_seq;
+
+CREATE TABLE IF NOT EXISTS catalog_view (
+    book_id       BIGINT       PRIMARY KEY,
+    isbn          VARCHAR(255),
+    title         VARCHAR(255),
+    author        VARCHAR(255),
+    available     BOOLEAN      NOT NULL,
+    active_loans  INTEGER      NOT NULL,
+    due_at        TIMESTAMP(6),
+    loan_version  INTEGER      NOT NULL,
+    changed_at    TIMESTAMP(6) NOT NULL,
+    refreshed_at  TIMESTAMP(6) NOT NULL,
+    entry_version BIGINT       NOT NULL DEFAULT nextval('catalog_view_version_seq')
+);
+
+CREATE INDEX IF NOT EXISTS catalog_view_entry_version_idx ON catalog_view (entry_version);
+
+-- H2 has no partial indexes, see V8__catalog_view_available_copies.sql
+CREATE INDEX IF NOT EXISTS catalog_view_available_isbn_idx ON catalog_view (isbn, available, book_id);
@@ -0,0 +1,24 @@
+-- H2 equivalent of the loan ledger tables in V4__loan_event_ledger.sql
+CREATE SEQUENCE IF NOT EXISTS loan_event_sequence_seq;
+
+CREATE TABLE IF NOT EXISTS loan_event (
+    sequence     BIGINT       PRIMARY KEY,
+    type         VARCHAR(32)  NOT NULL,
+    book_id      BIGINT       NOT NULL,
+    book_version INTEGER      NOT NULL,
+    borrower_id  BIGINT       NOT NULL,
+    loan_id      BIGINT       NOT NULL,
+    occurred_at  TIMESTAMP(6) NOT NULL,
+    due_at       TIMESTAMP(6),
+    recorded_at  TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP,
+    CONSTRAINT loan_event_book_version_key UNIQUE (book_id, book_version)
+);
+
+CREATE TABLE IF NOT EXISTS loan_snapshot (
+    sequence   BIGINT       PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    state      BYTEA        NOT NULL
+);
+
+-- The book table comes from Hibernate; the read model guards availability with V9's loan_version
+ALTER TABLE book ADD COLUMN IF NOT EXISTS loan_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- H2 equivalent of the book_title table in V6__book_title_inventory.sql
+CREATE TABLE IF NOT EXISTS book_title (
+    isbn             VARCHAR(255) PRIMARY KEY,
+    title            VARCHAR(255),
+    author           VARCHAR(255),
+    total_copies     INTEGER      NOT NULL,
+    available_copies INTEGER      NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT book_title_available_copies_check CHECK (available_copies BETWEEN 0 AND total_copies)
+);
@@ -0,0 +1,24 @@
+package com.san.libraryservice.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * A returned loan as stored in the cold-storage archive. Timestamps are kept to the microsecond,
+ * the precision of the {@code borrow_record} columns.
+ *
+ * @param id         the ID of the original borrow record
+ * @param borrowerId the ID of the borrower
+ * @param bookId     the ID of the book
+ * @param borrowedAt when the book was borrowed
+ * @param dueAt      when the book was due back, or null for loans made before due dates were recorded
+ * @param returnedAt when the book was returned
+ * @author Supunsan
+ */
+public record ArchivedLoan(
+        long id,
+        long borrowerId,
+        long bookId,
+        LocalDateTime borrowedAt,
+        LocalDateTime dueAt,
+        LocalDateTime returnedAt) {
+}
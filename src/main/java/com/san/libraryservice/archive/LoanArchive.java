@@ -0,0 +1,165 @@
+package com.san.libraryservice.archive;
+
+import com.san.libraryservice.util.EpochMicros;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.san.libraryservice.constant.ArchiveConstants.*;
+
+/**
+ * The directory of {@link LoanSegment} files holding archived loans.
+ * <p>
+ * A segment is first written with a {@code .pending} suffix and only renamed to {@code .seg} once its
+ * loans have been deleted from {@code borrow_record}, so queries never see a loan in both places.
+ * Pending segments left by an interrupted run are resolved by
+ * {@link com.san.libraryservice.service.LoanArchiveService#archiveReturnedLoans}.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+public class LoanArchive {
+
+    private final Path directory;
+
+    public LoanArchive(@Value(ARCHIVE_DIRECTORY) Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes the loans, sorted by ascending id, to a new pending segment.
+     *
+     * @param loans the loans to archive
+     * @return the path of the pending segment
+     * @throws IOException if the segment cannot be written
+     * @author Supunsan
+     */
+    public Path writePending(List<ArchivedLoan> loans) throws IOException {
+        Files.createDirectories(directory);
+        String name = SEGMENT_NAME_FORMAT.formatted(loans.get(0).id(), loans.get(loans.size() - 1).id());
+        Path pending = directory.resolve(name + PENDING_SUFFIX);
+        Files.deleteIfExists(pending);
+        LoanSegment.write(pending, loans);
+        return pending;
+    }
+
+    /**
+     * Publishes a pending segment so it is included in queries.
+     *
+     * @param pending the path returned by {@link #writePending}
+     * @throws IOException if the segment cannot be renamed
+     * @author Supunsan
+     */
+    public void commit(Path pending) throws IOException {
+        String name = pending.getFileName().toString();
+        Path segment = pending.resolveSibling(name.substring(0, name.length() - PENDING_SUFFIX.length()) + SEGMENT_SUFFIX);
+        Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Deletes a pending segment whose loans were not removed from the database.
+     *
+     * @param pending the pending segment
+     * @throws IOException if the file cannot be deleted
+     * @author Supunsan
+     */
+    public void discard(Path pending) throws IOException {
+        Files.deleteIfExists(pending);
+    }
+
+    /**
+     * Lists the pending segments left by an interrupted archive run.
+     *
+     * @return the pending segment paths
+     * @throws IOException if the directory cannot be listed
+     * @author Supunsan
+     */
+    public List<Path> pendingSegments() throws IOException {
+        return list(PENDING_SUFFIX);
+    }
+
+    /**
+     * Streams every archived loan borrowed within the range to the consumer, in id order per segment.
+     * Segments whose borrow time range does not overlap are skipped without being decoded.
+     *
+     * @param from     the inclusive start of the borrow time range
+     * @param to       the exclusive end of the borrow time range
+     * @param consumer receives each matching loan
+     * @throws IOException if a segment cannot be read
+     * @author Supunsan
+     */
+    public void scan(LocalDateTime from, LocalDateTime to, Consumer<ArchivedLoan> consumer) throws IOException {
+        for (Path file : list(SEGMENT_SUFFIX)) {
+            LoanSegment segment = LoanSegment.open(file);
+            if (!segment.mayContain(from, to)) {
+                continue;
+            }
+            for (ArchivedLoan loan : segment.loans()) {
+                if (!loan.borrowedAt().isBefore(from) && loan.borrowedAt().isBefore(to)) {
+                    consumer.accept(loan);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the archived loans of each book borrowed within the range. Only the book id and
+     * borrow time columns are decoded.
+     *
+     * @param from the inclusive start of the borrow time range
+     * @param to   the exclusive end of the borrow time range
+     * @return the number of loans per book id
+     * @throws IOException if a segment cannot be read
+     * @author Supunsan
+     */
+    public Map<Long, Long> countLoansByBook(LocalDateTime from, LocalDateTime to) throws IOException {
+        long fromMicros = EpochMicros.toMicros(from);
+        long toMicros = EpochMicros.toMicros(to);
+        Map<Long, Long> counts = new HashMap<>();
+
+        for (Path file : list(SEGMENT_SUFFIX)) {
+            LoanSegment segment = LoanSegment.open(file);
+            if (!segment.mayContain(from, to)) {
+                continue;
+            }
+            long[] bookIds = segment.column(LoanSegment.Column.BOOK_ID);
+            long[] borrowedAt = segment.column(LoanSegment.Column.BORROWED_AT);
+            for (int i = 0; i < bookIds.length; i++) {
+                if (borrowedAt[i] >= fromMicros && borrowedAt[i] < toMicros) {
+                    counts.merge(bookIds[i], 1L, Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Lists the files in the archive directory with the given suffix, sorted by name and so by id.
+     *
+     * @param suffix the file suffix
+     * @return the matching paths, empty if the directory does not exist yet
+     * @throws IOException if the directory cannot be listed
+     * @author Supunsan
+     */
+    private List<Path> list(String suffix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.san.libraryservice.archive;
+
+import com.san.libraryservice.util.EpochMicros;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.san.libraryservice.util.EpochMicros.NULL_TIME;
+import static com.san.libraryservice.util.EpochMicros.toDateTime;
+import static com.san.libraryservice.util.EpochMicros.toMicros;
+
+/**
+ * An immutable, columnar file of archived loans.
+ * <p>
+ * Layout: a fixed header (magic, version, row count, first and last id, min and max borrow time,
+ * then the raw and compressed length of every column) followed by one deflate-compressed block per
+ * {@link Column}. Within a block values are unsigned varints: ids are delta-encoded against the previous
+ * row, borrow times are zigzag delta-encoded against the previous row, and due and return times are
+ * zigzag deltas against the row's borrow time, shifted by one so that zero encodes null.
+ * </p>
+ * <p>
+ * Segments are read through a memory-mapped buffer and only the requested columns are inflated,
+ * so a report over book ids never decodes timestamps it does not filter on.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public final class LoanSegment {
+
+    public enum Column {ID, BORROWER_ID, BOOK_ID, BORROWED_AT, DUE_AT, RETURNED_AT}
+
+    private static final int MAGIC = 0x4C534547;
+    private static final int VERSION = 1;
+    private static final int COLUMN_COUNT = Column.values().length;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES + 4 * Long.BYTES + COLUMN_COUNT * 2 * Integer.BYTES;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final long firstId;
+    private final long lastId;
+    private final long minBorrowedAt;
+    private final long maxBorrowedAt;
+    private final int[] rawLengths = new int[COLUMN_COUNT];
+    private final int[] offsets = new int[COLUMN_COUNT];
+    private final int[] compressedLengths = new int[COLUMN_COUNT];
+
+    private LoanSegment(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE) {
+            throw new IOException("Truncated loan segment: " + file);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a loan segment: " + file);
+        }
+        rowCount = buffer.getInt(8);
+        firstId = buffer.getLong(12);
+        lastId = buffer.getLong(20);
+        minBorrowedAt = buffer.getLong(28);
+        maxBorrowedAt = buffer.getLong(36);
+
+        int offset = HEADER_SIZE;
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            rawLengths[i] = buffer.getInt(44 + i * 8);
+            compressedLengths[i] = buffer.getInt(48 + i * 8);
+            offsets[i] = offset;
+            offset += compressedLengths[i];
+        }
+        if (offset > buffer.capacity()) {
+            throw new IOException("Truncated loan segment: " + file);
+        }
+    }
+
+    /**
+     * Writes the loans, which must be sorted by ascending id, as a new segment.
+     *
+     * @param file  the file to create
+     * @param loans the loans to write, at least one
+     * @throws IOException if the file cannot be written
+     * @author Supunsan
+     */
+    public static void write(Path file, List<ArchivedLoan> loans) throws IOException {
+        ByteArrayOutputStream[] columns = new ByteArrayOutputStream[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i] = new ByteArrayOutputStream(loans.size() * 4);
+        }
+
+        long previousId = 0;
+        long previousBorrowedAt = 0;
+        long minBorrowedAt = Long.MAX_VALUE;
+        long maxBorrowedAt = Long.MIN_VALUE;
+        for (ArchivedLoan loan : loans) {
+            long borrowedAt = toMicros(loan.borrowedAt());
+            writeVarLong(columns[Column.ID.ordinal()], loan.id() - previousId);
+            writeVarLong(columns[Column.BORROWER_ID.ordinal()], loan.borrowerId());
+            writeVarLong(columns[Column.BOOK_ID.ordinal()], loan.bookId());
+            writeVarLong(columns[Column.BORROWED_AT.ordinal()], zigzag(borrowedAt - previousBorrowedAt));
+            writeVarLong(columns[Column.DUE_AT.ordinal()], encodeRelative(loan.dueAt(), borrowedAt));
+            writeVarLong(columns[Column.RETURNED_AT.ordinal()], encodeRelative(loan.returnedAt(), borrowedAt));
+            previousId = loan.id();
+            previousBorrowedAt = borrowedAt;
+            minBorrowedAt = Math.min(minBorrowedAt, borrowedAt);
+            maxBorrowedAt = Math.max(maxBorrowedAt, borrowedAt);
+        }
+
+        byte[][] compressed = new byte[COLUMN_COUNT][];
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(loans.size())
+                .putLong(loans.get(0).id())
+                .putLong(loans.get(loans.size() - 1).id())
+                .putLong(minBorrowedAt)
+                .putLong(maxBorrowedAt);
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            byte[] raw = columns[i].toByteArray();
+            compressed[i] = deflate(raw);
+            header.putInt(raw.length).putInt(compressed[i].length);
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeFully(channel, header);
+            for (byte[] column : compressed) {
+                writeFully(channel, ByteBuffer.wrap(column));
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Maps a segment file into memory and reads its header.
+     *
+     * @param file the segment file
+     * @return the opened {@link LoanSegment}
+     * @throws IOException if the file cannot be mapped, is not a segment or is shorter than its header says
+     * @author Supunsan
+     */
+    public static LoanSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new LoanSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public long firstId() {
+        return firstId;
+    }
+
+    public long lastId() {
+        return lastId;
+    }
+
+    /**
+     * Checks whether any loan in the segment was borrowed within the given range, using only the header.
+     *
+     * @param from the inclusive start of the range
+     * @param to   the exclusive end of the range
+     * @return false if the segment can be skipped
+     * @author Supunsan
+     */
+    public boolean mayContain(LocalDateTime from, LocalDateTime to) {
+        return maxBorrowedAt >= toMicros(from) && minBorrowedAt < toMicros(to);
+    }
+
+    /**
+     * Decodes one column into absolute values: ids as stored, times as microseconds since the epoch,
+     * with {@link EpochMicros#NULL_TIME} for a missing due or return time.
+     *
+     * @param column the column to decode
+     * @return one value per row, in id order
+     * @throws IOException if the column data is corrupt
+     * @author Supunsan
+     */
+    public long[] column(Column column) throws IOException {
+        long[] values = readVarLongs(column);
+        switch (column) {
+            case ID -> {
+                for (int i = 1; i < values.length; i++) {
+                    values[i] += values[i - 1];
+                }
+            }
+            case BORROWED_AT -> {
+                long previous = 0;
+                for (int i = 0; i < values.length; i++) {
+                    previous += unzigzag(values[i]);
+                    values[i] = previous;
+                }
+            }
+            case DUE_AT, RETURNED_AT -> resolveRelative(values, column(Column.BORROWED_AT));
+            default -> {
+                // Borrower and book ids are stored as plain varints
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Decodes every column and returns the loans in id order.
+     *
+     * @return the archived loans
+     * @throws IOException if the segment data is corrupt
+     * @author Supunsan
+     */
+    public List<ArchivedLoan> loans() throws IOException {
+        long[] ids = column(Column.ID);
+        long[] borrowerIds = column(Column.BORROWER_ID);
+        long[] bookIds = column(Column.BOOK_ID);
+        long[] borrowedAt = column(Column.BORROWED_AT);
+        long[] dueAt = resolveRelative(readVarLongs(Column.DUE_AT), borrowedAt);
+        long[] returnedAt = resolveRelative(readVarLongs(Column.RETURNED_AT), borrowedAt);
+
+        List<ArchivedLoan> loans = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            loans.add(new ArchivedLoan(ids[i], borrowerIds[i], bookIds[i],
+                    toDateTime(borrowedAt[i]), toDateTime(dueAt[i]), toDateTime(returnedAt[i])));
+        }
+        return loans;
+    }
+
+    /**
+     * Inflates a column block and reads its raw varints, before any delta decoding.
+     *
+     * @param column the column to read
+     * @return one raw value per row
+     * @throws IOException if the block cannot be inflated
+     * @author Supunsan
+     */
+    private long[] readVarLongs(Column column) throws IOException {
+        int index = column.ordinal();
+        byte[] raw = new byte[rawLengths[index]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offsets[index], compressedLengths[index]));
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column " + column + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+
+        long[] values = new long[rowCount];
+        int position = 0;
+        for (int i = 0; i < rowCount; i++) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = raw[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            values[i] = value;
+        }
+        return values;
+    }
+
+    /**
+     * Turns raw due or return time values into absolute times, using the decoded borrow times.
+     *
+     * @param values     the raw values, replaced in place
+     * @param borrowedAt the decoded borrow times
+     * @return the same array, now holding absolute times or {@link EpochMicros#NULL_TIME}
+     * @author Supunsan
+     */
+    private static long[] resolveRelative(long[] values, long[] borrowedAt) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i] == 0 ? NULL_TIME : borrowedAt[i] + unzigzag(values[i] - 1);
+        }
+        return values;
+    }
+
+    private static long encodeRelative(LocalDateTime time, long borrowedAt) {
+        return time == null ? 0 : zigzag(toMicros(time) - borrowedAt) + 1;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.san.libraryservice.catalog;
+
+import com.san.libraryservice.service.CatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+import static com.san.libraryservice.constant.CatalogConstants.CATALOG_ENDPOINT;
+
+/**
+ * Operates the {@link CatalogView} from {@code /actuator/catalog}: a GET reports how far the view is
+ * behind, a POST rebuilds it from the books table and the loan ledger.
+ *
+ * @author Supunsan
+ */
+@Component
+@Endpoint(id = CATALOG_ENDPOINT)
+@RequiredArgsConstructor
+public class CatalogEndpoint {
+
+    private final CatalogService catalogService;
+
+    /**
+     * Reports the loan ledger event the view was refreshed through and the age of the first one after it.
+     *
+     * @return the checkpoint of the view and the lag in milliseconds
+     * @author Supunsan
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("checkpoint", catalogService.checkpoint(),
+                "lagMillis", catalogService.lag().toMillis());
+    }
+
+    /**
+     * Rebuilds the view entry of every book.
+     *
+     * @return the number of books written
+     * @author Supunsan
+     */
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("rebuilt", catalogService.rebuildView());
+    }
+}
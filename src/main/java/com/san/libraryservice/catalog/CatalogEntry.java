@@ -0,0 +1,21 @@
+package com.san.libraryservice.catalog;
+
+import java.time.LocalDateTime;
+
+/**
+ * One book as served by the catalog read endpoints: its details together with its current loan state.
+ *
+ * @param bookId      the ID of the book
+ * @param isbn        the ISBN of the book
+ * @param title       the title of the book
+ * @param author      the author of the book
+ * @param available   whether the book can be borrowed
+ * @param activeLoans the number of active loans of the book
+ * @param dueAt       the time the earliest active loan is due back, null when there is none
+ * @param loanVersion the ledger version of the book the loan state was read at
+ * @param changedAt   the time of the oldest change the entry was refreshed for
+ * @author Supunsan
+ */
+public record CatalogEntry(long bookId, String isbn, String title, String author, boolean available,
+                           int activeLoans, LocalDateTime dueAt, int loanVersion, LocalDateTime changedAt) {
+}
@@ -0,0 +1,74 @@
+package com.san.libraryservice.catalog;
+
+import java.util.List;
+
+/**
+ * The denormalized catalog the read endpoints are served from, kept apart from the tables that
+ * borrow and return write to.
+ *
+ * @author Supunsan
+ */
+public interface CatalogView {
+
+    /**
+     * Returns every entry of the view.
+     *
+     * @return the entries in book ID order
+     * @author Supunsan
+     */
+    List<CatalogEntry> findAll();
+
+    /**
+     * Returns the entries of the copies of an ISBN that were available when they were last refreshed.
+     *
+     * @param isbn  the ISBN of the copies
+     * @param limit the maximum number of entries
+     * @return the entries in book ID order
+     * @author Supunsan
+     */
+    List<CatalogEntry> findAvailable(String isbn, int limit);
+
+    /**
+     * Returns the version of the view, which every write of an entry increases, whichever instance or
+     * service made it.
+     *
+     * @return the highest entry version, 0 for an empty view
+     * @author Supunsan
+     */
+    long version();
+
+    /**
+     * Inserts or replaces the entries. An entry is not replaced by one read at an earlier loan version,
+     * so a slow refresh cannot overwrite a newer one.
+     *
+     * @param entries the entries to save
+     * @author Supunsan
+     */
+    void save(List<CatalogEntry> entries);
+
+    /**
+     * Replaces the ISBN, title and author of the entries whatever loan version they were built from,
+     * and inserts the entries of books that have none yet.
+     *
+     * @param entries the entries to save
+     * @author Supunsan
+     */
+    void saveDetails(List<CatalogEntry> entries);
+
+    /**
+     * Returns the sequence of the last loan ledger event the view was refreshed through.
+     *
+     * @return the checkpoint, 0 if the view was never refreshed from the ledger
+     * @author Supunsan
+     */
+    long checkpoint();
+
+    /**
+     * Records that the view was refreshed through a loan ledger event. Saved after the entries, so a
+     * crash in between refreshes the same books again. A checkpoint below the saved one is ignored.
+     *
+     * @param checkpoint the sequence of the event
+     * @author Supunsan
+     */
+    void saveCheckpoint(long checkpoint);
+}
@@ -0,0 +1,173 @@
+package com.san.libraryservice.catalog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.san.libraryservice.constant.CatalogConstants.*;
+import static com.san.libraryservice.constant.FineConstants.SELECT_CHECKPOINT;
+import static com.san.libraryservice.constant.LedgerConstants.ADVANCE_CHECKPOINT;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+/**
+ * The {@link CatalogView} in the {@code catalog_view} table.
+ * <p>
+ * Entries are saved with an update guarded by the loan version, then an insert for the books that have
+ * no entry yet. An insert that lost a race with another instance is retried as an update. Every write
+ * takes the next value of {@code catalog_view_version_seq} as the entry version. The entry statements
+ * are portable, so the same code runs against the embedded database of the benchmarks; the checkpoint
+ * is kept in {@code job_checkpoint} with the upsert of the other jobs.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+@RequiredArgsConstructor
+public class JdbcCatalogView implements CatalogView {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<CatalogEntry> findAll() {
+        return jdbcTemplate.query(SELECT_CATALOG_VIEW, JdbcCatalogView::toEntry);
+    }
+
+    @Override
+    public List<CatalogEntry> findAvailable(String isbn, int limit) {
+        return jdbcTemplate.query(SELECT_AVAILABLE_COPIES, JdbcCatalogView::toEntry, isbn, limit);
+    }
+
+    @Override
+    public long version() {
+        Long version = jdbcTemplate.queryForObject(SELECT_CATALOG_VERSION, Long.class);
+        return version == null ? 0 : version;
+    }
+
+    @Override
+    public void save(List<CatalogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CatalogEntry> missing = notUpdated(entries, update(entries, now));
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<CatalogEntry> conflicting = notUpdated(missing, insert(missing, now));
+        if (!conflicting.isEmpty()) {
+            update(conflicting, now);
+        }
+    }
+
+    @Override
+    public void saveDetails(List<CatalogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CatalogEntry> missing = notUpdated(entries, updateDetails(entries, now));
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<CatalogEntry> conflicting = notUpdated(missing, insert(missing, now));
+        if (!conflicting.isEmpty()) {
+            updateDetails(conflicting, now);
+        }
+    }
+
+    @Override
+    public long checkpoint() {
+        return jdbcTemplate.query(SELECT_CHECKPOINT, (rs, rowNum) -> rs.getLong(1), CATALOG_JOB_NAME)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    @Override
+    public void saveCheckpoint(long checkpoint) {
+        jdbcTemplate.update(ADVANCE_CHECKPOINT, CATALOG_JOB_NAME, checkpoint, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private int[][] update(List<CatalogEntry> entries, Timestamp now) {
+        return jdbcTemplate.batchUpdate(UPDATE_CATALOG_ENTRY, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.isbn());
+            ps.setString(2, entry.title());
+            ps.setString(3, entry.author());
+            ps.setBoolean(4, entry.available());
+            ps.setInt(5, entry.activeLoans());
+            ps.setTimestamp(6, entry.dueAt() == null ? null : Timestamp.valueOf(entry.dueAt()));
+            ps.setInt(7, entry.loanVersion());
+            ps.setTimestamp(8, Timestamp.valueOf(entry.changedAt()));
+            ps.setTimestamp(9, now);
+            ps.setLong(10, entry.bookId());
+            ps.setInt(11, entry.loanVersion());
+        });
+    }
+
+    private int[][] updateDetails(List<CatalogEntry> entries, Timestamp now) {
+        return jdbcTemplate.batchUpdate(UPDATE_CATALOG_DETAILS, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.isbn());
+            ps.setString(2, entry.title());
+            ps.setString(3, entry.author());
+            ps.setTimestamp(4, Timestamp.valueOf(entry.changedAt()));
+            ps.setTimestamp(5, now);
+            ps.setLong(6, entry.bookId());
+        });
+    }
+
+    private int[][] insert(List<CatalogEntry> entries, Timestamp now) {
+        return jdbcTemplate.batchUpdate(INSERT_CATALOG_ENTRY, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.bookId());
+            ps.setString(2, entry.isbn());
+            ps.setString(3, entry.title());
+            ps.setString(4, entry.author());
+            ps.setBoolean(5, entry.available());
+            ps.setInt(6, entry.activeLoans());
+            ps.setTimestamp(7, entry.dueAt() == null ? null : Timestamp.valueOf(entry.dueAt()));
+            ps.setInt(8, entry.loanVersion());
+            ps.setTimestamp(9, Timestamp.valueOf(entry.changedAt()));
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    private static CatalogEntry toEntry(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp dueAt = rs.getTimestamp(7);
+        return new CatalogEntry(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getBoolean(5),
+                rs.getInt(6),
+                dueAt == null ? null : dueAt.toLocalDateTime(),
+                rs.getInt(8),
+                rs.getTimestamp(9).toLocalDateTime());
+    }
+
+    /**
+     * Returns the entries whose statement changed no row.
+     *
+     * @param entries the entries in the order they were batched
+     * @param counts  the update counts of the batch, in a single chunk
+     * @return the entries that were not written
+     * @author Supunsan
+     */
+    private static List<CatalogEntry> notUpdated(List<CatalogEntry> entries, int[][] counts) {
+        List<CatalogEntry> notUpdated = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (counts[0][i] == 0) {
+                notUpdated.add(entries.get(i));
+            }
+        }
+        return notUpdated;
+    }
+}
@@ -0,0 +1,25 @@
+package com.san.libraryservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * Registers a CBOR message converter so clients sending {@code Accept: application/cbor}
+     * receive the same DTOs in a compact binary encoding. The mapper is built from the
+     * application's Jackson builder, so date handling and modules match the JSON output.
+     *
+     * @param builder the Jackson builder configured by Spring Boot
+     * @return the CBOR {@link MappingJackson2CborHttpMessageConverter}
+     * @author Supunsan
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
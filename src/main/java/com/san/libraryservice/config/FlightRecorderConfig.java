@@ -0,0 +1,46 @@
+package com.san.libraryservice.config;
+
+import com.san.libraryservice.jfr.LoanEvent;
+import com.san.libraryservice.jfr.RepositoryCallEvent;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "library.jfr.enabled", havingValue = "true")
+public class FlightRecorderConfig {
+
+    /**
+     * Starts a continuous Flight Recorder recording with the JDK's default settings plus the
+     * library's loan and repository events, so latency spikes can be lined up with GC and lock
+     * contention. The recording is written to {@code library.jfr.destination} when the application stops.
+     *
+     * @param destination         the file the recording is dumped to
+     * @param loanThreshold       the minimum duration of a recorded {@link LoanEvent}
+     * @param repositoryThreshold the minimum duration of a recorded {@link RepositoryCallEvent}
+     * @return the running {@link Recording}
+     * @author Supunsan
+     */
+    @Bean(destroyMethod = "stop")
+    public Recording libraryRecording(@Value("${library.jfr.destination:library.jfr}") Path destination,
+                                      @Value("${library.jfr.loan-threshold:10ms}") Duration loanThreshold,
+                                      @Value("${library.jfr.repository-threshold:5ms}") Duration repositoryThreshold)
+            throws IOException, ParseException {
+        Recording recording = new Recording(jdk.jfr.Configuration.getConfiguration("default"));
+        recording.setName("library-service");
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.setDestination(destination);
+        recording.enable(LoanEvent.class).withThreshold(loanThreshold);
+        recording.enable(RepositoryCallEvent.class).withThreshold(repositoryThreshold);
+        recording.start();
+        return recording;
+    }
+}
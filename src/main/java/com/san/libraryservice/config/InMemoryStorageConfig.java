@@ -0,0 +1,163 @@
+package com.san.libraryservice.config;
+
+import com.san.libraryservice.catalog.CatalogView;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanReadModel;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.repository.BorrowRecordRepository;
+import com.san.libraryservice.repository.BorrowerRepository;
+import com.san.libraryservice.stats.LoanStatistics;
+import com.san.libraryservice.storage.InMemoryBookRepository;
+import com.san.libraryservice.storage.InMemoryBorrowRecordRepository;
+import com.san.libraryservice.storage.InMemoryBorrowerRepository;
+import com.san.libraryservice.storage.InMemoryCatalogView;
+import com.san.libraryservice.storage.InMemoryLoanLedger;
+import com.san.libraryservice.storage.InMemoryLoanReadModel;
+import com.san.libraryservice.storage.InMemoryLoanStatistics;
+import com.san.libraryservice.storage.InMemoryTitleInventory;
+import com.san.libraryservice.storage.StorageEngine;
+import com.san.libraryservice.storage.StorageTransactionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.san.libraryservice.constant.StorageConstants.*;
+
+@Configuration
+@Profile(IN_MEMORY_PROFILE)
+public class InMemoryStorageConfig {
+
+    /**
+     * Opens the storage engine, recovering the data in {@code library.storage.directory}.
+     * A final snapshot is taken when the application stops.
+     *
+     * @param directory the directory for snapshots and logs
+     * @param fsync     whether each commit is forced to disk before the request completes
+     * @return the {@link StorageEngine}
+     * @throws IOException if the stored data cannot be recovered
+     * @author Supunsan
+     */
+    @Bean(destroyMethod = "close")
+    public StorageEngine storageEngine(@Value(STORAGE_DIRECTORY) Path directory,
+                                       @Value(STORAGE_FSYNC) boolean fsync) throws IOException {
+        return new StorageEngine(directory, fsync);
+    }
+
+    /**
+     * Runs {@code @Transactional} methods as storage engine transactions.
+     *
+     * @param storageEngine the {@link StorageEngine}
+     * @return the application's {@link PlatformTransactionManager}
+     * @author Supunsan
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(StorageEngine storageEngine) {
+        return new StorageTransactionManager(storageEngine);
+    }
+
+    /**
+     * Creates the in-memory {@link BookRepository}.
+     *
+     * @param storageEngine the {@link StorageEngine}
+     * @return the repository
+     * @author Supunsan
+     */
+    @Bean
+    public BookRepository bookRepository(StorageEngine storageEngine) {
+        return new InMemoryBookRepository(storageEngine);
+    }
+
+    /**
+     * Creates the in-memory {@link BorrowerRepository}.
+     *
+     * @param storageEngine the {@link StorageEngine}
+     * @return the repository
+     * @author Supunsan
+     */
+    @Bean
+    public BorrowerRepository borrowerRepository(StorageEngine storageEngine) {
+        return new InMemoryBorrowerRepository(storageEngine);
+    }
+
+    /**
+     * Creates the in-memory {@link BorrowRecordRepository}.
+     *
+     * @param storageEngine the {@link StorageEngine}
+     * @return the repository
+     * @author Supunsan
+     */
+    @Bean
+    public BorrowRecordRepository borrowRecordRepository(StorageEngine storageEngine) {
+        return new InMemoryBorrowRecordRepository(storageEngine);
+    }
+
+    /**
+     * Creates the in-memory {@link LoanLedger}.
+     *
+     * @param storageEngine the {@link StorageEngine}
+     * @return the ledger
+     * @author Supunsan
+     */
+    @Bean
+    public LoanLedger loanLedger(StorageEngine storageEngine) {
+        return new InMemoryLoanLedger(storageEngine);
+    }
+
+    /**
+     * Creates the in-memory {@link LoanReadModel} over the book and borrow record tables.
+     *
+     * @param storageEngine          the {@link StorageEngine}
+     * @param bookRepository         the {@link BookRepository}
+     * @param borrowRecordRepository the {@link BorrowRecordRepository}
+     * @return the read model
+     * @author Supunsan
+     */
+    @Bean
+    public LoanReadModel loanReadModel(StorageEngine storageEngine, BookRepository bookRepository,
+                                       BorrowRecordRepository borrowRecordRepository) {
+        return new InMemoryLoanReadModel(storageEngine, bookRepository, borrowRecordRepository);
+    }
+
+    /**
+     * Creates the in-memory {@link CatalogView}.
+     *
+     * @param storageEngine the {@link StorageEngine}
+     * @return the catalog view
+     * @author Supunsan
+     */
+    @Bean
+    public CatalogView catalogView(StorageEngine storageEngine) {
+        return new InMemoryCatalogView(storageEngine);
+    }
+
+    /**
+     * Creates the in-memory {@link LoanStatistics} over the loan ledger and the books.
+     *
+     * @param loanLedger     the {@link LoanLedger}
+     * @param bookRepository the {@link BookRepository}
+     * @return the loan statistics
+     * @author Supunsan
+     */
+    @Bean
+    public LoanStatistics loanStatistics(LoanLedger loanLedger, BookRepository bookRepository) {
+        return new InMemoryLoanStatistics(loanLedger, bookRepository);
+    }
+
+    /**
+     * Creates the in-memory {@link TitleInventory}.
+     *
+     * @param storageEngine the {@link StorageEngine}
+     * @return the title inventory
+     * @author Supunsan
+     */
+    @Bean
+    public TitleInventory titleInventory(StorageEngine storageEngine) {
+        return new InMemoryTitleInventory(storageEngine);
+    }
+}
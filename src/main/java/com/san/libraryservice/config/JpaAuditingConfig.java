@@ -0,0 +1,19 @@
+package com.san.libraryservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+/**
+ * Fills the {@code createdAt} and {@code updatedAt} columns of JPA entities. The in-memory backend
+ * has no JPA metamodel, so its repositories set them on save instead.
+ *
+ * @author Supunsan
+ */
+@Configuration
+@Profile(NOT_IN_MEMORY_PROFILE)
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+}
@@ -4,12 +4,21 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import static com.san.libraryservice.constant.ConfigConstants.*;
 
 @Configuration
+@Lazy
 public class OpenAPIConfig {
 
+    /**
+     * Describes the API for the Swagger UI. Nothing on the request path needs it, so the configuration is lazy
+     * and is only created when springdoc first asks for it.
+     *
+     * @return the {@link OpenAPI} description
+     * @author Supunsan
+     */
     @Bean
     public OpenAPI customOpenAPI() {
         return new OpenAPI()
@@ -0,0 +1,86 @@
+package com.san.libraryservice.config;
+
+import com.san.libraryservice.datasource.ReplicaProperties;
+import com.san.libraryservice.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.san.libraryservice.constant.ConfigConstants.PRIMARY_POOL;
+import static com.san.libraryservice.constant.ConfigConstants.REPLICA_POOL_PREFIX;
+
+@Configuration
+@ConditionalOnProperty(name = "library.datasource.routing-enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    /**
+     * Creates the primary pool from {@code spring.datasource.*} and one pool per configured replica,
+     * each reporting its own {@code hikaricp.*} metrics under its pool name.
+     *
+     * @param dataSourceProperties the primary connection settings
+     * @param replicaProperties    the replica connection settings
+     * @param meterRegistry        the registry for pool and replica metrics
+     * @return the {@link ReplicaRoutingDataSource} over all pools
+     * @author Supunsan
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaProperties replicaProperties,
+                                                             MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(PRIMARY_POOL);
+        primary.setMetricsTrackerFactory(metrics);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> configured = replicaProperties.replicas() == null
+                ? List.of() : replicaProperties.replicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(REPLICA_POOL_PREFIX + i);
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(replicaProperties.replicaPoolSize());
+            pool.setReadOnly(true);
+            // Start without connections so an unavailable replica does not stop the application
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(metrics);
+            replicas.put(pool.getPoolName(), pool);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.maxReplicaLag(), meterRegistry);
+    }
+
+    /**
+     * Exposes the routing data source to JPA and JDBC. The lazy proxy defers fetching a physical
+     * connection until the first statement, after the transaction's read-only flag has been set.
+     *
+     * @param routingDataSource the {@link ReplicaRoutingDataSource}
+     * @return the application's {@link DataSource}
+     * @author Supunsan
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
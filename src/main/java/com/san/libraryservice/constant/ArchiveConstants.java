@@ -0,0 +1,24 @@
+package com.san.libraryservice.constant;
+
+public class ArchiveConstants {
+
+    private ArchiveConstants() {
+    }
+
+    public static final String ARCHIVE_JOB_CRON = "${library.archive.job.cron:0 0 3 * * *}";
+    public static final String ARCHIVE_DIRECTORY = "${library.archive.directory:archive}";
+    public static final String ARCHIVE_AFTER = "${library.archive.after:365d}";
+    public static final int ARCHIVE_BATCH_SIZE = 50_000;
+
+    public static final String SEGMENT_NAME_FORMAT = "loans-%019d-%019d";
+    public static final String SEGMENT_SUFFIX = ".seg";
+    public static final String PENDING_SUFFIX = ".pending";
+
+    public static final String SELECT_ARCHIVABLE_LOANS = """
+            SELECT id, borrower_id, book_id, borrowed_at, due_at, returned_at FROM borrow_record
+            WHERE returned_at IS NOT NULL AND borrowed_at < ?
+            ORDER BY id LIMIT ?""";
+    public static final String DELETE_ARCHIVED_LOAN = "DELETE FROM borrow_record WHERE id = ? AND borrowed_at < ?";
+    public static final String SELECT_BORROW_RECORD_EXISTS = "SELECT EXISTS (SELECT 1 FROM borrow_record WHERE id = ?)";
+
+}
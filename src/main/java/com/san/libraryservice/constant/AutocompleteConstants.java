@@ -0,0 +1,14 @@
+package com.san.libraryservice.constant;
+
+public class AutocompleteConstants {
+
+    private AutocompleteConstants() {
+    }
+
+    public static final String AUTOCOMPLETE_REBUILD_INTERVAL = "${library.autocomplete.rebuild-interval:10m}";
+    public static final int AUTOCOMPLETE_BATCH_SIZE = 1_000;
+    public static final int AUTOCOMPLETE_LIMIT = 10;
+    // Suggestions of added books searched separately before they are folded into the index
+    public static final int AUTOCOMPLETE_PENDING_LIMIT = 1_000;
+
+}
@@ -0,0 +1,44 @@
+package com.san.libraryservice.constant;
+
+public class CatalogConstants {
+
+    private CatalogConstants() {
+    }
+
+    public static final String CATALOG_REFRESH_INTERVAL = "${library.catalog.refresh-interval:500ms}";
+    public static final int CATALOG_BATCH_SIZE = 1_000;
+    public static final String CATALOG_REBUILD_ON_STARTUP = "${library.catalog.rebuild-on-startup:false}";
+    public static final String CATALOG_ENDPOINT = "catalog";
+    public static final String CATALOG_JOB_NAME = "catalog-view";
+
+    public static final String SELECT_CATALOG_VIEW = """
+            SELECT book_id, isbn, title, author, available, active_loans, due_at, loan_version, changed_at
+            FROM catalog_view
+            ORDER BY book_id""";
+    public static final String SELECT_AVAILABLE_COPIES = """
+            SELECT book_id, isbn, title, author, available, active_loans, due_at, loan_version, changed_at
+            FROM catalog_view
+            WHERE isbn = ? AND available
+            ORDER BY book_id
+            LIMIT ?""";
+    // Every write of an entry takes a new entry version, so the maximum changes whenever the view does
+    public static final String SELECT_CATALOG_VERSION = "SELECT COALESCE(MAX(entry_version), 0) FROM catalog_view";
+    // An entry is only replaced by one built from the same or a later loan version of the book
+    public static final String UPDATE_CATALOG_ENTRY = """
+            UPDATE catalog_view
+            SET isbn = ?, title = ?, author = ?, available = ?, active_loans = ?, due_at = ?, loan_version = ?,
+                changed_at = ?, refreshed_at = ?, entry_version = nextval('catalog_view_version_seq')
+            WHERE book_id = ? AND loan_version <= ?""";
+    // A change of the book's details is written whatever loan version the entry was built from
+    public static final String UPDATE_CATALOG_DETAILS = """
+            UPDATE catalog_view
+            SET isbn = ?, title = ?, author = ?, changed_at = ?, refreshed_at = ?,
+                entry_version = nextval('catalog_view_version_seq')
+            WHERE book_id = ?""";
+    public static final String INSERT_CATALOG_ENTRY = """
+            INSERT INTO catalog_view (book_id, isbn, title, author, available, active_loans, due_at, loan_version,
+                                      changed_at, refreshed_at, entry_version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, nextval('catalog_view_version_seq'))
+            ON CONFLICT DO NOTHING""";
+
+}
@@ -5,5 +5,13 @@ public class CommonConstants {
     }
 
     public static final String EMPTY_STRING = "";
+    public static final String GZIP_ENCODING = "gzip";
+    public static final String GZIP_ETAG_SUFFIX = "-gzip";
+    public static final String CBOR_ETAG_SUFFIX = "-cbor";
+    public static final String ETAG_DIGEST_ALGORITHM = "SHA-256";
+    // Bytes of the digest kept in the ETag
+    public static final int ETAG_DIGEST_BYTES = 16;
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+    public static final int BOOK_LOOKUP_MAX_ITEMS = 100;
 
 }
@@ -8,4 +8,18 @@ public class ConfigConstants {
     public static final String API_VERSION = "1.0";
     public static final String API_DESCRIPTION = "API documentation for the Library Management System";
 
+    public static final String PRIMARY_POOL = "primary";
+    public static final String REPLICA_POOL_PREFIX = "replica-";
+    // Whether the server is a primary or a standby whose WAL receiver is streaming, then zero on a primary or a
+    // caught-up standby, seconds behind otherwise, NULL if the standby has replayed nothing yet. A standby that
+    // stopped streaming has replayed all it received, so it looks caught up by its LSNs alone. The receiver's
+    // status is only visible to superusers and members of pg_read_all_stats; for other users it reads as not streaming.
+    public static final String REPLICA_LAG_SQL = """
+            SELECT NOT pg_is_in_recovery()
+                       OR EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming'),
+                   CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END""";
+
 }
@@ -0,0 +1,34 @@
+package com.san.libraryservice.constant;
+
+import java.math.BigDecimal;
+
+public class FineConstants {
+
+    private FineConstants() {
+    }
+
+    public static final long LOAN_PERIOD_DAYS = 14;
+    public static final BigDecimal DAILY_FINE_RATE = new BigDecimal("0.50");
+    public static final BigDecimal MAX_FINE_AMOUNT = new BigDecimal("50.00");
+
+    public static final String FINE_JOB_NAME = "fine-calculation";
+    public static final String FINE_JOB_CRON = "${library.fine.job.cron:0 0 2 * * *}";
+    public static final long FINE_JOB_RANGE_SIZE = 10_000;
+    // Ranges processed at once, 0 for one per available processor
+    public static final String FINE_JOB_PARALLELISM = "${library.fine.job.parallelism:0}";
+
+    public static final String SELECT_MAX_BORROW_RECORD_ID = "SELECT COALESCE(MAX(id), 0) FROM borrow_record";
+    public static final String SELECT_OVERDUE_IN_RANGE = """
+            SELECT id, due_at FROM borrow_record
+            WHERE id > ? AND id <= ? AND returned_at IS NULL AND due_at < ? AND borrowed_at < ?""";
+    public static final String UPSERT_FINE = """
+            INSERT INTO fine (borrow_record_id, days_overdue, amount, calculated_at) VALUES (?, ?, ?, ?)
+            ON CONFLICT (borrow_record_id) DO UPDATE
+            SET days_overdue = EXCLUDED.days_overdue, amount = EXCLUDED.amount, calculated_at = EXCLUDED.calculated_at""";
+    public static final String SELECT_CHECKPOINT = "SELECT last_record_id FROM job_checkpoint WHERE job_name = ?";
+    public static final String UPSERT_CHECKPOINT = """
+            INSERT INTO job_checkpoint (job_name, last_record_id, updated_at) VALUES (?, ?, ?)
+            ON CONFLICT (job_name) DO UPDATE
+            SET last_record_id = EXCLUDED.last_record_id, updated_at = EXCLUDED.updated_at""";
+
+}
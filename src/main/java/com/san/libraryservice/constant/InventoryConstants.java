@@ -0,0 +1,39 @@
+package com.san.libraryservice.constant;
+
+public class InventoryConstants {
+
+    private InventoryConstants() {
+    }
+
+    public static final String TITLE_RECONCILE_INTERVAL = "${library.inventory.reconcile-interval:10m}";
+    public static final int TITLE_RECONCILE_BATCH_SIZE = 1_000;
+    // The free copies of a title an any-copy borrow reads from the catalog view and tries in turn
+    public static final int COPY_CANDIDATE_LIMIT = 8;
+
+    public static final String SELECT_TITLE = """
+            SELECT isbn, title, author, total_copies, available_copies
+            FROM book_title
+            WHERE isbn = ?""";
+    // Never takes the count below zero, so of two borrows of the last copy only one changes a row
+    public static final String TAKE_COPY = """
+            UPDATE book_title
+            SET available_copies = available_copies - 1, updated_at = LOCALTIMESTAMP
+            WHERE isbn = ? AND available_copies > 0""";
+    public static final String RELEASE_COPY = """
+            UPDATE book_title
+            SET available_copies = available_copies + 1, updated_at = LOCALTIMESTAMP
+            WHERE isbn = ? AND available_copies < total_copies""";
+    public static final String ADD_COPY = """
+            UPDATE book_title
+            SET total_copies = total_copies + 1, available_copies = available_copies + 1, updated_at = LOCALTIMESTAMP
+            WHERE isbn = ?""";
+    public static final String RECONCILE_TITLE = """
+            UPDATE book_title
+            SET title = ?, author = ?, total_copies = ?, available_copies = ?, updated_at = LOCALTIMESTAMP
+            WHERE isbn = ?""";
+    public static final String INSERT_TITLE = """
+            INSERT INTO book_title (isbn, title, author, total_copies, available_copies, updated_at)
+            VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP)
+            ON CONFLICT DO NOTHING""";
+
+}
@@ -0,0 +1,56 @@
+package com.san.libraryservice.constant;
+
+public class LedgerConstants {
+
+    private LedgerConstants() {
+    }
+
+    public static final String PROJECTION_INTERVAL = "${library.ledger.projection-interval:1s}";
+    public static final String LEDGER_SNAPSHOT_INTERVAL = "${library.ledger.snapshot-interval:5m}";
+    public static final String SETTLE_DELAY = "${library.ledger.settle-delay:5s}";
+    public static final String GAP_TIMEOUT = "${library.ledger.gap-timeout:1m}";
+    public static final int LEDGER_BATCH_SIZE = 10_000;
+
+    public static final String PROJECTION_JOB_NAME = "loan-projection";
+
+    public static final String SELECT_NEXT_EVENT_SEQUENCE = "SELECT nextval('loan_event_sequence_seq')";
+    public static final String INSERT_LOAN_EVENT = """
+            INSERT INTO loan_event (sequence, type, book_id, book_version, borrower_id, loan_id, occurred_at, due_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+    public static final String SELECT_BOOK_EVENTS = """
+            SELECT sequence, type, book_id, book_version, borrower_id, loan_id, occurred_at, due_at FROM loan_event
+            WHERE book_id = ? AND book_version > ?
+            ORDER BY book_version""";
+    public static final String SELECT_EVENTS_AFTER = """
+            SELECT sequence, type, book_id, book_version, borrower_id, loan_id, occurred_at, due_at FROM loan_event
+            WHERE sequence > ?
+            ORDER BY sequence LIMIT ?""";
+    public static final String SELECT_SETTLED_EVENTS_AFTER = """
+            SELECT sequence, type, book_id, book_version, borrower_id, loan_id, occurred_at, due_at FROM loan_event
+            WHERE sequence > ? AND recorded_at < LOCALTIMESTAMP - ? * INTERVAL '1' SECOND
+            ORDER BY sequence LIMIT ?""";
+    public static final String SELECT_LATEST_SNAPSHOT = "SELECT sequence, state FROM loan_snapshot ORDER BY sequence DESC LIMIT 1";
+    public static final String INSERT_SNAPSHOT = """
+            INSERT INTO loan_snapshot (sequence, created_at, state) VALUES (?, ?, ?)
+            ON CONFLICT (sequence) DO NOTHING""";
+    public static final String DELETE_OLDER_SNAPSHOTS = "DELETE FROM loan_snapshot WHERE sequence < ?";
+
+    public static final String INSERT_BORROW_RECORD = """
+            INSERT INTO borrow_record (id, created_at, updated_at, borrower_id, book_id, borrowed_at, due_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING""";
+    public static final String UPDATE_BORROW_RECORD_RETURNED = """
+            UPDATE borrow_record SET returned_at = ?, updated_at = ?
+            WHERE id = ? AND returned_at IS NULL""";
+    // A reader on another instance may still save an older checkpoint, so a checkpoint only moves forward
+    public static final String ADVANCE_CHECKPOINT = """
+            INSERT INTO job_checkpoint (job_name, last_record_id, updated_at) VALUES (?, ?, ?)
+            ON CONFLICT (job_name) DO UPDATE
+            SET last_record_id = GREATEST(job_checkpoint.last_record_id, EXCLUDED.last_record_id),
+                updated_at = EXCLUDED.updated_at""";
+    public static final String LOCK_CHECKPOINT = "SELECT last_record_id FROM job_checkpoint WHERE job_name = ? FOR UPDATE";
+    public static final String UPDATE_BOOK_AVAILABILITY = """
+            UPDATE book SET available = ?, loan_version = ?, updated_at = ?
+            WHERE id = ? AND loan_version < ?""";
+
+}
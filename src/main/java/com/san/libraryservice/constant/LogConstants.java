@@ -14,6 +14,18 @@ public class LogConstants {
     public static final String GET_ALL_BOOKS_SERVICE_START = "Service: Retrieving all books from repository";
     public static final String GET_ALL_BOOKS_SERVICE_SUCCESS = "Successfully retrieved {} books";
     public static final String GET_ALL_BOOKS_EMPTY = "No books found in the repository";
+    public static final String LOOKUP_BOOKS_CONTROLLER_START = "Controller: Looking up books by ID and ISBN";
+    public static final String LOOKUP_BOOKS_SERVICE_SUCCESS = "Found {} books for {} IDs and {} ISBNs";
+    public static final String CATALOG_SNAPSHOT_REBUILT = "Catalog snapshot rebuilt at version [{}], {} bytes";
+    public static final String CATALOG_VIEW_REFRESHED = "Job: Refreshed {} catalog view entries, oldest change {} ms ago";
+    public static final String CATALOG_VIEW_REBUILT = "Catalog view rebuilt with {} books in {} ms";
+    public static final String AUTOCOMPLETE_CONTROLLER_START = "Controller: Completing book search: {}";
+    public static final String AUTOCOMPLETE_REBUILT = "Job: Rebuilt autocomplete index from {} books with {} suggestions in {} ms";
+    public static final String GET_TITLE_CONTROLLER_START = "Controller: Fetching availability of ISBN: {}";
+    public static final String TITLE_INVENTORY_RECONCILED = "Job: Reconciled {} titles with the loan ledger in {} ms";
+    public static final String GET_STATS_CONTROLLER_START = "Controller: Fetching library statistics";
+    public static final String STATS_RECONCILED = "Job: Reconciled statistics for {} books, {} borrowers, {} active loans and {} authors in {} ms";
+    public static final String TITLE_COUNT_OUT_OF_SYNC = "Available copies of ISBN [{}] did not match the ledger on {}, fixed at the next reconciliation";
 
     public static final String REGISTER_BORROWER_CONTROLLER_START = "Controller: Registering borrower: {}";
     public static final String REGISTER_BORROWER_SERVICE_START = "Service: Registering borrower: {}";
@@ -22,13 +34,45 @@ public class LogConstants {
     public static final String BORROW_BOOK_CONTROLLER_START = "Controller: Borrower [{}] is attempting to borrow Book [{}]";
     public static final String BORROW_BOOK_SERVICE_START = "Service: Starting borrow process for Borrower [{}], Book [{}]";
     public static final String BORROW_BOOK_VALIDATION = "Validating availability for Book [{}]";
-    public static final String BORROW_RECORD_SAVED = "Borrow record saved for Borrower [{}] and Book [{}]";
+    public static final String BORROW_EVENT_APPENDED = "Borrow event appended for Borrower [{}] and Book [{}]";
     public static final String BORROW_BOOK_SUCCESS = "Borrow process completed for Borrower [{}] and Book [{}]";
+    public static final String BORROW_COPY_CONTROLLER_START = "Controller: Borrower [{}] is attempting to borrow a copy of ISBN [{}]";
+    public static final String BORROW_COPY_SERVICE_START = "Service: Starting borrow of any copy for Borrower [{}], ISBN [{}]";
+    public static final String BORROW_COPY_SCANNING_ALL = "Service: No catalog candidate of ISBN [{}] is free among [{}], checking every copy against the ledger";
+    public static final String BORROW_COPY_SUCCESS = "Borrower [{}] borrowed copy [{}] of ISBN [{}]";
 
     public static final String RETURN_BOOK_CONTROLLER_START = "Controller: Borrower [{}] is returning Book [{}]";
     public static final String RETURN_BOOK_SERVICE_START = "Service: Processing return for Borrower [{}], Book [{}]";
-    public static final String RETURN_BOOK_RECORD_FOUND = "Active borrow record found for Borrower [{}], Book [{}]";
-    public static final String RETURN_BOOK_RECORD_UPDATED = "Borrow record updated with return time for Borrower [{}], Book [{}]";
+    public static final String RETURN_BOOK_LOAN_FOUND = "Active loan [{}] found for Borrower [{}], Book [{}]";
+    public static final String RETURN_EVENT_APPENDED = "Return event appended for Borrower [{}], Book [{}]";
     public static final String RETURN_BOOK_SUCCESS = "Book [{}] successfully returned by Borrower [{}]";
 
+    public static final String FINE_JOB_START = "Job: Starting fine calculation from record [{}] up to record [{}]";
+    public static final String FINE_JOB_WAVE_COMMITTED = "Fine calculation committed up to record [{}], {} fines written";
+    public static final String FINE_JOB_SUCCESS = "Fine calculation completed, {} fines written";
+
+    public static final String PARTITIONS_CREATED = "Job: Created {} borrow record partitions up to {}";
+    public static final String PARTITION_ARCHIVED = "Job: Archived borrow record partition [{}]";
+    public static final String PARTITION_HAS_ACTIVE_LOANS = "Job: Keeping expired partition [{}], it still has active loans";
+
+    public static final String LOAN_ARCHIVE_SEGMENT_WRITTEN = "Job: Moved {} returned loans up to record [{}] to {}";
+    public static final String LOAN_ARCHIVE_SUCCESS = "Job: Loan archive completed, {} returned loans moved to cold storage";
+    public static final String LOAN_ARCHIVE_PENDING_COMMITTED = "Job: Completed pending archive segment [{}], its loans were already deleted";
+    public static final String LOAN_ARCHIVE_PENDING_DISCARDED = "Job: Discarded pending archive segment [{}], its loans are still in borrow_record";
+    public static final String LOAN_ARCHIVE_PENDING_UNREADABLE = "Job: Discarded unreadable pending archive segment [{}], it was cut short before its loans were deleted: {}";
+
+    public static final String LEDGER_PROJECTION_LOADED = "Loan projection loaded {} books from snapshot [{}] and {} ledger events in {} ms";
+    public static final String LEDGER_EVENTS_PROJECTED = "Job: Projected {} loan events up to [{}] into borrow_record and book";
+    public static final String LEDGER_EVENT_COMMITTED_LATE = "Job: Loan event [{}] of book [{}] committed after later events and was read late";
+    public static final String LEDGER_SNAPSHOT_SAVED = "Job: Loan projection snapshot saved at event [{}] with {} books";
+
+    public static final String REPLICA_LAGGING = "Replica [{}] is {} ms behind the primary, routing its reads to the primary";
+    public static final String REPLICA_UNREACHABLE = "Replica [{}] failed its health check, routing its reads to the primary: {}";
+    public static final String REPLICA_RESTORED = "Replica [{}] now receives reads, {} ms behind the primary";
+
+    public static final String STORAGE_RECOVERED = "Storage recovered to commit [{}] from snapshot [{}] and {} log entries";
+    public static final String STORAGE_LOG_TRUNCATED = "Storage log [{}] ends in an incomplete entry, truncated to {} bytes";
+    public static final String STORAGE_SNAPSHOT_UNREADABLE = "Storage snapshot [{}] is unreadable, trying an older one: {}";
+    public static final String STORAGE_SNAPSHOT_WRITTEN = "Storage snapshot written at commit [{}] with {} rows";
+
 }
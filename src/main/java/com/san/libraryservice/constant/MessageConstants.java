@@ -11,6 +11,10 @@ public class MessageConstants {
     public static final String BOOK_RETUNED_SUCCESS = "Book returned successfully";
     public static final String BORROW_RECORD_NOT_FOUND = "No active borrow record found for borrower ID %d and book ID %d";
     public static final String BORROWER_NOT_FOUND_BY_ID = "Borrower not found with ID: ";
+    public static final String BOOK_NOT_FOUND_BY_ID = "Book not found with ID: ";
     public static final String BOOK_ALREADY_BORROWED = "Book with ID %s is already borrowed.";
+    public static final String BOOK_COPY_BORROWED_SUCCESS = "Book borrowed successfully, copy ID: ";
+    public static final String NO_COPY_AVAILABLE = "No copy of ISBN %s is available.";
+    public static final String TITLE_NOT_FOUND_BY_ISBN = "Title not found with ISBN: ";
 
 }
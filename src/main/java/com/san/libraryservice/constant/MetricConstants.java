@@ -0,0 +1,18 @@
+package com.san.libraryservice.constant;
+
+public class MetricConstants {
+
+    private MetricConstants() {
+    }
+
+    public static final String SERVICE_OBSERVATION = "library.service";
+    public static final String BORROWS_COUNTER = "library.borrows";
+    public static final String RETURNS_COUNTER = "library.returns";
+    public static final String CATALOG_LAG_TIMER = "library.catalog.lag";
+    public static final String ERRORS_COUNTER = "library.errors";
+    public static final String EXCEPTION_TAG = "exception";
+    public static final String REPLICA_LAG_GAUGE = "library.datasource.replica.lag";
+    public static final String REPLICA_USABLE_GAUGE = "library.datasource.replica.usable";
+    public static final String POOL_TAG = "pool";
+
+}
@@ -0,0 +1,26 @@
+package com.san.libraryservice.constant;
+
+public class PartitionConstants {
+
+    private PartitionConstants() {
+    }
+
+    public static final String PARTITION_JOB_CRON = "${library.partition.job.cron:0 30 1 * * *}";
+    public static final String PARTITION_MONTHS_AHEAD = "${library.partition.months-ahead:3}";
+    public static final String PARTITION_RETENTION_MONTHS = "${library.partition.retention-months:24}";
+
+    // Only names that match are ever interpolated into DDL
+    public static final String PARTITION_NAME_PATTERN = "borrow_record_p(\\d{4})_(\\d{2})";
+
+    public static final String CREATE_PARTITION = "SELECT create_borrow_record_partition(?)";
+    public static final String SELECT_PARTITIONS = """
+            SELECT child.relname FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = 'borrow_record'""";
+    public static final String SELECT_PARTITION_HAS_ACTIVE_LOANS =
+            "SELECT EXISTS (SELECT 1 FROM %s WHERE returned_at IS NULL)";
+    public static final String DETACH_PARTITION = "ALTER TABLE borrow_record DETACH PARTITION %s";
+    public static final String ARCHIVE_PARTITION = "ALTER TABLE %s SET SCHEMA borrow_record_archive";
+
+}
@@ -0,0 +1,26 @@
+package com.san.libraryservice.constant;
+
+public class StatsConstants {
+
+    private StatsConstants() {
+    }
+
+    public static final String STATS_RECONCILE_INTERVAL = "${library.stats.reconcile-interval:1h}";
+    public static final int STATS_BATCH_SIZE = 1_000;
+    // Days of loans reported, today included
+    public static final int STATS_DAYS = 30;
+    public static final int STATS_TOP_AUTHORS = 10;
+
+    public static final String SELECT_ACTIVE_LOANS = """
+            SELECT COALESCE(SUM(CASE WHEN type = ? THEN 1 ELSE -1 END), 0) FROM loan_event""";
+    public static final String SELECT_LOANS_BY_DAY = """
+            SELECT CAST(occurred_at AS DATE), COUNT(*) FROM loan_event
+            WHERE type = ? AND occurred_at >= ?
+            GROUP BY CAST(occurred_at AS DATE)""";
+    public static final String SELECT_LOANS_BY_AUTHOR = """
+            SELECT book.author, COUNT(*) FROM loan_event
+            JOIN book ON book.id = loan_event.book_id
+            WHERE loan_event.type = ? AND book.author IS NOT NULL
+            GROUP BY book.author""";
+
+}
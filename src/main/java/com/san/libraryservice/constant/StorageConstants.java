@@ -0,0 +1,31 @@
+package com.san.libraryservice.constant;
+
+public class StorageConstants {
+
+    private StorageConstants() {
+    }
+
+    public static final String IN_MEMORY_PROFILE = "inmemory";
+    public static final String NOT_IN_MEMORY_PROFILE = "!" + IN_MEMORY_PROFILE;
+
+    public static final String STORAGE_DIRECTORY = "${library.storage.directory:data}";
+    public static final String STORAGE_FSYNC = "${library.storage.fsync:true}";
+    public static final String SNAPSHOT_INTERVAL = "${library.storage.snapshot-interval:5m}";
+
+    // Zero padded so that sorting file names sorts by commit sequence
+    public static final String LOG_NAME_FORMAT = "wal-%019d.log";
+    public static final String LOG_PREFIX = "wal-";
+    public static final String LOG_SUFFIX = ".log";
+    public static final String SNAPSHOT_NAME_FORMAT = "snapshot-%019d.snap";
+    public static final String SNAPSHOT_PREFIX = "snapshot-";
+    public static final String SNAPSHOT_SUFFIX = ".snap";
+    public static final String TEMP_SUFFIX = ".tmp";
+    public static final int SNAPSHOT_MAGIC = 0x4C534E50;
+
+    // Rows of the LEDGER_STATE table
+    public static final long LEDGER_SNAPSHOT_ROW = 1;
+    public static final long LEDGER_CHECKPOINT_ROW = 2;
+    public static final long CATALOG_CHECKPOINT_ROW = 3;
+    public static final long CATALOG_VERSION_ROW = 4;
+
+}
@@ -1,19 +1,38 @@
 package com.san.libraryservice.controller;
 
+import com.san.libraryservice.dto.BookLookupRequest;
 import com.san.libraryservice.dto.BookRequest;
 import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.dto.CatalogSnapshot;
+import com.san.libraryservice.dto.Suggestion;
+import com.san.libraryservice.dto.TitleResponse;
+import com.san.libraryservice.service.AutocompleteService;
 import com.san.libraryservice.service.BookService;
+import com.san.libraryservice.service.CatalogService;
+import com.san.libraryservice.service.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static com.san.libraryservice.constant.CommonConstants.CBOR_ETAG_SUFFIX;
+import static com.san.libraryservice.constant.CommonConstants.GZIP_ENCODING;
+import static com.san.libraryservice.constant.CommonConstants.GZIP_ETAG_SUFFIX;
 import static com.san.libraryservice.constant.LogConstants.ADD_BOOK_CONTROLLER_START;
+import static com.san.libraryservice.constant.LogConstants.AUTOCOMPLETE_CONTROLLER_START;
 import static com.san.libraryservice.constant.LogConstants.GET_ALL_BOOKS_CONTROLLER_START;
+import static com.san.libraryservice.constant.LogConstants.GET_TITLE_CONTROLLER_START;
+import static com.san.libraryservice.constant.LogConstants.LOOKUP_BOOKS_CONTROLLER_START;
 
 @RestController
 @RequestMapping("/api/v1/books")
@@ -22,6 +41,9 @@ import static com.san.libraryservice.constant.LogConstants.GET_ALL_BOOKS_CONTROL
 public class BookController {
 
     private final BookService bookService;
+    private final CatalogService catalogService;
+    private final InventoryService inventoryService;
+    private final AutocompleteService autocompleteService;
 
     /**
      * Registers a new book in the library.
@@ -39,14 +61,128 @@ public class BookController {
 
     /**
      * Retrieves all books currently stored in the library.
+     * <p>
+     * The body is written from a pre-serialized {@link CatalogSnapshot}. Clients accepting
+     * {@code application/cbor} receive the CBOR copy, other clients the JSON copy, gzipped when
+     * they accept it. A type or encoding listed with {@code q=0} is not accepted. The ETag is a hash of
+     * the catalog, with a suffix for the gzipped and CBOR copies, so every representation has its own
+     * ETag and instances serving the same catalog agree on it.
+     * </p>
      *
-     * @return {@link ResponseEntity} containing a list of BookResponse DTOs with HTTP 200 OK status
+     * @param accept         the Accept request header, if any
+     * @param acceptEncoding the Accept-Encoding request header, if any
+     * @return {@link ResponseEntity} containing a JSON or CBOR list of BookResponse DTOs with HTTP 200 OK status
      * @author Supunsan
      */
     @Operation(summary = "Get all books", description = "Retrieve a list of all books in the library")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = BookResponse.class))),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = BookResponse.class)))})
     @GetMapping("/all")
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
+    public ResponseEntity<byte[]> getAllBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info(GET_ALL_BOOKS_CONTROLLER_START);
-        return ResponseEntity.ok(bookService.getAllBooks());
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (accepts(accept, MediaType.APPLICATION_CBOR_VALUE)) {
+            return response.contentType(MediaType.APPLICATION_CBOR)
+                    .eTag(snapshot.etag() + CBOR_ETAG_SUFFIX)
+                    .body(snapshot.cbor());
+        }
+
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (accepts(acceptEncoding, GZIP_ENCODING)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING)
+                    .eTag(snapshot.etag() + GZIP_ETAG_SUFFIX)
+                    .body(snapshot.gzipped());
+        }
+        return response.eTag(snapshot.etag()).body(snapshot.json());
+    }
+
+    /**
+     * Retrieves the books with any of the given IDs or ISBNs, with their availability, in one response.
+     *
+     * @param lookupRequest the request body containing up to 100 IDs and up to 100 ISBNs, validated with @Valid
+     * @return {@link ResponseEntity} containing the matching BookResponse DTOs with HTTP 200 OK status
+     * @author Supunsan
+     */
+    @Operation(summary = "Look up books", description = "Retrieve the books with any of the given IDs or ISBNs, with their availability")
+    @PostMapping("/lookup")
+    public ResponseEntity<List<BookResponse>> lookupBooks(@Valid @RequestBody BookLookupRequest lookupRequest) {
+        log.info(LOOKUP_BOOKS_CONTROLLER_START);
+        return ResponseEntity.ok(bookService.lookupBooks(lookupRequest));
+    }
+
+    /**
+     * Retrieves how many copies of a title the library has and how many of them can be borrowed.
+     *
+     * @param isbn the ISBN of the title
+     * @return {@link ResponseEntity} containing the TitleResponse DTO with HTTP 200 OK status
+     * @author Supunsan
+     */
+    @Operation(summary = "Get title availability", description = "Retrieve the number of copies of a title and how many of them are available")
+    @GetMapping("/titles/{isbn}")
+    public ResponseEntity<TitleResponse> getTitle(@PathVariable String isbn) {
+        log.info(GET_TITLE_CONTROLLER_START, isbn);
+        return ResponseEntity.ok(inventoryService.getTitle(isbn));
+    }
+
+    /**
+     * Completes a search of the catalog with titles and authors, for type-ahead in a search box.
+     *
+     * @param query the text typed so far, whose last word is completed as a prefix
+     * @return {@link ResponseEntity} containing up to 10 suggestions, most borrowed first, with HTTP 200 OK status
+     * @author Supunsan
+     */
+    @Operation(summary = "Autocomplete titles and authors", description = "Retrieve the most borrowed titles and authors with a word starting with each word of the query")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Suggestion>> autocomplete(@RequestParam("q") String query) {
+        log.info(AUTOCOMPLETE_CONTROLLER_START, query);
+        return ResponseEntity.ok(autocompleteService.suggest(query));
+    }
+
+    /**
+     * Checks whether an Accept or Accept-Encoding header lists a value with a quality above zero. Wildcards
+     * are not matched, so a client only receives CBOR or gzip when it names them.
+     *
+     * @param header the header value, may be {@code null}
+     * @param value  the media type or content coding to look for
+     * @return {@code true} if the value is listed and not refused with {@code q=0}
+     * @author Supunsan
+     */
+    private static boolean accepts(String header, String value) {
+        if (header == null) {
+            return false;
+        }
+        for (String element : header.split(",")) {
+            String[] parameters = element.split(";");
+            if (parameters[0].trim().equalsIgnoreCase(value) && quality(parameters) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the {@code q} parameter of a header element, 1 when it is absent and 0 when it is malformed.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 }
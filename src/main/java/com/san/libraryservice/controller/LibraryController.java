@@ -11,8 +11,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import static com.san.libraryservice.constant.LogConstants.BORROW_BOOK_CONTROLLER_START;
+import static com.san.libraryservice.constant.LogConstants.BORROW_COPY_CONTROLLER_START;
 import static com.san.libraryservice.constant.LogConstants.RETURN_BOOK_CONTROLLER_START;
 import static com.san.libraryservice.constant.MessageConstants.BOOK_BORROWED_SUCCESS;
+import static com.san.libraryservice.constant.MessageConstants.BOOK_COPY_BORROWED_SUCCESS;
 import static com.san.libraryservice.constant.MessageConstants.BOOK_RETUNED_SUCCESS;
 
 @RestController
@@ -42,6 +44,24 @@ public class LibraryController {
         return ResponseEntity.ok(BOOK_BORROWED_SUCCESS);
     }
 
+    /**
+     * Handles a borrow request where a borrower borrows any available copy of a title.
+     *
+     * @param borrowerId the ID of the borrower who wants to borrow the title
+     * @param isbn       the ISBN of the title to be borrowed
+     * @return a {@link ResponseEntity} containing a success message with the ID of the borrowed copy
+     * @author Supunsan
+     */
+    @Operation(
+            summary = "Borrow any copy of a title",
+            description = "Allows a borrower to borrow any available copy of a title by specifying borrower ID and ISBN. The ID of the borrowed copy is returned and is used to return it."
+    )
+    @PostMapping("/borrow/{borrowerId}/isbn/{isbn}")
+    public ResponseEntity<String> borrowCopy(@PathVariable Long borrowerId, @PathVariable String isbn) {
+        log.info(BORROW_COPY_CONTROLLER_START, borrowerId, isbn);
+        return ResponseEntity.ok(BOOK_COPY_BORROWED_SUCCESS + libraryService.borrowCopy(borrowerId, isbn));
+    }
+
     /**
      * Handles a return request where a borrower returns a previously borrowed book.
      *
@@ -0,0 +1,39 @@
+package com.san.libraryservice.controller;
+
+import com.san.libraryservice.dto.StatsResponse;
+import com.san.libraryservice.service.StatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.san.libraryservice.constant.LogConstants.GET_STATS_CONTROLLER_START;
+
+@RestController
+@RequestMapping("/api/v1/stats")
+@RequiredArgsConstructor
+@Slf4j
+public class StatsController {
+
+    private final StatsService statsService;
+
+    /**
+     * Retrieves the library totals for dashboards: books, available and on loan books, borrowers,
+     * loans per day and the most borrowed authors.
+     *
+     * @return {@link ResponseEntity} containing the StatsResponse DTO with HTTP 200 OK status
+     * @author Supunsan
+     */
+    @Operation(
+            summary = "Get library statistics",
+            description = "Returns book, loan and borrower totals, loans per day over the last 30 days and the 10 most borrowed authors, from counters maintained as the library changes."
+    )
+    @GetMapping
+    public ResponseEntity<StatsResponse> getStats() {
+        log.info(GET_STATS_CONTROLLER_START);
+        return ResponseEntity.ok(statsService.getStats());
+    }
+}
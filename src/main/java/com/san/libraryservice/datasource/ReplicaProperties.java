@@ -0,0 +1,26 @@
+package com.san.libraryservice.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replica settings, bound from {@code library.datasource.*}. The primary is configured through
+ * the standard {@code spring.datasource.*} properties.
+ *
+ * @param replicas             the replica connections, each pooled separately
+ * @param maxReplicaLag        replicas further behind the primary than this stop receiving reads
+ * @param replicaPoolSize      the maximum size of each replica pool
+ * @author Supunsan
+ */
+@ConfigurationProperties("library.datasource")
+public record ReplicaProperties(
+        List<Replica> replicas,
+        @DefaultValue("5s") Duration maxReplicaLag,
+        @DefaultValue("10") int replicaPoolSize) {
+
+    public record Replica(String url, String username, String password) {
+    }
+}
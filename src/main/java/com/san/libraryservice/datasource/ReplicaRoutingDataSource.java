@@ -0,0 +1,202 @@
+package com.san.libraryservice.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.san.libraryservice.constant.ConfigConstants.PRIMARY_POOL;
+import static com.san.libraryservice.constant.ConfigConstants.REPLICA_LAG_SQL;
+import static com.san.libraryservice.constant.LogConstants.REPLICA_LAGGING;
+import static com.san.libraryservice.constant.LogConstants.REPLICA_RESTORED;
+import static com.san.libraryservice.constant.LogConstants.REPLICA_UNREACHABLE;
+import static com.san.libraryservice.constant.MetricConstants.POOL_TAG;
+import static com.san.libraryservice.constant.MetricConstants.REPLICA_LAG_GAUGE;
+import static com.san.libraryservice.constant.MetricConstants.REPLICA_USABLE_GAUGE;
+
+/**
+ * Routes connections for read-only transactions to the replica pools and everything else to the primary.
+ * <p>
+ * Replicas are checked on a schedule. One that cannot be reached, or is further behind the primary than
+ * the configured maximum lag, stops receiving reads until a later check finds it healthy. With no usable
+ * replica, reads go to the primary. Replicas only receive reads once their first check has passed.
+ * </p>
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this data source must be wrapped
+ * in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final long UNREACHABLE = -1L;
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMillis;
+    private final Map<String, AtomicLong> lagMillis = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> usableReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLagMillis = maxLag.toMillis();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY_POOL, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (String name : this.replicas.keySet()) {
+            AtomicLong lag = new AtomicLong(UNREACHABLE);
+            lagMillis.put(name, lag);
+            Gauge.builder(REPLICA_LAG_GAUGE, lag, value -> value.get() / 1000.0)
+                    .description("Replication lag at the last health check, negative if it could not be measured")
+                    .baseUnit("seconds")
+                    .tag(POOL_TAG, name)
+                    .register(meterRegistry);
+            Gauge.builder(REPLICA_USABLE_GAUGE, this, routing -> routing.usableReplicas.contains(name) ? 1 : 0)
+                    .description("Whether the replica currently receives read-only transactions")
+                    .tag(POOL_TAG, name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Runs the action with its read-only transactions routed to the primary, for reads that must see
+     * changes committed just before. Has no effect when replica routing is disabled.
+     *
+     * @param action the action to run
+     * @param <T>    the result type
+     * @return the action's result
+     * @author Supunsan
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (PINNED_TO_PRIMARY.get()) {
+            return action.get();
+        }
+        PINNED_TO_PRIMARY.set(true);
+        try {
+            return action.get();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    /**
+     * Picks the primary for read-write work and round-robins read-only transactions over the usable replicas.
+     *
+     * @return the key of the target pool
+     * @author Supunsan
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PINNED_TO_PRIMARY.get()) {
+            return PRIMARY_POOL;
+        }
+        List<String> candidates = usableReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY_POOL;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measures the lag of every replica and rebuilds the set of replicas that receive reads.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = "${library.datasource.replica-check-interval:5s}")
+    public void checkReplicas() {
+        List<String> current = usableReplicas;
+        List<String> usable = new ArrayList<>(replicas.size());
+
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String name = replica.getKey();
+            long lag = measureLag(name, replica.getValue());
+            lagMillis.get(name).set(lag);
+
+            if (lag == UNREACHABLE) {
+                continue;
+            }
+            if (lag > maxLagMillis) {
+                log.warn(REPLICA_LAGGING, name, lag);
+                continue;
+            }
+            if (!current.contains(name)) {
+                log.info(REPLICA_RESTORED, name, lag);
+            }
+            usable.add(name);
+        }
+        usableReplicas = List.copyOf(usable);
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     *
+     * @throws Exception if a pool fails to close
+     * @author Supunsan
+     */
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Returns how far the replica is behind the primary.
+     *
+     * @param name       the replica pool name
+     * @param dataSource the replica pool
+     * @return the lag in milliseconds, or {@code UNREACHABLE} if it could not be determined
+     * @author Supunsan
+     */
+    private long measureLag(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(REPLICA_LAG_SQL)) {
+            resultSet.next();
+            if (!resultSet.getBoolean(1)) {
+                log.warn(REPLICA_UNREACHABLE, name, "not streaming from the primary");
+                return UNREACHABLE;
+            }
+            double seconds = resultSet.getDouble(2);
+            if (resultSet.wasNull()) {
+                log.warn(REPLICA_UNREACHABLE, name, "nothing replayed yet");
+                return UNREACHABLE;
+            }
+            return Math.round(seconds * 1000);
+        } catch (SQLException e) {
+            log.warn(REPLICA_UNREACHABLE, name, e.getMessage());
+            return UNREACHABLE;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.san.libraryservice.dto;
+
+/**
+ * The number of times books by one author have been borrowed.
+ *
+ * @param author the author
+ * @param loans  the number of loans of the author's books
+ * @author Supunsan
+ */
+public record AuthorLoans(String author, long loans) {
+}
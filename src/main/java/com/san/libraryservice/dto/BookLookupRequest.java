@@ -0,0 +1,40 @@
+package com.san.libraryservice.dto;
+
+import com.san.libraryservice.validation.Isbn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.san.libraryservice.constant.CommonConstants.BOOK_LOOKUP_MAX_ITEMS;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookLookupRequest {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "IDs of the books to look up"),
+            schema = @Schema(example = "42"),
+            maxItems = BOOK_LOOKUP_MAX_ITEMS
+    )
+    @Size(max = BOOK_LOOKUP_MAX_ITEMS, message = "At most {max} IDs can be looked up at once")
+    private List<@NotNull Long> ids;
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "ISBNs of the books to look up, as they were registered"),
+            schema = @Schema(example = "978-3-16-148410-0"),
+            maxItems = BOOK_LOOKUP_MAX_ITEMS
+    )
+    @Size(max = BOOK_LOOKUP_MAX_ITEMS, message = "At most {max} ISBNs can be looked up at once")
+    private List<@NotBlank @Isbn String> isbns;
+
+}
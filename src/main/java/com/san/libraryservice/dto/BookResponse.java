@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,5 +18,7 @@ public class BookResponse {
     private String title;
     private String author;
     private boolean borrowed;
+    private int activeLoans;
+    private LocalDateTime dueAt;
 
 }
@@ -0,0 +1,19 @@
+package com.san.libraryservice.dto;
+
+/**
+ * An immutable, pre-serialized copy of the book catalog.
+ *
+ * @param version the catalog version this snapshot was built from
+ * @param etag    a hash of the JSON body, the same on every instance and across restarts for the same catalog
+ * @param json    the catalog serialized as a JSON array of {@link BookResponse}
+ * @param gzipped the same JSON, gzip compressed
+ * @param cbor    the catalog serialized as a CBOR array of {@link BookResponse}
+ * @author Supunsan
+ */
+public record CatalogSnapshot(
+        long version,
+        String etag,
+        byte[] json,
+        byte[] gzipped,
+        byte[] cbor) {
+}
@@ -0,0 +1,13 @@
+package com.san.libraryservice.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The number of loans started on one day.
+ *
+ * @param date  the day
+ * @param loans the number of books borrowed that day
+ * @author Supunsan
+ */
+public record DailyLoans(LocalDate date, long loans) {
+}
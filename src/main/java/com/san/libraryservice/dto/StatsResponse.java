@@ -0,0 +1,23 @@
+package com.san.libraryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatsResponse {
+
+    private long totalBooks;
+    private long availableBooks;
+    private long booksOnLoan;
+    private long totalBorrowers;
+    private List<DailyLoans> loansPerDay;
+    private List<AuthorLoans> topAuthors;
+
+}
@@ -0,0 +1,17 @@
+package com.san.libraryservice.dto;
+
+/**
+ * One completion of a search prefix: a book title or an author.
+ *
+ * @param text    the title or author as stored in the catalog
+ * @param field   whether the text is a title or an author
+ * @param borrows the number of times books with this title or author have been borrowed
+ * @author Supunsan
+ */
+public record Suggestion(String text, Field field, long borrows) {
+
+    public enum Field {
+        TITLE,
+        AUTHOR
+    }
+}
@@ -0,0 +1,20 @@
+package com.san.libraryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TitleResponse {
+
+    private String isbn;
+    private String title;
+    private String author;
+    private int totalCopies;
+    private int availableCopies;
+
+}
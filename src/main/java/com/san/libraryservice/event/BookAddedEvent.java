@@ -0,0 +1,14 @@
+package com.san.libraryservice.event;
+
+import com.san.libraryservice.model.Book;
+
+/**
+ * Published by {@link com.san.libraryservice.service.BookService} when a book is added. Listeners that keep
+ * in-memory state handle it after the transaction commits, so a book whose insert rolls back is never
+ * counted or offered.
+ *
+ * @param book the saved book
+ * @author Supunsan
+ */
+public record BookAddedEvent(Book book) {
+}
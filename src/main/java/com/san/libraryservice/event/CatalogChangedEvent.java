@@ -0,0 +1,12 @@
+package com.san.libraryservice.event;
+
+/**
+ * Published by {@link com.san.libraryservice.service.BookService} whenever a book is added or updated, so
+ * that derived views of the catalog can take its details. Borrows and returns are not published; the views
+ * read them from the loan ledger.
+ *
+ * @param bookId the ID of the book that changed
+ * @author Supunsan
+ */
+public record CatalogChangedEvent(Long bookId) {
+}
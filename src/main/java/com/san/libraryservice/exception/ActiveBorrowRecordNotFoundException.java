@@ -0,0 +1,16 @@
+package com.san.libraryservice.exception;
+
+import static com.san.libraryservice.constant.MessageConstants.BORROW_RECORD_NOT_FOUND;
+
+/**
+ * Thrown when a book is returned by a borrower who has no active loan for it. This is an
+ * expected business outcome, so no stack trace is captured and the message is only built when read.
+ *
+ * @author Supunsan
+ */
+public class ActiveBorrowRecordNotFoundException extends RejectionException {
+
+    public ActiveBorrowRecordNotFoundException(Long borrowerId, Long bookId) {
+        super(BORROW_RECORD_NOT_FOUND, borrowerId, bookId);
+    }
+}
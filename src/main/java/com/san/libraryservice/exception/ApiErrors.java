@@ -7,5 +7,6 @@ public record ApiErrors(
         String message,
         List<String> details,
         int status,
-        LocalDateTime timestamp) {
+        LocalDateTime timestamp,
+        String traceId) {
 }
@@ -0,0 +1,16 @@
+package com.san.libraryservice.exception;
+
+import static com.san.libraryservice.constant.MessageConstants.BOOK_ALREADY_BORROWED;
+
+/**
+ * Thrown when a book that is already on loan is borrowed again. This is an expected
+ * business outcome, so no stack trace is captured and the message is only built when read.
+ *
+ * @author Supunsan
+ */
+public class BookUnavailableException extends RejectionException {
+
+    public BookUnavailableException(Long bookId) {
+        super(BOOK_ALREADY_BORROWED, bookId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.san.libraryservice.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.san.libraryservice.constant.MetricConstants.ERRORS_COUNTER;
+import static com.san.libraryservice.constant.MetricConstants.EXCEPTION_TAG;
+
+/**
+ * Counts the errors returned by {@link GlobalExceptionHandler}, per exception type, as the
+ * {@code library.errors} metric. Business rejections such as {@link BookUnavailableException}
+ * show up here tagged with their exception name.
+ * <p>
+ * Counters are cached per type so the registry is only consulted the first time a type is seen.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorCounters {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Class<? extends Exception>, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Records one occurrence of the given exception type.
+     *
+     * @param type the exception type
+     * @author Supunsan
+     */
+    public void increment(Class<? extends Exception> type) {
+        counters.computeIfAbsent(type, key -> Counter.builder(ERRORS_COUNTER)
+                        .description("Errors returned to clients, by exception type")
+                        .tag(EXCEPTION_TAG, key.getSimpleName())
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,27 @@
+package com.san.libraryservice.exception;
+
+import org.slf4j.event.Level;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How an exception type is logged by {@link GlobalExceptionHandler}.
+ *
+ * @param level      the level the exception is logged at
+ * @param sampleRate log roughly one in {@code sampleRate} occurrences; 1 logs every occurrence
+ * @author Supunsan
+ */
+public record ExceptionLogRule(
+        Level level,
+        int sampleRate) {
+
+    /**
+     * Decides whether this occurrence should be logged.
+     *
+     * @return true if the occurrence falls into the sample
+     * @author Supunsan
+     */
+    public boolean isSampled() {
+        return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+}
@@ -1,7 +1,10 @@
 package com.san.libraryservice.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +19,11 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static com.san.libraryservice.constant.CommonConstants.EMPTY_STRING;
+import static com.san.libraryservice.constant.CommonConstants.TRACE_ID_MDC_KEY;
 import static com.san.libraryservice.constant.ExceptionConstants.*;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
@@ -29,9 +34,32 @@ public class GlobalExceptionHandler {
             Map.entry(UnsupportedOperationException.class, HttpStatus.NOT_IMPLEMENTED),
             Map.entry(MethodArgumentNotValidException.class, HttpStatus.BAD_REQUEST),
             Map.entry(ConstraintViolationException.class, HttpStatus.BAD_REQUEST),
-            Map.entry(RecordNotFoundException.class, HttpStatus.NOT_FOUND)
+            Map.entry(RecordNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(BookUnavailableException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(NoCopyAvailableException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(ActiveBorrowRecordNotFoundException.class, HttpStatus.BAD_REQUEST)
     );
 
+    /**
+     * Map to associate exceptions with how they are logged. Expected business rejections are
+     * sampled at INFO so a retry storm does not turn into a logging storm; anything unlisted is
+     * logged at ERROR every time.
+     */
+    private static final Map<Class<? extends Exception>, ExceptionLogRule> EXCEPTION_LOG_RULES = Map.ofEntries(
+            Map.entry(RecordNotFoundException.class, new ExceptionLogRule(Level.INFO, 100)),
+            Map.entry(BookUnavailableException.class, new ExceptionLogRule(Level.INFO, 100)),
+            Map.entry(NoCopyAvailableException.class, new ExceptionLogRule(Level.INFO, 100)),
+            Map.entry(ActiveBorrowRecordNotFoundException.class, new ExceptionLogRule(Level.INFO, 100)),
+            Map.entry(MethodArgumentNotValidException.class, new ExceptionLogRule(Level.WARN, 1)),
+            Map.entry(ConstraintViolationException.class, new ExceptionLogRule(Level.WARN, 1))
+    );
+
+    private static final ExceptionLogRule DEFAULT_LOG_RULE = new ExceptionLogRule(Level.ERROR, 1);
+
+    private static final Pattern UNIQUE_CONSTRAINT_COLUMN_PATTERN = Pattern.compile(UNIQUE_CONSTRAINT_COLUMN_REGEX);
+
+    private final ErrorCounters errorCounters;
+
     /**
      * Handles specific exceptions and returns a response entity with the appropriate status code.
      *
@@ -41,10 +69,25 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrors> handleCustomExceptions(Exception ex) {
+        errorCounters.increment(ex.getClass());
+        logException(ex);
         HttpStatus status = getHttpStatus(ex);
         return buildResponseEntity(ex, status);
     }
 
+    /**
+     * Logs the exception according to the log rule registered for its type.
+     *
+     * @param ex The exception to be logged
+     * @author Supunsan
+     */
+    private void logException(Exception ex) {
+        ExceptionLogRule rule = EXCEPTION_LOG_RULES.getOrDefault(ex.getClass(), DEFAULT_LOG_RULE);
+        if (log.isEnabledForLevel(rule.level()) && rule.isSampled()) {
+            log.atLevel(rule.level()).log(LOG_ERROR_FORMAT, ex.getClass().getSimpleName(), ex.getMessage());
+        }
+    }
+
     /**
      * Determines the HTTP status code for the given exception.
      *
@@ -57,7 +100,8 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Builds a response entity for the given exception and status code.
+     * Builds a response entity for the given exception and status code. The current trace id is
+     * included so a client-reported error can be matched to its spans and log lines.
      *
      * @param ex     The exception to be handled
      * @param status The HTTP status code
@@ -65,8 +109,6 @@ public class GlobalExceptionHandler {
      * @author Supunsan
      */
     private ResponseEntity<ApiErrors> buildResponseEntity(Exception ex, HttpStatus status) {
-        log.error(LOG_ERROR_FORMAT, ex.getClass().getSimpleName(), ex.getMessage());
-
         final String message;
         final List<String> details;
 
@@ -85,7 +127,8 @@ public class GlobalExceptionHandler {
         }
 
         return ResponseEntity.status(status)
-                .body(new ApiErrors(message, details, status.value(), LocalDateTime.now()));
+                .body(new ApiErrors(message, details, status.value(), LocalDateTime.now(),
+                        MDC.get(TRACE_ID_MDC_KEY)));
     }
 
     /**
@@ -122,8 +165,7 @@ public class GlobalExceptionHandler {
      * @author Supunsan
      */
     private String extractColumnName(String message) {
-        Pattern pattern = Pattern.compile(UNIQUE_CONSTRAINT_COLUMN_REGEX);
-        Matcher matcher = pattern.matcher(message);
+        Matcher matcher = UNIQUE_CONSTRAINT_COLUMN_PATTERN.matcher(message);
         if (matcher.find()) {
             String field = matcher.group(1).replace(LEFT_PARENTHESIS, EMPTY_STRING)
                     .replace(RIGHT_PARENTHESIS, EMPTY_STRING);
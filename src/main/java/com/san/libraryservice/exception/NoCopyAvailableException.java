@@ -0,0 +1,16 @@
+package com.san.libraryservice.exception;
+
+import static com.san.libraryservice.constant.MessageConstants.NO_COPY_AVAILABLE;
+
+/**
+ * Thrown when any copy of an ISBN is borrowed and every copy is on loan. This is an expected
+ * business outcome, so no stack trace is captured and the message is only built when read.
+ *
+ * @author Supunsan
+ */
+public class NoCopyAvailableException extends RejectionException {
+
+    public NoCopyAvailableException(String isbn) {
+        super(NO_COPY_AVAILABLE, isbn);
+    }
+}
@@ -3,9 +3,41 @@ package com.san.libraryservice.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Thrown when a requested record does not exist. This is an expected business outcome,
+ * so no stack trace is captured, and a message naming the missing key is only built when read.
+ *
+ * @author Supunsan
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class RecordNotFoundException extends RuntimeException {
+
+    private final transient Object key;
+    private transient String message;
+
     public RecordNotFoundException(String message) {
-        super(message);
+        this(message, null);
+    }
+
+    /**
+     * @param prefix the message up to the key, such as {@code "Book not found with ID: "}
+     * @param key    the key that was not found, appended to the prefix when the message is read
+     */
+    public RecordNotFoundException(String prefix, Object key) {
+        super(prefix, null, false, false);
+        this.key = key;
+    }
+
+    @Override
+    public String getMessage() {
+        if (key == null) {
+            return super.getMessage();
+        }
+        String formatted = message;
+        if (formatted == null) {
+            formatted = super.getMessage() + key;
+            message = formatted;
+        }
+        return formatted;
     }
 }
@@ -0,0 +1,54 @@
+package com.san.libraryservice.exception;
+
+/**
+ * Base of the expected business rejections thrown on every refused borrow or return. No stack trace is
+ * captured, and the message template and its arguments are kept apart until the message is first read,
+ * then filled in by plain concatenation instead of {@link String#format} and cached.
+ *
+ * @author Supunsan
+ */
+abstract class RejectionException extends IllegalStateException {
+
+    private final transient String template;
+    private final transient Object[] arguments;
+    private transient String message;
+
+    RejectionException(String template, Object... arguments) {
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public String getMessage() {
+        String formatted = message;
+        if (formatted == null) {
+            formatted = fill(template, arguments);
+            message = formatted;
+        }
+        return formatted;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    /**
+     * Replaces each {@code %s} or {@code %d} placeholder of a template with the next argument, in order.
+     *
+     * @param template  the message template
+     * @param arguments the placeholder values
+     * @return the filled in message
+     * @author Supunsan
+     */
+    static String fill(String template, Object... arguments) {
+        StringBuilder filled = new StringBuilder(template.length() + 16 * arguments.length);
+        int from = 0;
+        int next = 0;
+        for (int at = template.indexOf('%'); at >= 0 && next < arguments.length; at = template.indexOf('%', from)) {
+            filled.append(template, from, at).append(arguments[next++]);
+            from = at + 2;
+        }
+        return filled.append(template, from, template.length()).toString();
+    }
+}
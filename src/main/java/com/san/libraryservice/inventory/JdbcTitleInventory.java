@@ -0,0 +1,112 @@
+package com.san.libraryservice.inventory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.san.libraryservice.constant.InventoryConstants.*;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+/**
+ * The {@link TitleInventory} in the {@code book_title} table.
+ * <p>
+ * Taking and giving back a copy are each a single guarded update, so they are atomic without a lock
+ * held across statements. A title is created with an update, then an insert when no row was changed;
+ * an insert that lost a race with another instance is retried as an update. Every statement is
+ * portable, so the same code runs against the embedded database of the benchmarks.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+@RequiredArgsConstructor
+public class JdbcTitleInventory implements TitleInventory {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<TitleAvailability> find(String isbn) {
+        return jdbcTemplate.query(SELECT_TITLE, (rs, rowNum) -> new TitleAvailability(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                rs.getInt(5)), isbn).stream().findFirst();
+    }
+
+    @Override
+    public void addCopy(String isbn, String title, String author) {
+        if (jdbcTemplate.update(ADD_COPY, isbn) > 0) {
+            return;
+        }
+        if (jdbcTemplate.update(INSERT_TITLE, isbn, title, author, 1, 1) == 0) {
+            jdbcTemplate.update(ADD_COPY, isbn);
+        }
+    }
+
+    @Override
+    public boolean takeCopy(String isbn) {
+        return jdbcTemplate.update(TAKE_COPY, isbn) > 0;
+    }
+
+    @Override
+    public boolean releaseCopy(String isbn) {
+        return jdbcTemplate.update(RELEASE_COPY, isbn) > 0;
+    }
+
+    @Override
+    public void reconcile(List<TitleAvailability> titles) {
+        if (titles.isEmpty()) {
+            return;
+        }
+        List<TitleAvailability> missing = notUpdated(titles, update(titles));
+        if (missing.isEmpty()) {
+            return;
+        }
+        int[][] inserted = jdbcTemplate.batchUpdate(INSERT_TITLE, missing, missing.size(), (ps, title) -> {
+            ps.setString(1, title.isbn());
+            ps.setString(2, title.title());
+            ps.setString(3, title.author());
+            ps.setInt(4, title.totalCopies());
+            ps.setInt(5, title.availableCopies());
+        });
+        List<TitleAvailability> conflicting = notUpdated(missing, inserted);
+        if (!conflicting.isEmpty()) {
+            update(conflicting);
+        }
+    }
+
+    private int[][] update(List<TitleAvailability> titles) {
+        return jdbcTemplate.batchUpdate(RECONCILE_TITLE, titles, titles.size(), (ps, title) -> {
+            ps.setString(1, title.title());
+            ps.setString(2, title.author());
+            ps.setInt(3, title.totalCopies());
+            ps.setInt(4, title.availableCopies());
+            ps.setString(5, title.isbn());
+        });
+    }
+
+    /**
+     * Returns the titles whose statement changed no row.
+     *
+     * @param titles the titles in the order they were batched
+     * @param counts the update counts of the batch, in a single chunk
+     * @return the titles that were not written
+     * @author Supunsan
+     */
+    private static List<TitleAvailability> notUpdated(List<TitleAvailability> titles, int[][] counts) {
+        List<TitleAvailability> notUpdated = new ArrayList<>();
+        for (int i = 0; i < titles.size(); i++) {
+            if (counts[0][i] == 0) {
+                notUpdated.add(titles.get(i));
+            }
+        }
+        return notUpdated;
+    }
+}
@@ -0,0 +1,14 @@
+package com.san.libraryservice.inventory;
+
+/**
+ * The copies of one ISBN and how many of them can be borrowed.
+ *
+ * @param isbn            the ISBN shared by the copies
+ * @param title           the title of the copies
+ * @param author          the author of the copies
+ * @param totalCopies     the number of copies
+ * @param availableCopies the number of copies that are not on loan
+ * @author Supunsan
+ */
+public record TitleAvailability(String isbn, String title, String author, int totalCopies, int availableCopies) {
+}
@@ -0,0 +1,63 @@
+package com.san.libraryservice.inventory;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The number of available copies of each ISBN, kept beside the loan ledger so that a copy of a title can be
+ * taken with one conditional update and the availability of a title is read without counting its copies.
+ * <p>
+ * The ledger decides which copy is on loan; the counts only admit borrows of any copy and answer
+ * availability queries, and are reconciled with the ledger periodically.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public interface TitleInventory {
+
+    /**
+     * Returns the copies of an ISBN.
+     *
+     * @param isbn the ISBN
+     * @return the title's availability, empty when no copy was added
+     * @author Supunsan
+     */
+    Optional<TitleAvailability> find(String isbn);
+
+    /**
+     * Adds an available copy to an ISBN, creating its title with the first copy.
+     *
+     * @param isbn   the ISBN of the copy
+     * @param title  the title of the copy
+     * @param author the author of the copy
+     * @author Supunsan
+     */
+    void addCopy(String isbn, String title, String author);
+
+    /**
+     * Takes one available copy of an ISBN. The count never goes below zero, so when two callers race for
+     * the last copy only one of them gets it.
+     *
+     * @param isbn the ISBN
+     * @return true if a copy was taken, false if none was available
+     * @author Supunsan
+     */
+    boolean takeCopy(String isbn);
+
+    /**
+     * Gives back a copy of an ISBN. The count never goes above the number of copies.
+     *
+     * @param isbn the ISBN
+     * @return true if the count was raised, false if every copy was already available
+     * @author Supunsan
+     */
+    boolean releaseCopy(String isbn);
+
+    /**
+     * Overwrites the counts of the given titles, creating the titles that are missing.
+     *
+     * @param titles the titles with their counts recomputed from the ledger
+     * @author Supunsan
+     */
+    void reconcile(List<TitleAvailability> titles);
+}
@@ -0,0 +1,132 @@
+package com.san.libraryservice.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event emitted for every borrow and return, with the time spent in each phase. A borrow of
+ * any copy of a title carries the copy it borrowed, and its availability check is taking the title count.
+ * <p>
+ * Disabled by default; {@link com.san.libraryservice.config.FlightRecorderConfig} enables it with a
+ * threshold when {@code library.jfr.enabled=true}. Phase marks are two {@link System#nanoTime()} calls,
+ * and nothing is written unless the event is enabled and over its threshold.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Name(LoanEvent.NAME)
+@Label("Loan Operation")
+@Description("Borrow or return of a book, with per-phase durations")
+@Category({"Library", "Loans"})
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(false)
+public class LoanEvent extends Event {
+
+    public static final String NAME = "com.san.library.Loan";
+    public static final String BORROW = "borrow";
+    public static final String BORROW_COPY = "borrow-copy";
+    public static final String RETURN = "return";
+    public static final String SUCCESS = "success";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Borrower Id")
+    long borrowerId;
+
+    @Label("Book Id")
+    long bookId;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception that rejected the operation")
+    String outcome;
+
+    @Label("Lookup")
+    @Description("Loading the borrower and the book")
+    @Timespan(Timespan.NANOSECONDS)
+    long lookup;
+
+    @Label("Availability Check")
+    @Description("Refreshing the book's loan state from the ledger and checking it allows the borrow or return")
+    @Timespan(Timespan.NANOSECONDS)
+    long availabilityCheck;
+
+    @Label("Record Write")
+    @Description("Appending the loan event to the ledger")
+    @Timespan(Timespan.NANOSECONDS)
+    long recordWrite;
+
+    @Label("Book Update")
+    @Description("Applying the loan event to the in-memory loan projection")
+    @Timespan(Timespan.NANOSECONDS)
+    long bookUpdate;
+
+    private transient long phaseStart;
+
+    /**
+     * Creates and begins an event for a loan operation.
+     *
+     * @param operation  {@link #BORROW}, {@link #BORROW_COPY} or {@link #RETURN}
+     * @param borrowerId the ID of the borrower
+     * @param bookId     the ID of the book, or null while the copy is not chosen yet
+     * @return the started event
+     * @author Supunsan
+     */
+    public static LoanEvent start(String operation, Long borrowerId, Long bookId) {
+        LoanEvent event = new LoanEvent();
+        event.begin();
+        event.operation = operation;
+        event.borrowerId = borrowerId == null ? 0 : borrowerId;
+        event.bookId = bookId == null ? 0 : bookId;
+        event.phaseStart = System.nanoTime();
+        return event;
+    }
+
+    public void lookupDone() {
+        lookup = lap();
+    }
+
+    public void availabilityChecked() {
+        availabilityCheck = lap();
+    }
+
+    public void recordWritten() {
+        recordWrite = lap();
+    }
+
+    /**
+     * Ends the record write phase of a borrow of any copy, which includes finding a free copy.
+     *
+     * @param copyId the ID of the borrowed copy
+     * @author Supunsan
+     */
+    public void copyBorrowed(long copyId) {
+        bookId = copyId;
+        recordWrite = lap();
+    }
+
+    public void bookUpdated() {
+        bookUpdate = lap();
+    }
+
+    /**
+     * Ends the event with the given outcome and commits it if it is enabled and over its threshold.
+     *
+     * @param result {@link #SUCCESS} or the name of the rejecting exception
+     * @author Supunsan
+     */
+    public void finish(String result) {
+        end();
+        if (shouldCommit()) {
+            outcome = result;
+            commit();
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - phaseStart;
+        phaseStart = now;
+        return elapsed;
+    }
+}
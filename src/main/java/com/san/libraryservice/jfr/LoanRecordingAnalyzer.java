@@ -0,0 +1,113 @@
+package com.san.libraryservice.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes a Flight Recorder file into per-phase latency percentiles for loan operations
+ * and per-method percentiles for repository calls.
+ * <p>
+ * Usage: {@code mvn exec:java -Dexec.mainClass=com.san.libraryservice.jfr.LoanRecordingAnalyzer -Dexec.args=library.jfr}
+ * </p>
+ *
+ * @author Supunsan
+ */
+public final class LoanRecordingAnalyzer {
+
+    private static final String[] LOAN_PHASES = {"lookup", "availabilityCheck", "recordWrite", "bookUpdate"};
+    private static final String ROW_FORMAT = "%-48s %8s %12s %12s %12s %12s%n";
+
+    private LoanRecordingAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: LoanRecordingAnalyzer <recording.jfr>");
+            System.exit(1);
+        }
+
+        System.out.printf(ROW_FORMAT, "phase", "count", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)");
+        for (PhaseSummary summary : summarize(Path.of(args[0]))) {
+            System.out.printf(ROW_FORMAT, summary.name(), summary.count(),
+                    micros(summary.p50()), micros(summary.p90()), micros(summary.p99()), micros(summary.max()));
+        }
+    }
+
+    /**
+     * Reads the recording and computes percentiles for every loan phase and repository method.
+     * Loan phases are keyed {@code <operation>.<phase>}, with {@code <operation>.total} for the whole
+     * operation; phases a rejected operation never reached are skipped. Repository calls are keyed
+     * {@code <repository>.<method>}.
+     *
+     * @param recording the path of the .jfr file
+     * @return the summaries, sorted by name
+     * @throws IOException if the recording cannot be read
+     * @author Supunsan
+     */
+    public static List<PhaseSummary> summarize(Path recording) throws IOException {
+        Map<String, List<Long>> samples = new TreeMap<>();
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String eventName = event.getEventType().getName();
+            if (LoanEvent.NAME.equals(eventName)) {
+                String operation = event.getString("operation");
+                add(samples, operation + ".total", event.getDuration().toNanos());
+                for (String phase : LOAN_PHASES) {
+                    long nanos = event.getDuration(phase).toNanos();
+                    if (nanos > 0) {
+                        add(samples, operation + "." + phase, nanos);
+                    }
+                }
+            } else if (RepositoryCallEvent.NAME.equals(eventName)) {
+                add(samples, event.getString("repository") + "." + event.getString("method"),
+                        event.getDuration().toNanos());
+            }
+        }
+
+        List<PhaseSummary> summaries = new ArrayList<>(samples.size());
+        samples.forEach((name, durations) -> summaries.add(PhaseSummary.of(name, durations)));
+        return summaries;
+    }
+
+    private static void add(Map<String, List<Long>> samples, String name, long nanos) {
+        samples.computeIfAbsent(name, key -> new ArrayList<>()).add(nanos);
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1_000.0);
+    }
+
+    /**
+     * Latency percentiles of one phase, in nanoseconds.
+     *
+     * @author Supunsan
+     */
+    public record PhaseSummary(
+            String name,
+            int count,
+            long p50,
+            long p90,
+            long p99,
+            long max) {
+
+        static PhaseSummary of(String name, List<Long> durations) {
+            long[] sorted = durations.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return new PhaseSummary(name, sorted.length,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
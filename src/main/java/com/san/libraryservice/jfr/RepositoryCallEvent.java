@@ -0,0 +1,29 @@
+package com.san.libraryservice.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event emitted around every Spring Data repository call.
+ * Disabled by default, see {@link LoanEvent}.
+ *
+ * @author Supunsan
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({"Library", "Persistence"})
+@Enabled(false)
+@Threshold("5 ms")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    public static final String NAME = "com.san.library.RepositoryCall";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,62 @@
+package com.san.libraryservice.jfr;
+
+import jdk.jfr.EventType;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps every Spring Data repository call in a {@link RepositoryCallEvent}.
+ * While the event is disabled the call proceeds directly, without allocating an event.
+ *
+ * @author Supunsan
+ */
+@Aspect
+@Component
+public class RepositoryEventAspect {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(RepositoryCallEvent.class);
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!EVENT_TYPE.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName(joinPoint.getThis());
+                event.method = joinPoint.getSignature().getName();
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Names the repository interface behind the proxy: the Spring Data interface of a JDK proxy, or the
+     * first interface of the target class for the in-memory repositories, which are class-based proxies.
+     *
+     * @param repository the proxy the call went through
+     * @return the simple name of the repository interface
+     * @author Supunsan
+     */
+    private static String repositoryName(Object repository) {
+        Class<?>[] interfaces = Proxy.isProxyClass(repository.getClass())
+                ? AopProxyUtils.proxiedUserInterfaces(repository)
+                : ClassUtils.getAllInterfacesForClass(AopProxyUtils.ultimateTargetClass(repository));
+        return interfaces[0].getSimpleName();
+    }
+}
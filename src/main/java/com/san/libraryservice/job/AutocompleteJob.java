@@ -0,0 +1,27 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.AutocompleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.san.libraryservice.constant.AutocompleteConstants.AUTOCOMPLETE_REBUILD_INTERVAL;
+
+@Component
+@RequiredArgsConstructor
+public class AutocompleteJob {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Rebuilds the autocomplete index from the books, once at startup and then periodically, so that its
+     * ranking follows the loans. The interval can be overridden with the
+     * {@code library.autocomplete.rebuild-interval} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = AUTOCOMPLETE_REBUILD_INTERVAL)
+    public void rebuild() {
+        autocompleteService.rebuild();
+    }
+}
@@ -0,0 +1,47 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.CatalogService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.san.libraryservice.constant.CatalogConstants.CATALOG_REBUILD_ON_STARTUP;
+import static com.san.libraryservice.constant.CatalogConstants.CATALOG_REFRESH_INTERVAL;
+
+@Component
+public class CatalogViewJob {
+
+    private final CatalogService catalogService;
+    private final boolean rebuildOnStartup;
+
+    public CatalogViewJob(CatalogService catalogService, @Value(CATALOG_REBUILD_ON_STARTUP) boolean rebuildOnStartup) {
+        this.catalogService = catalogService;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Writes the books borrowed and returned since the checkpoint of the catalog view to it.
+     * The interval can be overridden with the {@code library.catalog.refresh-interval} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = CATALOG_REFRESH_INTERVAL)
+    public void refreshView() {
+        catalogService.refreshView();
+    }
+
+    /**
+     * Rebuilds the catalog view once the application has started, when
+     * {@code library.catalog.rebuild-on-startup} is set.
+     *
+     * @author Supunsan
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            catalogService.rebuildView();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.FineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.san.libraryservice.constant.FineConstants.FINE_JOB_CRON;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+@RequiredArgsConstructor
+public class FineCalculationJob {
+
+    private final FineService fineService;
+
+    /**
+     * Runs the nightly fine calculation across all overdue loans.
+     * The schedule can be overridden with the {@code library.fine.job.cron} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(cron = FINE_JOB_CRON)
+    public void calculateFines() {
+        fineService.calculateFines();
+    }
+}
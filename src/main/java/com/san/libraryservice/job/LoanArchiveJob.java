@@ -0,0 +1,38 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.LoanArchiveService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.constant.ArchiveConstants.ARCHIVE_AFTER;
+import static com.san.libraryservice.constant.ArchiveConstants.ARCHIVE_JOB_CRON;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+public class LoanArchiveJob {
+
+    private final LoanArchiveService loanArchiveService;
+    private final Duration archiveAfter;
+
+    public LoanArchiveJob(LoanArchiveService loanArchiveService, @Value(ARCHIVE_AFTER) Duration archiveAfter) {
+        this.loanArchiveService = loanArchiveService;
+        this.archiveAfter = archiveAfter;
+    }
+
+    /**
+     * Moves returned loans older than {@code library.archive.after} to cold storage.
+     * The schedule can be overridden with the {@code library.archive.job.cron} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(cron = ARCHIVE_JOB_CRON)
+    public void archiveReturnedLoans() {
+        loanArchiveService.archiveReturnedLoans(LocalDateTime.now().minus(archiveAfter));
+    }
+}
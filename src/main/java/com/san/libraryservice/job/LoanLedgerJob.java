@@ -0,0 +1,38 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.LoanLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.san.libraryservice.constant.LedgerConstants.LEDGER_SNAPSHOT_INTERVAL;
+import static com.san.libraryservice.constant.LedgerConstants.PROJECTION_INTERVAL;
+
+@Component
+@RequiredArgsConstructor
+public class LoanLedgerJob {
+
+    private final LoanLedgerService loanLedgerService;
+
+    /**
+     * Applies new loan events to {@code borrow_record} and {@code book.available}.
+     * The interval can be overridden with the {@code library.ledger.projection-interval} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = PROJECTION_INTERVAL)
+    public void projectEvents() {
+        loanLedgerService.projectEvents();
+    }
+
+    /**
+     * Snapshots the in-memory loan projection so the replay on the next start stays short.
+     * The interval can be overridden with the {@code library.ledger.snapshot-interval} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = LEDGER_SNAPSHOT_INTERVAL, initialDelayString = LEDGER_SNAPSHOT_INTERVAL)
+    public void snapshotProjection() {
+        loanLedgerService.snapshotProjection();
+    }
+}
@@ -0,0 +1,33 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.PartitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+import static com.san.libraryservice.constant.PartitionConstants.PARTITION_JOB_CRON;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+@RequiredArgsConstructor
+public class PartitionMaintenanceJob {
+
+    private final PartitionService partitionService;
+
+    /**
+     * Creates the upcoming monthly borrow record partitions and archives the expired ones.
+     * The schedule can be overridden with the {@code library.partition.job.cron} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(cron = PARTITION_JOB_CRON)
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        partitionService.createUpcomingPartitions(today);
+        partitionService.archiveExpiredPartitions(today);
+    }
+}
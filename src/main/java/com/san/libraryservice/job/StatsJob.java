@@ -0,0 +1,26 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.san.libraryservice.constant.StatsConstants.STATS_RECONCILE_INTERVAL;
+
+@Component
+@RequiredArgsConstructor
+public class StatsJob {
+
+    private final StatsService statsService;
+
+    /**
+     * Recomputes the statistics counters from the database, once at startup and then periodically.
+     * The interval can be overridden with the {@code library.stats.reconcile-interval} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = STATS_RECONCILE_INTERVAL)
+    public void reconcile() {
+        statsService.reconcile();
+    }
+}
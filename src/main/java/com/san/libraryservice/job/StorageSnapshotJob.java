@@ -0,0 +1,32 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.storage.StorageEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+import static com.san.libraryservice.constant.StorageConstants.IN_MEMORY_PROFILE;
+import static com.san.libraryservice.constant.StorageConstants.SNAPSHOT_INTERVAL;
+
+@Component
+@Profile(IN_MEMORY_PROFILE)
+@RequiredArgsConstructor
+public class StorageSnapshotJob {
+
+    private final StorageEngine storageEngine;
+
+    /**
+     * Snapshots the in-memory store so its write-ahead log, and the replay on the next start, stay short.
+     * The interval can be overridden with the {@code library.storage.snapshot-interval} property.
+     *
+     * @throws IOException if the snapshot cannot be written; the previous snapshot and logs are kept
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = SNAPSHOT_INTERVAL, initialDelayString = SNAPSHOT_INTERVAL)
+    public void snapshot() throws IOException {
+        storageEngine.snapshot();
+    }
+}
@@ -0,0 +1,26 @@
+package com.san.libraryservice.job;
+
+import com.san.libraryservice.service.InventoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.san.libraryservice.constant.InventoryConstants.TITLE_RECONCILE_INTERVAL;
+
+@Component
+@RequiredArgsConstructor
+public class TitleInventoryJob {
+
+    private final InventoryService inventoryService;
+
+    /**
+     * Recomputes the available copies of every ISBN from the loan ledger, correcting counts that drifted
+     * from it. The interval can be overridden with the {@code library.inventory.reconcile-interval} property.
+     *
+     * @author Supunsan
+     */
+    @Scheduled(fixedDelayString = TITLE_RECONCILE_INTERVAL)
+    public void reconcile() {
+        inventoryService.reconcile();
+    }
+}
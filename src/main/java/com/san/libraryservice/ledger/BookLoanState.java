@@ -0,0 +1,44 @@
+package com.san.libraryservice.ledger;
+
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+
+/**
+ * The loan state of one book as projected from its ledger events.
+ *
+ * @param version    the version of the last event applied, 0 for a book that was never borrowed
+ * @param borrowerId the ID of the current borrower, 0 when the book is available
+ * @param loanId     the ID of the active loan, 0 when the book is available
+ * @param borrowedAt the time the active loan started
+ * @param dueAt      the time the active loan is due back
+ * @author Supunsan
+ */
+public record BookLoanState(int version, long borrowerId, long loanId, LocalDateTime borrowedAt,
+                            LocalDateTime dueAt) {
+
+    public static final BookLoanState AVAILABLE = new BookLoanState(0, 0, 0, null, null);
+
+    public boolean isBorrowed() {
+        return loanId != 0;
+    }
+
+    public boolean isBorrowedBy(long borrowerId) {
+        return isBorrowed() && this.borrowerId == borrowerId;
+    }
+
+    /**
+     * Returns the state after the event, which must be the next version of this book.
+     *
+     * @param event the {@link LedgerEvent} to apply
+     * @return the new state
+     * @author Supunsan
+     */
+    BookLoanState apply(LedgerEvent event) {
+        if (event.type() == BOOK_BORROWED) {
+            return new BookLoanState(event.bookVersion(), event.borrowerId(), event.loanId(),
+                    event.occurredAt(), event.dueAt());
+        }
+        return new BookLoanState(event.bookVersion(), 0, 0, null, null);
+    }
+}
@@ -0,0 +1,135 @@
+package com.san.libraryservice.ledger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.san.libraryservice.constant.LedgerConstants.*;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+/**
+ * The {@link LoanLedger} in the PostgreSQL {@code loan_event} table. The unique
+ * {@code (book_id, book_version)} constraint rejects a second event for the same book version,
+ * which Spring translates to a {@link org.springframework.dao.DuplicateKeyException}.
+ *
+ * @author Supunsan
+ */
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+public class JdbcLoanLedger implements LoanLedger {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final double settleSeconds;
+
+    public JdbcLoanLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         @Value(SETTLE_DELAY) Duration settleDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.settleSeconds = settleDelay.toMillis() / 1000.0;
+    }
+
+    /**
+     * Appends an event. Outside a transaction the insert commits by itself; inside one it runs
+     * in a new transaction, so that a rollback of the caller cannot leave a gap in the book's versions.
+     *
+     * @param event the event, with the book version it creates
+     * @return the event with its sequence and loan ID assigned
+     * @author Supunsan
+     */
+    @Override
+    public LedgerEvent append(LedgerEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return newTransactionTemplate.execute(status -> insert(event));
+        }
+        return insert(event);
+    }
+
+    @Override
+    public List<LedgerEvent> readBook(long bookId, int afterVersion) {
+        return jdbcTemplate.query(SELECT_BOOK_EVENTS, JdbcLoanLedger::mapToEvent, bookId, afterVersion);
+    }
+
+    @Override
+    public List<LedgerEvent> readAfter(long sequence, int limit) {
+        return jdbcTemplate.query(SELECT_EVENTS_AFTER, JdbcLoanLedger::mapToEvent, sequence, limit);
+    }
+
+    /**
+     * Reads events recorded more than {@code library.ledger.settle-delay} ago. Sequences are allocated
+     * in order but appends commit out of order; an append usually takes far less than the delay, but one
+     * paused between allocating its sequence and inserting can still commit later, so callers track gaps.
+     *
+     * @param sequence the last sequence already read
+     * @param limit    the maximum number of events
+     * @return the events in sequence order
+     * @author Supunsan
+     */
+    @Override
+    public List<LedgerEvent> readSettled(long sequence, int limit) {
+        return jdbcTemplate.query(SELECT_SETTLED_EVENTS_AFTER, JdbcLoanLedger::mapToEvent,
+                sequence, settleSeconds, limit);
+    }
+
+    @Override
+    public Optional<LedgerSnapshot> latestSnapshot() {
+        return jdbcTemplate.query(SELECT_LATEST_SNAPSHOT,
+                        (rs, rowNum) -> new LedgerSnapshot(rs.getLong(1), rs.getBytes(2)))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void saveSnapshot(LedgerSnapshot snapshot) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT_SNAPSHOT, snapshot.sequence(), Timestamp.valueOf(LocalDateTime.now()),
+                    snapshot.state());
+            jdbcTemplate.update(DELETE_OLDER_SNAPSHOTS, snapshot.sequence());
+        });
+    }
+
+    private LedgerEvent insert(LedgerEvent event) {
+        long sequence = Objects.requireNonNull(jdbcTemplate.queryForObject(SELECT_NEXT_EVENT_SEQUENCE, Long.class));
+        LedgerEvent appended = event.appended(sequence);
+        jdbcTemplate.update(INSERT_LOAN_EVENT,
+                appended.sequence(),
+                appended.type().name(),
+                appended.bookId(),
+                appended.bookVersion(),
+                appended.borrowerId(),
+                appended.loanId(),
+                Timestamp.valueOf(appended.occurredAt()),
+                appended.dueAt() == null ? null : Timestamp.valueOf(appended.dueAt()));
+        return appended;
+    }
+
+    private static LedgerEvent mapToEvent(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp dueAt = rs.getTimestamp(8);
+        return new LedgerEvent(
+                rs.getLong(1),
+                LoanEventType.valueOf(rs.getString(2)),
+                rs.getLong(3),
+                rs.getInt(4),
+                rs.getLong(5),
+                rs.getLong(6),
+                rs.getTimestamp(7).toLocalDateTime(),
+                dueAt == null ? null : dueAt.toLocalDateTime());
+    }
+}
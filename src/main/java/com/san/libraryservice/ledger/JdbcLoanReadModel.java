@@ -0,0 +1,108 @@
+package com.san.libraryservice.ledger;
+
+import com.san.libraryservice.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.san.libraryservice.constant.FineConstants.SELECT_CHECKPOINT;
+import static com.san.libraryservice.constant.LedgerConstants.*;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+
+/**
+ * Maintains {@code borrow_record} and {@code book.available} in PostgreSQL from the loan ledger.
+ * <p>
+ * A batch is applied with batched statements in one transaction together with its checkpoint in
+ * {@code job_checkpoint}, whose row is locked first so that instances project one batch at a time.
+ * The statements are idempotent, so re-applying a batch changes nothing, and {@code book.loan_version}
+ * keeps a batch that was read before a newer one from setting an older availability.
+ * Books are updated with plain SQL, so their second-level cache entries are evicted afterwards.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+@RequiredArgsConstructor
+public class JdbcLoanReadModel implements LoanReadModel {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public long checkpoint() {
+        return jdbcTemplate.query(SELECT_CHECKPOINT, (rs, rowNum) -> rs.getLong(1), PROJECTION_JOB_NAME)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Inserts a borrow record for each borrow, sets the return time of each returned loan, and sets
+     * the availability of each book from its last event in the batch.
+     *
+     * @param events     the events in sequence order, possibly empty
+     * @param checkpoint the sequence up to which every event has been applied
+     * @return the higher of {@code checkpoint} and the checkpoint saved before the batch
+     * @author Supunsan
+     */
+    @Override
+    public long project(List<LedgerEvent> events, long checkpoint) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<LedgerEvent> borrowed = new ArrayList<>();
+        List<LedgerEvent> returned = new ArrayList<>();
+        Map<Long, LedgerEvent> latest = new LinkedHashMap<>();
+        for (LedgerEvent event : events) {
+            (event.type() == BOOK_BORROWED ? borrowed : returned).add(event);
+            latest.put(event.bookId(), event);
+        }
+
+        long projected = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            // Waits for a batch another instance is projecting, then sees the checkpoint it committed
+            long saved = jdbcTemplate.query(LOCK_CHECKPOINT, (rs, rowNum) -> rs.getLong(1), PROJECTION_JOB_NAME)
+                    .stream()
+                    .findFirst()
+                    .orElse(0L);
+            jdbcTemplate.batchUpdate(INSERT_BORROW_RECORD, borrowed, borrowed.size(), (ps, event) -> {
+                ps.setLong(1, event.loanId());
+                ps.setTimestamp(2, now);
+                ps.setTimestamp(3, now);
+                ps.setLong(4, event.borrowerId());
+                ps.setLong(5, event.bookId());
+                ps.setTimestamp(6, Timestamp.valueOf(event.occurredAt()));
+                ps.setTimestamp(7, Timestamp.valueOf(event.dueAt()));
+            });
+            jdbcTemplate.batchUpdate(UPDATE_BORROW_RECORD_RETURNED, returned, returned.size(), (ps, event) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(event.occurredAt()));
+                ps.setTimestamp(2, now);
+                ps.setLong(3, event.loanId());
+            });
+            jdbcTemplate.batchUpdate(UPDATE_BOOK_AVAILABILITY, new ArrayList<>(latest.values()), latest.size(),
+                    (ps, event) -> {
+                        ps.setBoolean(1, event.type() != BOOK_BORROWED);
+                        ps.setInt(2, event.bookVersion());
+                        ps.setTimestamp(3, now);
+                        ps.setLong(4, event.bookId());
+                        ps.setInt(5, event.bookVersion());
+                    });
+            jdbcTemplate.update(ADVANCE_CHECKPOINT, PROJECTION_JOB_NAME, checkpoint, now);
+            return Math.max(saved, checkpoint);
+        }));
+
+        latest.keySet().forEach(bookId -> entityManagerFactory.getCache().evict(Book.class, bookId));
+        return projected;
+    }
+}
@@ -0,0 +1,95 @@
+package com.san.libraryservice.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.san.libraryservice.constant.LogConstants.LEDGER_EVENT_COMMITTED_LATE;
+
+/**
+ * Where a reader of the loan ledger is between runs: the highest sequence it has read, which can be
+ * above its durable checkpoint, and the {@link SequenceGaps} it skipped on the way.
+ * <p>
+ * Each run reads again from the checkpoint, but only the events not read before and those filling a gap
+ * are handed out, so the checkpoint can be held below a gap without handling an event twice. A book's
+ * events are appended in version order, so an event filling a gap is never older than an event of the
+ * same book that was handed out already.
+ * </p>
+ * <p>
+ * Not thread-safe; the owner serializes access.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Slf4j
+public final class LedgerCursor {
+
+    private final SequenceGaps gaps;
+
+    // The highest sequence read, which can be above the checkpoint
+    private long readThrough = -1;
+
+    public LedgerCursor(Duration gapTimeout) {
+        this.gaps = new SequenceGaps(gapTimeout);
+    }
+
+    /**
+     * Moves the cursor up to a checkpoint, which another instance may have saved, and forgets the gaps below it.
+     *
+     * @param checkpoint the durable checkpoint of the reader
+     * @author Supunsan
+     */
+    public void resume(long checkpoint) {
+        readThrough = Math.max(readThrough, checkpoint);
+        gaps.discardThrough(checkpoint);
+    }
+
+    /**
+     * Forgets what was read above the checkpoint, after handling a batch failed, so that the next run hands
+     * out every event after the checkpoint again. Gaps are found again as the events are read.
+     *
+     * @author Supunsan
+     */
+    public void rewind() {
+        readThrough = -1;
+        gaps.discardThrough(Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the events of a batch that were not read before, and records the sequences the batch skipped.
+     *
+     * @param batch the events read after the checkpoint, in sequence order
+     * @param now   the current time
+     * @return the unread events, in sequence order
+     * @author Supunsan
+     */
+    public List<LedgerEvent> unread(List<LedgerEvent> batch, LocalDateTime now) {
+        List<LedgerEvent> unread = new ArrayList<>();
+        for (LedgerEvent event : batch) {
+            if (event.sequence() > readThrough) {
+                gaps.skipped(readThrough, event.sequence(), now);
+                readThrough = event.sequence();
+                unread.add(event);
+            } else if (gaps.fill(event.sequence())) {
+                log.warn(LEDGER_EVENT_COMMITTED_LATE, event.sequence(), event.bookId());
+                unread.add(event);
+            }
+        }
+        return unread;
+    }
+
+    /**
+     * Returns the sequence the checkpoint can move to, below every gap that has not timed out.
+     *
+     * @param through the last sequence read
+     * @param now     the current time
+     * @return {@code through}, or the sequence before the first open gap if that is lower
+     * @author Supunsan
+     */
+    public long settledThrough(long through, LocalDateTime now) {
+        return gaps.settledThrough(through, now);
+    }
+}
@@ -0,0 +1,51 @@
+package com.san.libraryservice.ledger;
+
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_RETURNED;
+
+/**
+ * One event of the loan ledger.
+ * <p>
+ * Events of a book are numbered by {@code bookVersion} from 1 without gaps, and the ledger accepts each
+ * version only once, so two borrows of the same book can never both be appended. A borrow opens a loan
+ * identified by its own sequence, which is also the ID of its {@code borrow_record} row; the return that
+ * closes it carries the same loan ID.
+ * </p>
+ *
+ * @param sequence    the position of the event in the ledger, 0 until it is appended
+ * @param type        the {@link LoanEventType}
+ * @param bookId      the ID of the book
+ * @param bookVersion the version of the book this event creates
+ * @param borrowerId  the ID of the borrower
+ * @param loanId      the ID of the loan, 0 for a borrow until it is appended
+ * @param occurredAt  the time the book was borrowed or returned
+ * @param dueAt       the time a borrowed book is due back, null for a return
+ * @author Supunsan
+ */
+public record LedgerEvent(long sequence, LoanEventType type, long bookId, int bookVersion, long borrowerId,
+                          long loanId, LocalDateTime occurredAt, LocalDateTime dueAt) {
+
+    public static LedgerEvent borrowed(long bookId, int bookVersion, long borrowerId, LocalDateTime borrowedAt,
+                                       LocalDateTime dueAt) {
+        return new LedgerEvent(0, BOOK_BORROWED, bookId, bookVersion, borrowerId, 0, borrowedAt, dueAt);
+    }
+
+    public static LedgerEvent returned(long bookId, int bookVersion, long borrowerId, long loanId,
+                                       LocalDateTime returnedAt) {
+        return new LedgerEvent(0, BOOK_RETURNED, bookId, bookVersion, borrowerId, loanId, returnedAt, null);
+    }
+
+    /**
+     * Returns this event as appended at the given sequence. A borrow takes the sequence as its loan ID.
+     *
+     * @param sequence the sequence assigned by the ledger
+     * @return the appended event
+     * @author Supunsan
+     */
+    public LedgerEvent appended(long sequence) {
+        return new LedgerEvent(sequence, type, bookId, bookVersion, borrowerId,
+                type == BOOK_BORROWED ? sequence : loanId, occurredAt, dueAt);
+    }
+}
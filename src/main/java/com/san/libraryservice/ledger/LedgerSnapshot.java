@@ -0,0 +1,11 @@
+package com.san.libraryservice.ledger;
+
+/**
+ * A serialized {@link LoanProjection}, saved so that a restart only replays the events after it.
+ *
+ * @param sequence the sequence of the last event the projection had applied
+ * @param state    the encoded projection
+ * @author Supunsan
+ */
+public record LedgerSnapshot(long sequence, byte[] state) {
+}
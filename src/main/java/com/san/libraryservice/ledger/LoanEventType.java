@@ -0,0 +1,13 @@
+package com.san.libraryservice.ledger;
+
+/**
+ * The kinds of event recorded in the loan ledger. The name is stored in {@code loan_event} and the
+ * ordinal in the in-memory ledger, so existing constants must never be renamed or reordered.
+ *
+ * @author Supunsan
+ */
+public enum LoanEventType {
+
+    BOOK_BORROWED,
+    BOOK_RETURNED
+}
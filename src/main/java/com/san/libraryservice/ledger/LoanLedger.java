@@ -0,0 +1,74 @@
+package com.san.libraryservice.ledger;
+
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The append-only log of loan events, the source of truth for which books are on loan.
+ * Events are never updated or deleted; {@code borrow_record} and {@code book.available} are derived from them.
+ *
+ * @author Supunsan
+ */
+public interface LoanLedger {
+
+    /**
+     * Appends an event and commits it on its own, independently of any surrounding transaction.
+     *
+     * @param event the event, with the book version it creates
+     * @return the event with its sequence and loan ID assigned
+     * @throws DuplicateKeyException if the book already has an event with that version
+     * @author Supunsan
+     */
+    LedgerEvent append(LedgerEvent event);
+
+    /**
+     * Reads the events of one book after the given version.
+     *
+     * @param bookId       the ID of the book
+     * @param afterVersion the last version already known, 0 for the whole history
+     * @return the newer events in version order
+     * @author Supunsan
+     */
+    List<LedgerEvent> readBook(long bookId, int afterVersion);
+
+    /**
+     * Reads committed events after the given sequence. An event appended concurrently with a
+     * lower sequence may still become visible later, so callers detect version gaps per book.
+     *
+     * @param sequence the last sequence already read
+     * @param limit    the maximum number of events
+     * @return the events in sequence order
+     * @author Supunsan
+     */
+    List<LedgerEvent> readAfter(long sequence, int limit);
+
+    /**
+     * Reads events after the given sequence that are old enough that every lower sequence is almost
+     * always committed or abandoned. A missing lower sequence can still commit later, so readers
+     * keep their checkpoint below it for a while, see {@link SequenceGaps}.
+     *
+     * @param sequence the last sequence already read
+     * @param limit    the maximum number of events
+     * @return the events in sequence order
+     * @author Supunsan
+     */
+    List<LedgerEvent> readSettled(long sequence, int limit);
+
+    /**
+     * Retrieves the most recent projection snapshot.
+     *
+     * @return the latest {@link LedgerSnapshot}, or empty if none was saved
+     * @author Supunsan
+     */
+    Optional<LedgerSnapshot> latestSnapshot();
+
+    /**
+     * Saves a projection snapshot and discards older ones.
+     *
+     * @param snapshot the {@link LedgerSnapshot} to save
+     * @author Supunsan
+     */
+    void saveSnapshot(LedgerSnapshot snapshot);
+}
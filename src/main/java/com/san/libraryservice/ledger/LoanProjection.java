@@ -0,0 +1,222 @@
+package com.san.libraryservice.ledger;
+
+import com.san.libraryservice.util.LongObjectMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.san.libraryservice.constant.LedgerConstants.LEDGER_BATCH_SIZE;
+import static com.san.libraryservice.constant.LogConstants.LEDGER_PROJECTION_LOADED;
+import static com.san.libraryservice.util.EpochMicros.NULL_TIME;
+import static com.san.libraryservice.util.EpochMicros.toDateTime;
+import static com.san.libraryservice.util.EpochMicros.toMicros;
+
+/**
+ * The loan state of every book, projected in memory from the {@link LoanLedger}.
+ * <p>
+ * On startup the latest {@link LedgerSnapshot} is restored and only the events after it are replayed.
+ * This runs when the context starts, just before the web server, rather than when the bean is created,
+ * so a context that is only refreshed, such as the class data sharing training run, needs no database.
+ * Other instances append to the same ledger, so the projection can be behind for books it has not seen
+ * change; {@link #refresh} reads the newer events of one book and is called before every decision on it.
+ * The version check on append then rejects a decision made on a state that changed in between.
+ * </p>
+ * <p>
+ * The ledger is never read while the projection lock is held.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoanProjection implements SmartLifecycle {
+
+    // [long book id][int version][long borrower id][long loan id][long borrowed at][long due at]
+    private static final int ENTRY_BYTES = 5 * Long.BYTES + Integer.BYTES;
+
+    private final LoanLedger loanLedger;
+
+    private LongObjectMap<BookLoanState> books = new LongObjectMap<>();
+    private long lastSequence;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        load();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // The web server starts at SMART_LIFECYCLE_PHASE - 1024, which Spring Boot does not expose as a
+        // constant; one phase lower loads the projection just before requests are accepted
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1025;
+    }
+
+    /**
+     * Restores the latest snapshot and replays the ledger after it.
+     *
+     * @author Supunsan
+     */
+    void load() {
+        long start = System.nanoTime();
+        loanLedger.latestSnapshot().ifPresent(this::restore);
+        long restoredAt = lastSequence();
+        int replayed = catchUp();
+        log.info(LEDGER_PROJECTION_LOADED, size(), restoredAt, replayed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Brings one book up to date with the ledger and returns its state.
+     *
+     * @param bookId the ID of the book
+     * @return the current {@link BookLoanState} of the book
+     * @author Supunsan
+     */
+    public BookLoanState refresh(long bookId) {
+        List<LedgerEvent> events = loanLedger.readBook(bookId, state(bookId).version());
+        events.forEach(this::apply);
+        return state(bookId);
+    }
+
+    /**
+     * Returns the projected state of a book without reading the ledger.
+     *
+     * @param bookId the ID of the book
+     * @return the {@link BookLoanState}, {@link BookLoanState#AVAILABLE} for a book with no events
+     * @author Supunsan
+     */
+    public synchronized BookLoanState state(long bookId) {
+        BookLoanState state = books.get(bookId);
+        return state == null ? BookLoanState.AVAILABLE : state;
+    }
+
+    /**
+     * Applies an appended event. Events already applied are ignored.
+     *
+     * @param event the {@link LedgerEvent}
+     * @return false if an earlier event of the book is missing, in which case the book needs a {@link #refresh}
+     * @author Supunsan
+     */
+    public synchronized boolean apply(LedgerEvent event) {
+        lastSequence = Math.max(lastSequence, event.sequence());
+        BookLoanState current = books.get(event.bookId());
+        int version = current == null ? 0 : current.version();
+        if (event.bookVersion() <= version) {
+            return true;
+        }
+        if (event.bookVersion() != version + 1) {
+            return false;
+        }
+        books.put(event.bookId(), (current == null ? BookLoanState.AVAILABLE : current).apply(event));
+        return true;
+    }
+
+    /**
+     * Applies the events appended to the ledger since the last one applied, then refreshes
+     * the books whose earlier events were committed out of order.
+     *
+     * @return the number of events read
+     * @author Supunsan
+     */
+    public int catchUp() {
+        long after = lastSequence();
+        Set<Long> behind = new HashSet<>();
+        int read = 0;
+        List<LedgerEvent> batch;
+        do {
+            batch = loanLedger.readAfter(after, LEDGER_BATCH_SIZE);
+            for (LedgerEvent event : batch) {
+                if (!apply(event)) {
+                    behind.add(event.bookId());
+                }
+                after = event.sequence();
+            }
+            read += batch.size();
+        } while (batch.size() == LEDGER_BATCH_SIZE);
+        behind.forEach(this::refresh);
+        return read;
+    }
+
+    /**
+     * Encodes the projection for {@link LoanLedger#saveSnapshot}.
+     *
+     * @return the {@link LedgerSnapshot} of the current state
+     * @author Supunsan
+     */
+    public synchronized LedgerSnapshot snapshot() {
+        long[] bookIds = books.sortedKeys();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Integer.BYTES + bookIds.length * ENTRY_BYTES);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(bookIds.length);
+            for (long bookId : bookIds) {
+                BookLoanState state = books.get(bookId);
+                out.writeLong(bookId);
+                out.writeInt(state.version());
+                out.writeLong(state.borrowerId());
+                out.writeLong(state.loanId());
+                out.writeLong(micros(state.borrowedAt()));
+                out.writeLong(micros(state.dueAt()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new LedgerSnapshot(lastSequence, bytes.toByteArray());
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized int size() {
+        return books.size();
+    }
+
+    /**
+     * Replaces the projection with a decoded snapshot.
+     *
+     * @param snapshot the {@link LedgerSnapshot} to restore
+     * @author Supunsan
+     */
+    void restore(LedgerSnapshot snapshot) {
+        ByteBuffer in = ByteBuffer.wrap(snapshot.state());
+        int count = in.getInt();
+        LongObjectMap<BookLoanState> restored = new LongObjectMap<>();
+        for (int i = 0; i < count; i++) {
+            long bookId = in.getLong();
+            restored.put(bookId, new BookLoanState(in.getInt(), in.getLong(), in.getLong(),
+                    toDateTime(in.getLong()), toDateTime(in.getLong())));
+        }
+        synchronized (this) {
+            books = restored;
+            lastSequence = snapshot.sequence();
+        }
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time == null ? NULL_TIME : toMicros(time);
+    }
+}
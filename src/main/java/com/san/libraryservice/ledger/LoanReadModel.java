@@ -0,0 +1,36 @@
+package com.san.libraryservice.ledger;
+
+import java.util.List;
+
+/**
+ * The tables derived from the loan ledger for queries and the batch jobs: {@code borrow_record}
+ * with one row per loan, and the {@code available} flag of each book.
+ *
+ * @author Supunsan
+ */
+public interface LoanReadModel {
+
+    /**
+     * Retrieves the sequence of the last event applied to the read model.
+     *
+     * @return the checkpointed sequence, or 0 if nothing was applied yet
+     * @author Supunsan
+     */
+    long checkpoint();
+
+    /**
+     * Applies a batch of settled events and moves the checkpoint, atomically. The checkpoint can be
+     * below the last event, while an earlier sequence may still commit.
+     * <p>
+     * Another instance may project the same events concurrently, so a book is only changed by an event
+     * newer than the last one applied to it, and the checkpoint never moves back.
+     * </p>
+     *
+     * @param events     the events in sequence order, possibly empty
+     * @param checkpoint the sequence up to which every event has been applied
+     * @return the checkpoint after the batch, which is higher than {@code checkpoint} when another
+     * instance has projected further
+     * @author Supunsan
+     */
+    long project(List<LedgerEvent> events, long checkpoint);
+}
@@ -0,0 +1,103 @@
+package com.san.libraryservice.ledger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The ledger sequences a reader skipped because no event with that sequence was visible yet.
+ * <p>
+ * A sequence is allocated before its event is inserted, so a gap is either an append that has not
+ * committed yet or one that was abandoned, such as the loser of a version conflict. Gaps are kept as
+ * ranges with the time they were first seen, so a jump of the sequence costs one entry. A gap is open
+ * until an event fills it or it has been open for the timeout, after which it is taken as abandoned.
+ * </p>
+ * <p>
+ * Not thread-safe; the owner serializes access.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public final class SequenceGaps {
+
+    private final Duration timeout;
+    // The first sequence of each gap, mapped to its last sequence and the time it was first seen
+    private final NavigableMap<Long, Gap> gaps = new TreeMap<>();
+
+    public SequenceGaps(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Records the sequences strictly between two events read one after the other as a gap.
+     *
+     * @param after  the sequence of the earlier event
+     * @param before the sequence of the later event
+     * @param seenAt the time the gap was seen
+     * @author Supunsan
+     */
+    public void skipped(long after, long before, LocalDateTime seenAt) {
+        if (before - after > 1) {
+            gaps.put(after + 1, new Gap(before - 1, seenAt));
+        }
+    }
+
+    /**
+     * Removes a sequence from the gap containing it, if any, because its event became visible.
+     *
+     * @param sequence the sequence of the event
+     * @return true if the sequence was in a gap, meaning its event committed after later events were read
+     * @author Supunsan
+     */
+    public boolean fill(long sequence) {
+        Map.Entry<Long, Gap> entry = gaps.floorEntry(sequence);
+        if (entry == null || entry.getValue().last() < sequence) {
+            return false;
+        }
+        Gap gap = entry.getValue();
+        gaps.remove(entry.getKey());
+        if (entry.getKey() < sequence) {
+            gaps.put(entry.getKey(), new Gap(sequence - 1, gap.seenAt()));
+        }
+        if (gap.last() > sequence) {
+            gaps.put(sequence + 1, gap);
+        }
+        return true;
+    }
+
+    /**
+     * Drops the gaps open for the timeout or longer and returns the highest sequence below every remaining gap.
+     *
+     * @param through the last sequence read
+     * @param now     the current time
+     * @return {@code through}, or the sequence before the first open gap if that is lower
+     * @author Supunsan
+     */
+    public long settledThrough(long through, LocalDateTime now) {
+        gaps.values().removeIf(gap -> !gap.seenAt().plus(timeout).isAfter(now));
+        return gaps.isEmpty() ? through : Math.min(through, gaps.firstKey() - 1);
+    }
+
+    /**
+     * Forgets the gaps at or below a sequence, once a checkpoint has moved past them.
+     *
+     * @param sequence the checkpointed sequence
+     * @author Supunsan
+     */
+    public void discardThrough(long sequence) {
+        Map.Entry<Long, Gap> spanning = gaps.floorEntry(sequence);
+        gaps.headMap(sequence, true).clear();
+        if (spanning != null && spanning.getValue().last() > sequence) {
+            gaps.put(sequence + 1, spanning.getValue());
+        }
+    }
+
+    public int size() {
+        return gaps.size();
+    }
+
+    private record Gap(long last, LocalDateTime seenAt) {
+    }
+}
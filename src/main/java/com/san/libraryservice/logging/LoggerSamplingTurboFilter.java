@@ -0,0 +1,52 @@
+package com.san.libraryservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback turbo filter that keeps roughly one in {@code sampleRate} INFO and lower events
+ * from loggers whose name starts with {@code loggerName}. WARN and ERROR events always pass.
+ * <p>
+ * Turbo filters run before the event is created or its message formatted, so dropped events
+ * cost little more than a disabled log statement. Declare one filter per sampled logger in
+ * {@code logback-spring.xml}.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public class LoggerSamplingTurboFilter extends TurboFilter {
+
+    private String loggerName;
+    private int sampleRate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || sampleRate <= 1 || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !logger.getName().startsWith(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleRate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (loggerName == null) {
+            addError("No loggerName set for turbo filter " + getName());
+            return;
+        }
+        super.start();
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
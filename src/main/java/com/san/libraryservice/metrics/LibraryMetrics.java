@@ -0,0 +1,66 @@
+package com.san.libraryservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static com.san.libraryservice.constant.MetricConstants.BORROWS_COUNTER;
+import static com.san.libraryservice.constant.MetricConstants.CATALOG_LAG_TIMER;
+import static com.san.libraryservice.constant.MetricConstants.RETURNS_COUNTER;
+
+/**
+ * Business counters for completed loans and the lag of the catalog view. Meters are registered once,
+ * so recording an event on the request path is a single striped add.
+ *
+ * @author Supunsan
+ */
+@Component
+public class LibraryMetrics {
+
+    private final Counter borrows;
+    private final Counter returns;
+    private final Timer catalogLag;
+
+    public LibraryMetrics(MeterRegistry meterRegistry) {
+        this.borrows = Counter.builder(BORROWS_COUNTER)
+                .description("Books successfully borrowed")
+                .register(meterRegistry);
+        this.returns = Counter.builder(RETURNS_COUNTER)
+                .description("Books successfully returned")
+                .register(meterRegistry);
+        this.catalogLag = Timer.builder(CATALOG_LAG_TIMER)
+                .description("Time from a catalog change to its refresh in the catalog view")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a successful borrow.
+     *
+     * @author Supunsan
+     */
+    public void recordBorrow() {
+        borrows.increment();
+    }
+
+    /**
+     * Records a successful return.
+     *
+     * @author Supunsan
+     */
+    public void recordReturn() {
+        returns.increment();
+    }
+
+    /**
+     * Records how long a catalog change took to reach the catalog view.
+     *
+     * @param lag the time from the change to its refresh
+     * @author Supunsan
+     */
+    public void recordCatalogLag(Duration lag) {
+        catalogLag.record(lag);
+    }
+}
@@ -17,12 +17,16 @@ public class BorrowRecord extends BaseEntity {
     @JoinColumn(name = "borrower_id", nullable = false)
     private Borrower borrower;
 
-    @OneToOne
-    @JoinColumn(name = "book_id", nullable = false, unique = true)
+    @ManyToOne
+    @JoinColumn(name = "book_id", nullable = false)
     private Book book;
 
+    // Partition key of borrow_record, see V3__partition_borrow_record.sql
+    @Column(nullable = false)
     private LocalDateTime borrowedAt;
 
+    private LocalDateTime dueAt;
+
     private LocalDateTime returnedAt;
 
 }
@@ -0,0 +1,28 @@
+package com.san.libraryservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Fine {
+
+    @Id
+    @Column(name = "borrow_record_id")
+    private Long borrowRecordId;
+
+    private int daysOverdue;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    private LocalDateTime calculatedAt;
+
+}
@@ -0,0 +1,23 @@
+package com.san.libraryservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    @Id
+    private String jobName;
+
+    private long lastRecordId;
+
+    private LocalDateTime updatedAt;
+
+}
@@ -1,20 +1,38 @@
 package com.san.libraryservice.repository;
 
 import com.san.libraryservice.model.Book;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
     /**
      * Retrieves the first book that matches the given ISBN.
+     * The result is held in the query cache until the book table is next written.
      *
      * @param isbn the ISBN of the book to search for
      * @return an Optional containing the first matching Book if found, or an empty Optional if no match exists
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Book> findFirstByIsbn(String isbn);
 
+    /**
+     * Retrieves the books with any of the given IDs or ISBNs in a single query. A book matched by both
+     * its ID and its ISBN is returned once.
+     *
+     * @param ids   the IDs of the books to retrieve, may be empty
+     * @param isbns the ISBNs of the books to retrieve, may be empty
+     * @return the matching books, in no particular order
+     */
+    List<Book> findAllByIdInOrIsbnIn(Collection<Long> ids, Collection<String> isbns);
+
 }
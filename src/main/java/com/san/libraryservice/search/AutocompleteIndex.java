@@ -0,0 +1,293 @@
+package com.san.libraryservice.search;
+
+import com.san.libraryservice.dto.Suggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable prefix index over the words of book titles and authors.
+ * <p>
+ * Suggestions are numbered in rank order, most borrowed first, so a lower number is a better completion.
+ * The distinct words of all suggestions are kept in one sorted array, and the numbers of the suggestions
+ * containing each word in one shared array, ascending within each word. The words starting with a prefix
+ * are a contiguous range of the sorted array found by binary search, and the best completions are the
+ * lowest numbers across the lists of that range. Each list is read only while it can still improve on the
+ * completions found so far, so a query reads about one entry per matching word.
+ * </p>
+ * <p>
+ * Words are lower-cased with accents removed, and split on anything that is not a letter or a digit.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public final class AutocompleteIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Suggestion> RANK = Comparator
+            .comparingLong(Suggestion::borrows).reversed()
+            .thenComparing(Suggestion::text)
+            .thenComparing(Suggestion::field);
+
+    // Declared after the pattern and the ranking, which building it uses
+    public static final AutocompleteIndex EMPTY = build(List.of());
+
+    private final Suggestion[] suggestions;
+    private final String[] words;
+    // The suggestions containing words[i] are postings[offsets[i]] to postings[offsets[i + 1] - 1]
+    private final int[] offsets;
+    private final int[] postings;
+    // The words of suggestion i are words[wordIds[wordOffsets[i]]] to words[wordIds[wordOffsets[i + 1] - 1]]
+    private final int[] wordOffsets;
+    private final int[] wordIds;
+
+    private AutocompleteIndex(Suggestion[] suggestions, String[] words, int[] offsets, int[] postings,
+                              int[] wordOffsets, int[] wordIds) {
+        this.suggestions = suggestions;
+        this.words = words;
+        this.offsets = offsets;
+        this.postings = postings;
+        this.wordOffsets = wordOffsets;
+        this.wordIds = wordIds;
+    }
+
+    /**
+     * Builds an index of the given suggestions. Suggestions of the same field with the same words are
+     * merged into the most borrowed of them, and suggestions without any word are left out.
+     *
+     * @param candidates the suggestions to index
+     * @return the new index
+     * @author Supunsan
+     */
+    public static AutocompleteIndex build(Collection<Suggestion> candidates) {
+        Map<String, Indexed> byKey = new HashMap<>(candidates.size() * 2);
+        for (Suggestion candidate : candidates) {
+            List<String> textWords = words(candidate.text());
+            if (!textWords.isEmpty()) {
+                byKey.merge(key(candidate.field(), textWords), new Indexed(candidate, textWords),
+                        (kept, other) -> other.suggestion().borrows() > kept.suggestion().borrows() ? other : kept);
+            }
+        }
+        Indexed[] indexed = byKey.values().toArray(Indexed[]::new);
+        Arrays.sort(indexed, Comparator.comparing(Indexed::suggestion, RANK));
+
+        Suggestion[] ranked = new Suggestion[indexed.length];
+        Map<String, Integer> postingCounts = new HashMap<>();
+        for (int number = 0; number < indexed.length; number++) {
+            ranked[number] = indexed[number].suggestion();
+            indexed[number].words().forEach(word -> postingCounts.merge(word, 1, Integer::sum));
+        }
+        String[] sortedWords = postingCounts.keySet().toArray(String[]::new);
+        Arrays.sort(sortedWords);
+
+        Map<String, Integer> wordIndex = new HashMap<>(sortedWords.length * 2);
+        int[] offsets = new int[sortedWords.length + 1];
+        for (int i = 0; i < sortedWords.length; i++) {
+            wordIndex.put(sortedWords[i], i);
+            offsets[i + 1] = offsets[i] + postingCounts.get(sortedWords[i]);
+        }
+
+        // Suggestions are added in rank order, so every word's list comes out ascending
+        int[] postings = new int[offsets[sortedWords.length]];
+        int[] next = Arrays.copyOf(offsets, sortedWords.length);
+        int[] wordOffsets = new int[ranked.length + 1];
+        int[] wordIds = new int[postings.length];
+        for (int number = 0; number < ranked.length; number++) {
+            List<String> textWords = indexed[number].words();
+            wordOffsets[number + 1] = wordOffsets[number] + textWords.size();
+            for (int i = 0; i < textWords.size(); i++) {
+                int word = wordIndex.get(textWords.get(i));
+                postings[next[word]++] = number;
+                wordIds[wordOffsets[number] + i] = word;
+            }
+        }
+        return new AutocompleteIndex(ranked, sortedWords, offsets, postings, wordOffsets, wordIds);
+    }
+
+    /**
+     * Returns the most borrowed suggestions completing a query. The last word of the query is completed as
+     * a prefix, and every other word must be the start of a word of the suggestion.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions to return
+     * @return the matching suggestions, most borrowed first
+     * @author Supunsan
+     */
+    public List<Suggestion> complete(String query, int limit) {
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[][] required = new int[queryWords.size() - 1][];
+        for (int i = 0; i < required.length; i++) {
+            required[i] = prefixRange(queryWords.get(i));
+            if (required[i][0] == required[i][1]) {
+                return List.of();
+            }
+        }
+        int[] completed = prefixRange(queryWords.get(queryWords.size() - 1));
+
+        int[] best = new int[limit];
+        int found = 0;
+        for (int word = completed[0]; word < completed[1]; word++) {
+            for (int posting = offsets[word]; posting < offsets[word + 1]; posting++) {
+                int number = postings[posting];
+                if (found == limit && number >= best[limit - 1]) {
+                    break;
+                }
+                if (containsAll(number, required)) {
+                    found = insert(best, found, number);
+                }
+            }
+        }
+
+        List<Suggestion> completions = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            completions.add(suggestions[best[i]]);
+        }
+        return completions;
+    }
+
+    /**
+     * Returns every indexed suggestion, most borrowed first.
+     *
+     * @return the suggestions of this index
+     * @author Supunsan
+     */
+    public List<Suggestion> suggestions() {
+        return List.of(suggestions);
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    public boolean isEmpty() {
+        return suggestions.length == 0;
+    }
+
+    /**
+     * Returns the identity of a suggestion: its field and its words. Suggestions with the same key are
+     * the same completion, whatever their case, accents or punctuation.
+     *
+     * @param suggestion the suggestion
+     * @return the key of the suggestion, {@code null} if its text has no word
+     * @author Supunsan
+     */
+    public static String key(Suggestion suggestion) {
+        List<String> textWords = words(suggestion.text());
+        return textWords.isEmpty() ? null : key(suggestion.field(), textWords);
+    }
+
+    private static String key(Suggestion.Field field, List<String> textWords) {
+        return field + ":" + String.join(" ", textWords);
+    }
+
+    /**
+     * Splits a text into its distinct normalized words, in order.
+     *
+     * @param text the text, may be {@code null}
+     * @return the lower-cased words of the text without accents
+     * @author Supunsan
+     */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = isAscii(text) ? text
+                : MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> textWords = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            if (i < folded.length() && Character.isLetterOrDigit(folded.charAt(i))) {
+                start = start < 0 ? i : start;
+            } else if (start >= 0) {
+                String word = folded.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!textWords.contains(word)) {
+                    textWords.add(word);
+                }
+                start = -1;
+            }
+        }
+        return textWords;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the range of sorted words starting with a prefix, as {@code [from, to)}.
+     */
+    private int[] prefixRange(String prefix) {
+        return new int[]{lowerBound(prefix), lowerBound(prefix + Character.MAX_VALUE)};
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (words[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks that a suggestion has a word in each of the given ranges of sorted words.
+     */
+    private boolean containsAll(int number, int[][] ranges) {
+        for (int[] range : ranges) {
+            boolean contains = false;
+            for (int i = wordOffsets[number]; i < wordOffsets[number + 1] && !contains; i++) {
+                contains = wordIds[i] >= range[0] && wordIds[i] < range[1];
+            }
+            if (!contains) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a suggestion number to the ascending array of the best numbers found, dropping the worst one
+     * when the array is full.
+     *
+     * @return the number of entries now in the array
+     */
+    private static int insert(int[] best, int found, int number) {
+        int position = Arrays.binarySearch(best, 0, found, number);
+        if (position >= 0) {
+            return found;
+        }
+        position = -position - 1;
+        int kept = Math.min(found, best.length - 1);
+        System.arraycopy(best, position, best, position + 1, kept - position);
+        best[position] = number;
+        return kept + 1;
+    }
+
+    /**
+     * A suggestion with its words, while an index is built.
+     */
+    private record Indexed(Suggestion suggestion, List<String> words) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.dto.Suggestion;
+import com.san.libraryservice.event.BookAddedEvent;
+import com.san.libraryservice.model.Book;
+
+import java.util.List;
+
+public interface AutocompleteService {
+
+    /**
+     * Completes a search of the catalog with the most borrowed titles and authors, from an in-memory index.
+     *
+     * @param query the text typed so far
+     * @return up to 10 matching {@link Suggestion}s, most borrowed first, empty if the query has no word
+     * @author Supunsan
+     */
+    List<Suggestion> suggest(String query);
+
+    /**
+     * Makes the title and author of a newly added book available as suggestions.
+     *
+     * @param book the added {@link Book}
+     * @author Supunsan
+     */
+    void addBook(Book book);
+
+    /**
+     * Makes a newly added book available as suggestions once the transaction that added it has committed,
+     * or right away when it was added outside a transaction.
+     *
+     * @param event the {@link BookAddedEvent} of the book
+     * @author Supunsan
+     */
+    void onBookAdded(BookAddedEvent event);
+
+    /**
+     * Rebuilds the index from every book, ranking its suggestions by how often they were borrowed.
+     *
+     * @return the number of suggestions indexed
+     * @author Supunsan
+     */
+    int rebuild();
+}
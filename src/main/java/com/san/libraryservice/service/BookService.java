@@ -1,5 +1,6 @@
 package com.san.libraryservice.service;
 
+import com.san.libraryservice.dto.BookLookupRequest;
 import com.san.libraryservice.dto.BookRequest;
 import com.san.libraryservice.dto.BookResponse;
 import com.san.libraryservice.exception.RecordNotFoundException;
@@ -29,6 +30,15 @@ public interface BookService {
      */
     List<BookResponse> getAllBooks();
 
+    /**
+     * Retrieves the books with any of the requested IDs or ISBNs, with their availability.
+     *
+     * @param lookupRequest the IDs and ISBNs to look up
+     * @return List of {@link BookResponse} for the matching books, ordered by ID; unknown IDs and ISBNs are skipped
+     * @author Supunsan
+     */
+    List<BookResponse> lookupBooks(BookLookupRequest lookupRequest);
+
     /**
      * Retrieves a book by its unique identifier.
      *
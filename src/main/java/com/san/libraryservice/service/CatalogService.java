@@ -0,0 +1,62 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.catalog.CatalogView;
+import com.san.libraryservice.dto.CatalogSnapshot;
+import com.san.libraryservice.event.CatalogChangedEvent;
+import com.san.libraryservice.exception.RecordNotFoundException;
+
+import java.time.Duration;
+
+public interface CatalogService {
+
+    /**
+     * Returns the pre-serialized catalog, rebuilding it only if the catalog view changed since the last build.
+     *
+     * @return the current {@link CatalogSnapshot}
+     * @throws RecordNotFoundException if the catalog view holds no books
+     * @author Supunsan
+     */
+    CatalogSnapshot getSnapshot();
+
+    /**
+     * Writes the new details of an added or updated book to the {@link CatalogView} with the change.
+     *
+     * @param event the {@link CatalogChangedEvent} describing the change
+     * @author Supunsan
+     */
+    void onCatalogChanged(CatalogChangedEvent event);
+
+    /**
+     * Writes the loan state of the books borrowed or returned since the checkpoint of the {@link CatalogView}
+     * to it, and moves the checkpoint.
+     *
+     * @return the number of books refreshed
+     * @author Supunsan
+     */
+    int refreshView();
+
+    /**
+     * Rewrites the {@link CatalogView} entry of every book, for a view that is missing or suspected wrong.
+     *
+     * @return the number of books written
+     * @author Supunsan
+     */
+    int rebuildView();
+
+    /**
+     * Returns the sequence of the last loan ledger event the view was refreshed through.
+     *
+     * @return the checkpoint of the view
+     * @author Supunsan
+     */
+    long checkpoint();
+
+    /**
+     * Returns how long ago the first loan ledger event after the checkpoint happened, which is how far the
+     * view is behind.
+     *
+     * @return the lag of the view, zero when every event was refreshed
+     * @author Supunsan
+     */
+    Duration lag();
+}
@@ -0,0 +1,31 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.model.Fine;
+
+import java.time.LocalDateTime;
+
+public interface FineService {
+
+    /**
+     * Calculates fines for every overdue loan and upserts them into the fine table.
+     * <p>
+     * Borrow records are processed in id ranges; ranges are computed in parallel and the
+     * highest fully committed id is checkpointed so an interrupted run resumes where it stopped.
+     * </p>
+     *
+     * @return the number of fines written during this run
+     * @author Supunsan
+     */
+    int calculateFines();
+
+    /**
+     * Calculates the fine owed for a single loan as of the given instant.
+     *
+     * @param borrowRecordId the ID of the borrow record
+     * @param dueAt          the date the book was due back
+     * @param asOf           the instant the fine is calculated at
+     * @return the {@link Fine} for the loan, with a zero amount when it is not overdue
+     * @author Supunsan
+     */
+    Fine calculateFine(Long borrowRecordId, LocalDateTime dueAt, LocalDateTime asOf);
+}
@@ -0,0 +1,27 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.dto.TitleResponse;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.inventory.TitleInventory;
+
+public interface InventoryService {
+
+    /**
+     * Returns how many copies of an ISBN there are and how many can be borrowed.
+     *
+     * @param isbn the ISBN
+     * @return the {@link TitleResponse} of the ISBN
+     * @throws RecordNotFoundException if no copy of the ISBN exists
+     * @author Supunsan
+     */
+    TitleResponse getTitle(String isbn);
+
+    /**
+     * Recomputes the copy counts of every ISBN from the books and the loan ledger and writes them to the
+     * {@link TitleInventory}.
+     *
+     * @return the number of titles written
+     * @author Supunsan
+     */
+    int reconcile();
+}
@@ -12,11 +12,10 @@ public interface LibraryService {
      * Steps performed by this method:
      * <br>1. Fetches the borrower and book by their IDs.
      * <br>2. Validates that the book is available for borrowing.
-     * <br>3. Creates a borrow record with the current timestamp.
-     * <br>4. Saves the borrow record and updates the book's availability status.
+     * <br>3. Appends a borrow event with the current timestamp and its due date to the loan ledger.
      * </p>
      * <p>
-     * This method is transactional to ensure atomicity of operations.
+     * The borrow record and the book's availability status are derived from the event asynchronously.
      * </p>
      *
      * @param borrowerId the ID of the borrower
@@ -27,6 +26,22 @@ public interface LibraryService {
      */
     void borrowBook(Long borrowerId, Long bookId);
 
+    /**
+     * Processes the borrowing of any available copy of an ISBN by a borrower.
+     * <p>
+     * An available copy of the ISBN is taken from the title's copy count with one conditional update,
+     * then a borrow event is appended for a copy that is not on loan.
+     * </p>
+     *
+     * @param borrowerId the ID of the borrower
+     * @param isbn       the ISBN of the title to be borrowed
+     * @return the ID of the borrowed copy
+     * @throws RecordNotFoundException if the borrower is not found
+     * @throws IllegalStateException   if no copy of the ISBN is available for borrowing
+     * @author Supunsan
+     */
+    Long borrowCopy(Long borrowerId, String isbn);
+
     /**
      * Retrieves a borrower by their unique ID.
      *
@@ -42,10 +57,9 @@ public interface LibraryService {
      * <p>
      * Steps performed by this method:
      * <br>1. Validates that the borrower and book exist.
-     * <br>2. Retrieves the active borrow record (not yet returned).
-     * <br>3. Marks the borrow record as returned by setting the return timestamp.
-     * <br>4. Updates the borrow record and marks the book as available again.
-     * This method is transactional to ensure atomicity of all related updates.
+     * <br>2. Finds the borrower's active loan of the book.
+     * <br>3. Appends a return event for the loan to the loan ledger.
+     * The borrow record and the book's availability status are derived from the event asynchronously.
      *
      * @param borrowerId the ID of the borrower returning the book
      * @param bookId     the ID of the book being returned
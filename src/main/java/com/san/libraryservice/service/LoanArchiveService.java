@@ -0,0 +1,44 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.archive.ArchivedLoan;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface LoanArchiveService {
+
+    /**
+     * Moves returned loans borrowed before the cutoff from {@code borrow_record} into archive segments.
+     * <p>
+     * Loans are moved in batches; each batch is written to a pending segment, deleted from the
+     * database in one transaction, and then published. Pending segments from an interrupted run
+     * are completed or discarded first, depending on whether their loans were deleted.
+     * </p>
+     *
+     * @param cutoff only loans borrowed before this are archived
+     * @return the number of loans archived during this run
+     * @author Supunsan
+     */
+    int archiveReturnedLoans(LocalDateTime cutoff);
+
+    /**
+     * Streams the archived loans borrowed within the range, for historical reports.
+     *
+     * @param from     the inclusive start of the borrow time range
+     * @param to       the exclusive end of the borrow time range
+     * @param consumer receives each matching {@link ArchivedLoan}
+     * @author Supunsan
+     */
+    void scanArchivedLoans(LocalDateTime from, LocalDateTime to, Consumer<ArchivedLoan> consumer);
+
+    /**
+     * Counts the archived loans of each book borrowed within the range.
+     *
+     * @param from the inclusive start of the borrow time range
+     * @param to   the exclusive end of the borrow time range
+     * @return the number of loans per book id
+     * @author Supunsan
+     */
+    Map<Long, Long> countArchivedLoansByBook(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,21 @@
+package com.san.libraryservice.service;
+
+public interface LoanLedgerService {
+
+    /**
+     * Applies the settled ledger events after the read model's checkpoint to {@code borrow_record}
+     * and {@code book.available}, and brings the in-memory loan projection up to date.
+     *
+     * @return the number of events applied to the read model
+     * @author Supunsan
+     */
+    int projectEvents();
+
+    /**
+     * Saves a snapshot of the in-memory loan projection, unless nothing was applied since the last one.
+     *
+     * @return true if a snapshot was saved
+     * @author Supunsan
+     */
+    boolean snapshotProjection();
+}
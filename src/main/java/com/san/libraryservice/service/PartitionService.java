@@ -0,0 +1,28 @@
+package com.san.libraryservice.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PartitionService {
+
+    /**
+     * Creates the monthly borrow record partitions from the given month up to the configured
+     * number of months ahead, skipping those that already exist.
+     *
+     * @param today the current date
+     * @return the number of partitions created
+     * @author Supunsan
+     */
+    int createUpcomingPartitions(LocalDate today);
+
+    /**
+     * Detaches the monthly borrow record partitions that are older than the retention period
+     * and moves them to the {@code borrow_record_archive} schema. A partition that still holds
+     * an active loan is kept until the loan is returned.
+     *
+     * @param today the current date
+     * @return the names of the archived partitions
+     * @author Supunsan
+     */
+    List<String> archiveExpiredPartitions(LocalDate today);
+}
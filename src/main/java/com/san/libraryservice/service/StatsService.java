@@ -0,0 +1,64 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.dto.StatsResponse;
+import com.san.libraryservice.event.BookAddedEvent;
+
+import java.time.LocalDate;
+
+public interface StatsService {
+
+    /**
+     * Returns the library totals from the maintained counters, without querying the database.
+     *
+     * @return the current {@link StatsResponse}
+     * @author Supunsan
+     */
+    StatsResponse getStats();
+
+    /**
+     * Counts a newly added book.
+     *
+     * @author Supunsan
+     */
+    void recordBookAdded();
+
+    /**
+     * Counts a book once the transaction that added it has committed, or right away when it was added
+     * outside a transaction.
+     *
+     * @param event the {@link BookAddedEvent} of the book
+     * @author Supunsan
+     */
+    void onBookAdded(BookAddedEvent event);
+
+    /**
+     * Counts a newly registered borrower.
+     *
+     * @author Supunsan
+     */
+    void recordBorrowerRegistered();
+
+    /**
+     * Counts a loan of a book by the given author.
+     *
+     * @param author the author of the borrowed book
+     * @param day    the day the book was borrowed
+     * @author Supunsan
+     */
+    void recordBorrow(String author, LocalDate day);
+
+    /**
+     * Counts the return of a borrowed book.
+     *
+     * @author Supunsan
+     */
+    void recordReturn();
+
+    /**
+     * Recomputes every counter from the books, borrowers and loan ledger, correcting counts that drifted.
+     *
+     * @return the number of books counted
+     * @author Supunsan
+     */
+    int reconcile();
+}
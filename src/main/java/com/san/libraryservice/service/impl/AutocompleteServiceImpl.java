@@ -0,0 +1,191 @@
+package com.san.libraryservice.service.impl;
+
+import com.san.libraryservice.datasource.ReplicaRoutingDataSource;
+import com.san.libraryservice.dto.Suggestion;
+import com.san.libraryservice.event.BookAddedEvent;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.search.AutocompleteIndex;
+import com.san.libraryservice.service.AutocompleteService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.san.libraryservice.constant.AutocompleteConstants.*;
+import static com.san.libraryservice.constant.LogConstants.AUTOCOMPLETE_REBUILT;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+
+@Service
+@Observed(name = SERVICE_OBSERVATION)
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    private final BookRepository bookRepository;
+    private final LoanProjection loanProjection;
+
+    private final Object indexLock = new Object();
+    private volatile AutocompleteIndex index = AutocompleteIndex.EMPTY;
+    // The suggestions of books added since the index was built, searched alongside it until folded into it
+    private volatile AutocompleteIndex added = AutocompleteIndex.EMPTY;
+    private final List<Suggestion> pending = new ArrayList<>();
+    // The suggestions added while a rebuild reads the books, null when no rebuild is running
+    private List<Suggestion> addedDuringRebuild;
+    // Whether an addBook call is folding the recent additions into the index
+    private boolean folding;
+
+    /**
+     * Completes a query from the index and the books added since it was built. Only the words starting
+     * with the query's last word are read, so the time taken does not grow with the size of the catalog.
+     *
+     * @param query the text typed so far
+     * @return up to {@code AUTOCOMPLETE_LIMIT} suggestions, most borrowed first
+     * @author Supunsan
+     */
+    @Override
+    public List<Suggestion> suggest(String query) {
+        AutocompleteIndex recent = added;
+        List<Suggestion> completions = index.complete(query, AUTOCOMPLETE_LIMIT);
+        if (recent.isEmpty()) {
+            return completions;
+        }
+
+        // A recently added title or author can also be in the index, building both lists merges them
+        List<Suggestion> merged = new ArrayList<>(completions);
+        merged.addAll(recent.complete(query, AUTOCOMPLETE_LIMIT));
+        List<Suggestion> ranked = AutocompleteIndex.build(merged).suggestions();
+        return ranked.subList(0, Math.min(ranked.size(), AUTOCOMPLETE_LIMIT));
+    }
+
+    /**
+     * Adds the title and author of a book to a small index of recent additions, unranked until the next
+     * rebuild. Once it holds {@code AUTOCOMPLETE_PENDING_LIMIT} suggestions they are folded into the main
+     * index, which is rebuilt from its own suggestions without reading the database. The fold runs outside
+     * the lock, so books added meanwhile go to the index of recent additions.
+     *
+     * @param book the added {@link Book}
+     * @author Supunsan
+     */
+    @Override
+    public void addBook(Book book) {
+        List<Suggestion> suggestions = List.of(
+                new Suggestion(book.getTitle(), Suggestion.Field.TITLE, 0),
+                new Suggestion(book.getAuthor(), Suggestion.Field.AUTHOR, 0));
+        AutocompleteIndex foldInto;
+        List<Suggestion> folded;
+        synchronized (indexLock) {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.addAll(suggestions);
+            }
+            pending.addAll(suggestions);
+            added = AutocompleteIndex.build(pending);
+            if (folding || pending.size() < AUTOCOMPLETE_PENDING_LIMIT) {
+                return;
+            }
+            folding = true;
+            foldInto = index;
+            folded = List.copyOf(pending);
+        }
+
+        List<Suggestion> suggestionsToIndex = new ArrayList<>(foldInto.suggestions());
+        suggestionsToIndex.addAll(folded);
+        AutocompleteIndex foldedIndex = AutocompleteIndex.build(suggestionsToIndex);
+
+        synchronized (indexLock) {
+            // A rebuild that completed meanwhile already replaced the index and the pending suggestions
+            if (index == foldInto) {
+                index = foldedIndex;
+                pending.subList(0, folded.size()).clear();
+                added = AutocompleteIndex.build(pending);
+            }
+            folding = false;
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookAdded(BookAddedEvent event) {
+        addBook(event.book());
+    }
+
+    /**
+     * Rebuilds the index from every book, read from the primary one page at a time. A title or author is
+     * ranked by the number of times any of its books was borrowed, which is the number of borrow events in
+     * the book's ledger versions, as they alternate between borrow and return starting with a borrow.
+     * <p>
+     * Books added while the rebuild runs stay in the index of recent additions. A book whose transaction
+     * commits only after its page was read is missing from the suggestions until the next rebuild.
+     * </p>
+     *
+     * @return the number of suggestions indexed
+     * @author Supunsan
+     */
+    @Override
+    public synchronized int rebuild() {
+        long start = System.nanoTime();
+        synchronized (indexLock) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            loanProjection.catchUp();
+
+            Map<String, Suggestion> suggestions = new HashMap<>();
+            int books = 0;
+            int pageNumber = 0;
+            Page<Book> page;
+            do {
+                PageRequest request = PageRequest.of(pageNumber++, AUTOCOMPLETE_BATCH_SIZE, ID_ORDER);
+                page = ReplicaRoutingDataSource.onPrimary(() -> bookRepository.findAll(request));
+                for (Book book : page) {
+                    long borrows = (loanProjection.state(book.getId()).version() + 1) / 2;
+                    count(suggestions, new Suggestion(book.getTitle(), Suggestion.Field.TITLE, borrows));
+                    count(suggestions, new Suggestion(book.getAuthor(), Suggestion.Field.AUTHOR, borrows));
+                    books++;
+                }
+            } while (page.hasNext());
+            AutocompleteIndex rebuilt = AutocompleteIndex.build(suggestions.values());
+
+            synchronized (indexLock) {
+                index = rebuilt;
+                pending.clear();
+                pending.addAll(addedDuringRebuild);
+                added = AutocompleteIndex.build(pending);
+            }
+            log.info(AUTOCOMPLETE_REBUILT, books, rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+            return rebuilt.size();
+        } finally {
+            synchronized (indexLock) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Adds the borrows of one book to the suggestion with the same key.
+     *
+     * @param suggestions the suggestions counted so far, by key
+     * @param suggestion  the title or author of the book with the book's borrows
+     * @author Supunsan
+     */
+    private static void count(Map<String, Suggestion> suggestions, Suggestion suggestion) {
+        String key = AutocompleteIndex.key(suggestion);
+        if (key != null) {
+            suggestions.merge(key, suggestion, (counted, book) ->
+                    new Suggestion(counted.text(), counted.field(), counted.borrows() + book.borrows()));
+        }
+    }
+}
@@ -1,32 +1,51 @@
 package com.san.libraryservice.service.impl;
 
+import com.san.libraryservice.dto.BookLookupRequest;
 import com.san.libraryservice.dto.BookRequest;
 import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.event.BookAddedEvent;
+import com.san.libraryservice.event.CatalogChangedEvent;
 import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LoanProjection;
 import com.san.libraryservice.model.Book;
 import com.san.libraryservice.repository.BookRepository;
 import com.san.libraryservice.service.BookService;
-import jakarta.transaction.Transactional;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static com.san.libraryservice.constant.LogConstants.*;
+import static com.san.libraryservice.constant.MessageConstants.BOOK_NOT_FOUND_BY_ID;
 import static com.san.libraryservice.constant.MessageConstants.BOOK_NOT_FOUND_MESSAGE;
 import static com.san.libraryservice.constant.MessageConstants.ISBN_CONFLICT_MESSAGE;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
 
 @Service
+@Observed(name = SERVICE_OBSERVATION)
 @RequiredArgsConstructor
 @Slf4j
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoanProjection loanProjection;
+    private final TitleInventory titleInventory;
 
     /**
      * Adds a new book to the repository and returns its response DTO.
+     * The book is added as an available copy of its ISBN to the {@link TitleInventory}, and a
+     * {@link CatalogChangedEvent} is published for it. A {@link BookAddedEvent} is published for the in-memory
+     * statistics and autocomplete index, which take the book once the transaction commits.
      *
      * @param bookRequest the DTO containing details of the book to add
      * @return {@link BookResponse} the BookResponse of the saved book
@@ -45,12 +64,18 @@ public class BookServiceImpl implements BookService {
                     throw new IllegalArgumentException(ISBN_CONFLICT_MESSAGE);
                 });
 
+        Book savedBook = bookRepository.save(mapToBook(bookRequest));
+        titleInventory.addCopy(savedBook.getIsbn(), savedBook.getTitle(), savedBook.getAuthor());
+        eventPublisher.publishEvent(new CatalogChangedEvent(savedBook.getId()));
+        eventPublisher.publishEvent(new BookAddedEvent(savedBook));
+
         log.info(ADD_BOOK_SERVICE_SUCCESS, bookRequest.getIsbn());
-        return mapToBookResponse(bookRepository.save(mapToBook(bookRequest)));
+        return mapToBookResponse(savedBook);
     }
 
     /**
      * Retrieves all books from the repository.
+     * Runs read-only, so it is served by a read replica when replica routing is enabled.
      * Throws {@link RecordNotFoundException} if no books are found.
      *
      * @return List of {@link BookResponse} containing all books
@@ -58,6 +83,7 @@ public class BookServiceImpl implements BookService {
      * @author Supunsan
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BookResponse> getAllBooks() {
 
         log.info(GET_ALL_BOOKS_SERVICE_START);
@@ -76,6 +102,34 @@ public class BookServiceImpl implements BookService {
                 .toList();
     }
 
+    /**
+     * Retrieves the books with any of the requested IDs or ISBNs with one repository query.
+     * Availability is taken from the in-memory loan projection, so it is as current as the
+     * catalog and no query per book is needed. Runs read-only, so it is served by a read
+     * replica when replica routing is enabled.
+     *
+     * @param lookupRequest the IDs and ISBNs to look up, either list may be null or empty
+     * @return List of {@link BookResponse} for the matching books, ordered by ID
+     * @author Supunsan
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookResponse> lookupBooks(BookLookupRequest lookupRequest) {
+        List<Long> ids = Objects.requireNonNullElse(lookupRequest.getIds(), List.of());
+        List<String> isbns = Objects.requireNonNullElse(lookupRequest.getIsbns(), List.of());
+        if (ids.isEmpty() && isbns.isEmpty()) {
+            return List.of();
+        }
+
+        List<BookResponse> books = bookRepository.findAllByIdInOrIsbnIn(ids, isbns).stream()
+                .sorted(Comparator.comparing(Book::getId))
+                .map(book -> mapToBookResponse(book, loanProjection.state(book.getId())))
+                .toList();
+
+        log.info(LOOKUP_BOOKS_SERVICE_SUCCESS, books.size(), ids.size(), isbns.size());
+        return books;
+    }
+
     /**
      * Retrieves a book by its unique identifier.
      *
@@ -87,11 +141,12 @@ public class BookServiceImpl implements BookService {
     @Override
     public Book getBookById(Long bookId) {
         return bookRepository.findById(bookId)
-                .orElseThrow(() -> new RecordNotFoundException("Book not found with ID: " + bookId));
+                .orElseThrow(() -> new RecordNotFoundException(BOOK_NOT_FOUND_BY_ID, bookId));
     }
 
     /**
      * Updates the details of an existing book.
+     * Publishes a {@link CatalogChangedEvent} for the updated book.
      *
      * @param book the {@link Book} object containing updated information
      * @author Supunsan
@@ -99,6 +154,7 @@ public class BookServiceImpl implements BookService {
     @Override
     public void updateBook(Book book) {
         bookRepository.save(book);
+        eventPublisher.publishEvent(new CatalogChangedEvent(book.getId()));
     }
 
     /**
@@ -133,4 +189,25 @@ public class BookServiceImpl implements BookService {
                 .borrowed(book.isAvailable())
                 .build();
     }
+
+    /**
+     * Maps a {@link Book} entity and its loan state to a {@link BookResponse} DTO, with the same
+     * fields as books in the catalog.
+     *
+     * @param book  the book entity
+     * @param state the book's loan state
+     * @return a new {@link BookResponse} DTO populated from the book entity and its loan state
+     * @author Supunsan
+     */
+    private BookResponse mapToBookResponse(Book book, BookLoanState state) {
+        return BookResponse.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .borrowed(state.isBorrowed())
+                .activeLoans(state.isBorrowed() ? 1 : 0)
+                .dueAt(state.dueAt())
+                .build();
+    }
 }
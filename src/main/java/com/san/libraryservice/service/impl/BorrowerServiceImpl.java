@@ -5,21 +5,27 @@ import com.san.libraryservice.dto.BorrowerResponse;
 import com.san.libraryservice.model.Borrower;
 import com.san.libraryservice.repository.BorrowerRepository;
 import com.san.libraryservice.service.BorrowerService;
+import com.san.libraryservice.service.StatsService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import static com.san.libraryservice.constant.LogConstants.*;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
 
 @Service
+@Observed(name = SERVICE_OBSERVATION)
 @RequiredArgsConstructor
 @Slf4j
 public class BorrowerServiceImpl implements BorrowerService {
 
     private final BorrowerRepository borrowerRepository;
+    private final StatsService statsService;
 
     /**
-     * Registers a new borrower by saving the provided request data to the repository.
+     * Registers a new borrower by saving the provided request data to the repository,
+     * and counts the borrower in the statistics.
      *
      * @param borrowerRequest The borrower request containing name and email.
      * @return {@link BorrowerResponse} containing the saved borrower's details.
@@ -30,6 +36,7 @@ public class BorrowerServiceImpl implements BorrowerService {
 
         log.info(REGISTER_BORROWER_SERVICE_START, borrowerRequest.getEmail());
         Borrower savedBorrower = borrowerRepository.save(mapToBorrower(borrowerRequest));
+        statsService.recordBorrowerRegistered();
         log.info(REGISTER_BORROWER_SUCCESS, savedBorrower.getId());
 
         return mapToBorrowerResponse(savedBorrower);
@@ -0,0 +1,359 @@
+package com.san.libraryservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.catalog.CatalogView;
+import com.san.libraryservice.datasource.ReplicaRoutingDataSource;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.dto.CatalogSnapshot;
+import com.san.libraryservice.event.CatalogChangedEvent;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LedgerCursor;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.metrics.LibraryMetrics;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.service.CatalogService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static com.san.libraryservice.constant.CatalogConstants.CATALOG_BATCH_SIZE;
+import static com.san.libraryservice.constant.CommonConstants.ETAG_DIGEST_ALGORITHM;
+import static com.san.libraryservice.constant.CommonConstants.ETAG_DIGEST_BYTES;
+import static com.san.libraryservice.constant.LedgerConstants.GAP_TIMEOUT;
+import static com.san.libraryservice.constant.LedgerConstants.SETTLE_DELAY;
+import static com.san.libraryservice.constant.LogConstants.*;
+import static com.san.libraryservice.constant.MessageConstants.BOOK_NOT_FOUND_MESSAGE;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+
+@Service
+@Observed(name = SERVICE_OBSERVATION)
+@Slf4j
+public class CatalogServiceImpl implements CatalogService {
+
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    private final CatalogView catalogView;
+    private final BookRepository bookRepository;
+    private final LoanLedger loanLedger;
+    private final LoanProjection loanProjection;
+    private final LibraryMetrics libraryMetrics;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final long settleNanos;
+    private final LedgerCursor cursor;
+
+    private final Object viewLock = new Object();
+    private volatile CatalogSnapshot snapshot;
+    // When this instance first saw the view at the version of the snapshot, and whether it rebuilt the
+    // snapshot once the writes that took a lower version have settled
+    private volatile long versionSeenAt;
+    private volatile boolean settled;
+
+    public CatalogServiceImpl(CatalogView catalogView, BookRepository bookRepository, LoanLedger loanLedger,
+                              LoanProjection loanProjection, LibraryMetrics libraryMetrics, ObjectMapper objectMapper,
+                              MappingJackson2CborHttpMessageConverter cborConverter,
+                              @Value(SETTLE_DELAY) Duration settleDelay, @Value(GAP_TIMEOUT) Duration gapTimeout) {
+        this.catalogView = catalogView;
+        this.bookRepository = bookRepository;
+        this.loanLedger = loanLedger;
+        this.loanProjection = loanProjection;
+        this.libraryMetrics = libraryMetrics;
+        this.objectMapper = objectMapper;
+        this.cborConverter = cborConverter;
+        this.settleNanos = settleDelay.toNanos();
+        this.cursor = new LedgerCursor(gapTimeout);
+    }
+
+    /**
+     * Returns the pre-serialized catalog, rebuilding it only if the catalog view changed since the last build.
+     * <p>
+     * The version of the view is the highest entry version, which every writer of the view takes from a
+     * shared sequence, so a refresh by another instance or by the reactive service invalidates the snapshot
+     * too. The version is read before the view is loaded, so a write committed during a rebuild leaves the
+     * new snapshot stale and the next request rebuilds it again. A write can also commit after one that
+     * took a higher version, so the snapshot is rebuilt once more when {@code library.ledger.settle-delay}
+     * has passed since its version was first seen. The view is never written by borrow or return, so
+     * reading it does not contend with them.
+     * </p>
+     *
+     * @return the current {@link CatalogSnapshot}
+     * @throws RecordNotFoundException if the catalog view holds no books
+     * @author Supunsan
+     */
+    @Override
+    public CatalogSnapshot getSnapshot() {
+        long version = catalogView.version();
+        CatalogSnapshot current = snapshot;
+        if (current != null && current.version() == version
+                && (settled || System.nanoTime() - versionSeenAt < settleNanos)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long now = System.nanoTime();
+            boolean changed = current == null || current.version() != version;
+            if (changed || !settled && now - versionSeenAt >= settleNanos) {
+                List<CatalogEntry> entries = catalogView.findAll();
+                if (entries.isEmpty()) {
+                    log.warn(GET_ALL_BOOKS_EMPTY);
+                    throw new RecordNotFoundException(BOOK_NOT_FOUND_MESSAGE);
+                }
+                current = buildSnapshot(version, entries.stream().map(this::mapToBookResponse).toList());
+                snapshot = current;
+                settled = !changed;
+                if (changed) {
+                    versionSeenAt = now;
+                }
+                log.info(CATALOG_SNAPSHOT_REBUILT, version, current.json().length);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Writes the new details of an added or updated book to the {@link CatalogView} before the change
+     * commits, so that both commit or neither does. Changes made outside a transaction are written
+     * immediately. The loan state of an existing entry is left to the ledger refresh.
+     *
+     * @param event the {@link CatalogChangedEvent} describing the change
+     * @author Supunsan
+     */
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        bookRepository.findById(event.bookId()).ifPresent(book -> catalogView.saveDetails(List.of(
+                toEntry(book, loanProjection.state(book.getId()), LocalDateTime.now()))));
+    }
+
+    /**
+     * Writes the loan state of the books borrowed or returned since the checkpoint of the {@link CatalogView}
+     * to it, in batches of ledger events, and moves the checkpoint after each batch.
+     * <p>
+     * The checkpoint is kept with the view, so a restart or another instance carries on where the last
+     * refresh stopped. Like the read model projection, the checkpoint is held below a ledger sequence
+     * that is not visible yet until its event is read or {@code library.ledger.gap-timeout} passes, and
+     * the {@link LedgerCursor} skips the events this instance has refreshed already. The loan projection
+     * is caught up first, and a book it has not caught up with yet is refreshed from the ledger. Books are
+     * read from the primary. Entries are guarded by the loan version, so refreshing one twice is harmless.
+     * </p>
+     *
+     * @return the number of books refreshed
+     * @author Supunsan
+     */
+    @Override
+    public int refreshView() {
+        synchronized (viewLock) {
+            loanProjection.catchUp();
+            long checkpoint = catalogView.checkpoint();
+            cursor.resume(checkpoint);
+
+            long position = checkpoint;
+            int refreshed = 0;
+            LocalDateTime oldest = null;
+            List<LedgerEvent> batch;
+            do {
+                batch = loanLedger.readAfter(position, CATALOG_BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                // The time each book first changed in the batch, and its latest version
+                Map<Long, LocalDateTime> changes = new HashMap<>();
+                Map<Long, Integer> versions = new HashMap<>();
+                for (LedgerEvent event : cursor.unread(batch, now)) {
+                    changes.putIfAbsent(event.bookId(), event.occurredAt());
+                    versions.merge(event.bookId(), event.bookVersion(), Math::max);
+                }
+                position = batch.get(batch.size() - 1).sequence();
+
+                if (!changes.isEmpty()) {
+                    List<Book> books = ReplicaRoutingDataSource.onPrimary(() ->
+                            bookRepository.findAllById(changes.keySet()));
+                    catalogView.save(books.stream()
+                            .map(book -> toEntry(book, currentState(book.getId(), versions.get(book.getId())),
+                                    changes.get(book.getId())))
+                            .toList());
+
+                    LocalDateTime refreshedAt = LocalDateTime.now();
+                    for (LocalDateTime changedAt : changes.values()) {
+                        libraryMetrics.recordCatalogLag(Duration.between(changedAt, refreshedAt));
+                        oldest = oldest == null || changedAt.isBefore(oldest) ? changedAt : oldest;
+                    }
+                    refreshed += changes.size();
+                }
+
+                long settledThrough = cursor.settledThrough(position, now);
+                if (settledThrough > checkpoint) {
+                    checkpoint = settledThrough;
+                    catalogView.saveCheckpoint(checkpoint);
+                    cursor.resume(checkpoint);
+                }
+            } while (batch.size() == CATALOG_BATCH_SIZE);
+
+            if (refreshed > 0) {
+                log.info(CATALOG_VIEW_REFRESHED, refreshed, Duration.between(oldest, LocalDateTime.now()).toMillis());
+            }
+            return refreshed;
+        }
+    }
+
+    /**
+     * Rewrites the {@link CatalogView} entry of every book from the books table and the loan projection,
+     * one page of books at a time. The checkpoint is left as it is, since the entries it would refresh
+     * again are guarded by their loan version.
+     *
+     * @return the number of books written
+     * @author Supunsan
+     */
+    @Override
+    public int rebuildView() {
+        synchronized (viewLock) {
+            long start = System.nanoTime();
+            LocalDateTime changedAt = LocalDateTime.now();
+            loanProjection.catchUp();
+
+            int rebuilt = 0;
+            int pageNumber = 0;
+            Page<Book> page;
+            do {
+                PageRequest request = PageRequest.of(pageNumber++, CATALOG_BATCH_SIZE, ID_ORDER);
+                page = ReplicaRoutingDataSource.onPrimary(() -> bookRepository.findAll(request));
+                catalogView.save(page.stream()
+                        .map(book -> toEntry(book, loanProjection.state(book.getId()), changedAt))
+                        .toList());
+                rebuilt += page.getNumberOfElements();
+            } while (page.hasNext());
+
+            log.info(CATALOG_VIEW_REBUILT, rebuilt, (System.nanoTime() - start) / 1_000_000);
+            return rebuilt;
+        }
+    }
+
+    @Override
+    public long checkpoint() {
+        return catalogView.checkpoint();
+    }
+
+    @Override
+    public Duration lag() {
+        return loanLedger.readAfter(catalogView.checkpoint(), 1).stream()
+                .findFirst()
+                .map(event -> Duration.between(event.occurredAt(), LocalDateTime.now()))
+                .orElse(Duration.ZERO);
+    }
+
+    /**
+     * Returns the projected loan state of a book, refreshed from the ledger if the projection has not
+     * caught up with a version of the book already read.
+     *
+     * @param bookId  the ID of the book
+     * @param version the latest version of the book read from the ledger
+     * @return the {@link BookLoanState} at that version or later
+     * @author Supunsan
+     */
+    private BookLoanState currentState(long bookId, int version) {
+        BookLoanState state = loanProjection.state(bookId);
+        return state.version() < version ? loanProjection.refresh(bookId) : state;
+    }
+
+    /**
+     * Builds the catalog entry of a book from its details and its loan state.
+     *
+     * @param book      the book
+     * @param state     the loan state of the book
+     * @param changedAt the time of the oldest change the entry is refreshed for
+     * @return the {@link CatalogEntry}
+     * @author Supunsan
+     */
+    private static CatalogEntry toEntry(Book book, BookLoanState state, LocalDateTime changedAt) {
+        return new CatalogEntry(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(),
+                !state.isBorrowed(), state.isBorrowed() ? 1 : 0, state.dueAt(), state.version(), changedAt);
+    }
+
+    /**
+     * Maps a {@link CatalogEntry} to a {@link BookResponse} DTO, with the same fields as books returned by
+     * {@link com.san.libraryservice.service.BookService}.
+     *
+     * @param entry the catalog entry
+     * @return a new {@link BookResponse} DTO populated from the entry
+     * @author Supunsan
+     */
+    private BookResponse mapToBookResponse(CatalogEntry entry) {
+        return BookResponse.builder()
+                .id(entry.bookId())
+                .isbn(entry.isbn())
+                .title(entry.title())
+                .author(entry.author())
+                .borrowed(!entry.available())
+                .activeLoans(entry.activeLoans())
+                .dueAt(entry.dueAt())
+                .build();
+    }
+
+    /**
+     * Serializes the catalog once as JSON, gzipped JSON and CBOR, and hashes the JSON for the ETag. The
+     * CBOR copy is encoded from the same books, so the JSON hash identifies it too.
+     *
+     * @param version the catalog version the books were loaded at
+     * @param books   the books to serialize
+     * @return a new {@link CatalogSnapshot}
+     * @author Supunsan
+     */
+    private CatalogSnapshot buildSnapshot(long version, List<BookResponse> books) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(books);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            byte[] cbor = cborConverter.getObjectMapper().writeValueAsBytes(books);
+            return new CatalogSnapshot(version, etag(json), json, compressed.toByteArray(), cbor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hashes a serialized catalog, so that instances serving the same catalog agree on its ETag.
+     *
+     * @param json the catalog serialized as JSON
+     * @return the leading bytes of the digest of the catalog, hex encoded
+     * @author Supunsan
+     */
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance(ETAG_DIGEST_ALGORITHM).digest(json);
+            return HexFormat.of().formatHex(digest, 0, ETAG_DIGEST_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.san.libraryservice.service.impl;
+
+import com.san.libraryservice.model.Fine;
+import com.san.libraryservice.service.FineService;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static com.san.libraryservice.constant.FineConstants.*;
+import static com.san.libraryservice.constant.LogConstants.*;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+@Service
+@Profile(NOT_IN_MEMORY_PROFILE)
+@Observed(name = SERVICE_OBSERVATION)
+@Slf4j
+public class FineServiceImpl implements FineService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool fineCalculationPool;
+
+    public FineServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           @Value(FINE_JOB_PARALLELISM) int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fineCalculationPool = new ForkJoinPool(parallelism > 0
+                ? parallelism
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Calculates fines for every overdue loan and upserts them into the fine table.
+     * <p>
+     * Each wave submits one id range per pool thread; every range is read, calculated and
+     * batch-upserted in its own transaction. Once a whole wave succeeds the checkpoint is
+     * advanced, so a restart repeats at most one wave and the upserts keep that idempotent.
+     * The checkpoint is reset after a complete run so the next night starts from the beginning.
+     * </p>
+     *
+     * @return the number of fines written during this run
+     * @author Supunsan
+     */
+    @Override
+    public int calculateFines() {
+        LocalDateTime asOf = LocalDateTime.now();
+        long maxRecordId = Objects.requireNonNull(jdbcTemplate.queryForObject(SELECT_MAX_BORROW_RECORD_ID, Long.class));
+        long lowerBound = getCheckpoint();
+        if (lowerBound > maxRecordId) {
+            lowerBound = 0;
+        }
+
+        log.info(FINE_JOB_START, lowerBound, maxRecordId);
+        int parallelism = fineCalculationPool.getParallelism();
+        int totalFines = 0;
+
+        while (lowerBound < maxRecordId) {
+            List<Callable<Integer>> ranges = new ArrayList<>(parallelism);
+            long upperBound = lowerBound;
+            for (int i = 0; i < parallelism && upperBound < maxRecordId; i++) {
+                long rangeStart = upperBound;
+                long rangeEnd = Math.min(rangeStart + FINE_JOB_RANGE_SIZE, maxRecordId);
+                ranges.add(() -> processRange(rangeStart, rangeEnd, asOf));
+                upperBound = rangeEnd;
+            }
+
+            int waveFines = 0;
+            for (Future<Integer> range : fineCalculationPool.invokeAll(ranges)) {
+                waveFines += awaitRange(range);
+            }
+            saveCheckpoint(upperBound);
+            totalFines += waveFines;
+            log.info(FINE_JOB_WAVE_COMMITTED, upperBound, waveFines);
+            lowerBound = upperBound;
+        }
+
+        saveCheckpoint(0);
+        log.info(FINE_JOB_SUCCESS, totalFines);
+        return totalFines;
+    }
+
+    /**
+     * Calculates the fine owed for a single loan as of the given instant.
+     * Every started day past the due date is charged at the daily rate, capped at the maximum fine.
+     *
+     * @param borrowRecordId the ID of the borrow record
+     * @param dueAt          the date the book was due back
+     * @param asOf           the instant the fine is calculated at
+     * @return the {@link Fine} for the loan, with a zero amount when it is not overdue
+     * @author Supunsan
+     */
+    @Override
+    public Fine calculateFine(Long borrowRecordId, LocalDateTime dueAt, LocalDateTime asOf) {
+        long daysOverdue = 0;
+        if (asOf.isAfter(dueAt)) {
+            daysOverdue = ChronoUnit.DAYS.between(dueAt, asOf);
+            if (dueAt.plusDays(daysOverdue).isBefore(asOf)) {
+                daysOverdue++;
+            }
+        }
+
+        BigDecimal amount = DAILY_FINE_RATE.multiply(BigDecimal.valueOf(daysOverdue)).min(MAX_FINE_AMOUNT);
+
+        return Fine.builder()
+                .borrowRecordId(borrowRecordId)
+                .daysOverdue((int) daysOverdue)
+                .amount(amount)
+                .calculatedAt(asOf)
+                .build();
+    }
+
+    /**
+     * Reads, calculates and upserts the fines for one id range inside a single transaction.
+     * A loan is due {@code LOAN_PERIOD_DAYS} after it is borrowed, so only loans borrowed before that
+     * can be overdue; bounding {@code borrowed_at} lets PostgreSQL skip the newer monthly partitions.
+     *
+     * @param lowerBound the exclusive lower bound of the borrow record id range
+     * @param upperBound the inclusive upper bound of the borrow record id range
+     * @param asOf       the instant the fines are calculated at
+     * @return the number of fines written for the range
+     * @author Supunsan
+     */
+    private int processRange(long lowerBound, long upperBound, LocalDateTime asOf) {
+        Integer written = transactionTemplate.execute(status -> {
+            List<Fine> fines = jdbcTemplate.query(SELECT_OVERDUE_IN_RANGE,
+                    (rs, rowNum) -> calculateFine(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), asOf),
+                    lowerBound, upperBound, Timestamp.valueOf(asOf),
+                    Timestamp.valueOf(asOf.minusDays(LOAN_PERIOD_DAYS)));
+
+            jdbcTemplate.batchUpdate(UPSERT_FINE, fines, fines.size(), (ps, fine) -> {
+                ps.setLong(1, fine.getBorrowRecordId());
+                ps.setInt(2, fine.getDaysOverdue());
+                ps.setBigDecimal(3, fine.getAmount());
+                ps.setTimestamp(4, Timestamp.valueOf(fine.getCalculatedAt()));
+            });
+            return fines.size();
+        });
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * Waits for a submitted range and rethrows its failure so the wave is not checkpointed.
+     *
+     * @param range the future of the submitted range
+     * @return the number of fines written for the range
+     * @author Supunsan
+     */
+    private int awaitRange(Future<Integer> range) {
+        try {
+            return range.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Retrieves the last committed borrow record id of the fine calculation job.
+     *
+     * @return the checkpointed id, or 0 when the job has no checkpoint
+     * @author Supunsan
+     */
+    private long getCheckpoint() {
+        return jdbcTemplate.query(SELECT_CHECKPOINT, (rs, rowNum) -> rs.getLong(1), FINE_JOB_NAME)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Stores the last committed borrow record id of the fine calculation job.
+     *
+     * @param lastRecordId the highest borrow record id whose range has been committed
+     * @author Supunsan
+     */
+    private void saveCheckpoint(long lastRecordId) {
+        jdbcTemplate.update(UPSERT_CHECKPOINT, FINE_JOB_NAME, lastRecordId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fineCalculationPool.shutdown();
+    }
+}
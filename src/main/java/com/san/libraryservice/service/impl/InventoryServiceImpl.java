@@ -0,0 +1,118 @@
+package com.san.libraryservice.service.impl;
+
+import com.san.libraryservice.datasource.ReplicaRoutingDataSource;
+import com.san.libraryservice.dto.TitleResponse;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.inventory.TitleAvailability;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.service.InventoryService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.san.libraryservice.constant.InventoryConstants.TITLE_RECONCILE_BATCH_SIZE;
+import static com.san.libraryservice.constant.LogConstants.TITLE_INVENTORY_RECONCILED;
+import static com.san.libraryservice.constant.MessageConstants.TITLE_NOT_FOUND_BY_ISBN;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+
+@Service
+@Observed(name = SERVICE_OBSERVATION)
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    private final TitleInventory titleInventory;
+    private final BookRepository bookRepository;
+    private final LoanProjection loanProjection;
+
+    /**
+     * Returns how many copies of an ISBN there are and how many can be borrowed, from the single
+     * {@link TitleInventory} row of the ISBN, without reading its copies.
+     *
+     * @param isbn the ISBN
+     * @return the {@link TitleResponse} of the ISBN
+     * @throws RecordNotFoundException if no copy of the ISBN exists
+     * @author Supunsan
+     */
+    @Override
+    public TitleResponse getTitle(String isbn) {
+        return titleInventory.find(isbn)
+                .map(this::mapToTitleResponse)
+                .orElseThrow(() -> new RecordNotFoundException(TITLE_NOT_FOUND_BY_ISBN, isbn));
+    }
+
+    /**
+     * Recomputes the copy counts of every ISBN from the books and the loan projection and overwrites the
+     * {@link TitleInventory} with them, one batch of titles at a time.
+     * <p>
+     * Books are read from the primary, and the projection is caught up first so that it includes the loans
+     * appended by other instances and by writers that do not maintain the counts. A borrow or return that
+     * completes while the counts are written can leave its title off by one until the next run.
+     * </p>
+     *
+     * @return the number of titles written
+     * @author Supunsan
+     */
+    @Override
+    public synchronized int reconcile() {
+        long start = System.nanoTime();
+        loanProjection.catchUp();
+
+        Map<String, TitleAvailability> titles = new LinkedHashMap<>();
+        int pageNumber = 0;
+        Page<Book> page;
+        do {
+            PageRequest request = PageRequest.of(pageNumber++, TITLE_RECONCILE_BATCH_SIZE, ID_ORDER);
+            page = ReplicaRoutingDataSource.onPrimary(() -> bookRepository.findAll(request));
+            for (Book book : page) {
+                if (book.getIsbn() != null) {
+                    int available = loanProjection.state(book.getId()).isBorrowed() ? 0 : 1;
+                    titles.merge(book.getIsbn(),
+                            new TitleAvailability(book.getIsbn(), book.getTitle(), book.getAuthor(), 1, available),
+                            (counted, copy) -> new TitleAvailability(counted.isbn(), counted.title(),
+                                    counted.author(), counted.totalCopies() + 1,
+                                    counted.availableCopies() + copy.availableCopies()));
+                }
+            }
+        } while (page.hasNext());
+
+        List<TitleAvailability> counted = new ArrayList<>(titles.values());
+        for (int from = 0; from < counted.size(); from += TITLE_RECONCILE_BATCH_SIZE) {
+            titleInventory.reconcile(counted.subList(from, Math.min(from + TITLE_RECONCILE_BATCH_SIZE, counted.size())));
+        }
+
+        log.info(TITLE_INVENTORY_RECONCILED, counted.size(), (System.nanoTime() - start) / 1_000_000);
+        return counted.size();
+    }
+
+    /**
+     * Maps a {@link TitleAvailability} to a {@link TitleResponse} DTO.
+     *
+     * @param title the title's copy counts
+     * @return a new {@link TitleResponse} DTO populated from the counts
+     * @author Supunsan
+     */
+    private TitleResponse mapToTitleResponse(TitleAvailability title) {
+        return TitleResponse.builder()
+                .isbn(title.isbn())
+                .title(title.title())
+                .author(title.author())
+                .totalCopies(title.totalCopies())
+                .availableCopies(title.availableCopies())
+                .build();
+    }
+}
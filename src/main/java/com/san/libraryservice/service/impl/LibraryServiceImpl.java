@@ -1,81 +1,248 @@
 package com.san.libraryservice.service.impl;
 
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.catalog.CatalogView;
+import com.san.libraryservice.dto.BookLookupRequest;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.exception.ActiveBorrowRecordNotFoundException;
+import com.san.libraryservice.exception.BookUnavailableException;
+import com.san.libraryservice.exception.NoCopyAvailableException;
 import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.jfr.LoanEvent;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.metrics.LibraryMetrics;
 import com.san.libraryservice.model.Book;
-import com.san.libraryservice.model.BorrowRecord;
 import com.san.libraryservice.model.Borrower;
 import com.san.libraryservice.repository.BorrowerRepository;
 import com.san.libraryservice.service.BookService;
-import com.san.libraryservice.service.BorrowRecordService;
 import com.san.libraryservice.service.LibraryService;
-import jakarta.transaction.Transactional;
+import com.san.libraryservice.service.StatsService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
+import static com.san.libraryservice.constant.FineConstants.LOAN_PERIOD_DAYS;
+import static com.san.libraryservice.constant.InventoryConstants.COPY_CANDIDATE_LIMIT;
 import static com.san.libraryservice.constant.LogConstants.*;
 import static com.san.libraryservice.constant.LogConstants.BORROW_BOOK_SUCCESS;
-import static com.san.libraryservice.constant.LogConstants.RETURN_BOOK_RECORD_FOUND;
-import static com.san.libraryservice.constant.LogConstants.RETURN_BOOK_RECORD_UPDATED;
+import static com.san.libraryservice.constant.LogConstants.RETURN_BOOK_LOAN_FOUND;
+import static com.san.libraryservice.constant.LogConstants.RETURN_EVENT_APPENDED;
 import static com.san.libraryservice.constant.LogConstants.RETURN_BOOK_SERVICE_START;
 import static com.san.libraryservice.constant.LogConstants.RETURN_BOOK_SUCCESS;
 import static com.san.libraryservice.constant.MessageConstants.BORROWER_NOT_FOUND_BY_ID;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
 
 @Service
+@Observed(name = SERVICE_OBSERVATION)
 @AllArgsConstructor
 @Slf4j
 public class LibraryServiceImpl implements LibraryService {
 
     private final BorrowerRepository borrowerRepository;
     private final BookService bookService;
-    private final BorrowRecordService borrowRecordService;
+    private final LoanLedger loanLedger;
+    private final LoanProjection loanProjection;
+    private final TitleInventory titleInventory;
+    private final CatalogView catalogView;
+    private final StatsService statsService;
+    private final LibraryMetrics libraryMetrics;
 
     /**
      * Processes the borrowing of a book by a borrower.
      * <p>
      * Steps performed by this method:
      * <br>1. Fetches the borrower and book by their IDs.
-     * <br>2. Validates that the book is available for borrowing.
-     * <br>3. Creates a borrow record with the current timestamp.
-     * <br>4. Saves the borrow record and updates the book's availability status.
+     * <br>2. Refreshes the book's loan state from the ledger and validates that it is available.
+     * <br>3. Appends a borrow event for the next version of the book, with its due date.
+     * <br>4. Applies the event to the in-memory loan projection.
+     * <br>5. Takes one available copy of the book's ISBN from the {@link TitleInventory} and counts the loan
+     * in the statistics.
      * </p>
      * <p>
-     * This method is transactional to ensure atomicity of operations.
+     * The append decides the borrow and commits on its own, so no transaction is needed. If another
+     * borrow of the book was appended since the state was read, the version is taken and the book is
+     * reported as unavailable. The borrow record and the book's availability flag follow from the event,
+     * and a title count that does not match it is logged and left to the next reconciliation.
      * </p>
      *
      * @param borrowerId the ID of the borrower
      * @param bookId     the ID of the book to be borrowed
-     * @throws RecordNotFoundException if the borrower or book is not found
-     * @throws IllegalStateException   if the book is not available for borrowing
+     * @throws RecordNotFoundException  if the borrower or book is not found
+     * @throws BookUnavailableException if the book is not available for borrowing
      * @author Supunsan
      */
     @Override
-    @Transactional
     public void borrowBook(Long borrowerId, Long bookId) {
 
-        log.info(BORROW_BOOK_SERVICE_START, borrowerId, bookId);
-        Borrower borrower = getBorrowerById(borrowerId);
-        Book book = bookService.getBookById(bookId);
+        LoanEvent loanEvent = LoanEvent.start(LoanEvent.BORROW, borrowerId, bookId);
+        try {
+            log.info(BORROW_BOOK_SERVICE_START, borrowerId, bookId);
+            getBorrowerById(borrowerId);
+            Book book = bookService.getBookById(bookId);
+            loanEvent.lookupDone();
 
-        log.info(BORROW_BOOK_VALIDATION, bookId);
-        borrowRecordService.validateBookAvailability(bookId);
+            log.info(BORROW_BOOK_VALIDATION, bookId);
+            BookLoanState state = loanProjection.refresh(bookId);
+            if (state.isBorrowed()) {
+                throw new BookUnavailableException(bookId);
+            }
+            loanEvent.availabilityChecked();
 
-        BorrowRecord borrowRecord = BorrowRecord.builder()
-                .book(book)
-                .borrower(borrower)
-                .borrowedAt(LocalDateTime.now())
-                .build();
+            LocalDateTime borrowedAt = LocalDateTime.now();
+            LedgerEvent borrowed;
+            try {
+                borrowed = loanLedger.append(LedgerEvent.borrowed(bookId, state.version() + 1, borrowerId,
+                        borrowedAt, borrowedAt.plusDays(LOAN_PERIOD_DAYS)));
+            } catch (DuplicateKeyException e) {
+                throw new BookUnavailableException(bookId);
+            }
+            loanEvent.recordWritten();
+            log.info(BORROW_EVENT_APPENDED, borrowerId, bookId);
 
-        borrowRecordService.saveBorrowRecord(borrowRecord);
-        log.info(BORROW_RECORD_SAVED, borrowerId, bookId);
+            loanProjection.apply(borrowed);
+            if (!titleInventory.takeCopy(book.getIsbn())) {
+                log.warn(TITLE_COUNT_OUT_OF_SYNC, book.getIsbn(), LoanEvent.BORROW);
+            }
+            statsService.recordBorrow(book.getAuthor(), borrowedAt.toLocalDate());
+            loanEvent.bookUpdated();
+        } catch (RuntimeException e) {
+            loanEvent.finish(e.getClass().getSimpleName());
+            throw e;
+        }
 
-        book.setAvailable(false);
-        bookService.updateBook(book);
+        loanEvent.finish(LoanEvent.SUCCESS);
+        libraryMetrics.recordBorrow();
         log.info(BORROW_BOOK_SUCCESS, borrowerId, bookId);
     }
 
+    /**
+     * Processes the borrowing of any available copy of an ISBN by a borrower.
+     * <p>
+     * Steps performed by this method:
+     * <br>1. Fetches the borrower by their ID.
+     * <br>2. Takes one available copy of the ISBN from the {@link TitleInventory}, a single conditional
+     * update that fails when every copy is on loan, so no copy is read in that case.
+     * <br>3. Reads a few copies that are available in the {@link CatalogView} with one query on the ISBN.
+     * <br>4. Refreshes the loan state of a candidate from the ledger and appends a borrow event for the
+     * first one that is free, starting at a random candidate so that concurrent borrowers of a title try
+     * different copies.
+     * <br>5. If none of the candidates is free, refreshes every other copy of the ISBN from the ledger and
+     * borrows the first free one.
+     * <br>6. Applies the event to the in-memory loan projection and counts the loan in the statistics.
+     * </p>
+     * <p>
+     * The count only admits the borrow; the ledger still decides which copy is on loan. A candidate whose
+     * version was taken concurrently is skipped. The catalog view trails the ledger by up to its refresh
+     * interval, so a copy returned since its last refresh is only found by the scan of all copies, which
+     * runs when every candidate was taken. Unless a borrow event was appended, the taken count is given
+     * back, including when reading or appending fails.
+     * </p>
+     *
+     * @param borrowerId the ID of the borrower
+     * @param isbn       the ISBN of the title to be borrowed
+     * @return the ID of the borrowed copy
+     * @throws RecordNotFoundException   if the borrower is not found
+     * @throws NoCopyAvailableException if no copy of the ISBN is available for borrowing
+     * @author Supunsan
+     */
+    @Override
+    public Long borrowCopy(Long borrowerId, String isbn) {
+
+        LoanEvent loanEvent = LoanEvent.start(LoanEvent.BORROW_COPY, borrowerId, null);
+        LedgerEvent borrowed = null;
+        String author = null;
+        try {
+            log.info(BORROW_COPY_SERVICE_START, borrowerId, isbn);
+            getBorrowerById(borrowerId);
+            loanEvent.lookupDone();
+
+            if (!titleInventory.takeCopy(isbn)) {
+                throw new NoCopyAvailableException(isbn);
+            }
+            loanEvent.availabilityChecked();
+
+            try {
+                List<CatalogEntry> candidates = catalogView.findAvailable(isbn, COPY_CANDIDATE_LIMIT);
+                int offset = candidates.isEmpty() ? 0 : ThreadLocalRandom.current().nextInt(candidates.size());
+                for (int i = 0; i < candidates.size() && borrowed == null; i++) {
+                    CatalogEntry copy = candidates.get((offset + i) % candidates.size());
+                    borrowed = tryBorrow(borrowerId, copy.bookId());
+                    author = copy.author();
+                }
+
+                if (borrowed == null) {
+                    log.info(BORROW_COPY_SCANNING_ALL, isbn, candidates.size());
+                    Set<Long> tried = candidates.stream().map(CatalogEntry::bookId).collect(Collectors.toSet());
+                    List<BookResponse> copies = bookService.lookupBooks(BookLookupRequest.builder()
+                            .isbns(List.of(isbn))
+                            .build());
+                    for (int i = 0; i < copies.size() && borrowed == null; i++) {
+                        BookResponse copy = copies.get(i);
+                        if (!tried.contains(copy.getId())) {
+                            borrowed = tryBorrow(borrowerId, copy.getId());
+                            author = copy.getAuthor();
+                        }
+                    }
+                }
+            } finally {
+                if (borrowed == null) {
+                    titleInventory.releaseCopy(isbn);
+                }
+            }
+            if (borrowed == null) {
+                throw new NoCopyAvailableException(isbn);
+            }
+            loanEvent.copyBorrowed(borrowed.bookId());
+            log.info(BORROW_EVENT_APPENDED, borrowerId, borrowed.bookId());
+
+            loanProjection.apply(borrowed);
+            statsService.recordBorrow(author, borrowed.occurredAt().toLocalDate());
+            loanEvent.bookUpdated();
+        } catch (RuntimeException e) {
+            loanEvent.finish(e.getClass().getSimpleName());
+            throw e;
+        }
+
+        loanEvent.finish(LoanEvent.SUCCESS);
+        libraryMetrics.recordBorrow();
+        log.info(BORROW_COPY_SUCCESS, borrowerId, borrowed.bookId(), isbn);
+        return borrowed.bookId();
+    }
+
+    /**
+     * Appends a borrow event for a copy if the ledger shows it as free.
+     *
+     * @param borrowerId the ID of the borrower
+     * @param bookId     the ID of the copy
+     * @return the appended {@link LedgerEvent}, or null if the copy is on loan or was borrowed concurrently
+     * @author Supunsan
+     */
+    private LedgerEvent tryBorrow(Long borrowerId, Long bookId) {
+        BookLoanState state = loanProjection.refresh(bookId);
+        if (state.isBorrowed()) {
+            return null;
+        }
+        LocalDateTime borrowedAt = LocalDateTime.now();
+        try {
+            return loanLedger.append(LedgerEvent.borrowed(bookId, state.version() + 1, borrowerId,
+                    borrowedAt, borrowedAt.plusDays(LOAN_PERIOD_DAYS)));
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
     /**
      * Retrieves a borrower by their unique ID.
      *
@@ -87,7 +254,7 @@ public class LibraryServiceImpl implements LibraryService {
     @Override
     public Borrower getBorrowerById(Long borrowerId) {
         return borrowerRepository.findById(borrowerId)
-                .orElseThrow(() -> new RecordNotFoundException(BORROWER_NOT_FOUND_BY_ID + borrowerId));
+                .orElseThrow(() -> new RecordNotFoundException(BORROWER_NOT_FOUND_BY_ID, borrowerId));
     }
 
     /**
@@ -95,35 +262,64 @@ public class LibraryServiceImpl implements LibraryService {
      * <p>
      * Steps performed by this method:
      * <br>1. Validates that the borrower and book exist.
-     * <br>2. Retrieves the active borrow record (not yet returned).
-     * <br>3. Marks the borrow record as returned by setting the return timestamp.
-     * <br>4. Updates the borrow record and marks the book as available again.
-     * This method is transactional to ensure atomicity of all related updates.
+     * <br>2. Refreshes the book's loan state from the ledger and checks that the borrower holds it.
+     * <br>3. Appends a return event for the active loan at the next version of the book.
+     * <br>4. Applies the event to the in-memory loan projection.
+     * <br>5. Gives back one copy of the book's ISBN to the {@link TitleInventory} and counts the return
+     * in the statistics.
+     * </p>
+     * <p>
+     * The append decides the return and commits on its own. If the book changed since its state was
+     * read, for example by a concurrent return of the same loan, the loan is no longer active.
+     * </p>
      *
      * @param borrowerId the ID of the borrower returning the book
      * @param bookId     the ID of the book being returned
-     * @throws RecordNotFoundException if borrower or book does not exist
-     * @throws IllegalStateException   if there is no active borrow record for the given borrower and book
+     * @throws RecordNotFoundException              if borrower or book does not exist
+     * @throws ActiveBorrowRecordNotFoundException if the borrower has no active loan of the book
      * @author Supunsan
      */
     @Override
-    @Transactional
     public void returnBook(Long borrowerId, Long bookId) {
 
-        log.info(RETURN_BOOK_SERVICE_START, borrowerId, bookId);
+        LoanEvent loanEvent = LoanEvent.start(LoanEvent.RETURN, borrowerId, bookId);
+        try {
+            log.info(RETURN_BOOK_SERVICE_START, borrowerId, bookId);
+
+            getBorrowerById(borrowerId);
+            Book book = bookService.getBookById(bookId);
+            loanEvent.lookupDone();
 
-        getBorrowerById(borrowerId);
-        Book book = bookService.getBookById(bookId);
+            BookLoanState state = loanProjection.refresh(bookId);
+            if (!state.isBorrowedBy(borrowerId)) {
+                throw new ActiveBorrowRecordNotFoundException(borrowerId, bookId);
+            }
+            loanEvent.availabilityChecked();
+            log.info(RETURN_BOOK_LOAN_FOUND, state.loanId(), borrowerId, bookId);
 
-        BorrowRecord borrowRecord = borrowRecordService.getActiveBorrowRecord(borrowerId, bookId);
-        log.info(RETURN_BOOK_RECORD_FOUND, borrowerId, bookId);
-        borrowRecord.setReturnedAt(LocalDateTime.now());
+            LedgerEvent returned;
+            try {
+                returned = loanLedger.append(LedgerEvent.returned(bookId, state.version() + 1, borrowerId,
+                        state.loanId(), LocalDateTime.now()));
+            } catch (DuplicateKeyException e) {
+                throw new ActiveBorrowRecordNotFoundException(borrowerId, bookId);
+            }
+            loanEvent.recordWritten();
+            log.info(RETURN_EVENT_APPENDED, borrowerId, bookId);
 
-        borrowRecordService.updateBorrowRecord(borrowRecord);
-        log.info(RETURN_BOOK_RECORD_UPDATED, borrowerId, bookId);
+            loanProjection.apply(returned);
+            if (!titleInventory.releaseCopy(book.getIsbn())) {
+                log.warn(TITLE_COUNT_OUT_OF_SYNC, book.getIsbn(), LoanEvent.RETURN);
+            }
+            statsService.recordReturn();
+            loanEvent.bookUpdated();
+        } catch (RuntimeException e) {
+            loanEvent.finish(e.getClass().getSimpleName());
+            throw e;
+        }
 
-        book.setAvailable(true);
-        bookService.updateBook(book);
+        loanEvent.finish(LoanEvent.SUCCESS);
+        libraryMetrics.recordReturn();
         log.info(RETURN_BOOK_SUCCESS, bookId, borrowerId);
     }
 
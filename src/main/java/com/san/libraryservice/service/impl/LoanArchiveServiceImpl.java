@@ -0,0 +1,181 @@
+package com.san.libraryservice.service.impl;
+
+import com.san.libraryservice.archive.ArchivedLoan;
+import com.san.libraryservice.archive.LoanArchive;
+import com.san.libraryservice.archive.LoanSegment;
+import com.san.libraryservice.service.LoanArchiveService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.san.libraryservice.constant.ArchiveConstants.*;
+import static com.san.libraryservice.constant.LogConstants.*;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+@Service
+@Profile(NOT_IN_MEMORY_PROFILE)
+@Observed(name = SERVICE_OBSERVATION)
+@RequiredArgsConstructor
+@Slf4j
+public class LoanArchiveServiceImpl implements LoanArchiveService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LoanArchive loanArchive;
+
+    /**
+     * Moves returned loans borrowed before the cutoff from {@code borrow_record} into archive segments.
+     * Returned loans are never updated, so a batch cannot change between being read and deleted.
+     *
+     * @param cutoff only loans borrowed before this are archived
+     * @return the number of loans archived during this run
+     * @author Supunsan
+     */
+    @Override
+    public int archiveReturnedLoans(LocalDateTime cutoff) {
+        try {
+            resolvePendingSegments();
+
+            Timestamp borrowedBefore = Timestamp.valueOf(cutoff);
+            int archived = 0;
+            List<ArchivedLoan> batch;
+            do {
+                batch = jdbcTemplate.query(SELECT_ARCHIVABLE_LOANS, this::mapToArchivedLoan,
+                        borrowedBefore, ARCHIVE_BATCH_SIZE);
+                if (!batch.isEmpty()) {
+                    archiveBatch(batch, borrowedBefore);
+                    archived += batch.size();
+                }
+            } while (batch.size() == ARCHIVE_BATCH_SIZE);
+
+            log.info(LOAN_ARCHIVE_SUCCESS, archived);
+            return archived;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the archived loans borrowed within the range, for historical reports.
+     * Reads only the archive segments and never queries the database.
+     *
+     * @param from     the inclusive start of the borrow time range
+     * @param to       the exclusive end of the borrow time range
+     * @param consumer receives each matching {@link ArchivedLoan}
+     * @author Supunsan
+     */
+    @Override
+    public void scanArchivedLoans(LocalDateTime from, LocalDateTime to, Consumer<ArchivedLoan> consumer) {
+        try {
+            loanArchive.scan(from, to, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Counts the archived loans of each book borrowed within the range.
+     * Reads only the archive segments and never queries the database.
+     *
+     * @param from the inclusive start of the borrow time range
+     * @param to   the exclusive end of the borrow time range
+     * @return the number of loans per book id
+     * @author Supunsan
+     */
+    @Override
+    public Map<Long, Long> countArchivedLoansByBook(LocalDateTime from, LocalDateTime to) {
+        try {
+            return loanArchive.countLoansByBook(from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes one batch to a pending segment, deletes its loans and publishes the segment.
+     * The segment is discarded if the delete fails.
+     *
+     * @param batch          the loans to archive, sorted by id
+     * @param borrowedBefore the cutoff, repeated in the delete so only old partitions are touched
+     * @throws IOException if the segment cannot be written or published
+     * @author Supunsan
+     */
+    private void archiveBatch(List<ArchivedLoan> batch, Timestamp borrowedBefore) throws IOException {
+        Path pending = loanArchive.writePending(batch);
+        try {
+            transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(DELETE_ARCHIVED_LOAN, batch, batch.size(),
+                    (ps, loan) -> {
+                        ps.setLong(1, loan.id());
+                        ps.setTimestamp(2, borrowedBefore);
+                    }));
+        } catch (RuntimeException e) {
+            loanArchive.discard(pending);
+            throw e;
+        }
+        loanArchive.commit(pending);
+        log.info(LOAN_ARCHIVE_SEGMENT_WRITTEN, batch.size(), batch.get(batch.size() - 1).id(), pending.getFileName());
+    }
+
+    /**
+     * Completes or discards the pending segments of an interrupted run. A batch is deleted in a single
+     * transaction, so whether its first loan is still in {@code borrow_record} decides for the whole segment.
+     * A segment is fully written before its loans are deleted, so one that cannot be read was interrupted
+     * while being written and is discarded.
+     *
+     * @throws IOException if a pending segment cannot be published or deleted
+     * @author Supunsan
+     */
+    private void resolvePendingSegments() throws IOException {
+        for (Path pending : loanArchive.pendingSegments()) {
+            long firstId;
+            try {
+                firstId = LoanSegment.open(pending).firstId();
+            } catch (IOException e) {
+                loanArchive.discard(pending);
+                log.warn(LOAN_ARCHIVE_PENDING_UNREADABLE, pending.getFileName(), e.getMessage());
+                continue;
+            }
+            Boolean stillInDatabase = jdbcTemplate.queryForObject(SELECT_BORROW_RECORD_EXISTS, Boolean.class, firstId);
+            if (Boolean.TRUE.equals(stillInDatabase)) {
+                loanArchive.discard(pending);
+                log.warn(LOAN_ARCHIVE_PENDING_DISCARDED, pending.getFileName());
+            } else {
+                loanArchive.commit(pending);
+                log.warn(LOAN_ARCHIVE_PENDING_COMMITTED, pending.getFileName());
+            }
+        }
+    }
+
+    /**
+     * Maps a row of {@code SELECT_ARCHIVABLE_LOANS} to an {@link ArchivedLoan}.
+     *
+     * @param rs     the result set positioned at the row
+     * @param rowNum the row number
+     * @return the {@link ArchivedLoan}
+     * @throws SQLException if a column cannot be read
+     * @author Supunsan
+     */
+    private ArchivedLoan mapToArchivedLoan(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp dueAt = rs.getTimestamp(5);
+        return new ArchivedLoan(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                rs.getTimestamp(4).toLocalDateTime(),
+                dueAt == null ? null : dueAt.toLocalDateTime(),
+                rs.getTimestamp(6).toLocalDateTime());
+    }
+}
@@ -0,0 +1,118 @@
+package com.san.libraryservice.service.impl;
+
+import com.san.libraryservice.ledger.LedgerCursor;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LedgerSnapshot;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.ledger.LoanReadModel;
+import com.san.libraryservice.service.LoanLedgerService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.san.libraryservice.constant.LedgerConstants.GAP_TIMEOUT;
+import static com.san.libraryservice.constant.LedgerConstants.LEDGER_BATCH_SIZE;
+import static com.san.libraryservice.constant.LogConstants.LEDGER_EVENTS_PROJECTED;
+import static com.san.libraryservice.constant.LogConstants.LEDGER_SNAPSHOT_SAVED;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+
+@Service
+@Observed(name = SERVICE_OBSERVATION)
+@Slf4j
+public class LoanLedgerServiceImpl implements LoanLedgerService {
+
+    private final LoanLedger loanLedger;
+    private final LoanProjection loanProjection;
+    private final LoanReadModel loanReadModel;
+    private final LedgerCursor cursor;
+
+    private volatile long lastSnapshot = -1;
+
+    public LoanLedgerServiceImpl(LoanLedger loanLedger, LoanProjection loanProjection, LoanReadModel loanReadModel,
+                                 @Value(GAP_TIMEOUT) Duration gapTimeout) {
+        this.loanLedger = loanLedger;
+        this.loanProjection = loanProjection;
+        this.loanReadModel = loanReadModel;
+        this.cursor = new LedgerCursor(gapTimeout);
+    }
+
+    /**
+     * Applies the settled ledger events to the read model in batches, each committed with its checkpoint.
+     * <p>
+     * An append can commit after events with higher sequences, so a missing sequence is remembered as a
+     * gap and the checkpoint is held below it until its event is read or {@code library.ledger.gap-timeout}
+     * passes. Events after a gap are applied right away; the {@link LedgerCursor} hands out only the events
+     * not applied yet and those filling a gap when the next run reads again from the checkpoint.
+     * </p>
+     * <p>
+     * The method is synchronized within this instance; the {@link LoanReadModel} serializes batches across
+     * instances and keeps the checkpoint from moving back, so a checkpoint saved by another instance is
+     * taken over.
+     * </p>
+     *
+     * @return the number of events applied to the read model
+     * @author Supunsan
+     */
+    @Override
+    public synchronized int projectEvents() {
+        loanProjection.catchUp();
+
+        long checkpoint = loanReadModel.checkpoint();
+        cursor.resume(checkpoint);
+        long position = checkpoint;
+        int projected = 0;
+        List<LedgerEvent> batch;
+        do {
+            batch = loanLedger.readSettled(position, LEDGER_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<LedgerEvent> unprojected = cursor.unread(batch, now);
+            position = batch.get(batch.size() - 1).sequence();
+
+            long settled = cursor.settledThrough(position, now);
+            if (!unprojected.isEmpty() || settled > checkpoint) {
+                checkpoint = Math.max(checkpoint, settled);
+                try {
+                    checkpoint = Math.max(checkpoint, loanReadModel.project(unprojected, checkpoint));
+                } catch (RuntimeException e) {
+                    // The batch was rolled back, so its events have to be handed out again
+                    cursor.rewind();
+                    throw e;
+                }
+                cursor.resume(checkpoint);
+                projected += unprojected.size();
+            }
+        } while (batch.size() == LEDGER_BATCH_SIZE);
+
+        if (projected > 0) {
+            log.info(LEDGER_EVENTS_PROJECTED, projected, checkpoint);
+        }
+        return projected;
+    }
+
+    /**
+     * Saves a snapshot of the in-memory loan projection so that the next start replays only the events after it.
+     *
+     * @return true if a snapshot was saved
+     * @author Supunsan
+     */
+    @Override
+    public boolean snapshotProjection() {
+        LedgerSnapshot snapshot = loanProjection.snapshot();
+        if (snapshot.sequence() == lastSnapshot) {
+            return false;
+        }
+        loanLedger.saveSnapshot(snapshot);
+        lastSnapshot = snapshot.sequence();
+        log.info(LEDGER_SNAPSHOT_SAVED, snapshot.sequence(), loanProjection.size());
+        return true;
+    }
+}
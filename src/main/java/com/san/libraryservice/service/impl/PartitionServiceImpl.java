@@ -0,0 +1,130 @@
+package com.san.libraryservice.service.impl;
+
+import com.san.libraryservice.service.PartitionService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.san.libraryservice.constant.LogConstants.PARTITIONS_CREATED;
+import static com.san.libraryservice.constant.LogConstants.PARTITION_ARCHIVED;
+import static com.san.libraryservice.constant.LogConstants.PARTITION_HAS_ACTIVE_LOANS;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+import static com.san.libraryservice.constant.PartitionConstants.*;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+
+@Service
+@Profile(NOT_IN_MEMORY_PROFILE)
+@Observed(name = SERVICE_OBSERVATION)
+@Slf4j
+public class PartitionServiceImpl implements PartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_NAME_PATTERN);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public PartitionServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                @Value(PARTITION_MONTHS_AHEAD) int monthsAhead,
+                                @Value(PARTITION_RETENTION_MONTHS) int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Creates the monthly borrow record partitions from the given month up to the configured
+     * number of months ahead, skipping those that already exist.
+     * <p>
+     * Partitions are created well before they are needed: rows for a month without a partition
+     * land in the default partition, and a partition cannot be created over rows already there.
+     * </p>
+     *
+     * @param today the current date
+     * @return the number of partitions created
+     * @author Supunsan
+     */
+    @Override
+    public int createUpcomingPartitions(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            Boolean partitionCreated = jdbcTemplate.queryForObject(CREATE_PARTITION, Boolean.class,
+                    Date.valueOf(current.plusMonths(i).atDay(1)));
+            if (Boolean.TRUE.equals(partitionCreated)) {
+                created++;
+            }
+        }
+        log.info(PARTITIONS_CREATED, created, current.plusMonths(monthsAhead));
+        return created;
+    }
+
+    /**
+     * Detaches the monthly borrow record partitions that are older than the retention period
+     * and moves them to the {@code borrow_record_archive} schema. A partition that still holds
+     * an active loan is kept until the loan is returned.
+     * <p>
+     * Detaching only rewrites catalog entries, so history is removed without the dead tuples,
+     * vacuum work and WAL volume of deleting the rows.
+     * </p>
+     *
+     * @param today the current date
+     * @return the names of the archived partitions
+     * @author Supunsan
+     */
+    @Override
+    public List<String> archiveExpiredPartitions(LocalDate today) {
+        YearMonth oldestRetained = YearMonth.from(today).minusMonths(retentionMonths);
+        List<String> archived = new ArrayList<>();
+
+        for (String partition : jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestRetained)) {
+                continue;
+            }
+            Boolean detached = transactionTemplate.execute(status -> archivePartition(partition));
+            if (Boolean.TRUE.equals(detached)) {
+                archived.add(partition);
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Detaches a partition and moves it to the archive schema, unless it still has active loans.
+     *
+     * @param partition the partition table name, already matched against {@code PARTITION_NAME_PATTERN}
+     * @return true if the partition was archived
+     * @author Supunsan
+     */
+    private boolean archivePartition(String partition) {
+        Boolean hasActiveLoans = jdbcTemplate.queryForObject(
+                SELECT_PARTITION_HAS_ACTIVE_LOANS.formatted(partition), Boolean.class);
+        if (Boolean.TRUE.equals(hasActiveLoans)) {
+            log.warn(PARTITION_HAS_ACTIVE_LOANS, partition);
+            return false;
+        }
+        jdbcTemplate.execute(DETACH_PARTITION.formatted(partition));
+        jdbcTemplate.execute(ARCHIVE_PARTITION.formatted(partition));
+        log.info(PARTITION_ARCHIVED, partition);
+        return true;
+    }
+}
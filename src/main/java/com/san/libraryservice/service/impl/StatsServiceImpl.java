@@ -0,0 +1,221 @@
+package com.san.libraryservice.service.impl;
+
+import com.san.libraryservice.datasource.ReplicaRoutingDataSource;
+import com.san.libraryservice.dto.AuthorLoans;
+import com.san.libraryservice.dto.DailyLoans;
+import com.san.libraryservice.dto.StatsResponse;
+import com.san.libraryservice.event.BookAddedEvent;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.repository.BorrowerRepository;
+import com.san.libraryservice.service.StatsService;
+import com.san.libraryservice.stats.LoanStatistics;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.san.libraryservice.constant.LogConstants.STATS_RECONCILED;
+import static com.san.libraryservice.constant.MetricConstants.SERVICE_OBSERVATION;
+import static com.san.libraryservice.constant.StatsConstants.*;
+
+@Service
+@Observed(name = SERVICE_OBSERVATION)
+@RequiredArgsConstructor
+@Slf4j
+public class StatsServiceImpl implements StatsService {
+
+    private static final Comparator<AuthorLoans> TOP_AUTHOR_ORDER = Comparator
+            .comparingLong(AuthorLoans::loans).reversed()
+            .thenComparing(AuthorLoans::author);
+
+    private final BookRepository bookRepository;
+    private final BorrowerRepository borrowerRepository;
+    private final LoanStatistics loanStatistics;
+
+    private final LongAdder books = new LongAdder();
+    private final LongAdder borrowers = new LongAdder();
+    private final LongAdder onLoan = new LongAdder();
+    private final Map<LocalDate, LongAdder> loansByDay = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> loansByAuthor = new ConcurrentHashMap<>();
+    private final Object topAuthorsLock = new Object();
+    private volatile List<AuthorLoans> topAuthors = List.of();
+    // The loans an author needs to enter the top authors, zero while the list is not full
+    private volatile long topAuthorsThreshold;
+
+    /**
+     * Returns the library totals from the maintained counters. The work is bounded by the number of days
+     * and top authors reported, whatever the size of the catalog and the loan history.
+     *
+     * @return the current {@link StatsResponse}
+     * @author Supunsan
+     */
+    @Override
+    public StatsResponse getStats() {
+        LocalDate today = LocalDate.now();
+        List<DailyLoans> loansPerDay = new ArrayList<>(STATS_DAYS);
+        for (int daysAgo = STATS_DAYS - 1; daysAgo >= 0; daysAgo--) {
+            LocalDate day = today.minusDays(daysAgo);
+            LongAdder loans = loansByDay.get(day);
+            loansPerDay.add(new DailyLoans(day, loans == null ? 0 : loans.sum()));
+        }
+
+        long totalBooks = Math.max(books.sum(), 0);
+        long booksOnLoan = Math.min(Math.max(onLoan.sum(), 0), totalBooks);
+        return StatsResponse.builder()
+                .totalBooks(totalBooks)
+                .availableBooks(totalBooks - booksOnLoan)
+                .booksOnLoan(booksOnLoan)
+                .totalBorrowers(Math.max(borrowers.sum(), 0))
+                .loansPerDay(loansPerDay)
+                .topAuthors(topAuthors)
+                .build();
+    }
+
+    @Override
+    public void recordBookAdded() {
+        books.increment();
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookAdded(BookAddedEvent event) {
+        recordBookAdded();
+    }
+
+    @Override
+    public void recordBorrowerRegistered() {
+        borrowers.increment();
+    }
+
+    /**
+     * Counts a loan of a book by the given author. The top authors are only re-ranked when the author's
+     * count reaches the lowest count in the list, so most loans only increment two counters.
+     * The first loan of a day drops the days that are no longer reported.
+     *
+     * @param author the author of the borrowed book
+     * @param day    the day the book was borrowed
+     * @author Supunsan
+     */
+    @Override
+    public void recordBorrow(String author, LocalDate day) {
+        onLoan.increment();
+
+        LongAdder dayLoans = loansByDay.get(day);
+        if (dayLoans == null) {
+            dayLoans = loansByDay.computeIfAbsent(day, newDay -> new LongAdder());
+            LocalDate firstReported = day.minusDays(STATS_DAYS - 1L);
+            loansByDay.keySet().removeIf(reported -> reported.isBefore(firstReported));
+        }
+        dayLoans.increment();
+
+        if (author != null) {
+            LongAdder authorLoans = loansByAuthor.computeIfAbsent(author, newAuthor -> new LongAdder());
+            authorLoans.increment();
+            long loans = authorLoans.sum();
+            if (loans >= topAuthorsThreshold) {
+                rank(author, loans);
+            }
+        }
+    }
+
+    @Override
+    public void recordReturn() {
+        onLoan.decrement();
+    }
+
+    /**
+     * Recomputes every counter and replaces the maintained ones.
+     * <p>
+     * Books and borrowers are counted on the primary. The loan counters are aggregated by
+     * {@link LoanStatistics} over the whole loan ledger, the only complete loan history since returned loans
+     * are archived out of {@code borrow_record}, and also cover loans made by writers that do not maintain
+     * the counters. Only the totals are read, so the work here is bounded by the number of days and authors.
+     * A change recorded while the counters are replaced can be lost until the next run.
+     * </p>
+     *
+     * @return the number of books counted
+     * @author Supunsan
+     */
+    @Override
+    public synchronized int reconcile() {
+        long start = System.nanoTime();
+
+        long bookCount = ReplicaRoutingDataSource.onPrimary(bookRepository::count);
+        long borrowerCount = ReplicaRoutingDataSource.onPrimary(borrowerRepository::count);
+        long active = ReplicaRoutingDataSource.onPrimary(loanStatistics::countActiveLoans);
+        LocalDate firstReported = LocalDate.now().minusDays(STATS_DAYS - 1L);
+        Map<LocalDate, Long> dayCounts = ReplicaRoutingDataSource.onPrimary(() ->
+                loanStatistics.countLoansByDay(firstReported));
+        Map<String, Long> authorCounts = ReplicaRoutingDataSource.onPrimary(loanStatistics::countLoansByAuthor);
+
+        synchronized (topAuthorsLock) {
+            replace(books, bookCount);
+            replace(borrowers, borrowerCount);
+            replace(onLoan, active);
+            loansByDay.clear();
+            dayCounts.forEach((day, loans) -> loansByDay.put(day, counter(loans)));
+            loansByAuthor.clear();
+            authorCounts.forEach((author, loans) -> loansByAuthor.put(author, counter(loans)));
+            publishTopAuthors(authorCounts.entrySet().stream()
+                    .map(entry -> new AuthorLoans(entry.getKey(), entry.getValue()))
+                    .sorted(TOP_AUTHOR_ORDER)
+                    .limit(STATS_TOP_AUTHORS)
+                    .toList());
+        }
+
+        log.info(STATS_RECONCILED, bookCount, borrowerCount, active, authorCounts.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return (int) bookCount;
+    }
+
+    /**
+     * Places an author in the top authors with its new count, keeping the higher count when a concurrent
+     * loan of the same author was ranked first.
+     *
+     * @param author the author
+     * @param loans  the author's count after the loan
+     * @author Supunsan
+     */
+    private void rank(String author, long loans) {
+        synchronized (topAuthorsLock) {
+            List<AuthorLoans> ranked = new ArrayList<>(topAuthors.size() + 1);
+            long authorLoans = loans;
+            for (AuthorLoans entry : topAuthors) {
+                if (entry.author().equals(author)) {
+                    authorLoans = Math.max(authorLoans, entry.loans());
+                } else {
+                    ranked.add(entry);
+                }
+            }
+            ranked.add(new AuthorLoans(author, authorLoans));
+            ranked.sort(TOP_AUTHOR_ORDER);
+            publishTopAuthors(ranked.subList(0, Math.min(ranked.size(), STATS_TOP_AUTHORS)));
+        }
+    }
+
+    private void publishTopAuthors(List<AuthorLoans> ranked) {
+        topAuthors = List.copyOf(ranked);
+        topAuthorsThreshold = ranked.size() < STATS_TOP_AUTHORS ? 0 : ranked.get(ranked.size() - 1).loans();
+    }
+
+    private static LongAdder counter(long value) {
+        LongAdder counter = new LongAdder();
+        counter.add(value);
+        return counter;
+    }
+
+    private static void replace(LongAdder counter, long value) {
+        counter.reset();
+        counter.add(value);
+    }
+}
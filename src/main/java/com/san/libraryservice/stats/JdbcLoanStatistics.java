@@ -0,0 +1,55 @@
+package com.san.libraryservice.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.san.libraryservice.constant.StatsConstants.*;
+import static com.san.libraryservice.constant.StorageConstants.NOT_IN_MEMORY_PROFILE;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+
+/**
+ * Computes the {@link LoanStatistics} with aggregate queries over {@code loan_event}, so only one row per
+ * day or author leaves the database. The statements are portable, so they also run against the embedded
+ * database of the benchmarks.
+ *
+ * @author Supunsan
+ */
+@Component
+@Profile(NOT_IN_MEMORY_PROFILE)
+@RequiredArgsConstructor
+public class JdbcLoanStatistics implements LoanStatistics {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long countActiveLoans() {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(SELECT_ACTIVE_LOANS, Long.class,
+                BOOK_BORROWED.name()));
+    }
+
+    @Override
+    public Map<LocalDate, Long> countLoansByDay(LocalDate from) {
+        return jdbcTemplate.query(SELECT_LOANS_BY_DAY,
+                        (rs, rowNum) -> Map.entry(rs.getObject(1, LocalDate.class), rs.getLong(2)),
+                        BOOK_BORROWED.name(), Timestamp.valueOf(from.atStartOfDay()))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    @Override
+    public Map<String, Long> countLoansByAuthor() {
+        return jdbcTemplate.query(SELECT_LOANS_BY_AUTHOR,
+                        (rs, rowNum) -> Map.entry(rs.getString(1), rs.getLong(2)),
+                        BOOK_BORROWED.name())
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,39 @@
+package com.san.libraryservice.stats;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Aggregates over the whole loan ledger, from which the statistics counters are reconciled. The ledger is
+ * the only complete loan history, since returned loans are archived out of {@code borrow_record}.
+ *
+ * @author Supunsan
+ */
+public interface LoanStatistics {
+
+    /**
+     * Counts the loans not returned yet, as the borrows minus the returns in the ledger.
+     *
+     * @return the number of active loans
+     * @author Supunsan
+     */
+    long countActiveLoans();
+
+    /**
+     * Counts the borrows of each day from a given day on.
+     *
+     * @param from the first day to count
+     * @return the number of borrows by day, without days that have none
+     * @author Supunsan
+     */
+    Map<LocalDate, Long> countLoansByDay(LocalDate from);
+
+    /**
+     * Counts the borrows of each author's books over the whole ledger. Loans of books that no longer
+     * exist are not counted.
+     *
+     * @return the number of borrows by author
+     * @author Supunsan
+     */
+    Map<String, Long> countLoansByAuthor();
+}
@@ -0,0 +1,245 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.inventory.TitleAvailability;
+import com.san.libraryservice.model.BaseEntity;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.model.BorrowRecord;
+import com.san.libraryservice.model.Borrower;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.util.EpochMicros.NULL_TIME;
+import static com.san.libraryservice.util.EpochMicros.toDateTime;
+import static com.san.libraryservice.util.EpochMicros.toMicros;
+
+/**
+ * Encodes entities as the compact rows held by the {@link StorageEngine}.
+ * <p>
+ * Every entity row starts with the created and updated times. Times are microseconds since the epoch, the
+ * precision of the PostgreSQL columns, with {@link com.san.libraryservice.util.EpochMicros#NULL_TIME}
+ * for null, and strings are a UTF-8 byte length (-1 for null) followed by the bytes. Borrow records are
+ * fixed width and reference their book and borrower by ID, so the loan indexes read fields in place
+ * without decoding the row.
+ * </p>
+ *
+ * @author Supunsan
+ */
+final class EntityCodec {
+
+    static final int BORROWER_ID_OFFSET = 2 * Long.BYTES;
+    static final int BOOK_ID_OFFSET = 3 * Long.BYTES;
+    static final int RETURNED_AT_OFFSET = 6 * Long.BYTES;
+
+    private static final int NULL_STRING = -1;
+
+    @FunctionalInterface
+    private interface Fields {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private EntityCodec() {
+    }
+
+    static byte[] encodeBook(Book book) {
+        return encode(book, out -> {
+            out.writeBoolean(book.isAvailable());
+            writeString(out, book.getIsbn());
+            writeString(out, book.getTitle());
+            writeString(out, book.getAuthor());
+        });
+    }
+
+    static Book decodeBook(long id, byte[] row) {
+        ByteBuffer in = ByteBuffer.wrap(row);
+        Book book = new Book();
+        readBase(book, id, in);
+        book.setAvailable(in.get() != 0);
+        book.setIsbn(readString(in));
+        book.setTitle(readString(in));
+        book.setAuthor(readString(in));
+        return book;
+    }
+
+    static String isbn(byte[] row) {
+        return readString(ByteBuffer.wrap(row).position(2 * Long.BYTES + 1));
+    }
+
+    static byte[] encodeBorrower(Borrower borrower) {
+        return encode(borrower, out -> {
+            writeString(out, borrower.getName());
+            writeString(out, borrower.getEmail());
+        });
+    }
+
+    static Borrower decodeBorrower(long id, byte[] row) {
+        ByteBuffer in = ByteBuffer.wrap(row);
+        Borrower borrower = new Borrower();
+        readBase(borrower, id, in);
+        borrower.setName(readString(in));
+        borrower.setEmail(readString(in));
+        return borrower;
+    }
+
+    static byte[] encodeBorrowRecord(BorrowRecord borrowRecord) {
+        return encode(borrowRecord, out -> {
+            out.writeLong(borrowRecord.getBorrower().getId());
+            out.writeLong(borrowRecord.getBook().getId());
+            out.writeLong(micros(borrowRecord.getBorrowedAt()));
+            out.writeLong(micros(borrowRecord.getDueAt()));
+            out.writeLong(micros(borrowRecord.getReturnedAt()));
+        });
+    }
+
+    /**
+     * Decodes a borrow record with the book and borrower it references.
+     *
+     * @param id       the ID of the borrow record
+     * @param row      the encoded borrow record
+     * @param borrower the borrower with the ID at {@link #BORROWER_ID_OFFSET}
+     * @param book     the book with the ID at {@link #BOOK_ID_OFFSET}
+     * @return the borrow record
+     * @author Supunsan
+     */
+    static BorrowRecord decodeBorrowRecord(long id, byte[] row, Borrower borrower, Book book) {
+        ByteBuffer in = ByteBuffer.wrap(row);
+        BorrowRecord borrowRecord = new BorrowRecord();
+        readBase(borrowRecord, id, in);
+        in.position(BOOK_ID_OFFSET + Long.BYTES);
+        borrowRecord.setBorrower(borrower);
+        borrowRecord.setBook(book);
+        borrowRecord.setBorrowedAt(toDateTime(in.getLong()));
+        borrowRecord.setDueAt(toDateTime(in.getLong()));
+        borrowRecord.setReturnedAt(toDateTime(in.getLong()));
+        return borrowRecord;
+    }
+
+    static long borrowerId(byte[] row) {
+        return ByteBuffer.wrap(row).getLong(BORROWER_ID_OFFSET);
+    }
+
+    static long bookId(byte[] row) {
+        return ByteBuffer.wrap(row).getLong(BOOK_ID_OFFSET);
+    }
+
+    static boolean isActive(byte[] row) {
+        return ByteBuffer.wrap(row).getLong(RETURNED_AT_OFFSET) == NULL_TIME;
+    }
+
+    /**
+     * Encodes a catalog view entry. Entries are not entities, so the row has no created and updated times.
+     *
+     * @param entry the entry
+     * @return the encoded row
+     * @author Supunsan
+     */
+    static byte[] encodeCatalogEntry(CatalogEntry entry) {
+        return encode(out -> {
+            out.writeBoolean(entry.available());
+            out.writeInt(entry.activeLoans());
+            out.writeLong(micros(entry.dueAt()));
+            out.writeInt(entry.loanVersion());
+            out.writeLong(micros(entry.changedAt()));
+            writeString(out, entry.isbn());
+            writeString(out, entry.title());
+            writeString(out, entry.author());
+        });
+    }
+
+    static CatalogEntry decodeCatalogEntry(long bookId, byte[] row) {
+        ByteBuffer in = ByteBuffer.wrap(row);
+        boolean available = in.get() != 0;
+        int activeLoans = in.getInt();
+        LocalDateTime dueAt = toDateTime(in.getLong());
+        int loanVersion = in.getInt();
+        LocalDateTime changedAt = toDateTime(in.getLong());
+        return new CatalogEntry(bookId, readString(in), readString(in), readString(in), available, activeLoans,
+                dueAt, loanVersion, changedAt);
+    }
+
+    static int loanVersion(byte[] catalogRow) {
+        return ByteBuffer.wrap(catalogRow).getInt(1 + Integer.BYTES + Long.BYTES);
+    }
+
+    /**
+     * Encodes the copy counts of a title. Titles are not entities, so the row has no created and updated times.
+     *
+     * @param title the title
+     * @return the encoded row
+     * @author Supunsan
+     */
+    static byte[] encodeTitle(TitleAvailability title) {
+        return encode(out -> {
+            out.writeInt(title.totalCopies());
+            out.writeInt(title.availableCopies());
+            writeString(out, title.isbn());
+            writeString(out, title.title());
+            writeString(out, title.author());
+        });
+    }
+
+    static TitleAvailability decodeTitle(byte[] row) {
+        ByteBuffer in = ByteBuffer.wrap(row);
+        int totalCopies = in.getInt();
+        int availableCopies = in.getInt();
+        return new TitleAvailability(readString(in), readString(in), readString(in), totalCopies, availableCopies);
+    }
+
+    static String titleIsbn(byte[] titleRow) {
+        return readString(ByteBuffer.wrap(titleRow).position(2 * Integer.BYTES));
+    }
+
+    private static byte[] encode(BaseEntity entity, Fields fields) {
+        return encode(out -> {
+            out.writeLong(micros(entity.getCreatedAt()));
+            out.writeLong(micros(entity.getUpdatedAt()));
+            fields.write(out);
+        });
+    }
+
+    private static byte[] encode(Fields fields) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            fields.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void readBase(BaseEntity entity, long id, ByteBuffer in) {
+        entity.setId(id);
+        entity.setCreatedAt(toDateTime(in.getLong()));
+        entity.setUpdatedAt(toDateTime(in.getLong()));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time == null ? NULL_TIME : toMicros(time);
+    }
+}
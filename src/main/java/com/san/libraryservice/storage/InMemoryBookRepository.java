@@ -0,0 +1,98 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The in-memory {@link BookRepository}, with an index from ISBN to book IDs.
+ *
+ * @author Supunsan
+ */
+public class InMemoryBookRepository extends InMemoryRepository<Book> implements BookRepository {
+
+    private final Map<String, NavigableSet<Long>> idsByIsbn = new HashMap<>();
+
+    public InMemoryBookRepository(StorageEngine engine) {
+        super(engine, Table.BOOK);
+        engine.register(Table.BOOK, this::index);
+    }
+
+    /**
+     * Retrieves the book with the lowest ID among those with the given ISBN.
+     *
+     * @param isbn the ISBN of the book to search for
+     * @return an Optional containing the first matching Book if found, or an empty Optional if no match exists
+     * @author Supunsan
+     */
+    @Override
+    public Optional<Book> findFirstByIsbn(String isbn) {
+        Long[] candidates = engine.read(() -> {
+            NavigableSet<Long> ids = idsByIsbn.get(isbn);
+            return ids == null ? new Long[0] : ids.toArray(Long[]::new);
+        });
+        for (Long id : candidates) {
+            Optional<Book> book = findById(id).filter(found -> Objects.equals(found.getIsbn(), isbn));
+            if (book.isPresent()) {
+                return book;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieves the books with any of the given IDs or ISBNs, resolving the ISBNs through the index.
+     *
+     * @param ids   the IDs of the books to retrieve, may be empty
+     * @param isbns the ISBNs of the books to retrieve, may be empty
+     * @return the matching books, ordered by ID
+     * @author Supunsan
+     */
+    @Override
+    public List<Book> findAllByIdInOrIsbnIn(Collection<Long> ids, Collection<String> isbns) {
+        Set<Long> idSet = new HashSet<>(ids);
+        Set<String> isbnSet = new HashSet<>(isbns);
+        NavigableSet<Long> candidates = engine.read(() -> {
+            NavigableSet<Long> found = new TreeSet<>(idSet);
+            isbnSet.forEach(isbn -> found.addAll(idsByIsbn.getOrDefault(isbn, Collections.emptyNavigableSet())));
+            return found;
+        });
+        return findAllById(candidates).stream()
+                .filter(book -> idSet.contains(book.getId()) || isbnSet.contains(book.getIsbn()))
+                .toList();
+    }
+
+    @Override
+    protected byte[] encode(Book book) {
+        return EntityCodec.encodeBook(book);
+    }
+
+    @Override
+    protected Book decode(long id, byte[] row) {
+        return EntityCodec.decodeBook(id, row);
+    }
+
+    private void index(long id, byte[] previous, byte[] current) {
+        if (previous != null) {
+            String isbn = EntityCodec.isbn(previous);
+            NavigableSet<Long> ids = idsByIsbn.get(isbn);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                idsByIsbn.remove(isbn);
+            }
+        }
+        if (current != null) {
+            idsByIsbn.computeIfAbsent(EntityCodec.isbn(current), isbn -> new TreeSet<>()).add(id);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.model.BorrowRecord;
+import com.san.libraryservice.model.Borrower;
+import com.san.libraryservice.repository.BorrowRecordRepository;
+import com.san.libraryservice.util.LongObjectMap;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The in-memory {@link BorrowRecordRepository}, with an index from book ID to the IDs of its active loans,
+ * the equivalent of the {@code borrow_record_active_book_idx} partial index.
+ * <p>
+ * Index lookups see committed loans only. Each candidate is re-read through the engine, so a loan
+ * returned earlier in the same transaction is no longer reported as active.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public class InMemoryBorrowRecordRepository extends InMemoryRepository<BorrowRecord> implements BorrowRecordRepository {
+
+    private static final long[] NONE = new long[0];
+
+    private final LongObjectMap<long[]> activeByBook = new LongObjectMap<>();
+
+    public InMemoryBorrowRecordRepository(StorageEngine engine) {
+        super(engine, Table.BORROW_RECORD);
+        engine.register(Table.BORROW_RECORD, this::index);
+    }
+
+    /**
+     * Checks if there is an active borrow record for the specified book
+     * that has not yet been returned.
+     *
+     * @param bookId the ID of the book to check
+     * @return true if the book is currently borrowed
+     * @author Supunsan
+     */
+    @Override
+    public boolean existsByBookIdAndReturnedAtIsNull(Long bookId) {
+        for (long id : activeLoans(bookId)) {
+            byte[] row = engine.get(table, id);
+            if (row != null && EntityCodec.isActive(row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves an active borrow record for the given borrower and book,
+     * where the book has not yet been returned.
+     *
+     * @param borrowerId the ID of the borrower
+     * @param bookId     the ID of the book
+     * @return an {@link Optional} containing the active {@link BorrowRecord} if found, otherwise empty
+     * @author Supunsan
+     */
+    @Override
+    public Optional<BorrowRecord> findByBorrowerIdAndBookIdAndReturnedAtIsNull(Long borrowerId, Long bookId) {
+        for (long id : activeLoans(bookId)) {
+            byte[] row = engine.get(table, id);
+            if (row != null && EntityCodec.isActive(row) && EntityCodec.borrowerId(row) == borrowerId) {
+                return Optional.of(decode(id, row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    protected byte[] encode(BorrowRecord borrowRecord) {
+        return EntityCodec.encodeBorrowRecord(borrowRecord);
+    }
+
+    /**
+     * Decodes a borrow record together with its borrower and book, as the eager JPA associations would.
+     *
+     * @param id  the ID of the borrow record
+     * @param row the encoded borrow record
+     * @return the borrow record
+     * @author Supunsan
+     */
+    @Override
+    protected BorrowRecord decode(long id, byte[] row) {
+        long borrowerId = EntityCodec.borrowerId(row);
+        long bookId = EntityCodec.bookId(row);
+        byte[] borrower = engine.get(Table.BORROWER, borrowerId);
+        byte[] book = engine.get(Table.BOOK, bookId);
+        return EntityCodec.decodeBorrowRecord(id, row,
+                borrower == null ? null : EntityCodec.decodeBorrower(borrowerId, borrower),
+                book == null ? null : EntityCodec.decodeBook(bookId, book));
+    }
+
+    private long[] activeLoans(long bookId) {
+        return engine.read(() -> {
+            long[] ids = activeByBook.get(bookId);
+            return ids == null ? NONE : ids.clone();
+        });
+    }
+
+    private void index(long id, byte[] previous, byte[] current) {
+        if (previous != null && EntityCodec.isActive(previous)) {
+            long bookId = EntityCodec.bookId(previous);
+            long[] ids = activeByBook.get(bookId);
+            if (ids != null) {
+                long[] remaining = Arrays.stream(ids).filter(active -> active != id).toArray();
+                if (remaining.length == 0) {
+                    activeByBook.remove(bookId);
+                } else {
+                    activeByBook.put(bookId, remaining);
+                }
+            }
+        }
+        if (current != null && EntityCodec.isActive(current)) {
+            long bookId = EntityCodec.bookId(current);
+            long[] ids = activeByBook.get(bookId);
+            if (ids == null) {
+                activeByBook.put(bookId, new long[]{id});
+            } else {
+                long[] added = Arrays.copyOf(ids, ids.length + 1);
+                added[ids.length] = id;
+                activeByBook.put(bookId, added);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.model.Borrower;
+import com.san.libraryservice.repository.BorrowerRepository;
+
+/**
+ * The in-memory {@link BorrowerRepository}.
+ *
+ * @author Supunsan
+ */
+public class InMemoryBorrowerRepository extends InMemoryRepository<Borrower> implements BorrowerRepository {
+
+    public InMemoryBorrowerRepository(StorageEngine engine) {
+        super(engine, Table.BORROWER);
+    }
+
+    @Override
+    protected byte[] encode(Borrower borrower) {
+        return EntityCodec.encodeBorrower(borrower);
+    }
+
+    @Override
+    protected Borrower decode(long id, byte[] row) {
+        return EntityCodec.decodeBorrower(id, row);
+    }
+}
@@ -0,0 +1,128 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.catalog.CatalogView;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.san.libraryservice.constant.StorageConstants.CATALOG_CHECKPOINT_ROW;
+import static com.san.libraryservice.constant.StorageConstants.CATALOG_VERSION_ROW;
+
+/**
+ * The in-memory {@link CatalogView}, one {@link Table#CATALOG_VIEW} row per book keyed by the book ID.
+ * A save is applied in one engine transaction of its own, together with the version of the view, which
+ * is kept in {@link Table#LEDGER_STATE} with the checkpoint.
+ *
+ * @author Supunsan
+ */
+public class InMemoryCatalogView implements CatalogView {
+
+    private final StorageEngine engine;
+
+    public InMemoryCatalogView(StorageEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public List<CatalogEntry> findAll() {
+        List<CatalogEntry> entries = new ArrayList<>();
+        engine.scan(Table.CATALOG_VIEW, (bookId, row) -> entries.add(EntityCodec.decodeCatalogEntry(bookId, row)));
+        return entries;
+    }
+
+    @Override
+    public List<CatalogEntry> findAvailable(String isbn, int limit) {
+        List<CatalogEntry> available = new ArrayList<>();
+        engine.scan(Table.CATALOG_VIEW, (bookId, row) -> {
+            CatalogEntry entry = EntityCodec.decodeCatalogEntry(bookId, row);
+            if (available.size() < limit && entry.available() && isbn.equals(entry.isbn())) {
+                available.add(entry);
+            }
+        });
+        return available;
+    }
+
+    @Override
+    public long version() {
+        return readLong(CATALOG_VERSION_ROW);
+    }
+
+    @Override
+    public void save(List<CatalogEntry> entries) {
+        write(entries, false);
+    }
+
+    @Override
+    public void saveDetails(List<CatalogEntry> entries) {
+        write(entries, true);
+    }
+
+    @Override
+    public long checkpoint() {
+        return readLong(CATALOG_CHECKPOINT_ROW);
+    }
+
+    @Override
+    public void saveCheckpoint(long checkpoint) {
+        Object suspended = engine.suspend();
+        engine.begin();
+        try {
+            writeLong(CATALOG_CHECKPOINT_ROW, Math.max(readLong(CATALOG_CHECKPOINT_ROW), checkpoint));
+            engine.commit();
+        } catch (RuntimeException e) {
+            engine.rollback();
+            throw e;
+        } finally {
+            engine.resume(suspended);
+        }
+    }
+
+    /**
+     * Writes the entries and increases the version of the view if any was written.
+     *
+     * @param entries     the entries to save
+     * @param detailsOnly whether an existing entry only takes the ISBN, title and author, whatever its loan version
+     * @author Supunsan
+     */
+    private void write(List<CatalogEntry> entries, boolean detailsOnly) {
+        Object suspended = engine.suspend();
+        engine.begin();
+        try {
+            boolean written = false;
+            for (CatalogEntry entry : entries) {
+                byte[] current = engine.get(Table.CATALOG_VIEW, entry.bookId());
+                CatalogEntry saved = entry;
+                if (current != null && detailsOnly) {
+                    CatalogEntry existing = EntityCodec.decodeCatalogEntry(entry.bookId(), current);
+                    saved = new CatalogEntry(entry.bookId(), entry.isbn(), entry.title(), entry.author(),
+                            existing.available(), existing.activeLoans(), existing.dueAt(), existing.loanVersion(),
+                            entry.changedAt());
+                } else if (current != null && EntityCodec.loanVersion(current) > entry.loanVersion()) {
+                    continue;
+                }
+                engine.put(Table.CATALOG_VIEW, entry.bookId(), EntityCodec.encodeCatalogEntry(saved));
+                written = true;
+            }
+            if (written) {
+                writeLong(CATALOG_VERSION_ROW, readLong(CATALOG_VERSION_ROW) + 1);
+            }
+            engine.commit();
+        } catch (RuntimeException e) {
+            engine.rollback();
+            throw e;
+        } finally {
+            engine.resume(suspended);
+        }
+    }
+
+    private long readLong(long row) {
+        byte[] value = engine.get(Table.LEDGER_STATE, row);
+        return value == null ? 0 : ByteBuffer.wrap(value).getLong();
+    }
+
+    private void writeLong(long row, long value) {
+        engine.put(Table.LEDGER_STATE, row, ByteBuffer.allocate(Long.BYTES).putLong(value).array());
+    }
+}
@@ -0,0 +1,185 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LedgerSnapshot;
+import com.san.libraryservice.ledger.LoanEventType;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.util.LongObjectMap;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.san.libraryservice.constant.StorageConstants.LEDGER_SNAPSHOT_ROW;
+import static com.san.libraryservice.util.EpochMicros.NULL_TIME;
+import static com.san.libraryservice.util.EpochMicros.toDateTime;
+import static com.san.libraryservice.util.EpochMicros.toMicros;
+
+/**
+ * The in-memory {@link LoanLedger}, one {@link Table#LOAN_EVENT} row per event keyed by its sequence.
+ * <p>
+ * Appends are serialized and each commits as its own engine transaction, so events are committed in
+ * sequence order and {@link #readSettled} needs no delay. Two indexes are kept as commits are applied:
+ * the sequences of each book in version order, and all sequences in ascending order for reads by position.
+ * </p>
+ * <p>
+ * Event rows are fixed width: {@code [byte type][long book id][int version][long borrower id][long loan id]
+ * [long occurred at][long due at]}, with times encoded as in {@link EntityCodec}.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public class InMemoryLoanLedger implements LoanLedger {
+
+    private static final int EVENT_BYTES = 1 + Integer.BYTES + 5 * Long.BYTES;
+    private static final long[] NONE = new long[0];
+
+    private final StorageEngine engine;
+    private final LongObjectMap<long[]> eventsByBook = new LongObjectMap<>();
+    private long[] sequences = new long[1024];
+    private int size;
+
+    public InMemoryLoanLedger(StorageEngine engine) {
+        this.engine = engine;
+        engine.register(Table.LOAN_EVENT, this::index);
+        // Recovered events are indexed in hash order, later ones in commit order
+        engine.read(() -> {
+            Arrays.sort(sequences, 0, size);
+            eventsByBook.forEach((bookId, bookSequences) -> Arrays.sort(bookSequences));
+            return null;
+        });
+    }
+
+    @Override
+    public synchronized LedgerEvent append(LedgerEvent event) {
+        int version = bookEvents(event.bookId()).length;
+        if (event.bookVersion() <= version) {
+            throw new DuplicateKeyException("Book " + event.bookId() + " already has version " + event.bookVersion());
+        }
+        if (event.bookVersion() != version + 1) {
+            throw new IllegalArgumentException("Book " + event.bookId() + " is at version " + version
+                    + ", cannot append version " + event.bookVersion());
+        }
+
+        LedgerEvent appended = event.appended(engine.nextId(Table.LOAN_EVENT));
+        Object suspended = engine.suspend();
+        try {
+            engine.put(Table.LOAN_EVENT, appended.sequence(), encode(appended));
+        } finally {
+            engine.resume(suspended);
+        }
+        return appended;
+    }
+
+    @Override
+    public List<LedgerEvent> readBook(long bookId, int afterVersion) {
+        long[] bookSequences = bookEvents(bookId);
+        List<LedgerEvent> events = new ArrayList<>(Math.max(bookSequences.length - afterVersion, 0));
+        for (int i = afterVersion; i < bookSequences.length; i++) {
+            events.add(read(bookSequences[i]));
+        }
+        return events;
+    }
+
+    @Override
+    public List<LedgerEvent> readAfter(long sequence, int limit) {
+        long[] found = engine.read(() -> {
+            int from = Arrays.binarySearch(sequences, 0, size, sequence);
+            from = from >= 0 ? from + 1 : -from - 1;
+            return Arrays.copyOfRange(sequences, from, Math.min(size, from + limit));
+        });
+        List<LedgerEvent> events = new ArrayList<>(found.length);
+        for (long eventSequence : found) {
+            events.add(read(eventSequence));
+        }
+        return events;
+    }
+
+    @Override
+    public List<LedgerEvent> readSettled(long sequence, int limit) {
+        return readAfter(sequence, limit);
+    }
+
+    @Override
+    public Optional<LedgerSnapshot> latestSnapshot() {
+        byte[] row = engine.get(Table.LEDGER_STATE, LEDGER_SNAPSHOT_ROW);
+        if (row == null) {
+            return Optional.empty();
+        }
+        ByteBuffer in = ByteBuffer.wrap(row);
+        long sequence = in.getLong();
+        return Optional.of(new LedgerSnapshot(sequence, Arrays.copyOfRange(row, Long.BYTES, row.length)));
+    }
+
+    @Override
+    public void saveSnapshot(LedgerSnapshot snapshot) {
+        byte[] row = ByteBuffer.allocate(Long.BYTES + snapshot.state().length)
+                .putLong(snapshot.sequence())
+                .put(snapshot.state())
+                .array();
+        Object suspended = engine.suspend();
+        try {
+            engine.put(Table.LEDGER_STATE, LEDGER_SNAPSHOT_ROW, row);
+        } finally {
+            engine.resume(suspended);
+        }
+    }
+
+    private long[] bookEvents(long bookId) {
+        return engine.read(() -> {
+            long[] bookSequences = eventsByBook.get(bookId);
+            return bookSequences == null ? NONE : bookSequences;
+        });
+    }
+
+    private LedgerEvent read(long sequence) {
+        return decode(sequence, engine.get(Table.LOAN_EVENT, sequence));
+    }
+
+    /**
+     * Adds a committed event to the indexes. Events are only ever inserted.
+     */
+    private void index(long id, byte[] previous, byte[] current) {
+        if (previous != null || current == null) {
+            return;
+        }
+        long bookId = ByteBuffer.wrap(current).getLong(1);
+        long[] bookSequences = eventsByBook.get(bookId);
+        long[] added = bookSequences == null ? new long[1] : Arrays.copyOf(bookSequences, bookSequences.length + 1);
+        added[added.length - 1] = id;
+        eventsByBook.put(bookId, added);
+
+        if (size == sequences.length) {
+            sequences = Arrays.copyOf(sequences, size * 2);
+        }
+        sequences[size++] = id;
+    }
+
+    private static byte[] encode(LedgerEvent event) {
+        return ByteBuffer.allocate(EVENT_BYTES)
+                .put((byte) event.type().ordinal())
+                .putLong(event.bookId())
+                .putInt(event.bookVersion())
+                .putLong(event.borrowerId())
+                .putLong(event.loanId())
+                .putLong(toMicros(event.occurredAt()))
+                .putLong(event.dueAt() == null ? NULL_TIME : toMicros(event.dueAt()))
+                .array();
+    }
+
+    private static LedgerEvent decode(long sequence, byte[] row) {
+        ByteBuffer in = ByteBuffer.wrap(row);
+        LoanEventType type = LoanEventType.values()[in.get()];
+        long bookId = in.getLong();
+        int version = in.getInt();
+        long borrowerId = in.getLong();
+        long loanId = in.getLong();
+        LocalDateTime occurredAt = toDateTime(in.getLong());
+        LocalDateTime dueAt = toDateTime(in.getLong());
+        return new LedgerEvent(sequence, type, bookId, version, borrowerId, loanId, occurredAt, dueAt);
+    }
+}
@@ -0,0 +1,91 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanReadModel;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.model.BorrowRecord;
+import com.san.libraryservice.model.Borrower;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.repository.BorrowRecordRepository;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.san.libraryservice.constant.StorageConstants.LEDGER_CHECKPOINT_ROW;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+
+/**
+ * The in-memory {@link LoanReadModel}. A batch is applied through the repositories in one engine
+ * transaction together with its checkpoint, which is kept in {@link Table#LEDGER_STATE}.
+ *
+ * @author Supunsan
+ */
+public class InMemoryLoanReadModel implements LoanReadModel {
+
+    private final StorageEngine engine;
+    private final BookRepository bookRepository;
+    private final BorrowRecordRepository borrowRecordRepository;
+
+    public InMemoryLoanReadModel(StorageEngine engine, BookRepository bookRepository,
+                                 BorrowRecordRepository borrowRecordRepository) {
+        this.engine = engine;
+        this.bookRepository = bookRepository;
+        this.borrowRecordRepository = borrowRecordRepository;
+    }
+
+    @Override
+    public long checkpoint() {
+        byte[] row = engine.get(Table.LEDGER_STATE, LEDGER_CHECKPOINT_ROW);
+        return row == null ? 0 : ByteBuffer.wrap(row).getLong();
+    }
+
+    @Override
+    public long project(List<LedgerEvent> events, long checkpoint) {
+        Object suspended = engine.suspend();
+        engine.begin();
+        try {
+            events.forEach(this::apply);
+            long projected = Math.max(checkpoint(), checkpoint);
+            engine.put(Table.LEDGER_STATE, LEDGER_CHECKPOINT_ROW,
+                    ByteBuffer.allocate(Long.BYTES).putLong(projected).array());
+            engine.commit();
+            return projected;
+        } catch (RuntimeException e) {
+            engine.rollback();
+            throw e;
+        } finally {
+            engine.resume(suspended);
+        }
+    }
+
+    private void apply(LedgerEvent event) {
+        boolean available = event.type() != BOOK_BORROWED;
+        if (event.type() == BOOK_BORROWED) {
+            Borrower borrower = new Borrower();
+            borrower.setId(event.borrowerId());
+            Book book = new Book();
+            book.setId(event.bookId());
+            BorrowRecord borrowRecord = BorrowRecord.builder()
+                    .borrower(borrower)
+                    .book(book)
+                    .borrowedAt(event.occurredAt())
+                    .dueAt(event.dueAt())
+                    .build();
+            borrowRecord.setId(event.loanId());
+            borrowRecordRepository.save(borrowRecord);
+        } else {
+            borrowRecordRepository.findById(event.loanId())
+                    .filter(borrowRecord -> borrowRecord.getReturnedAt() == null)
+                    .ifPresent(borrowRecord -> {
+                        borrowRecord.setReturnedAt(event.occurredAt());
+                        borrowRecordRepository.save(borrowRecord);
+                    });
+        }
+        bookRepository.findById(event.bookId())
+                .filter(book -> book.isAvailable() != available)
+                .ifPresent(book -> {
+                    book.setAvailable(available);
+                    bookRepository.save(book);
+                });
+    }
+}
@@ -0,0 +1,91 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.stats.LoanStatistics;
+import com.san.libraryservice.util.LongObjectMap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.san.libraryservice.constant.LedgerConstants.LEDGER_BATCH_SIZE;
+import static com.san.libraryservice.constant.StatsConstants.STATS_BATCH_SIZE;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+
+/**
+ * The in-memory {@link LoanStatistics}, computed by reading the in-memory loan ledger in batches. Authors
+ * are looked up from the books, read one page at a time.
+ *
+ * @author Supunsan
+ */
+public class InMemoryLoanStatistics implements LoanStatistics {
+
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    private final LoanLedger loanLedger;
+    private final BookRepository bookRepository;
+
+    public InMemoryLoanStatistics(LoanLedger loanLedger, BookRepository bookRepository) {
+        this.loanLedger = loanLedger;
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public long countActiveLoans() {
+        long[] active = new long[1];
+        forEachEvent(event -> active[0] += event.type() == BOOK_BORROWED ? 1 : -1);
+        return active[0];
+    }
+
+    @Override
+    public Map<LocalDate, Long> countLoansByDay(LocalDate from) {
+        Map<LocalDate, Long> loans = new HashMap<>();
+        forEachEvent(event -> {
+            LocalDate day = event.occurredAt().toLocalDate();
+            if (event.type() == BOOK_BORROWED && !day.isBefore(from)) {
+                loans.merge(day, 1L, Long::sum);
+            }
+        });
+        return loans;
+    }
+
+    @Override
+    public Map<String, Long> countLoansByAuthor() {
+        LongObjectMap<String> authors = new LongObjectMap<>();
+        int pageNumber = 0;
+        Page<Book> page;
+        do {
+            page = bookRepository.findAll(PageRequest.of(pageNumber++, STATS_BATCH_SIZE, ID_ORDER));
+            page.forEach(book -> authors.put(book.getId(), book.getAuthor()));
+        } while (page.hasNext());
+
+        Map<String, Long> loans = new HashMap<>();
+        forEachEvent(event -> {
+            String author = event.type() == BOOK_BORROWED ? authors.get(event.bookId()) : null;
+            if (author != null) {
+                loans.merge(author, 1L, Long::sum);
+            }
+        });
+        return loans;
+    }
+
+    private void forEachEvent(Consumer<LedgerEvent> action) {
+        long after = 0;
+        List<LedgerEvent> batch;
+        do {
+            batch = loanLedger.readAfter(after, LEDGER_BATCH_SIZE);
+            batch.forEach(action);
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).sequence();
+            }
+        } while (batch.size() == LEDGER_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,240 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.model.BaseEntity;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A {@link JpaRepository} backed by one {@link StorageEngine} table, so the services run unchanged on
+ * the in-memory backend.
+ * <p>
+ * Entities are copied in and out of the engine: a loaded entity is detached, and changes to it are only
+ * stored by calling {@link #save}, which the services always do. Auditing times are set by {@code save}
+ * as {@code @EnableJpaAuditing} would. Sorting, paging with a sort and query by example are not supported.
+ * </p>
+ *
+ * @param <T> the entity type
+ * @author Supunsan
+ */
+public abstract class InMemoryRepository<T extends BaseEntity> implements JpaRepository<T, Long> {
+
+    // Rows are scanned in ID order, so this is the one sort that needs no work
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    protected final StorageEngine engine;
+    protected final Table table;
+
+    protected InMemoryRepository(StorageEngine engine, Table table) {
+        this.engine = engine;
+        this.table = table;
+    }
+
+    protected abstract byte[] encode(T entity);
+
+    protected abstract T decode(long id, byte[] row);
+
+    @Override
+    public <S extends T> S save(S entity) {
+        LocalDateTime now = LocalDateTime.now();
+        if (entity.getId() == null) {
+            entity.setId(engine.nextId(table));
+        }
+        if (entity.getCreatedAt() == null) {
+            entity.setCreatedAt(now);
+        }
+        entity.setUpdatedAt(now);
+        engine.put(table, entity.getId(), encode(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        byte[] row = engine.get(table, id);
+        return row == null ? Optional.empty() : Optional.of(decode(id, row));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return engine.get(table, id) != null;
+    }
+
+    @Override
+    public List<T> findAll() {
+        List<T> entities = new ArrayList<>();
+        engine.scan(table, (id, row) -> entities.add(decode(id, row)));
+        return entities;
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<Long> ids) {
+        List<T> entities = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(entities::add));
+        return entities;
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        requireUnsorted(sort);
+        return findAll();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll());
+        }
+        requireUnsorted(pageable.getSort());
+        long first = pageable.getOffset();
+        long end = first + pageable.getPageSize();
+        List<T> content = new ArrayList<>(pageable.getPageSize());
+        long[] index = new long[1];
+        engine.scan(table, (id, row) -> {
+            if (index[0] >= first && index[0] < end) {
+                content.add(decode(id, row));
+            }
+            index[0]++;
+        });
+        return new PageImpl<>(content, pageable, index[0]);
+    }
+
+    @Override
+    public long count() {
+        return engine.count(table);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        engine.delete(table, id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        engine.scan(table, (id, row) -> engine.delete(table, id));
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    public void flush() {
+        // Writes reach the engine on save and the log on commit
+    }
+
+    @Override
+    @Deprecated
+    public T getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public T getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public T getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException(table + " " + id + " not found"));
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+
+    private static void requireUnsorted(Sort sort) {
+        if (sort.isSorted() && !sort.equals(ID_ORDER)) {
+            throw new UnsupportedOperationException("The in-memory repositories only return rows in ID order");
+        }
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by the in-memory repositories");
+    }
+}
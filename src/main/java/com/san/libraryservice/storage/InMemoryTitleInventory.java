@@ -0,0 +1,119 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.inventory.TitleAvailability;
+import com.san.libraryservice.inventory.TitleInventory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The in-memory {@link TitleInventory}, one {@link Table#BOOK_TITLE} row per ISBN with an index from the
+ * ISBN to the row ID.
+ * <p>
+ * Changes to the counts read and write a row, so they are serialized, and each commits as its own engine
+ * transaction so that the next change reads the committed count. Taking a copy therefore never takes the
+ * count below zero, as the conditional update of {@code book_title} does.
+ * </p>
+ *
+ * @author Supunsan
+ */
+public class InMemoryTitleInventory implements TitleInventory {
+
+    private final StorageEngine engine;
+    private final Map<String, Long> idsByIsbn = new HashMap<>();
+
+    public InMemoryTitleInventory(StorageEngine engine) {
+        this.engine = engine;
+        engine.register(Table.BOOK_TITLE, this::index);
+    }
+
+    @Override
+    public Optional<TitleAvailability> find(String isbn) {
+        return Optional.ofNullable(read(isbn));
+    }
+
+    @Override
+    public synchronized void addCopy(String isbn, String title, String author) {
+        TitleAvailability current = read(isbn);
+        write(isbn, current == null
+                ? new TitleAvailability(isbn, title, author, 1, 1)
+                : new TitleAvailability(isbn, current.title(), current.author(), current.totalCopies() + 1,
+                current.availableCopies() + 1));
+    }
+
+    @Override
+    public synchronized boolean takeCopy(String isbn) {
+        TitleAvailability current = read(isbn);
+        if (current == null || current.availableCopies() == 0) {
+            return false;
+        }
+        write(isbn, new TitleAvailability(isbn, current.title(), current.author(), current.totalCopies(),
+                current.availableCopies() - 1));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean releaseCopy(String isbn) {
+        TitleAvailability current = read(isbn);
+        if (current == null || current.availableCopies() == current.totalCopies()) {
+            return false;
+        }
+        write(isbn, new TitleAvailability(isbn, current.title(), current.author(), current.totalCopies(),
+                current.availableCopies() + 1));
+        return true;
+    }
+
+    @Override
+    public synchronized void reconcile(List<TitleAvailability> titles) {
+        Object suspended = engine.suspend();
+        engine.begin();
+        try {
+            for (TitleAvailability title : titles) {
+                engine.put(Table.BOOK_TITLE, rowId(title.isbn()), EntityCodec.encodeTitle(title));
+            }
+            engine.commit();
+        } catch (RuntimeException e) {
+            engine.rollback();
+            throw e;
+        } finally {
+            engine.resume(suspended);
+        }
+    }
+
+    private TitleAvailability read(String isbn) {
+        Long id = engine.read(() -> idsByIsbn.get(isbn));
+        if (id == null) {
+            return null;
+        }
+        byte[] row = engine.get(Table.BOOK_TITLE, id);
+        return row == null ? null : EntityCodec.decodeTitle(row);
+    }
+
+    private void write(String isbn, TitleAvailability title) {
+        Object suspended = engine.suspend();
+        try {
+            engine.put(Table.BOOK_TITLE, rowId(isbn), EntityCodec.encodeTitle(title));
+        } finally {
+            engine.resume(suspended);
+        }
+    }
+
+    /**
+     * Returns the row ID of an ISBN, allocating one for an ISBN that has no row yet.
+     */
+    private long rowId(String isbn) {
+        Long id = engine.read(() -> idsByIsbn.get(isbn));
+        return id == null ? engine.nextId(Table.BOOK_TITLE) : id;
+    }
+
+    private void index(long id, byte[] previous, byte[] current) {
+        if (previous != null) {
+            idsByIsbn.remove(EntityCodec.titleIsbn(previous));
+        }
+        if (current != null) {
+            idsByIsbn.put(EntityCodec.titleIsbn(current), id);
+        }
+    }
+}
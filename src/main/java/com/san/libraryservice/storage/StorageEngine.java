@@ -0,0 +1,628 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.storage.WriteAheadLog.Entry;
+import com.san.libraryservice.storage.WriteAheadLog.Operation;
+import com.san.libraryservice.util.LongObjectMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static com.san.libraryservice.constant.StorageConstants.*;
+import static com.san.libraryservice.constant.LogConstants.STORAGE_LOG_TRUNCATED;
+import static com.san.libraryservice.constant.LogConstants.STORAGE_RECOVERED;
+import static com.san.libraryservice.constant.LogConstants.STORAGE_SNAPSHOT_UNREADABLE;
+import static com.san.libraryservice.constant.LogConstants.STORAGE_SNAPSHOT_WRITTEN;
+
+/**
+ * An embedded, in-memory row store with a write-ahead log and periodic snapshots.
+ * <p>
+ * Each {@link Table} is a {@link LongObjectMap} from row ID to the row encoded as a byte array, so a row
+ * costs one array rather than an entity graph. Writes made inside a transaction stay on the calling
+ * thread until commit, when they are appended to the log as one entry and then applied to the tables
+ * and their {@link Index indexes}. Commits are serialized; readers only wait while a commit is applied.
+ * </p>
+ * <p>
+ * A snapshot writes every table to a new file and starts a new log, after which older snapshots and
+ * logs are deleted. On startup the newest readable snapshot is loaded and the logs are replayed on top
+ * of it; an incomplete entry at the end of the last log, left by a crash mid-write, is cut off.
+ * </p>
+ *
+ * @author Supunsan
+ */
+@Slf4j
+public class StorageEngine implements Closeable {
+
+    /**
+     * A secondary index over one table, kept up to date as commits are applied.
+     * Updates happen under the engine's write lock, so lookups must go through {@link #read}.
+     */
+    @FunctionalInterface
+    public interface Index {
+
+        /**
+         * Reflects a change to a row.
+         *
+         * @param id       the ID of the row
+         * @param previous the row before the change, or null if it was inserted
+         * @param current  the row after the change, or null if it was deleted
+         * @author Supunsan
+         */
+        void update(long id, byte[] previous, byte[] current);
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Map<Table, LongObjectMap<byte[]>> tables = new EnumMap<>(Table.class);
+    private final Map<Table, AtomicLong> sequences = new EnumMap<>(Table.class);
+    private final Map<Table, List<Index>> indexes = new EnumMap<>(Table.class);
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock();
+    private final Lock commitLock = new ReentrantLock();
+    private final ThreadLocal<StorageTransaction> transaction = new ThreadLocal<>();
+
+    private WriteAheadLog writeAheadLog;
+    private long lastCommit;
+    private volatile long lastSnapshot;
+
+    /**
+     * Opens the store in the directory, recovering any data left by a previous run.
+     *
+     * @param directory the directory for snapshots and logs, created if missing
+     * @param fsync     whether each commit is forced to the device before it returns
+     * @throws IOException if the directory cannot be read or a log is damaged before its end
+     * @author Supunsan
+     */
+    public StorageEngine(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        for (Table table : Table.values()) {
+            tables.put(table, new LongObjectMap<>());
+            sequences.put(table, new AtomicLong());
+            indexes.put(table, new CopyOnWriteArrayList<>());
+        }
+        recover();
+    }
+
+    /**
+     * Adds an index to a table and fills it from the rows already committed.
+     *
+     * @param table the table to index
+     * @param index the index
+     * @author Supunsan
+     */
+    public void register(Table table, Index index) {
+        tableLock.writeLock().lock();
+        try {
+            tables.get(table).forEach((id, row) -> index.update(id, null, row));
+            indexes.get(table).add(index);
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Allocates a new row ID. IDs of rolled back inserts are not reused.
+     *
+     * @param table the table
+     * @return the next ID
+     * @author Supunsan
+     */
+    public long nextId(Table table) {
+        return sequences.get(table).incrementAndGet();
+    }
+
+    /**
+     * Reads a row, including the current transaction's own uncommitted writes.
+     *
+     * @param table the table
+     * @param id    the ID of the row
+     * @return the encoded row, or null if it does not exist
+     * @author Supunsan
+     */
+    public byte[] get(Table table, long id) {
+        StorageTransaction current = transaction.get();
+        if (current != null) {
+            Operation write = current.latest(table, id);
+            if (write != null) {
+                return write.record();
+            }
+        }
+        tableLock.readLock().lock();
+        try {
+            return tables.get(table).get(id);
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces a row. Outside a transaction the write is committed immediately.
+     *
+     * @param table the table
+     * @param id    the ID of the row
+     * @param row   the encoded row, which must not be modified afterwards
+     * @author Supunsan
+     */
+    public void put(Table table, long id, byte[] row) {
+        write(new Operation(table, id, row));
+    }
+
+    /**
+     * Deletes a row. Outside a transaction the delete is committed immediately.
+     *
+     * @param table the table
+     * @param id    the ID of the row
+     * @author Supunsan
+     */
+    public void delete(Table table, long id) {
+        write(new Operation(table, id, null));
+    }
+
+    /**
+     * Visits every row of the table in ascending ID order, including the current transaction's
+     * own uncommitted writes.
+     *
+     * @param table   the table
+     * @param visitor receives each ID and encoded row
+     * @author Supunsan
+     */
+    public void scan(Table table, LongObjectMap.Visitor<byte[]> visitor) {
+        long[] ids;
+        byte[][] rows;
+        tableLock.readLock().lock();
+        try {
+            LongObjectMap<byte[]> committed = tables.get(table);
+            ids = committed.sortedKeys();
+            rows = new byte[ids.length][];
+            for (int i = 0; i < ids.length; i++) {
+                rows[i] = committed.get(ids[i]);
+            }
+        } finally {
+            tableLock.readLock().unlock();
+        }
+
+        StorageTransaction current = transaction.get();
+        LongObjectMap<Operation> writes = current == null ? null : current.latest(table);
+        if (writes == null) {
+            for (int i = 0; i < ids.length; i++) {
+                visitor.visit(ids[i], rows[i]);
+            }
+            return;
+        }
+
+        // Merge the committed rows with the transaction's writes, both in ID order
+        long[] written = writes.sortedKeys();
+        int next = 0;
+        for (int i = 0; i < ids.length; i++) {
+            while (next < written.length && written[next] < ids[i]) {
+                visitWrite(writes.get(written[next++]), visitor);
+            }
+            if (next < written.length && written[next] == ids[i]) {
+                visitWrite(writes.get(written[next++]), visitor);
+            } else {
+                visitor.visit(ids[i], rows[i]);
+            }
+        }
+        while (next < written.length) {
+            visitWrite(writes.get(written[next++]), visitor);
+        }
+    }
+
+    /**
+     * Counts the rows of the table, including the current transaction's own uncommitted writes.
+     *
+     * @param table the table
+     * @return the number of rows
+     * @author Supunsan
+     */
+    public long count(Table table) {
+        StorageTransaction current = transaction.get();
+        if (current == null || current.latest(table) == null) {
+            return read(() -> (long) tables.get(table).size());
+        }
+        long[] count = new long[1];
+        scan(table, (id, row) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Runs an index lookup against the committed state. Uncommitted writes of the current transaction
+     * are not in the indexes, so callers should re-check the rows they find with {@link #get}.
+     *
+     * @param lookup the lookup
+     * @param <T>    the result type
+     * @return the result of the lookup
+     * @author Supunsan
+     */
+    public <T> T read(Supplier<T> lookup) {
+        tableLock.readLock().lock();
+        try {
+            return lookup.get();
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a transaction on the current thread.
+     *
+     * @throws IllegalStateException if the thread already has one
+     * @author Supunsan
+     */
+    public void begin() {
+        if (transaction.get() != null) {
+            throw new IllegalStateException("A storage transaction is already active on this thread");
+        }
+        transaction.set(new StorageTransaction());
+    }
+
+    public boolean inTransaction() {
+        return transaction.get() != null;
+    }
+
+    /**
+     * Marks the current transaction so that it can only roll back.
+     *
+     * @author Supunsan
+     */
+    public void setRollbackOnly() {
+        currentTransaction().setRollbackOnly();
+    }
+
+    public boolean isRollbackOnly() {
+        StorageTransaction current = transaction.get();
+        return current != null && current.isRollbackOnly();
+    }
+
+    /**
+     * Commits the current transaction: its writes are appended to the log as one entry and then
+     * made visible to other threads. The transaction ends even if the log cannot be written.
+     *
+     * @throws UncheckedIOException if the log cannot be written, in which case nothing is applied
+     * @author Supunsan
+     */
+    public void commit() {
+        StorageTransaction current = currentTransaction();
+        transaction.remove();
+        if (current.isRollbackOnly()) {
+            throw new IllegalStateException("The storage transaction is marked rollback-only");
+        }
+        if (!current.operations().isEmpty()) {
+            commit(current.operations());
+        }
+    }
+
+    /**
+     * Discards the current transaction's writes, if the thread has a transaction.
+     *
+     * @author Supunsan
+     */
+    public void rollback() {
+        transaction.remove();
+    }
+
+    /**
+     * Detaches the current transaction from the thread so that another can run.
+     *
+     * @return the detached transaction, or null if there was none
+     * @author Supunsan
+     */
+    public Object suspend() {
+        StorageTransaction current = transaction.get();
+        transaction.remove();
+        return current;
+    }
+
+    /**
+     * Reattaches a transaction detached by {@link #suspend}.
+     *
+     * @param suspended the detached transaction, or null
+     * @author Supunsan
+     */
+    public void resume(Object suspended) {
+        if (suspended != null) {
+            transaction.set((StorageTransaction) suspended);
+        }
+    }
+
+    /**
+     * Writes all committed rows to a new snapshot and starts a new log, then deletes the snapshots
+     * and logs it replaces. Commits wait only while the tables are copied, not while the file is written.
+     *
+     * @throws IOException if the snapshot cannot be written; the previous snapshot and logs are kept
+     * @author Supunsan
+     */
+    public synchronized void snapshot() throws IOException {
+        long sequence;
+        Map<Table, long[]> ids = new EnumMap<>(Table.class);
+        Map<Table, byte[][]> rows = new EnumMap<>(Table.class);
+        Map<Table, Long> nextIds = new EnumMap<>(Table.class);
+
+        commitLock.lock();
+        try {
+            if (lastCommit == lastSnapshot) {
+                return;
+            }
+            sequence = lastCommit;
+            tableLock.readLock().lock();
+            try {
+                for (Table table : Table.values()) {
+                    LongObjectMap<byte[]> committed = tables.get(table);
+                    long[] tableIds = committed.sortedKeys();
+                    byte[][] tableRows = new byte[tableIds.length][];
+                    for (int i = 0; i < tableIds.length; i++) {
+                        tableRows[i] = committed.get(tableIds[i]);
+                    }
+                    ids.put(table, tableIds);
+                    rows.put(table, tableRows);
+                    nextIds.put(table, sequences.get(table).get());
+                }
+            } finally {
+                tableLock.readLock().unlock();
+            }
+            writeAheadLog.close();
+            writeAheadLog = WriteAheadLog.open(logFile(sequence + 1), fsync);
+        } finally {
+            commitLock.unlock();
+        }
+
+        Path snapshot = directory.resolve(SNAPSHOT_NAME_FORMAT.formatted(sequence));
+        Path temp = directory.resolve(snapshot.getFileName() + TEMP_SUFFIX);
+        writeSnapshot(temp, sequence, ids, rows, nextIds);
+        Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE);
+        lastSnapshot = sequence;
+
+        for (Path older : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (sequenceOf(older, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < sequence) {
+                Files.delete(older);
+            }
+        }
+        for (Path older : list(LOG_PREFIX, LOG_SUFFIX)) {
+            if (sequenceOf(older, LOG_PREFIX, LOG_SUFFIX) <= sequence) {
+                Files.delete(older);
+            }
+        }
+        log.info(STORAGE_SNAPSHOT_WRITTEN, sequence, ids.values().stream().mapToInt(tableIds -> tableIds.length).sum());
+    }
+
+    /**
+     * Takes a final snapshot so the next start does not replay the log, then closes the log.
+     *
+     * @throws IOException if the snapshot or the log cannot be written
+     * @author Supunsan
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            snapshot();
+        } finally {
+            writeAheadLog.close();
+        }
+    }
+
+    private StorageTransaction currentTransaction() {
+        StorageTransaction current = transaction.get();
+        if (current == null) {
+            throw new IllegalStateException("No storage transaction is active on this thread");
+        }
+        return current;
+    }
+
+    private void write(Operation operation) {
+        StorageTransaction current = transaction.get();
+        if (current != null) {
+            current.add(operation);
+        } else {
+            commit(List.of(operation));
+        }
+    }
+
+    private void commit(List<Operation> operations) {
+        commitLock.lock();
+        try {
+            writeAheadLog.append(lastCommit + 1, operations);
+            lastCommit++;
+            tableLock.writeLock().lock();
+            try {
+                operations.forEach(this::apply);
+            } finally {
+                tableLock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void apply(Operation operation) {
+        LongObjectMap<byte[]> table = tables.get(operation.table());
+        byte[] previous = operation.record() == null
+                ? table.remove(operation.id())
+                : table.put(operation.id(), operation.record());
+        sequences.get(operation.table()).accumulateAndGet(operation.id(), Math::max);
+        for (Index index : indexes.get(operation.table())) {
+            index.update(operation.id(), previous, operation.record());
+        }
+    }
+
+    private static void visitWrite(Operation write, LongObjectMap.Visitor<byte[]> visitor) {
+        if (write.record() != null) {
+            visitor.visit(write.id(), write.record());
+        }
+    }
+
+    /**
+     * Loads the newest readable snapshot and replays the logs written after it.
+     *
+     * @throws IOException if the directory cannot be read, or a log is damaged anywhere but at its end
+     * @author Supunsan
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        for (Path temp : list("", TEMP_SUFFIX)) {
+            Files.delete(temp);
+        }
+
+        List<Path> snapshots = new ArrayList<>(list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                readSnapshot(snapshots.get(i));
+                break;
+            } catch (IOException | RuntimeException e) {
+                log.warn(STORAGE_SNAPSHOT_UNREADABLE, snapshots.get(i).getFileName(), e.getMessage());
+                for (Table table : Table.values()) {
+                    tables.put(table, new LongObjectMap<>());
+                    sequences.get(table).set(0);
+                }
+                lastSnapshot = 0;
+            }
+        }
+        lastCommit = lastSnapshot;
+
+        List<Path> logs = list(LOG_PREFIX, LOG_SUFFIX);
+        long[] replayed = new long[1];
+        for (int i = 0; i < logs.size(); i++) {
+            Path file = logs.get(i);
+            long valid = WriteAheadLog.read(file, entry -> {
+                if (replay(entry)) {
+                    replayed[0]++;
+                }
+            });
+            if (valid < Files.size(file)) {
+                if (i < logs.size() - 1) {
+                    throw new IOException("Storage log " + file + " is damaged at byte " + valid);
+                }
+                log.warn(STORAGE_LOG_TRUNCATED, file.getFileName(), valid);
+                WriteAheadLog.truncate(file, valid);
+            }
+        }
+
+        writeAheadLog = WriteAheadLog.open(logs.isEmpty() ? logFile(lastCommit + 1) : logs.get(logs.size() - 1), fsync);
+        log.info(STORAGE_RECOVERED, lastCommit, lastSnapshot, replayed[0]);
+    }
+
+    private boolean replay(Entry entry) {
+        if (entry.sequence() <= lastCommit) {
+            return false;
+        }
+        if (entry.sequence() != lastCommit + 1) {
+            throw new IllegalStateException("Storage log is missing commits " + (lastCommit + 1)
+                    + " to " + (entry.sequence() - 1));
+        }
+        entry.operations().forEach(this::apply);
+        lastCommit = entry.sequence();
+        return true;
+    }
+
+    /**
+     * Snapshot layout: {@code [int magic][long sequence][int tables]}, then per table
+     * {@code [byte table][long next id][int rows]} and each row as {@code [long id][int length][bytes]},
+     * then a CRC-32 of everything before it.
+     */
+    private void writeSnapshot(Path file, long sequence, Map<Table, long[]> ids, Map<Table, byte[][]> rows,
+                               Map<Table, Long> nextIds) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(stream), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(Table.values().length);
+            for (Table table : Table.values()) {
+                long[] tableIds = ids.get(table);
+                byte[][] tableRows = rows.get(table);
+                out.writeByte(table.code());
+                out.writeLong(nextIds.get(table));
+                out.writeInt(tableIds.length);
+                for (int i = 0; i < tableIds.length; i++) {
+                    out.writeLong(tableIds[i]);
+                    out.writeInt(tableRows[i].length);
+                    out.write(tableRows[i]);
+                }
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    private void readSnapshot(Path file) throws IOException {
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), new CRC32())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a storage snapshot");
+            }
+            long sequence = in.readLong();
+            int tables = in.readInt();
+            for (int t = 0; t < tables; t++) {
+                Table table = Table.of(in.readByte());
+                long nextId = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long id = in.readLong();
+                    byte[] row = new byte[in.readInt()];
+                    in.readFully(row);
+                    apply(new Operation(table, id, row));
+                }
+                sequences.get(table).accumulateAndGet(nextId, Math::max);
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Checksum mismatch");
+            }
+            lastSnapshot = sequence;
+        }
+    }
+
+    private Path logFile(long firstSequence) {
+        return directory.resolve(LOG_NAME_FORMAT.formatted(firstSequence));
+    }
+
+    private static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    /**
+     * Lists the files in the storage directory with the given prefix and suffix, sorted by name
+     * and so by sequence.
+     */
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.storage.WriteAheadLog.Operation;
+import com.san.libraryservice.util.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The uncommitted writes of one {@link StorageEngine} transaction, kept on the thread that made them.
+ * Nothing reaches the tables or the write-ahead log until the transaction commits.
+ *
+ * @author Supunsan
+ */
+final class StorageTransaction {
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final Map<Table, LongObjectMap<Operation>> latest = new EnumMap<>(Table.class);
+    private boolean rollbackOnly;
+
+    void add(Operation operation) {
+        operations.add(operation);
+        latest.computeIfAbsent(operation.table(), table -> new LongObjectMap<>()).put(operation.id(), operation);
+    }
+
+    /**
+     * Returns this transaction's last write to the row.
+     *
+     * @param table the table of the row
+     * @param id    the ID of the row
+     * @return the last write, or null if the transaction has not written the row
+     * @author Supunsan
+     */
+    Operation latest(Table table, long id) {
+        LongObjectMap<Operation> writes = latest.get(table);
+        return writes == null ? null : writes.get(id);
+    }
+
+    /**
+     * Returns this transaction's last write to each row of the table.
+     *
+     * @param table the table
+     * @return the writes keyed by row ID, or null if the transaction has not written the table
+     * @author Supunsan
+     */
+    LongObjectMap<Operation> latest(Table table) {
+        return latest.get(table);
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+}
@@ -0,0 +1,93 @@
+package com.san.libraryservice.storage;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Runs {@code @Transactional} service methods as {@link StorageEngine} transactions, in place of the
+ * JPA transaction manager. Propagation, including suspending a transaction for {@code REQUIRES_NEW},
+ * and transaction synchronization are handled by {@link AbstractPlatformTransactionManager}.
+ *
+ * @author Supunsan
+ */
+public class StorageTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final transient StorageEngine engine;
+
+    public StorageTransactionManager(StorageEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * The transaction handle passed between the template methods.
+     */
+    private static final class StorageTransactionObject implements SmartTransactionObject {
+
+        private final StorageEngine engine;
+        private final boolean existing;
+
+        private StorageTransactionObject(StorageEngine engine, boolean existing) {
+            this.engine = engine;
+            this.existing = existing;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return engine.isRollbackOnly();
+        }
+
+        @Override
+        public void flush() {
+            // Nothing is buffered outside the engine transaction
+        }
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new StorageTransactionObject(engine, engine.inTransaction());
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((StorageTransactionObject) transaction).existing;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        engine.begin();
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        return engine.suspend();
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        engine.resume(suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        try {
+            engine.commit();
+        } catch (UncheckedIOException e) {
+            throw new TransactionSystemException("Could not write the storage log", e);
+        }
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        engine.rollback();
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        engine.setRollbackOnly();
+    }
+}
@@ -0,0 +1,45 @@
+package com.san.libraryservice.storage;
+
+/**
+ * The tables held by the {@link StorageEngine}. The code identifies the table in the write-ahead log
+ * and snapshots, so existing codes must never change.
+ *
+ * @author Supunsan
+ */
+public enum Table {
+
+    BOOK(1),
+    BORROWER(2),
+    BORROW_RECORD(3),
+    LOAN_EVENT(4),
+    LEDGER_STATE(5),
+    CATALOG_VIEW(6),
+    BOOK_TITLE(7);
+
+    private final byte code;
+
+    Table(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Returns the table with the given code.
+     *
+     * @param code the code read from the log or a snapshot
+     * @return the matching table
+     * @throws IllegalArgumentException if no table has the code
+     * @author Supunsan
+     */
+    public static Table of(byte code) {
+        for (Table table : values()) {
+            if (table.code == code) {
+                return table;
+            }
+        }
+        throw new IllegalArgumentException("Unknown table code: " + code);
+    }
+}
@@ -0,0 +1,203 @@
+package com.san.libraryservice.storage;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of committed {@link StorageEngine} transactions.
+ * <p>
+ * Each entry is {@code [int length][int crc32][long sequence][int count]} followed by {@code count}
+ * operations of {@code [byte table][long id][int length][bytes]}, a length of -1 marking a delete.
+ * The length and checksum cover everything after the checksum, so an entry torn by a crash is detected
+ * and dropped on recovery instead of being half applied.
+ * </p>
+ *
+ * @author Supunsan
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int ENTRY_FIXED_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int OPERATION_FIXED_BYTES = 1 + Long.BYTES + Integer.BYTES;
+    private static final int DELETED = -1;
+
+    /**
+     * A single row change.
+     *
+     * @param table  the table of the row
+     * @param id     the ID of the row
+     * @param record the encoded row, or null if the row is deleted
+     * @author Supunsan
+     */
+    record Operation(Table table, long id, byte[] record) {
+    }
+
+    /**
+     * The operations of one committed transaction.
+     *
+     * @param sequence   the commit sequence number
+     * @param operations the operations in the order they were made
+     * @author Supunsan
+     */
+    record Entry(long sequence, List<Operation> operations) {
+    }
+
+    private final FileChannel channel;
+    private final boolean fsync;
+
+    private WriteAheadLog(FileChannel channel, boolean fsync) {
+        this.channel = channel;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Opens the log for appending, creating it if it does not exist.
+     *
+     * @param file  the log file
+     * @param fsync whether each append is forced to the device before it returns
+     * @return the open log
+     * @throws IOException if the file cannot be opened
+     * @author Supunsan
+     */
+    static WriteAheadLog open(Path file, boolean fsync) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return new WriteAheadLog(channel, fsync);
+    }
+
+    /**
+     * Appends one transaction. If the write fails, the log is cut back to its previous end so later
+     * entries are not hidden behind a torn one.
+     *
+     * @param sequence   the commit sequence number
+     * @param operations the operations of the transaction
+     * @throws IOException if the entry cannot be written
+     * @author Supunsan
+     */
+    void append(long sequence, List<Operation> operations) throws IOException {
+        int length = ENTRY_FIXED_BYTES;
+        for (Operation operation : operations) {
+            length += OPERATION_FIXED_BYTES + (operation.record() == null ? 0 : operation.record().length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+        buffer.putInt(length).putInt(0).putLong(sequence).putInt(operations.size());
+        for (Operation operation : operations) {
+            buffer.put(operation.table().code()).putLong(operation.id());
+            if (operation.record() == null) {
+                buffer.putInt(DELETED);
+            } else {
+                buffer.putInt(operation.record().length).put(operation.record());
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, length);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        buffer.flip();
+
+        long end = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            channel.truncate(end);
+            channel.position(end);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the entries of a log in order, stopping at the end of the file or at the first entry that
+     * is incomplete or fails its checksum.
+     *
+     * @param file     the log file
+     * @param consumer receives each valid entry
+     * @return the byte length of the valid prefix of the file
+     * @throws IOException if the file cannot be read
+     * @author Supunsan
+     */
+    static long read(Path file, Consumer<Entry> consumer) throws IOException {
+        long size = Files.size(file);
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] body;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < ENTRY_FIXED_BYTES || valid + HEADER_BYTES + length > size) {
+                        return valid;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    return valid;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    return valid;
+                }
+                consumer.accept(decode(ByteBuffer.wrap(body)));
+                valid += HEADER_BYTES + length;
+            }
+        }
+    }
+
+    /**
+     * Cuts a log back to its valid prefix.
+     *
+     * @param file   the log file
+     * @param length the byte length to keep
+     * @throws IOException if the file cannot be truncated
+     * @author Supunsan
+     */
+    static void truncate(Path file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        }
+    }
+
+    private static Entry decode(ByteBuffer body) {
+        long sequence = body.getLong();
+        int count = body.getInt();
+        List<Operation> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Table table = Table.of(body.get());
+            long id = body.getLong();
+            int length = body.getInt();
+            byte[] record = null;
+            if (length != DELETED) {
+                record = new byte[length];
+                body.get(record);
+            }
+            operations.add(new Operation(table, id, record));
+        }
+        return new Entry(sequence, operations);
+    }
+}
@@ -0,0 +1,47 @@
+package com.san.libraryservice.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Times as microseconds since the epoch, the precision of the PostgreSQL timestamp columns. Used wherever
+ * times are written in binary form: storage engine rows, loan archive segments and ledger snapshots.
+ *
+ * @author Supunsan
+ */
+public final class EpochMicros {
+
+    /**
+     * Marks a null time.
+     */
+    public static final long NULL_TIME = Long.MIN_VALUE;
+
+    private EpochMicros() {
+    }
+
+    /**
+     * Converts a time to microseconds since the epoch, treating it as UTC.
+     *
+     * @param time the time to convert
+     * @return the microseconds since the epoch
+     * @author Supunsan
+     */
+    public static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    /**
+     * Converts microseconds since the epoch back to a time.
+     *
+     * @param micros the microseconds since the epoch, or {@link #NULL_TIME}
+     * @return the time, or null
+     * @author Supunsan
+     */
+    public static LocalDateTime toDateTime(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,195 @@
+package com.san.libraryservice.util;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from {@code long} keys to values, without boxing the keys.
+ * <p>
+ * Keys must not be zero, which marks an empty slot; entity ids start at one. Collisions are resolved
+ * by linear probing and removals shift later entries back, so no tombstones accumulate.
+ * Not thread-safe; the owner serializes access.
+ * </p>
+ *
+ * @param <V> the value type
+ * @author Supunsan
+ */
+public final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public LongObjectMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    @FunctionalInterface
+    public interface Visitor<V> {
+        void visit(long key, V value);
+    }
+
+    /**
+     * Returns the value for the key.
+     *
+     * @param key the non-zero key
+     * @return the value, or null if the key is absent
+     * @author Supunsan
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   the non-zero key
+     * @param value the value
+     * @return the previous value, or null if the key was absent
+     * @author Supunsan
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key must not be zero");
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key the key
+     * @return the removed value, or null if the key was absent
+     * @author Supunsan
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits every entry in slot order.
+     *
+     * @param visitor receives each key and value
+     * @author Supunsan
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitor<? super V> visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                visitor.visit(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys in ascending order.
+     *
+     * @return a new array of the keys
+     * @author Supunsan
+     */
+    public long[] sortedKeys() {
+        long[] sorted = new long[size];
+        int next = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                sorted[next++] = key;
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    /**
+     * Empties the slot and moves later entries of the same probe run back into the gap.
+     *
+     * @param gap the slot being emptied
+     * @author Supunsan
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            int home = slot(key);
+            // Move the entry if its home slot is not between the gap and its current slot
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity * 3 / 4;
+    }
+}
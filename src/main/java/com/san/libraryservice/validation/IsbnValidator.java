@@ -4,7 +4,6 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * IsbnValidator is a custom constraint validator for validating ISBN-10 and ISBN-13 formats.
@@ -12,54 +11,103 @@ import java.util.regex.Pattern;
  * This validator:
  * - Accepts both ISBN-10 and ISBN-13 inputs with optional spaces or hyphens.
  * - Ignores blank or null values (validation is skipped for optional fields).
- * - Normalizes input by removing whitespace and hyphens before validation.
+ * - Skips whitespace and hyphens while scanning instead of building a normalized copy.
  * - Uses standard checksum algorithms to validate ISBN integrity.
+ * - Validates and normalizes in a single pass without regular expressions or allocation.
  *
  * @author Supunsan
  */
 
 public class IsbnValidator implements ConstraintValidator<Isbn, String> {
 
-    private static final Pattern ISBN_10_PATTERN = Pattern.compile("\\d{9}[\\dXx]");
-    private static final Pattern ISBN_13_PATTERN = Pattern.compile("\\d{13}");
+    /**
+     * Returned by {@link #toIsbn13(CharSequence)} when the input is not a valid ISBN.
+     */
+    public static final long INVALID_ISBN = -1L;
+
+    private static final long ISBN_13_BOOKLAND_PREFIX = 978_000_000_000L;
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
         if (Objects.isNull(value) || value.isBlank()) return true;
 
-        String isbn = value.replaceAll("[\\s-]", "");
-
-        return switch (isbn.length()) {
-            case 10 -> isValidIsbn10(isbn);
-            case 13 -> isValidIsbn13(isbn);
-            default -> false;
-        };
+        return toIsbn13(value) != INVALID_ISBN;
     }
 
-    private boolean isValidIsbn10(String isbn) {
-        if (!ISBN_10_PATTERN.matcher(isbn).matches()) return false;
+    /**
+     * Validates an ISBN-10 or ISBN-13 and converts it to its canonical ISBN-13 number.
+     * <p>
+     * Spaces and hyphens are skipped, an ISBN-10 may end with {@code X} or {@code x},
+     * and ISBN-10 values are converted by prefixing {@code 978} and recomputing the check digit.
+     * </p>
+     *
+     * @param value the ISBN to validate, with or without separators
+     * @return the 13-digit ISBN as a long, or {@link #INVALID_ISBN} if the value is not a valid ISBN
+     * @author Supunsan
+     */
+    public static long toIsbn13(CharSequence value) {
+        long digits = 0;
+        int count = 0;
+        int isbn10Sum = 0;
+        int isbn13Sum = 0;
+        boolean checkX = false;
 
-        int sum = 0;
-        for (int i = 0; i < 9; i++) {
-            sum += Character.getNumericValue(isbn.charAt(i)) * (10 - i);
-        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '-' || isRegexWhitespace(c)) continue;
 
-        char checkChar = isbn.charAt(9);
-        int checkValue = (checkChar == 'X' || checkChar == 'x') ? 10 : Character.getNumericValue(checkChar);
+            if (c >= '0' && c <= '9') {
+                if (checkX || count == 13) return INVALID_ISBN;
+                int digit = c - '0';
+                digits = digits * 10 + digit;
+                isbn10Sum += digit * (10 - count);
+                isbn13Sum += (count % 2 == 0) ? digit : digit * 3;
+                count++;
+            } else if ((c == 'X' || c == 'x') && count == 9) {
+                checkX = true;
+                isbn10Sum += 10;
+                count++;
+            } else {
+                return INVALID_ISBN;
+            }
+        }
 
-        return (sum + checkValue) % 11 == 0;
+        return switch (count) {
+            case 10 -> isbn10Sum % 11 == 0 ? isbn10ToIsbn13(checkX ? digits : digits / 10) : INVALID_ISBN;
+            case 13 -> isbn13Sum % 10 == 0 ? digits : INVALID_ISBN;
+            default -> INVALID_ISBN;
+        };
     }
 
-    private boolean isValidIsbn13(String isbn) {
-        if (!ISBN_13_PATTERN.matcher(isbn).matches()) return false;
+    /**
+     * Converts the nine significant digits of an ISBN-10 to an ISBN-13 with the 978 prefix.
+     *
+     * @param isbn10Body the first nine digits of the ISBN-10
+     * @return the 13-digit ISBN including its check digit
+     * @author Supunsan
+     */
+    private static long isbn10ToIsbn13(long isbn10Body) {
+        long prefix = ISBN_13_BOOKLAND_PREFIX + isbn10Body;
 
         int sum = 0;
-        for (int i = 0; i < 12; i++) {
-            int digit = Character.getNumericValue(isbn.charAt(i));
-            sum += digit * ((i % 2 == 0) ? 1 : 3);
+        long remaining = prefix;
+        for (int position = 11; position >= 0; position--) {
+            int digit = (int) (remaining % 10);
+            sum += (position % 2 == 0) ? digit : digit * 3;
+            remaining /= 10;
         }
 
-        int checkDigit = (10 - (sum % 10)) % 10;
-        return checkDigit == Character.getNumericValue(isbn.charAt(12));
+        return prefix * 10 + (10 - (sum % 10)) % 10;
+    }
+
+    /**
+     * Matches the characters of the {@code \s} regular expression class.
+     *
+     * @param c the character to check
+     * @return true if the character is an ASCII whitespace character
+     * @author Supunsan
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 }
@@ -4,30 +4,77 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * NameValidator is a custom Jakarta Bean Validation constraint validator
  * used to ensure that name fields conform to a valid format.
  * <p>
  * Validation Rules:
- * - Allows only alphabetic characters, spaces, hyphens, and apostrophes.
+ * - Allows only letters (including accented and non-Latin letters), spaces, hyphens, and apostrophes.
+ * - Must start and end with a letter; combining accents are accepted directly after a letter.
  * - Disallows digits, special characters, or symbols not typically found in names.
- * - Enforces a reasonable length (e.g., 2 to 50 characters).
+ * - Enforces a reasonable length (e.g., 3 to 50 characters), ignoring leading and trailing whitespace.
+ * - Scans the value once by code point without trimming or regular expressions.
  *
  * @author Supunsan
  */
 
 public class NameValidator implements ConstraintValidator<ValidName, String> {
 
-    private static final Pattern NAME_PATTERN = Pattern.compile("^[A-Za-z][A-Za-z\\s'\\-]{1,48}[A-Za-z]$");
+    private static final int MIN_LENGTH = 3;
+    private static final int MAX_LENGTH = 50;
 
     @Override
     public boolean isValid(String name, ConstraintValidatorContext context) {
         if (Objects.isNull(name) || name.isBlank()) {
             return true;
         }
-        return NAME_PATTERN.matcher(name.trim()).matches();
+
+        int start = 0;
+        int end = name.length();
+        while (start < end && name.charAt(start) <= ' ') start++;
+        while (end > start && name.charAt(end - 1) <= ' ') end--;
+
+        int length = 0;
+        boolean previousIsLetter = false;
+        for (int i = start; i < end; ) {
+            int codePoint = name.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            boolean isLetter = Character.isLetter(codePoint) || (previousIsLetter && isCombiningMark(codePoint));
+            if (!isLetter && (length == 0 || !isNamePunctuation(codePoint))) {
+                return false;
+            }
+
+            previousIsLetter = isLetter;
+            if (++length > MAX_LENGTH) {
+                return false;
+            }
+        }
+        return length >= MIN_LENGTH && previousIsLetter;
+    }
+
+    /**
+     * Checks whether the code point is a combining mark, such as a decomposed accent.
+     *
+     * @param codePoint the code point to check
+     * @return true if the code point is a non-spacing or combining spacing mark
+     * @author Supunsan
+     */
+    private static boolean isCombiningMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
     }
-}
 
+    /**
+     * Checks whether the code point is one of the separators allowed between name parts.
+     *
+     * @param codePoint the code point to check
+     * @return true for whitespace, hyphens and apostrophes
+     * @author Supunsan
+     */
+    private static boolean isNamePunctuation(int codePoint) {
+        return codePoint == ' ' || codePoint == '\'' || codePoint == '-' || codePoint == '\t'
+                || codePoint == '\n' || codePoint == '\u000B' || codePoint == '\f' || codePoint == '\r';
+    }
+}
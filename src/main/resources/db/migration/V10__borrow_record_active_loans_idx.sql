@@ -0,0 +1,10 @@
+-- Borrow and return no longer look up active loans by book or borrower in borrow_record: the loan ledger
+-- decides both, so the V2/V3 partial indexes only slow down the read model's inserts.
+DROP INDEX IF EXISTS borrow_record_active_book_idx;
+DROP INDEX IF EXISTS borrow_record_active_borrower_book_idx;
+
+-- The fine calculation walks unreturned loans by id range, and the partition job checks a partition for
+-- unreturned loans before detaching it. Created on the parent, so every partition gets it.
+CREATE INDEX IF NOT EXISTS borrow_record_active_id_idx
+    ON borrow_record (id)
+    WHERE returned_at IS NULL;
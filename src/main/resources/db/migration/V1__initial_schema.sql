@@ -0,0 +1,68 @@
+-- Schema as previously generated by Hibernate from the entities in com.san.libraryservice.model.
+-- Existing databases are baselined at version 0 (spring.flyway.baseline-on-migrate), so this migration
+-- also runs on them: every statement is idempotent and brings a Hibernate-generated schema up to date.
+
+CREATE TABLE IF NOT EXISTS book (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    isbn       VARCHAR(255),
+    title      VARCHAR(255),
+    author     VARCHAR(255),
+    available  BOOLEAN      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS borrower (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    name       VARCHAR(255),
+    email      VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS borrow_record (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    borrower_id BIGINT       NOT NULL REFERENCES borrower (id),
+    book_id     BIGINT       NOT NULL REFERENCES book (id),
+    borrowed_at TIMESTAMP(6),
+    due_at      TIMESTAMP(6),
+    returned_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS fine (
+    borrow_record_id BIGINT PRIMARY KEY,
+    days_overdue     INTEGER      NOT NULL,
+    amount           NUMERIC(10, 2),
+    calculated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS job_checkpoint (
+    job_name       VARCHAR(255) PRIMARY KEY,
+    last_record_id BIGINT       NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+-- Columns and constraints of the earlier Hibernate schema. A book could only ever have one borrow
+-- record, which Hibernate enforced with a unique constraint on book_id under a generated name.
+ALTER TABLE borrow_record ADD COLUMN IF NOT EXISTS due_at TIMESTAMP(6);
+
+DO $$
+DECLARE
+    legacy_constraint NAME;
+BEGIN
+    FOR legacy_constraint IN
+        SELECT c.conname
+        FROM pg_constraint c
+        WHERE c.conrelid = 'borrow_record'::regclass
+          AND c.contype = 'u'
+          AND c.conkey = ARRAY[(SELECT a.attnum
+                                FROM pg_attribute a
+                                WHERE a.attrelid = 'borrow_record'::regclass
+                                  AND a.attname = 'book_id')]
+    LOOP
+        EXECUTE format('ALTER TABLE borrow_record DROP CONSTRAINT %I', legacy_constraint);
+    END LOOP;
+END
+$$;
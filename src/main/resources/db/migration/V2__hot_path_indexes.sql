@@ -0,0 +1,16 @@
+-- Indexes for the queries on the borrow/return and book registration paths.
+
+-- BorrowRecordRepository.existsByBookIdAndReturnedAtIsNull: only active loans are ever searched,
+-- so the index stays as small as the number of books currently out.
+CREATE INDEX IF NOT EXISTS borrow_record_active_book_idx
+    ON borrow_record (book_id)
+    WHERE returned_at IS NULL;
+
+-- BorrowRecordRepository.findByBorrowerIdAndBookIdAndReturnedAtIsNull
+CREATE INDEX IF NOT EXISTS borrow_record_active_borrower_book_idx
+    ON borrow_record (borrower_id, book_id)
+    WHERE returned_at IS NULL;
+
+-- BookRepository.findFirstByIsbn. Not unique: ISBN conflicts are resolved by BookServiceImpl.
+CREATE INDEX IF NOT EXISTS book_isbn_idx
+    ON book (isbn);
@@ -0,0 +1,71 @@
+-- Partitions borrow_record by borrowed_at month. A partitioned table's primary key must include the
+-- partition key, so it becomes (id, borrowed_at); ids still come from a single sequence and stay unique.
+-- Identity columns are not supported on partitioned tables before PostgreSQL 17, hence the plain sequence.
+
+ALTER TABLE borrow_record RENAME TO borrow_record_legacy;
+ALTER TABLE borrow_record_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+DROP INDEX IF EXISTS borrow_record_active_book_idx;
+DROP INDEX IF EXISTS borrow_record_active_borrower_book_idx;
+
+CREATE SEQUENCE borrow_record_id_seq;
+
+CREATE TABLE borrow_record (
+    id          BIGINT       NOT NULL DEFAULT nextval('borrow_record_id_seq'),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    borrower_id BIGINT       NOT NULL REFERENCES borrower (id),
+    book_id     BIGINT       NOT NULL REFERENCES book (id),
+    borrowed_at TIMESTAMP(6) NOT NULL,
+    due_at      TIMESTAMP(6),
+    returned_at TIMESTAMP(6),
+    PRIMARY KEY (id, borrowed_at)
+) PARTITION BY RANGE (borrowed_at);
+
+ALTER SEQUENCE borrow_record_id_seq OWNED BY borrow_record.id;
+
+-- Catches rows outside every monthly partition. PartitionMaintenanceJob creates partitions ahead of
+-- time so this stays empty; a new partition cannot be attached while it holds rows in that range.
+CREATE TABLE borrow_record_default PARTITION OF borrow_record DEFAULT;
+
+-- Indexes on the parent are created on every partition, including future ones
+CREATE INDEX borrow_record_active_book_idx
+    ON borrow_record (book_id)
+    WHERE returned_at IS NULL;
+
+CREATE INDEX borrow_record_active_borrower_book_idx
+    ON borrow_record (borrower_id, book_id)
+    WHERE returned_at IS NULL;
+
+-- Partitions detached by the retention policy are moved here instead of being dropped
+CREATE SCHEMA IF NOT EXISTS borrow_record_archive;
+
+-- Creates the partition for the month containing the given date, returns false if it already exists
+CREATE FUNCTION create_borrow_record_partition(month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month);
+    partition_name TEXT := 'borrow_record_p' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF borrow_record FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_start + INTERVAL '1 month');
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for the existing history and the next three months
+SELECT create_borrow_record_partition(month::DATE)
+FROM generate_series(
+        date_trunc('month', COALESCE((SELECT MIN(COALESCE(borrowed_at, created_at)) FROM borrow_record_legacy),
+                                     now())),
+        date_trunc('month', now()) + INTERVAL '3 months',
+        INTERVAL '1 month') AS month;
+
+INSERT INTO borrow_record (id, created_at, updated_at, borrower_id, book_id, borrowed_at, due_at, returned_at)
+SELECT id, created_at, updated_at, borrower_id, book_id, COALESCE(borrowed_at, created_at), due_at, returned_at
+FROM borrow_record_legacy;
+
+SELECT setval('borrow_record_id_seq', COALESCE((SELECT MAX(id) FROM borrow_record), 0) + 1, false);
+
+DROP TABLE borrow_record_legacy;
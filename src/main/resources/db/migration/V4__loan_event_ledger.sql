@@ -0,0 +1,58 @@
+-- Append-only loan ledger, the source of truth for which books are on loan. borrow_record and
+-- book.available become read models maintained from it by LoanLedgerJob.
+
+-- Allocated separately from the insert so the append is portable; a borrow's sequence is also the ID
+-- of its borrow_record row, so it must stay above every ID taken from borrow_record_id_seq.
+CREATE SEQUENCE loan_event_sequence_seq;
+
+CREATE TABLE loan_event (
+    sequence     BIGINT       PRIMARY KEY,
+    type         VARCHAR(32)  NOT NULL,
+    book_id      BIGINT       NOT NULL REFERENCES book (id),
+    book_version INTEGER      NOT NULL,
+    borrower_id  BIGINT       NOT NULL REFERENCES borrower (id),
+    loan_id      BIGINT       NOT NULL,
+    occurred_at  TIMESTAMP(6) NOT NULL,
+    due_at       TIMESTAMP(6),
+    recorded_at  TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP,
+    -- One event per book version: of two concurrent borrows of a book, only the first append succeeds
+    CONSTRAINT loan_event_book_version_key UNIQUE (book_id, book_version)
+);
+
+ALTER SEQUENCE loan_event_sequence_seq OWNED BY loan_event.sequence;
+
+CREATE TABLE loan_snapshot (
+    sequence   BIGINT       PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    state      BYTEA        NOT NULL
+);
+
+-- The existing history as events, in the order it happened. Loans archived to segment files are
+-- returned and closed, so leaving them out does not change any book's current state.
+INSERT INTO loan_event (sequence, type, book_id, book_version, borrower_id, loan_id, occurred_at, due_at)
+SELECT ROW_NUMBER() OVER (ORDER BY occurred_at, loan_id, type),
+       type,
+       book_id,
+       ROW_NUMBER() OVER (PARTITION BY book_id ORDER BY occurred_at, loan_id, type),
+       borrower_id,
+       loan_id,
+       occurred_at,
+       due_at
+FROM (SELECT 'BOOK_BORROWED' AS type, id AS loan_id, book_id, borrower_id, borrowed_at AS occurred_at, due_at
+      FROM borrow_record
+      UNION ALL
+      SELECT 'BOOK_RETURNED', id, book_id, borrower_id, returned_at, NULL
+      FROM borrow_record
+      WHERE returned_at IS NOT NULL) AS history;
+
+SELECT setval('loan_event_sequence_seq', GREATEST(
+        (SELECT COALESCE(MAX(sequence), 0) FROM loan_event),
+        (SELECT COALESCE(MAX(id), 0) FROM borrow_record),
+        (SELECT last_value FROM borrow_record_id_seq),
+        1));
+
+-- borrow_record already reflects the backfilled events
+INSERT INTO job_checkpoint (job_name, last_record_id, updated_at)
+SELECT 'loan-projection', COALESCE(MAX(sequence), 0), LOCALTIMESTAMP FROM loan_event
+ON CONFLICT (job_name) DO UPDATE
+SET last_record_id = EXCLUDED.last_record_id, updated_at = EXCLUDED.updated_at;
@@ -0,0 +1,34 @@
+-- Denormalized catalog served by the read endpoints, refreshed from book and the loan ledger by CatalogViewJob.
+-- Borrow and return never touch it, so browsing does not contend with them.
+CREATE TABLE catalog_view (
+    book_id      BIGINT       PRIMARY KEY REFERENCES book (id),
+    isbn         VARCHAR(255),
+    title        VARCHAR(255),
+    author       VARCHAR(255),
+    available    BOOLEAN      NOT NULL,
+    active_loans INTEGER      NOT NULL,
+    due_at       TIMESTAMP(6),
+    -- The ledger version of the book the loan state was read at; an entry is never replaced by an older one
+    loan_version INTEGER      NOT NULL,
+    -- changed_at to refreshed_at is the lag of the entry
+    changed_at   TIMESTAMP(6) NOT NULL,
+    refreshed_at TIMESTAMP(6) NOT NULL
+);
+
+-- Every book with the loan state of its last ledger event
+INSERT INTO catalog_view (book_id, isbn, title, author, available, active_loans, due_at, loan_version,
+                          changed_at, refreshed_at)
+SELECT b.id,
+       b.isbn,
+       b.title,
+       b.author,
+       COALESCE(e.type, 'BOOK_RETURNED') <> 'BOOK_BORROWED',
+       CASE WHEN e.type = 'BOOK_BORROWED' THEN 1 ELSE 0 END,
+       CASE WHEN e.type = 'BOOK_BORROWED' THEN e.due_at END,
+       COALESCE(e.book_version, 0),
+       LOCALTIMESTAMP,
+       LOCALTIMESTAMP
+FROM book b
+LEFT JOIN (SELECT DISTINCT ON (book_id) book_id, type, book_version, due_at
+           FROM loan_event
+           ORDER BY book_id, book_version DESC) e ON e.book_id = b.id;
@@ -0,0 +1,27 @@
+-- One row per ISBN with its number of copies and how many of them can be borrowed, so borrowing any copy of
+-- a title takes a copy with one conditional update and the availability of a title is a single-row read.
+-- The loan ledger stays the source of truth for each copy; TitleInventoryJob reconciles the counts with it.
+CREATE TABLE book_title (
+    isbn             VARCHAR(255) PRIMARY KEY,
+    title            VARCHAR(255),
+    author           VARCHAR(255),
+    total_copies     INTEGER      NOT NULL,
+    available_copies INTEGER      NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT book_title_available_copies_check CHECK (available_copies BETWEEN 0 AND total_copies)
+);
+
+-- Every ISBN with its copies, a copy being on loan when the last ledger event of the book is a borrow
+INSERT INTO book_title (isbn, title, author, total_copies, available_copies, updated_at)
+SELECT b.isbn,
+       MIN(b.title),
+       MIN(b.author),
+       COUNT(*),
+       COUNT(*) FILTER (WHERE COALESCE(e.type, 'BOOK_RETURNED') <> 'BOOK_BORROWED'),
+       LOCALTIMESTAMP
+FROM book b
+LEFT JOIN (SELECT DISTINCT ON (book_id) book_id, type
+           FROM loan_event
+           ORDER BY book_id, book_version DESC) e ON e.book_id = b.id
+WHERE b.isbn IS NOT NULL
+GROUP BY b.isbn;
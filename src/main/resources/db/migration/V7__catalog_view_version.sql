@@ -0,0 +1,15 @@
+-- Every write of a catalog_view entry takes the next value of catalog_view_version_seq, whichever instance or
+-- service made it, so MAX(entry_version) changes whenever the view does and every instance can tell that its
+-- serialized catalog is stale.
+CREATE SEQUENCE IF NOT EXISTS catalog_view_version_seq;
+
+ALTER TABLE catalog_view
+    ADD COLUMN IF NOT EXISTS entry_version BIGINT NOT NULL DEFAULT nextval('catalog_view_version_seq');
+
+CREATE INDEX IF NOT EXISTS catalog_view_entry_version_idx ON catalog_view (entry_version);
+
+-- CatalogViewJob refreshes the view from the loan ledger after this checkpoint. Starting at 0 replays the
+-- ledger once, which rewrites every entry that has loan events at its current loan version.
+INSERT INTO job_checkpoint (job_name, last_record_id, updated_at)
+VALUES ('catalog-view', 0, LOCALTIMESTAMP)
+ON CONFLICT (job_name) DO NOTHING;
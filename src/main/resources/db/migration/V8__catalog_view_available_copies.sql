@@ -0,0 +1,2 @@
+-- Borrowing any copy of a title reads a few of its available copies from the catalog view with one query
+CREATE INDEX IF NOT EXISTS catalog_view_available_isbn_idx ON catalog_view (isbn, book_id) WHERE available;
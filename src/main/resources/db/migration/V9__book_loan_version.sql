@@ -0,0 +1,11 @@
+-- The version of the last loan event applied to book.available, so that a projection batch read before
+-- a newer one, on another instance, cannot set an older availability
+ALTER TABLE book ADD COLUMN IF NOT EXISTS loan_version INTEGER NOT NULL DEFAULT 0;
+
+UPDATE book
+SET loan_version = applied.book_version
+FROM (SELECT book_id, MAX(book_version) AS book_version
+      FROM loan_event
+      WHERE sequence <= (SELECT last_record_id FROM job_checkpoint WHERE job_name = 'loan-projection')
+      GROUP BY book_id) AS applied
+WHERE book.id = applied.book_id;
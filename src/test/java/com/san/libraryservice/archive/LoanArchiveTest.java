@@ -0,0 +1,104 @@
+package com.san.libraryservice.archive;
+
+import com.san.libraryservice.util.EpochMicros;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanArchiveTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 10, 9, 30, 15, 123_456_000);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 10, 9, 30);
+
+    @TempDir
+    private Path directory;
+
+    private LoanArchive loanArchive;
+
+    @BeforeEach
+    void setUp() {
+        loanArchive = new LoanArchive(directory);
+    }
+
+    @Test
+    void segment_shouldRoundTripLoans() throws IOException {
+        // Includes a legacy loan without a due date and a non-contiguous id
+        List<ArchivedLoan> loans = List.of(
+                loan(1, 7, 100, JANUARY),
+                new ArchivedLoan(2, 8, 101, JANUARY.plusHours(1), null, JANUARY.plusDays(3)),
+                loan(50, 7, 100, JANUARY.minusMinutes(5)));
+        Path file = directory.resolve("segment.seg");
+
+        LoanSegment.write(file, loans);
+        LoanSegment segment = LoanSegment.open(file);
+
+        assertEquals(loans, segment.loans());
+        assertEquals(1, segment.firstId());
+        assertEquals(50, segment.lastId());
+        assertEquals(EpochMicros.NULL_TIME, segment.column(LoanSegment.Column.DUE_AT)[1]);
+    }
+
+    @Test
+    void segment_shouldBeSmallerThanRawRows() throws IOException {
+        // 10,000 sequential loans; ids and times compress to a few bytes per row
+        List<ArchivedLoan> loans = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            loans.add(loan(i, i % 500, i % 2_000, JANUARY.plusMinutes(i)));
+        }
+        Path file = directory.resolve("segment.seg");
+
+        LoanSegment.write(file, loans);
+
+        assertTrue(Files.size(file) < 10_000 * 8, "segment is " + Files.size(file) + " bytes");
+        assertEquals(loans, LoanSegment.open(file).loans());
+    }
+
+    @Test
+    void scan_shouldReturnOnlyLoansBorrowedInRange() throws IOException {
+        // One committed segment per month
+        loanArchive.commit(loanArchive.writePending(List.of(loan(1, 1, 10, JANUARY), loan(2, 1, 11, JANUARY))));
+        loanArchive.commit(loanArchive.writePending(List.of(loan(3, 2, 10, FEBRUARY))));
+
+        List<ArchivedLoan> found = new ArrayList<>();
+        loanArchive.scan(FEBRUARY.minusDays(1), FEBRUARY.plusDays(1), found::add);
+
+        assertEquals(List.of(loan(3, 2, 10, FEBRUARY)), found);
+    }
+
+    @Test
+    void countLoansByBook_shouldAggregateAcrossSegments() throws IOException {
+        // Book 10 is borrowed in both months
+        loanArchive.commit(loanArchive.writePending(List.of(loan(1, 1, 10, JANUARY), loan(2, 1, 11, JANUARY))));
+        loanArchive.commit(loanArchive.writePending(List.of(loan(3, 2, 10, FEBRUARY))));
+
+        Map<Long, Long> counts = loanArchive.countLoansByBook(JANUARY.minusDays(1), FEBRUARY.plusDays(1));
+
+        assertEquals(Map.of(10L, 2L, 11L, 1L), counts);
+    }
+
+    @Test
+    void scan_shouldIgnorePendingSegments() throws IOException {
+        // A segment whose loans have not been deleted yet must not be double counted
+        Path pending = loanArchive.writePending(List.of(loan(1, 1, 10, JANUARY)));
+
+        List<ArchivedLoan> found = new ArrayList<>();
+        loanArchive.scan(JANUARY.minusDays(1), JANUARY.plusDays(1), found::add);
+
+        assertTrue(found.isEmpty());
+        assertEquals(List.of(pending), loanArchive.pendingSegments());
+    }
+
+    private static ArchivedLoan loan(long id, long borrowerId, long bookId, LocalDateTime borrowedAt) {
+        return new ArchivedLoan(id, borrowerId, bookId, borrowedAt, borrowedAt.plusDays(14), borrowedAt.plusDays(10));
+    }
+}
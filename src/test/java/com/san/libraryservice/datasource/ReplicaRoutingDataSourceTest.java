@@ -0,0 +1,147 @@
+package com.san.libraryservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static com.san.libraryservice.constant.ConfigConstants.PRIMARY_POOL;
+import static com.san.libraryservice.constant.ConfigConstants.REPLICA_LAG_SQL;
+import static com.san.libraryservice.constant.MetricConstants.REPLICA_USABLE_GAUGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final String REPLICA = "replica-0";
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of(REPLICA, replica),
+                Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldUseReplica_whenReadOnlyAndReplicaHealthy() throws SQLException {
+        // Replica is 100 ms behind, well within the allowed lag
+        replicaLagSeconds(0.1);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(REPLICA, routingDataSource.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.get(REPLICA_USABLE_GAUGE).gauge().value());
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldUsePrimary_whenReadWrite() throws SQLException {
+        // Writes always go to the primary
+        replicaLagSeconds(0.0);
+        routingDataSource.checkReplicas();
+
+        assertEquals(PRIMARY_POOL, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldUsePrimary_beforeFirstCheck() {
+        // Replicas only receive reads once they have been checked
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(PRIMARY_POOL, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldUsePrimary_whenReplicaLagging() throws SQLException {
+        // Replica is further behind than the 5 second maximum
+        replicaLagSeconds(30.0);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(PRIMARY_POOL, routingDataSource.determineCurrentLookupKey());
+        assertEquals(0.0, meterRegistry.get(REPLICA_USABLE_GAUGE).gauge().value());
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldFailOverToPrimary_whenReplicaUnreachable() throws SQLException {
+        // Replica was healthy, then stops accepting connections
+        replicaLagSeconds(0.0);
+        routingDataSource.checkReplicas();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(PRIMARY_POOL, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldUsePrimary_whenReplicaStoppedStreaming() throws SQLException {
+        // The WAL receiver disconnected, so replay has caught up with the last received WAL and reports no lag
+        replicaLagSeconds(0.0);
+        when(resultSet.getBoolean(1)).thenReturn(false);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(PRIMARY_POOL, routingDataSource.determineCurrentLookupKey());
+        assertEquals(0.0, meterRegistry.get(REPLICA_USABLE_GAUGE).gauge().value());
+    }
+
+    @Test
+    void onPrimary_shouldUsePrimary_whenReadOnly() throws SQLException {
+        // Reads that must see a just-committed change bypass the replicas
+        replicaLagSeconds(0.0);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Object key = ReplicaRoutingDataSource.onPrimary(routingDataSource::determineCurrentLookupKey);
+
+        assertEquals(PRIMARY_POOL, key);
+        assertEquals(REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    private void replicaLagSeconds(double seconds) throws SQLException {
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(REPLICA_LAG_SQL)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        // Not read from a replica that is not streaming
+        lenient().when(resultSet.getDouble(2)).thenReturn(seconds);
+        lenient().when(resultSet.wasNull()).thenReturn(false);
+    }
+}
@@ -0,0 +1,64 @@
+package com.san.libraryservice.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanRecordingAnalyzerTest {
+
+    @Test
+    void summarize_shouldReportEveryLoanPhase(@TempDir Path tempDir) throws IOException {
+        // Record a few borrows and a return with the loan event enabled
+        Path file = tempDir.resolve("loans.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(LoanEvent.class).withoutThreshold();
+            recording.start();
+            for (long bookId = 1; bookId <= 3; bookId++) {
+                LoanEvent event = LoanEvent.start(LoanEvent.BORROW, 1L, bookId);
+                spin();
+                event.lookupDone();
+                spin();
+                event.availabilityChecked();
+                spin();
+                event.recordWritten();
+                spin();
+                event.bookUpdated();
+                event.finish(LoanEvent.SUCCESS);
+            }
+            LoanEvent rejected = LoanEvent.start(LoanEvent.RETURN, 1L, 9L);
+            spin();
+            rejected.lookupDone();
+            rejected.finish("ActiveBorrowRecordNotFoundException");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Every phase of both operations is summarized
+        Map<String, LoanRecordingAnalyzer.PhaseSummary> summaries = LoanRecordingAnalyzer.summarize(file).stream()
+                .collect(Collectors.toMap(LoanRecordingAnalyzer.PhaseSummary::name, summary -> summary));
+
+        for (String phase : List.of("total", "lookup", "availabilityCheck", "recordWrite", "bookUpdate")) {
+            assertEquals(3, summaries.get("borrow." + phase).count());
+        }
+        assertEquals(1, summaries.get("return.total").count());
+
+        LoanRecordingAnalyzer.PhaseSummary total = summaries.get("borrow.total");
+        assertTrue(total.p50() <= total.p90() && total.p90() <= total.p99() && total.p99() <= total.max());
+    }
+
+    // Phases that took no time are skipped by the analyzer, so each phase waits for the clock to advance
+    private static void spin() {
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < 1_000) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.san.libraryservice.ledger;
+
+import com.san.libraryservice.storage.InMemoryLoanLedger;
+import com.san.libraryservice.storage.StorageEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanProjectionTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @TempDir
+    private Path directory;
+
+    private StorageEngine engine;
+    private LoanLedger ledger;
+    private LoanProjection projection;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = new StorageEngine(directory, false);
+        ledger = new InMemoryLoanLedger(engine);
+        projection = new LoanProjection(ledger);
+        projection.load();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+    }
+
+    @Test
+    void append_shouldAssignSequenceAsLoanIdOfBorrow() {
+        // A borrow opens a loan identified by its own sequence; the return closes that loan
+        LedgerEvent borrowed = ledger.append(LedgerEvent.borrowed(7, 1, 3, NOW, NOW.plusDays(14)));
+        projection.apply(borrowed);
+
+        BookLoanState state = projection.state(7);
+        assertTrue(state.isBorrowedBy(3));
+        assertEquals(borrowed.sequence(), state.loanId());
+        assertEquals(NOW.plusDays(14), state.dueAt());
+
+        projection.apply(ledger.append(LedgerEvent.returned(7, 2, 3, state.loanId(), NOW.plusDays(1))));
+
+        assertFalse(projection.state(7).isBorrowed());
+        assertEquals(2, projection.state(7).version());
+    }
+
+    @Test
+    void append_shouldRejectVersionAlreadyTaken() {
+        // Two borrows decided on the same state: only the first one is appended
+        ledger.append(LedgerEvent.borrowed(7, 1, 3, NOW, NOW.plusDays(14)));
+
+        assertThrows(DuplicateKeyException.class,
+                () -> ledger.append(LedgerEvent.borrowed(7, 1, 4, NOW, NOW.plusDays(14))));
+        assertEquals(1, ledger.readBook(7, 0).size());
+    }
+
+    @Test
+    void refresh_shouldApplyEventsAppendedElsewhere() {
+        // Events appended by another instance are only seen once the book is refreshed
+        ledger.append(LedgerEvent.borrowed(7, 1, 3, NOW, NOW.plusDays(14)));
+
+        assertFalse(projection.state(7).isBorrowed());
+        assertTrue(projection.refresh(7).isBorrowedBy(3));
+    }
+
+    @Test
+    void apply_shouldReportMissingVersion() {
+        // Version 2 cannot be applied before version 1, and version 1 is ignored once applied
+        LedgerEvent borrowed = ledger.append(LedgerEvent.borrowed(7, 1, 3, NOW, NOW.plusDays(14)));
+        LedgerEvent returned = ledger.append(LedgerEvent.returned(7, 2, 3, borrowed.loanId(), NOW));
+
+        assertFalse(projection.apply(returned));
+        assertTrue(projection.apply(borrowed));
+        assertTrue(projection.apply(borrowed));
+        assertTrue(projection.apply(returned));
+        assertEquals(2, projection.state(7).version());
+    }
+
+    @Test
+    void load_shouldRestoreSnapshotAndReplayOnlyTheTail() throws IOException {
+        // Book 7 is borrowed before the snapshot and book 8 after it
+        projection.apply(ledger.append(LedgerEvent.borrowed(7, 1, 3, NOW, NOW.plusDays(14))));
+        LedgerSnapshot snapshot = projection.snapshot();
+        ledger.saveSnapshot(snapshot);
+        ledger.append(LedgerEvent.borrowed(8, 1, 4, NOW, NOW.plusDays(14)));
+
+        engine.close();
+        engine = new StorageEngine(directory, false);
+        ledger = new InMemoryLoanLedger(engine);
+        LoanProjection restored = new LoanProjection(ledger);
+        restored.restore(ledger.latestSnapshot().orElseThrow());
+
+        assertEquals(snapshot.sequence(), restored.lastSequence());
+        assertEquals(1, restored.catchUp());
+        assertTrue(restored.state(7).isBorrowedBy(3));
+        assertTrue(restored.state(8).isBorrowedBy(4));
+    }
+
+    @Test
+    void readAfter_shouldReturnEventsInSequenceOrder() {
+        // Reads resume after the last sequence seen and stop at the limit
+        for (int book = 1; book <= 5; book++) {
+            ledger.append(LedgerEvent.borrowed(book, 1, 3, NOW, NOW.plusDays(14)));
+        }
+
+        List<LedgerEvent> first = ledger.readAfter(0, 3);
+        List<LedgerEvent> rest = ledger.readAfter(first.get(2).sequence(), 3);
+
+        assertEquals(List.of(1L, 2L, 3L), first.stream().map(LedgerEvent::bookId).toList());
+        assertEquals(List.of(4L, 5L), rest.stream().map(LedgerEvent::bookId).toList());
+    }
+}
@@ -0,0 +1,113 @@
+package com.san.libraryservice.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.san.libraryservice.constant.CatalogConstants.SELECT_AVAILABLE_COPIES;
+import static com.san.libraryservice.constant.LedgerConstants.SELECT_BOOK_EVENTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the derived book queries, and on the plain SQL of the
+ * borrow and return paths, against the schema created by the Flyway migrations. Sequential scans are disabled for the session, so the planner only
+ * falls back to one when no index can serve the query.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class StatementRecordingConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementRecorder() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        STATEMENTS.clear();
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @Test
+    void findFirstByIsbn_shouldUseIndex() {
+        // ISBN conflict check on book registration
+        bookRepository.findFirstByIsbn("9780306406157");
+
+        assertNoSequentialScan(lastStatement());
+    }
+
+    @Test
+    void findAllByIdInOrIsbnIn_shouldUseIndex() {
+        // Batch lookup by IDs and ISBNs
+        bookRepository.findAllByIdInOrIsbnIn(List.of(1L, 2L), List.of("9780306406157"));
+
+        assertNoSequentialScan(lastStatement());
+    }
+
+    @Test
+    void selectBookEvents_shouldUseIndex() {
+        // Refreshing a book's loan state before every borrow and return
+        assertNoSequentialScan(SELECT_BOOK_EVENTS);
+    }
+
+    @Test
+    void selectAvailableCopies_shouldUseIndex() {
+        // Candidate copies when borrowing any copy of a title
+        assertNoSequentialScan(SELECT_AVAILABLE_COPIES);
+    }
+
+    private String lastStatement() {
+        assertFalse(STATEMENTS.isEmpty(), "No SQL was recorded for the query");
+        return STATEMENTS.get(STATEMENTS.size() - 1);
+    }
+
+    private void assertNoSequentialScan(String sql) {
+        // Parameters are bound untyped so PostgreSQL infers each type from the column it is compared to
+        List<String> plan = jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            int count = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                ps.setObject(i, "1", Types.OTHER);
+            }
+        }, (rs, rowNum) -> rs.getString(1));
+
+        assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan")),
+                () -> "Sequential scan for " + sql + "\n" + String.join("\n", plan));
+    }
+}
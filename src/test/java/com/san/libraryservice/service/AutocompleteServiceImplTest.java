@@ -0,0 +1,119 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.dto.Suggestion;
+import com.san.libraryservice.event.BookAddedEvent;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.service.impl.AutocompleteServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static com.san.libraryservice.dto.Suggestion.Field.AUTHOR;
+import static com.san.libraryservice.dto.Suggestion.Field.TITLE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private LoanProjection loanProjection;
+
+    @InjectMocks
+    private AutocompleteServiceImpl autocompleteService;
+
+    @Test
+    void suggest_shouldRankCompletionsByBorrows() {
+        // Two copies of Effective Java borrowed once each, Java Concurrency in Practice borrowed three times
+        // and returned, and Clean Code never borrowed
+        when(bookRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> new PageImpl<>(List.of(
+                book(1L, "Effective Java", "Joshua Bloch"),
+                book(2L, "Effective Java", "Joshua Bloch"),
+                book(3L, "Java Concurrency in Practice", "Brian Goetz"),
+                book(4L, "Clean Code", "Robert C. Martin")),
+                invocation.getArgument(0), 4));
+        when(loanProjection.state(anyLong())).thenReturn(BookLoanState.AVAILABLE);
+        when(loanProjection.state(1L)).thenReturn(new BookLoanState(1, 7L, 1L, null, null));
+        when(loanProjection.state(2L)).thenReturn(new BookLoanState(2, 0, 0, null, null));
+        when(loanProjection.state(3L)).thenReturn(new BookLoanState(6, 0, 0, null, null));
+
+        // Copies of a title share one suggestion, and so do books of an author
+        assertEquals(6, autocompleteService.rebuild());
+        verify(loanProjection).catchUp();
+
+        // Any word of a title or author is completed, most borrowed first
+        assertEquals(List.of(
+                new Suggestion("Java Concurrency in Practice", TITLE, 3),
+                new Suggestion("Effective Java", TITLE, 2)), autocompleteService.suggest("ja"));
+        assertEquals(List.of(new Suggestion("Robert C. Martin", AUTHOR, 0)), autocompleteService.suggest("mar"));
+    }
+
+    @Test
+    void suggest_shouldNormalizeCaseAccentsAndPunctuation() {
+        when(bookRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> new PageImpl<>(List.of(
+                book(1L, "Les Misérables", "Victor Hugo"),
+                book(2L, "JavaScript: The Good Parts", "Douglas Crockford")),
+                invocation.getArgument(0), 2));
+        when(loanProjection.state(anyLong())).thenReturn(BookLoanState.AVAILABLE);
+        autocompleteService.rebuild();
+
+        // Accents and case are ignored, and punctuation separates words
+        assertEquals(List.of(new Suggestion("Les Misérables", TITLE, 0)), autocompleteService.suggest("MISER"));
+        assertEquals(List.of(new Suggestion("JavaScript: The Good Parts", TITLE, 0)),
+                autocompleteService.suggest("javascript go"));
+
+        // Every word before the last must start a word of the suggestion
+        assertEquals(List.of(), autocompleteService.suggest("victor crock"));
+        assertEquals(List.of(), autocompleteService.suggest(" - "));
+    }
+
+    @Test
+    void addBook_shouldSuggestBookBeforeNextRebuild() {
+        // An index built with one borrowed title
+        when(bookRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> new PageImpl<>(List.of(
+                book(1L, "Effective Java", "Joshua Bloch")), invocation.getArgument(0), 1));
+        when(loanProjection.state(1L)).thenReturn(new BookLoanState(1, 7L, 1L, null, null));
+        autocompleteService.rebuild();
+
+        // A new title is suggested right away, after the titles that were borrowed
+        autocompleteService.addBook(book(2L, "Java Puzzlers", "Joshua Bloch"));
+        autocompleteService.addBook(book(3L, "effective java", "Joshua Bloch"));
+
+        assertEquals(List.of(
+                new Suggestion("Effective Java", TITLE, 1),
+                new Suggestion("Java Puzzlers", TITLE, 0)), autocompleteService.suggest("java"));
+        // A title or author that is already indexed keeps its borrows
+        assertEquals(List.of(new Suggestion("Joshua Bloch", AUTHOR, 1)), autocompleteService.suggest("josh"));
+    }
+
+    @Test
+    void onBookAdded_shouldSuggestBook() {
+        // The event is handled once the transaction that added the book has committed
+        autocompleteService.onBookAdded(new BookAddedEvent(book(1L, "Java Puzzlers", "Joshua Bloch")));
+
+        assertEquals(List.of(new Suggestion("Java Puzzlers", TITLE, 0)), autocompleteService.suggest("puzz"));
+    }
+
+    private static Book book(Long id, String title, String author) {
+        Book book = Book.builder()
+                .isbn("978-0-13-468599-" + id)
+                .title(title)
+                .author(author)
+                .available(true)
+                .build();
+        book.setId(id);
+        return book;
+    }
+}
@@ -1,8 +1,14 @@
 package com.san.libraryservice.service;
 
+import com.san.libraryservice.dto.BookLookupRequest;
 import com.san.libraryservice.dto.BookRequest;
 import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.event.BookAddedEvent;
+import com.san.libraryservice.event.CatalogChangedEvent;
 import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LoanProjection;
 import com.san.libraryservice.model.Book;
 import com.san.libraryservice.repository.BookRepository;
 import com.san.libraryservice.service.impl.BookServiceImpl;
@@ -11,7 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +34,15 @@ class BookServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LoanProjection loanProjection;
+
+    @Mock
+    private TitleInventory titleInventory;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -58,6 +75,9 @@ class BookServiceImplTest {
 
         verify(bookRepository).findFirstByIsbn(request.getIsbn());
         verify(bookRepository).save(any(Book.class));
+        verify(eventPublisher).publishEvent(new CatalogChangedEvent(savedBook.getId()));
+        verify(eventPublisher).publishEvent(new BookAddedEvent(savedBook));
+        verify(titleInventory).addCopy(request.getIsbn(), request.getTitle(), request.getAuthor());
     }
 
     @Test
@@ -81,6 +101,7 @@ class BookServiceImplTest {
 
         verify(bookRepository).findFirstByIsbn(request.getIsbn());
         verify(bookRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher, titleInventory);
     }
 
 
@@ -167,8 +188,57 @@ class BookServiceImplTest {
         // When the book is updated
         bookService.updateBook(book);
 
-        // Then it should be saved via the repository
+        // Then it should be saved via the repository and the catalog change published
         verify(bookRepository).save(book);
+        verify(eventPublisher).publishEvent(new CatalogChangedEvent(1L));
     }
-}
 
+    @Test
+    void lookupBooks_shouldReturnBooksWithProjectedAvailability() {
+        // Book 2 is matched by its ISBN and is on loan, book 1 is matched by its ID and is available
+        Book onLoan = Book.builder()
+                .isbn("978-3-16-148410-0")
+                .title("Clean Code")
+                .author("Robert Martin")
+                .available(true)
+                .build();
+        onLoan.setId(2L);
+        Book available = Book.builder()
+                .isbn("978-0-13-468599-1")
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .available(false)
+                .build();
+        available.setId(1L);
+        LocalDateTime dueAt = LocalDateTime.now().plusDays(14);
+        BookLookupRequest request = new BookLookupRequest(List.of(1L, 99L), List.of("978-3-16-148410-0"));
+
+        when(bookRepository.findAllByIdInOrIsbnIn(request.getIds(), request.getIsbns()))
+                .thenReturn(List.of(onLoan, available));
+        when(loanProjection.state(1L)).thenReturn(BookLoanState.AVAILABLE);
+        when(loanProjection.state(2L)).thenReturn(new BookLoanState(1, 5L, 7L, LocalDateTime.now(), dueAt));
+
+        // When the books are looked up
+        List<BookResponse> responses = bookService.lookupBooks(request);
+
+        // Then both are returned in ID order with availability from the projection, not the book row
+        assertEquals(List.of(1L, 2L), responses.stream().map(BookResponse::getId).toList());
+        assertFalse(responses.get(0).isBorrowed());
+        assertEquals(0, responses.get(0).getActiveLoans());
+        assertTrue(responses.get(1).isBorrowed());
+        assertEquals(1, responses.get(1).getActiveLoans());
+        assertEquals(dueAt, responses.get(1).getDueAt());
+        verify(bookRepository).findAllByIdInOrIsbnIn(request.getIds(), request.getIsbns());
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    void lookupBooks_shouldNotQuery_whenNothingIsRequested() {
+        // Given a request without IDs or ISBNs
+        BookLookupRequest request = new BookLookupRequest(null, List.of());
+
+        // Then the lookup is empty and the repository is not queried
+        assertTrue(bookService.lookupBooks(request).isEmpty());
+        verifyNoInteractions(bookRepository, loanProjection);
+    }
+}
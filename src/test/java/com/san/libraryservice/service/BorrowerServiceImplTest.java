@@ -20,6 +20,9 @@ class BorrowerServiceImplTest {
     @Mock
     private BorrowerRepository borrowerRepository;
 
+    @Mock
+    private StatsService statsService;
+
     @InjectMocks
     private BorrowerServiceImpl borrowerService;
 
@@ -47,5 +50,6 @@ class BorrowerServiceImplTest {
         assertEquals(savedBorrower.getId(), response.getId());
 
         verify(borrowerRepository, times(1)).save(any(Borrower.class));
+        verify(statsService).recordBorrowerRegistered();
     }
 }
@@ -0,0 +1,313 @@
+package com.san.libraryservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.catalog.CatalogView;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.dto.CatalogSnapshot;
+import com.san.libraryservice.event.CatalogChangedEvent;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.metrics.LibraryMetrics;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.service.impl.CatalogServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static com.san.libraryservice.constant.CatalogConstants.CATALOG_BATCH_SIZE;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 1, 10, 0);
+
+    @Mock
+    private CatalogView catalogView;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private LoanLedger loanLedger;
+
+    @Mock
+    private LoanProjection loanProjection;
+
+    @Mock
+    private LibraryMetrics libraryMetrics;
+
+    private CatalogServiceImpl catalogService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter();
+
+    private final List<CatalogEntry> entries = List.of(
+            new CatalogEntry(1L, "978-0-13-468599-1", "Effective Java", "Joshua Bloch", true, 0, null, 0, NOW),
+            new CatalogEntry(2L, "978-0-596-00712-6", "Head First Design Patterns", "Eric Freeman", false, 1,
+                    NOW.plusDays(14), 1, NOW));
+
+    private final List<BookResponse> books = List.of(
+            new BookResponse(1L, "978-0-13-468599-1", "Effective Java", "Joshua Bloch", false, 0, null),
+            new BookResponse(2L, "978-0-596-00712-6", "Head First Design Patterns", "Eric Freeman", true, 1,
+                    NOW.plusDays(14)));
+
+    @BeforeEach
+    void setUp() {
+        catalogService = catalogService(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getSnapshot_shouldSerializeCatalogOnce_whenUnchanged() throws IOException {
+        // Given a catalog view with two books
+        when(catalogView.findAll()).thenReturn(entries);
+
+        // When the snapshot is requested twice
+        CatalogSnapshot first = catalogService.getSnapshot();
+        CatalogSnapshot second = catalogService.getSnapshot();
+
+        // Then the view is loaded and serialized only once
+        assertSame(first, second);
+        assertArrayEquals(objectMapper.writeValueAsBytes(books), first.json());
+        verify(catalogView, times(1)).findAll();
+    }
+
+    @Test
+    void getSnapshot_shouldRebuild_whenViewVersionChanges() {
+        // Given a snapshot built at version 5 of the view
+        when(catalogView.findAll()).thenReturn(entries);
+        when(catalogView.version()).thenReturn(5L, 5L, 6L);
+        CatalogSnapshot first = catalogService.getSnapshot();
+        assertSame(first, catalogService.getSnapshot());
+
+        // Another instance, or the reactive service, writes an entry, so a newer snapshot is built
+        CatalogSnapshot second = catalogService.getSnapshot();
+        assertEquals(6L, second.version());
+        verify(catalogView, times(2)).findAll();
+    }
+
+    @Test
+    void getSnapshot_shouldRebuildOnce_afterSettleDelay() {
+        // Without a settle delay a write that took a lower version may commit at any time after the build
+        CatalogServiceImpl unsettled = catalogService(Duration.ZERO);
+        when(catalogView.findAll()).thenReturn(entries);
+        when(catalogView.version()).thenReturn(5L);
+        CatalogSnapshot first = unsettled.getSnapshot();
+
+        // So the snapshot is rebuilt once at the same version, and then kept
+        CatalogSnapshot second = unsettled.getSnapshot();
+        assertNotSame(first, second);
+        assertEquals(first.etag(), second.etag());
+        assertSame(second, unsettled.getSnapshot());
+        verify(catalogView, times(2)).findAll();
+    }
+
+    @Test
+    void getSnapshot_shouldDeriveEtagFromContent() {
+        // Given a catalog view with two books
+        when(catalogView.findAll()).thenReturn(entries);
+        CatalogSnapshot first = catalogService.getSnapshot();
+
+        // Another instance, or this one after a restart, serving the same catalog has the same ETag
+        CatalogServiceImpl restarted = catalogService(Duration.ofMinutes(1));
+        assertEquals(first.etag(), restarted.getSnapshot().etag());
+
+        // A different catalog has a different ETag
+        when(catalogView.findAll()).thenReturn(entries.subList(0, 1));
+        CatalogServiceImpl changed = catalogService(Duration.ofMinutes(1));
+        assertNotEquals(first.etag(), changed.getSnapshot().etag());
+    }
+
+    @Test
+    void getSnapshot_shouldContainGzippedCopyOfJson() throws IOException {
+        // Given a catalog view with two books
+        when(catalogView.findAll()).thenReturn(entries);
+
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+
+        // The gzipped body decompresses to the JSON body
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzipped()))) {
+            assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void getSnapshot_shouldContainCborCopyOfCatalog() throws IOException {
+        // Given a catalog view with two books
+        when(catalogView.findAll()).thenReturn(entries);
+
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+
+        // The CBOR body decodes to the same books as the JSON body
+        BookResponse[] decoded = cborConverter.getObjectMapper().readValue(snapshot.cbor(), BookResponse[].class);
+        assertEquals(books, List.of(decoded));
+        assertTrue(snapshot.cbor().length < snapshot.json().length);
+    }
+
+    @Test
+    void getSnapshot_shouldThrowRecordNotFound_whenViewEmpty() {
+        // Given the view holds no books
+        when(catalogView.findAll()).thenReturn(List.of());
+
+        // The empty catalog is reported instead of being cached
+        assertThrows(RecordNotFoundException.class, () -> catalogService.getSnapshot());
+    }
+
+    @Test
+    void onCatalogChanged_shouldWriteDetailsOfBook() {
+        // A book added or updated is written with its details straight away
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(1L)));
+        when(loanProjection.state(1L)).thenReturn(BookLoanState.AVAILABLE);
+
+        catalogService.onCatalogChanged(new CatalogChangedEvent(1L));
+
+        verify(catalogView).saveDetails(argThat(saved -> saved.size() == 1
+                && "Effective Java".equals(saved.get(0).title())
+                && saved.get(0).available()));
+        verify(catalogView, never()).save(any());
+    }
+
+    @Test
+    void refreshView_shouldWriteLoanStateOfBooksBorrowedSinceCheckpoint() {
+        // Book 2 was borrowed after the checkpoint, so its entry carries the active loan from the projection
+        when(catalogView.checkpoint()).thenReturn(10L);
+        when(loanLedger.readAfter(10L, CATALOG_BATCH_SIZE)).thenReturn(List.of(event(11, 2L, 3)));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(2L)));
+        when(loanProjection.state(2L)).thenReturn(new BookLoanState(3, 5L, 40L, NOW, NOW.plusDays(14)));
+
+        assertEquals(1, catalogService.refreshView());
+
+        verify(loanProjection).catchUp();
+        verify(catalogView).save(argThat(saved -> saved.size() == 1
+                && !saved.get(0).available()
+                && saved.get(0).activeLoans() == 1
+                && NOW.plusDays(14).equals(saved.get(0).dueAt())
+                && saved.get(0).loanVersion() == 3
+                && NOW.equals(saved.get(0).changedAt())));
+        verify(catalogView).saveCheckpoint(11L);
+        verify(libraryMetrics).recordCatalogLag(any(Duration.class));
+    }
+
+    @Test
+    void refreshView_shouldRefreshBookFromLedger_whenProjectionIsBehind() {
+        // The projection caught up before another instance appended version 3 of the book
+        when(loanLedger.readAfter(0L, CATALOG_BATCH_SIZE)).thenReturn(List.of(event(1, 2L, 3)));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(2L)));
+        when(loanProjection.state(2L)).thenReturn(new BookLoanState(2, 0, 0, null, null));
+        when(loanProjection.refresh(2L)).thenReturn(new BookLoanState(3, 5L, 40L, NOW, NOW.plusDays(14)));
+
+        catalogService.refreshView();
+
+        verify(catalogView).save(argThat(saved -> saved.get(0).loanVersion() == 3));
+    }
+
+    @Test
+    void refreshView_shouldHoldCheckpoint_untilEventCommittedOutOfOrderIsRead() {
+        // Sequence 2 was allocated before 3 but its append has not committed yet
+        when(catalogView.checkpoint()).thenReturn(0L, 1L);
+        when(loanLedger.readAfter(0L, CATALOG_BATCH_SIZE)).thenReturn(List.of(event(1, 1L, 1), event(3, 2L, 1)));
+        when(loanLedger.readAfter(1L, CATALOG_BATCH_SIZE)).thenReturn(List.of(event(3, 2L, 1)));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(1L), book(2L)));
+        when(loanProjection.state(anyLong())).thenReturn(new BookLoanState(1, 5L, 40L, NOW, NOW.plusDays(14)));
+
+        // Both visible books are written, but the checkpoint stays below the missing sequence
+        assertEquals(2, catalogService.refreshView());
+        verify(catalogView).saveCheckpoint(1L);
+
+        // The next run reads event 3 again from the checkpoint, but has nothing to write
+        assertEquals(0, catalogService.refreshView());
+        verify(catalogView, times(1)).save(any());
+        verify(catalogView, times(1)).saveCheckpoint(anyLong());
+    }
+
+    @Test
+    void refreshView_shouldKeepCheckpoint_whenSaveFails() {
+        // The view cannot be written, so the next refresh reads the same events again
+        when(loanLedger.readAfter(0L, CATALOG_BATCH_SIZE)).thenReturn(List.of(event(1, 1L, 1)));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(1L)));
+        when(loanProjection.state(1L)).thenReturn(new BookLoanState(1, 5L, 40L, NOW, NOW.plusDays(14)));
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(catalogView).save(any());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> catalogService.refreshView());
+
+        verify(catalogView, never()).saveCheckpoint(anyLong());
+        verifyNoInteractions(libraryMetrics);
+    }
+
+    @Test
+    void refreshView_shouldSkipWork_whenLedgerHasNoNewEvents() {
+        // Nothing was borrowed or returned since the checkpoint, so neither the books nor the view are written
+        assertEquals(0, catalogService.refreshView());
+
+        verify(catalogView, never()).save(any());
+        verify(catalogView, never()).saveCheckpoint(anyLong());
+        verifyNoInteractions(bookRepository, libraryMetrics);
+    }
+
+    @Test
+    void rebuildView_shouldWriteEveryBook_andKeepCheckpoint() {
+        // The rebuild reads every book, whatever the ledger holds after the checkpoint
+        when(bookRepository.findAll(any(Pageable.class))).thenAnswer(invocation ->
+                new PageImpl<>(List.of(book(1L), book(2L)), invocation.getArgument(0), 2));
+        when(loanProjection.state(anyLong())).thenReturn(BookLoanState.AVAILABLE);
+
+        assertEquals(2, catalogService.rebuildView());
+
+        verify(catalogView).save(argThat(saved -> saved.size() == 2));
+        verify(catalogView, never()).saveCheckpoint(anyLong());
+    }
+
+    @Test
+    void lag_shouldBeAgeOfFirstEventAfterCheckpoint() {
+        // The view is refreshed through sequence 10, and sequence 11 happened long ago
+        when(catalogView.checkpoint()).thenReturn(10L);
+        when(loanLedger.readAfter(10L, 1)).thenReturn(List.of(event(11, 1L, 1)));
+        assertTrue(catalogService.lag().compareTo(Duration.ofDays(1)) > 0);
+
+        // Once every event is refreshed the view is not behind
+        when(loanLedger.readAfter(10L, 1)).thenReturn(List.of());
+        assertEquals(Duration.ZERO, catalogService.lag());
+    }
+
+    private CatalogServiceImpl catalogService(Duration settleDelay) {
+        return new CatalogServiceImpl(catalogView, bookRepository, loanLedger, loanProjection, libraryMetrics,
+                objectMapper, cborConverter, settleDelay, Duration.ofMinutes(1));
+    }
+
+    private static LedgerEvent event(long sequence, long bookId, int bookVersion) {
+        return new LedgerEvent(sequence, BOOK_BORROWED, bookId, bookVersion, 5L, sequence, NOW, NOW.plusDays(14));
+    }
+
+    private static Book book(Long id) {
+        Book book = Book.builder()
+                .isbn("978-0-13-468599-1")
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .available(true)
+                .build();
+        book.setId(id);
+        return book;
+    }
+}
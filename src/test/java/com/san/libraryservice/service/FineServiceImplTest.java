@@ -0,0 +1,87 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.model.Fine;
+import com.san.libraryservice.service.impl.FineServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.san.libraryservice.constant.FineConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FineServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private FineServiceImpl fineService;
+
+    @BeforeEach
+    void setUp() {
+        fineService = new FineServiceImpl(jdbcTemplate, transactionTemplate, 2);
+    }
+
+    @Test
+    void calculateFine_shouldBeZero_whenNotOverdue() {
+        // Loan is still within its loan period
+        LocalDateTime dueAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        LocalDateTime asOf = dueAt.minusHours(1);
+
+        Fine fine = fineService.calculateFine(1L, dueAt, asOf);
+
+        assertEquals(0, fine.getDaysOverdue());
+        assertEquals(0, BigDecimal.ZERO.compareTo(fine.getAmount()));
+    }
+
+    @Test
+    void calculateFine_shouldChargeEveryStartedDay() {
+        // Loan is two days and a few hours overdue, so three days are charged
+        LocalDateTime dueAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        LocalDateTime asOf = dueAt.plusDays(2).plusHours(3);
+
+        Fine fine = fineService.calculateFine(1L, dueAt, asOf);
+
+        assertEquals(1L, fine.getBorrowRecordId());
+        assertEquals(3, fine.getDaysOverdue());
+        assertEquals(0, DAILY_FINE_RATE.multiply(BigDecimal.valueOf(3)).compareTo(fine.getAmount()));
+        assertEquals(asOf, fine.getCalculatedAt());
+    }
+
+    @Test
+    void calculateFine_shouldBeCappedAtMaximum() {
+        // Loan has been overdue for a year
+        LocalDateTime dueAt = LocalDateTime.of(2024, 1, 15, 10, 0);
+        LocalDateTime asOf = dueAt.plusYears(1);
+
+        Fine fine = fineService.calculateFine(1L, dueAt, asOf);
+
+        assertEquals(0, MAX_FINE_AMOUNT.compareTo(fine.getAmount()));
+    }
+
+    @Test
+    void calculateFines_shouldResetCheckpoint_whenNoBorrowRecordsExist() {
+        // No borrow records exist yet
+        when(jdbcTemplate.queryForObject(SELECT_MAX_BORROW_RECORD_ID, Long.class)).thenReturn(0L);
+
+        int written = fineService.calculateFines();
+
+        // Nothing is processed and the checkpoint is reset for the next run
+        assertEquals(0, written);
+        verify(transactionTemplate, never()).execute(any());
+        verify(jdbcTemplate).update(eq(UPSERT_CHECKPOINT), eq(FINE_JOB_NAME), eq(0L), any());
+    }
+}
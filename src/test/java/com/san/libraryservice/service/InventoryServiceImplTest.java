@@ -0,0 +1,95 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.dto.TitleResponse;
+import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.inventory.TitleAvailability;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.service.impl.InventoryServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceImplTest {
+
+    private static final String EFFECTIVE_JAVA = "978-0-13-468599-1";
+    private static final String CLEAN_CODE = "978-0-13-235088-4";
+
+    @Mock
+    private TitleInventory titleInventory;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private LoanProjection loanProjection;
+
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    @Test
+    void getTitle_shouldReturnCopyCounts_whenTitleExists() {
+        // Given a title with three copies, one of them on loan
+        when(titleInventory.find(EFFECTIVE_JAVA)).thenReturn(Optional.of(
+                new TitleAvailability(EFFECTIVE_JAVA, "Effective Java", "Joshua Bloch", 3, 2)));
+
+        TitleResponse response = inventoryService.getTitle(EFFECTIVE_JAVA);
+
+        // The counts are served from the title row without reading the copies
+        assertEquals(3, response.getTotalCopies());
+        assertEquals(2, response.getAvailableCopies());
+        assertEquals("Effective Java", response.getTitle());
+        verifyNoInteractions(bookRepository, loanProjection);
+    }
+
+    @Test
+    void getTitle_shouldThrowException_whenNoCopyExists() {
+        // An ISBN without copies has no title row
+        when(titleInventory.find(EFFECTIVE_JAVA)).thenReturn(Optional.empty());
+
+        assertThrows(RecordNotFoundException.class, () -> inventoryService.getTitle(EFFECTIVE_JAVA));
+    }
+
+    @Test
+    void reconcile_shouldCountCopiesAndLoansPerIsbn() {
+        // Two copies of Effective Java, one on loan, and one copy of Clean Code
+        when(bookRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> new PageImpl<>(List.of(
+                book(1L, EFFECTIVE_JAVA), book(2L, EFFECTIVE_JAVA), book(3L, CLEAN_CODE)),
+                invocation.getArgument(0), 3));
+        when(loanProjection.state(anyLong())).thenReturn(BookLoanState.AVAILABLE);
+        when(loanProjection.state(2L)).thenReturn(new BookLoanState(1, 7L, 2L, null, null));
+
+        assertEquals(2, inventoryService.reconcile());
+
+        // The projection is caught up first, then every title is overwritten with its recomputed counts
+        verify(loanProjection).catchUp();
+        verify(titleInventory).reconcile(List.of(
+                new TitleAvailability(EFFECTIVE_JAVA, "Title 1", "Author", 2, 1),
+                new TitleAvailability(CLEAN_CODE, "Title 3", "Author", 1, 1)));
+    }
+
+    private static Book book(Long id, String isbn) {
+        Book book = Book.builder()
+                .isbn(isbn)
+                .title("Title " + id)
+                .author("Author")
+                .available(true)
+                .build();
+        book.setId(id);
+        return book;
+    }
+}
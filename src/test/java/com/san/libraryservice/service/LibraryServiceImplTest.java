@@ -1,26 +1,46 @@
 package com.san.libraryservice.service;
 
+import com.san.libraryservice.catalog.CatalogEntry;
+import com.san.libraryservice.catalog.CatalogView;
+import com.san.libraryservice.dto.BookResponse;
+import com.san.libraryservice.exception.ActiveBorrowRecordNotFoundException;
+import com.san.libraryservice.exception.BookUnavailableException;
+import com.san.libraryservice.exception.NoCopyAvailableException;
 import com.san.libraryservice.exception.RecordNotFoundException;
+import com.san.libraryservice.inventory.TitleInventory;
+import com.san.libraryservice.ledger.BookLoanState;
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanEventType;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.metrics.LibraryMetrics;
 import com.san.libraryservice.model.Book;
-import com.san.libraryservice.model.BorrowRecord;
 import com.san.libraryservice.model.Borrower;
 import com.san.libraryservice.repository.BorrowerRepository;
 import com.san.libraryservice.service.impl.LibraryServiceImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static com.san.libraryservice.constant.InventoryConstants.COPY_CANDIDATE_LIMIT;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class LibraryServiceImplTest {
 
+    private static final String ISBN = "978-0-13-468599-1";
+    private static final String AUTHOR = "Joshua Bloch";
+
     @Mock
     private BorrowerRepository borrowerRepository;
 
@@ -28,7 +48,22 @@ class LibraryServiceImplTest {
     private BookService bookService;
 
     @Mock
-    private BorrowRecordService borrowRecordService;
+    private LoanLedger loanLedger;
+
+    @Mock
+    private LoanProjection loanProjection;
+
+    @Mock
+    private TitleInventory titleInventory;
+
+    @Mock
+    private CatalogView catalogView;
+
+    @Mock
+    private StatsService statsService;
+
+    @Mock
+    private LibraryMetrics libraryMetrics;
 
     @InjectMocks
     private LibraryServiceImpl libraryService;
@@ -50,33 +85,56 @@ class LibraryServiceImplTest {
     }
 
     @Test
-    void borrowBook_shouldSucceed_whenBookIsAvailable() {
-        // Prepare mock borrower and book with availability set to true
+    void borrowBook_shouldAppendBorrowEvent_whenBookIsAvailable() {
+        // Book 100 was borrowed and returned once, so the borrow creates its version 3
         Long borrowerId = 1L;
         Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanProjection.refresh(bookId)).thenReturn(new BookLoanState(2, 0, 0, null, null));
+        when(loanLedger.append(any(LedgerEvent.class))).thenAnswer(invocation ->
+                invocation.<LedgerEvent>getArgument(0).appended(42));
 
-        Borrower borrower = new Borrower();
-        borrower.setId(borrowerId);
+        assertDoesNotThrow(() -> libraryService.borrowBook(borrowerId, bookId));
 
-        Book book = new Book();
-        book.setId(bookId);
-        book.setAvailable(true);
+        ArgumentCaptor<LedgerEvent> appended = ArgumentCaptor.forClass(LedgerEvent.class);
+        verify(loanLedger).append(appended.capture());
+        LedgerEvent event = appended.getValue();
+        assertEquals(LoanEventType.BOOK_BORROWED, event.type());
+        assertEquals(3, event.bookVersion());
+        assertEquals(1L, event.borrowerId());
+        assertEquals(event.occurredAt().plusDays(14), event.dueAt());
+        verify(loanProjection).apply(argThat(applied -> applied.loanId() == 42));
+        verify(titleInventory).takeCopy(ISBN);
+        verify(statsService).recordBorrow(AUTHOR, event.occurredAt().toLocalDate());
+        verify(libraryMetrics).recordBorrow();
+    }
 
-        when(borrowerRepository.findById(borrowerId)).thenReturn(Optional.of(borrower));
-        when(bookService.getBookById(bookId)).thenReturn(book);
-        doNothing().when(borrowRecordService).validateBookAvailability(bookId);
-        doNothing().when(borrowRecordService).saveBorrowRecord(any(BorrowRecord.class));
-        doNothing().when(bookService).updateBook(book);
+    @Test
+    void borrowBook_shouldThrowException_whenBookIsBorrowed() {
+        // The refreshed state shows an active loan, so nothing is appended
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanProjection.refresh(bookId)).thenReturn(new BookLoanState(1, 2L, 7L, null, null));
 
-        // No exception should be thrown, and all necessary methods should be called
-        assertDoesNotThrow(() -> libraryService.borrowBook(borrowerId, bookId));
+        assertThrows(BookUnavailableException.class, () -> libraryService.borrowBook(borrowerId, bookId));
 
-        // Verify interactions with mocks
-        verify(borrowerRepository).findById(borrowerId);
-        verify(bookService).getBookById(bookId);
-        verify(borrowRecordService).validateBookAvailability(bookId);
-        verify(borrowRecordService).saveBorrowRecord(any(BorrowRecord.class));
-        verify(bookService).updateBook(book);
+        verifyNoInteractions(loanLedger, libraryMetrics);
+    }
+
+    @Test
+    void borrowBook_shouldThrowException_whenVersionWasTakenConcurrently() {
+        // Another borrow was appended between the refresh and the append
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanProjection.refresh(bookId)).thenReturn(BookLoanState.AVAILABLE);
+        when(loanLedger.append(any(LedgerEvent.class))).thenThrow(new DuplicateKeyException("loan_event_book_version_key"));
+
+        assertThrows(BookUnavailableException.class, () -> libraryService.borrowBook(borrowerId, bookId));
+
+        verify(loanProjection, never()).apply(any());
+        verifyNoInteractions(libraryMetrics, titleInventory, statsService);
     }
 
     @Test
@@ -90,44 +148,139 @@ class LibraryServiceImplTest {
         // Expect RecordNotFoundException to be thrown
         assertThrows(RecordNotFoundException.class, () -> libraryService.borrowBook(borrowerId, bookId));
 
-        // Verify that the repository was called
+        // Verify that the repository was called and no borrow was counted
         verify(borrowerRepository).findById(borrowerId);
+        verifyNoInteractions(libraryMetrics);
     }
 
     @Test
-    void returnBook_shouldSucceed_whenBorrowRecordExists() {
-        // Set up a borrowed book and a borrower with a valid borrow record
+    void borrowCopy_shouldBorrowFreeCopy_whenTitleHasAvailableCopy() {
+        // The view still shows both copies as available, but book 100 was borrowed since its last refresh
         Long borrowerId = 1L;
-        Long bookId = 100L;
+        stubBorrower(borrowerId);
+        when(titleInventory.takeCopy(ISBN)).thenReturn(true);
+        when(catalogView.findAvailable(ISBN, COPY_CANDIDATE_LIMIT)).thenReturn(List.of(entry(100L), entry(101L)));
+        when(loanProjection.refresh(100L)).thenReturn(new BookLoanState(1, 2L, 7L, null, null));
+        when(loanProjection.refresh(101L)).thenReturn(new BookLoanState(2, 0, 0, null, null));
+        when(loanLedger.append(any(LedgerEvent.class))).thenAnswer(invocation ->
+                invocation.<LedgerEvent>getArgument(0).appended(44));
+
+        assertEquals(101L, libraryService.borrowCopy(borrowerId, ISBN));
+
+        verify(loanLedger).append(argThat(event -> event.type() == LoanEventType.BOOK_BORROWED
+                && event.bookId() == 101L && event.bookVersion() == 3));
+        verify(loanProjection).apply(argThat(event -> event.sequence() == 44));
+        verify(titleInventory, never()).releaseCopy(any());
+        verify(statsService).recordBorrow(eq(AUTHOR), any());
+        verify(libraryMetrics).recordBorrow();
+        verifyNoInteractions(bookService);
+    }
 
-        Borrower borrower = new Borrower();
-        borrower.setId(borrowerId);
+    @Test
+    void borrowCopy_shouldCheckEveryCopy_whenNoCandidateIsFree() {
+        // The view's only candidate is on loan, and copy 102 was returned since the view's last refresh
+        Long borrowerId = 1L;
+        stubBorrower(borrowerId);
+        when(titleInventory.takeCopy(ISBN)).thenReturn(true);
+        when(catalogView.findAvailable(ISBN, COPY_CANDIDATE_LIMIT)).thenReturn(List.of(entry(100L)));
+        when(bookService.lookupBooks(argThat(request -> request.getIsbns().equals(List.of(ISBN)))))
+                .thenReturn(List.of(response(100L), response(101L), response(102L)));
+        when(loanProjection.refresh(100L)).thenReturn(new BookLoanState(1, 2L, 7L, null, null));
+        when(loanProjection.refresh(101L)).thenReturn(new BookLoanState(3, 3L, 8L, null, null));
+        when(loanProjection.refresh(102L)).thenReturn(new BookLoanState(2, 0, 0, null, null));
+        when(loanLedger.append(any(LedgerEvent.class))).thenAnswer(invocation ->
+                invocation.<LedgerEvent>getArgument(0).appended(45));
+
+        assertEquals(102L, libraryService.borrowCopy(borrowerId, ISBN));
+
+        // The candidate already refreshed is not refreshed again
+        verify(loanProjection, times(1)).refresh(100L);
+        verify(loanLedger).append(argThat(event -> event.bookId() == 102L && event.bookVersion() == 3));
+        verify(titleInventory, never()).releaseCopy(any());
+        verify(statsService).recordBorrow(eq(AUTHOR), any());
+        verify(libraryMetrics).recordBorrow();
+    }
 
-        Book book = new Book();
-        book.setId(bookId);
-        book.setAvailable(false);
+    @Test
+    void borrowCopy_shouldThrowException_whenNoCopyIsCounted() {
+        // The conditional decrement fails, so no copy is read or appended
+        Long borrowerId = 1L;
+        stubBorrower(borrowerId);
+        when(titleInventory.takeCopy(ISBN)).thenReturn(false);
 
-        BorrowRecord record = BorrowRecord.builder()
-                .borrower(borrower)
-                .book(book)
-                .borrowedAt(LocalDateTime.now().minusDays(1))
-                .build();
+        assertThrows(NoCopyAvailableException.class, () -> libraryService.borrowCopy(borrowerId, ISBN));
 
-        when(borrowerRepository.findById(borrowerId)).thenReturn(Optional.of(borrower));
-        when(bookService.getBookById(bookId)).thenReturn(book);
-        when(borrowRecordService.getActiveBorrowRecord(borrowerId, bookId)).thenReturn(record);
-        doNothing().when(borrowRecordService).updateBorrowRecord(record);
-        doNothing().when(bookService).updateBook(book);
+        verifyNoInteractions(catalogView, loanLedger, libraryMetrics);
+        verify(titleInventory, never()).releaseCopy(any());
+    }
+
+    @Test
+    void borrowCopy_shouldReleaseCount_whenEveryCopyIsTakenConcurrently() {
+        // The count admitted the borrow, but the only free copy was borrowed before the append
+        Long borrowerId = 1L;
+        stubBorrower(borrowerId);
+        when(titleInventory.takeCopy(ISBN)).thenReturn(true);
+        when(catalogView.findAvailable(ISBN, COPY_CANDIDATE_LIMIT)).thenReturn(List.of(entry(100L)));
+        when(loanProjection.refresh(100L)).thenReturn(BookLoanState.AVAILABLE);
+        when(loanLedger.append(any(LedgerEvent.class))).thenThrow(new DuplicateKeyException("loan_event_book_version_key"));
+
+        assertThrows(NoCopyAvailableException.class, () -> libraryService.borrowCopy(borrowerId, ISBN));
+
+        // Every copy of the title was checked before giving up
+        verify(bookService).lookupBooks(any());
+        verify(titleInventory).releaseCopy(ISBN);
+        verifyNoInteractions(libraryMetrics, statsService);
+    }
+
+    @Test
+    void borrowCopy_shouldReleaseCount_whenAppendFails() {
+        // The ledger cannot be written after the count was taken
+        Long borrowerId = 1L;
+        stubBorrower(borrowerId);
+        when(titleInventory.takeCopy(ISBN)).thenReturn(true);
+        when(catalogView.findAvailable(ISBN, COPY_CANDIDATE_LIMIT)).thenReturn(List.of(entry(100L)));
+        when(loanProjection.refresh(100L)).thenReturn(BookLoanState.AVAILABLE);
+        when(loanLedger.append(any(LedgerEvent.class))).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> libraryService.borrowCopy(borrowerId, ISBN));
+
+        // The count is given back instead of leaking a copy until the next reconciliation
+        verify(titleInventory).releaseCopy(ISBN);
+        verifyNoInteractions(libraryMetrics, statsService);
+    }
+
+    @Test
+    void returnBook_shouldAppendReturnEvent_whenBorrowerHoldsBook() {
+        // The return closes loan 7 at the next version of the book
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanProjection.refresh(bookId)).thenReturn(new BookLoanState(1, borrowerId, 7L,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(13)));
+        when(loanLedger.append(any(LedgerEvent.class))).thenAnswer(invocation ->
+                invocation.<LedgerEvent>getArgument(0).appended(43));
 
-        // No exception expected when returning a valid book
         assertDoesNotThrow(() -> libraryService.returnBook(borrowerId, bookId));
 
-        // Verify all necessary operations occurred
-        verify(borrowerRepository).findById(borrowerId);
-        verify(bookService).getBookById(bookId);
-        verify(borrowRecordService).getActiveBorrowRecord(borrowerId, bookId);
-        verify(borrowRecordService).updateBorrowRecord(record);
-        verify(bookService).updateBook(book);
+        verify(loanLedger).append(argThat(event -> event.type() == LoanEventType.BOOK_RETURNED
+                && event.loanId() == 7 && event.bookVersion() == 2));
+        verify(loanProjection).apply(argThat(event -> event.sequence() == 43));
+        verify(titleInventory).releaseCopy(ISBN);
+        verify(statsService).recordReturn();
+        verify(libraryMetrics).recordReturn();
+    }
+
+    @Test
+    void returnBook_shouldThrowException_whenBookIsHeldByAnotherBorrower() {
+        // Only the borrower holding the book can return it
+        Long borrowerId = 1L;
+        Long bookId = 100L;
+        stubBorrowerAndBook(borrowerId, bookId);
+        when(loanProjection.refresh(bookId)).thenReturn(new BookLoanState(1, 2L, 7L, null, null));
+
+        assertThrows(ActiveBorrowRecordNotFoundException.class, () -> libraryService.returnBook(borrowerId, bookId));
+
+        verifyNoInteractions(loanLedger, libraryMetrics);
     }
 
     @Test
@@ -170,4 +323,31 @@ class LibraryServiceImplTest {
         assertThrows(RecordNotFoundException.class, () -> libraryService.getBorrowerById(borrowerId));
         verify(borrowerRepository).findById(borrowerId);
     }
+
+    private void stubBorrowerAndBook(Long borrowerId, Long bookId) {
+        stubBorrower(borrowerId);
+        when(bookService.getBookById(bookId)).thenReturn(copy(bookId));
+    }
+
+    private void stubBorrower(Long borrowerId) {
+        Borrower borrower = new Borrower();
+        borrower.setId(borrowerId);
+        when(borrowerRepository.findById(borrowerId)).thenReturn(Optional.of(borrower));
+    }
+
+    private static Book copy(Long bookId) {
+        Book book = new Book();
+        book.setId(bookId);
+        book.setIsbn(ISBN);
+        book.setAuthor(AUTHOR);
+        return book;
+    }
+
+    private static BookResponse response(Long bookId) {
+        return BookResponse.builder().id(bookId).isbn(ISBN).title("Effective Java").author(AUTHOR).build();
+    }
+
+    private static CatalogEntry entry(Long bookId) {
+        return new CatalogEntry(bookId, ISBN, "Effective Java", AUTHOR, true, 0, null, 0, LocalDateTime.now());
+    }
 }
@@ -0,0 +1,116 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.archive.ArchivedLoan;
+import com.san.libraryservice.archive.LoanArchive;
+import com.san.libraryservice.service.impl.LoanArchiveServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.san.libraryservice.constant.ArchiveConstants.SELECT_ARCHIVABLE_LOANS;
+import static com.san.libraryservice.constant.ArchiveConstants.SELECT_BORROW_RECORD_EXISTS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanArchiveServiceImplTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 10, 9, 30);
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private LoanArchive loanArchive;
+    private LoanArchiveServiceImpl loanArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        loanArchive = new LoanArchive(directory);
+        loanArchiveService = new LoanArchiveServiceImpl(jdbcTemplate, transactionTemplate, loanArchive);
+    }
+
+    @Test
+    void archiveReturnedLoans_shouldResolvePendingSegmentsOfInterruptedRun() throws IOException {
+        // One pending segment whose loans were deleted before the crash, one whose delete never ran
+        loanArchive.writePending(List.of(loan(1), loan(2)));
+        loanArchive.writePending(List.of(loan(3)));
+        when(jdbcTemplate.queryForObject(SELECT_BORROW_RECORD_EXISTS, Boolean.class, 1L)).thenReturn(false);
+        when(jdbcTemplate.queryForObject(SELECT_BORROW_RECORD_EXISTS, Boolean.class, 3L)).thenReturn(true);
+        stubArchivableLoans(List.of());
+
+        assertEquals(0, loanArchiveService.archiveReturnedLoans(JANUARY.plusMonths(1)));
+
+        // The deleted loans are published, the others are left to the next batch
+        assertTrue(loanArchive.pendingSegments().isEmpty());
+        assertEquals(List.of(1L, 2L), archivedIds());
+    }
+
+    @Test
+    void archiveReturnedLoans_shouldDiscardTruncatedPendingSegment() throws IOException {
+        // A crash while the segment was being written left only part of it
+        Path pending = loanArchive.writePending(List.of(loan(1), loan(2)));
+        byte[] written = Files.readAllBytes(pending);
+        Files.write(pending, Arrays.copyOf(written, written.length - 4));
+        stubArchivableLoans(List.of());
+
+        loanArchiveService.archiveReturnedLoans(JANUARY.plusMonths(1));
+
+        // The loans are still in the database, so the segment is dropped without being looked up
+        assertTrue(loanArchive.pendingSegments().isEmpty());
+        assertTrue(archivedIds().isEmpty());
+        verify(jdbcTemplate, never()).queryForObject(eq(SELECT_BORROW_RECORD_EXISTS), eq(Boolean.class), any());
+    }
+
+    @Test
+    void archiveReturnedLoans_shouldDiscardSegment_whenDeleteFails() throws IOException {
+        // The batch is read but its delete transaction rolls back
+        stubArchivableLoans(List.of(loan(1), loan(2)));
+        when(transactionTemplate.execute(any())).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        LocalDateTime cutoff = JANUARY.plusMonths(1);
+        assertThrows(DataAccessResourceFailureException.class, () -> loanArchiveService.archiveReturnedLoans(cutoff));
+
+        // Nothing is published, and no pending segment is left behind
+        assertTrue(loanArchive.pendingSegments().isEmpty());
+        assertTrue(archivedIds().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubArchivableLoans(List<ArchivedLoan> loans) {
+        when(jdbcTemplate.query(eq(SELECT_ARCHIVABLE_LOANS), any(RowMapper.class), any(), any()))
+                .thenReturn((List) loans);
+    }
+
+    private List<Long> archivedIds() {
+        List<Long> ids = new ArrayList<>();
+        loanArchiveService.scanArchivedLoans(JANUARY.minusYears(1), JANUARY.plusYears(1), loan -> ids.add(loan.id()));
+        return ids;
+    }
+
+    private static ArchivedLoan loan(long id) {
+        return new ArchivedLoan(id, 1, 10 + id, JANUARY, JANUARY.plusDays(14), JANUARY.plusDays(10));
+    }
+}
@@ -0,0 +1,121 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.ledger.LedgerEvent;
+import com.san.libraryservice.ledger.LoanLedger;
+import com.san.libraryservice.ledger.LoanProjection;
+import com.san.libraryservice.ledger.LoanReadModel;
+import com.san.libraryservice.service.impl.LoanLedgerServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.san.libraryservice.constant.LedgerConstants.LEDGER_BATCH_SIZE;
+import static com.san.libraryservice.ledger.LoanEventType.BOOK_BORROWED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanLedgerServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    @Mock
+    private LoanLedger loanLedger;
+
+    @Mock
+    private LoanProjection loanProjection;
+
+    @Mock
+    private LoanReadModel loanReadModel;
+
+    @Test
+    void projectEvents_shouldHoldCheckpoint_untilEventCommittedOutOfOrderIsRead() {
+        LoanLedgerServiceImpl loanLedgerService = new LoanLedgerServiceImpl(loanLedger, loanProjection,
+                loanReadModel, Duration.ofMinutes(1));
+
+        // Sequence 2 was allocated before 3 but its append has not committed yet
+        when(loanReadModel.checkpoint()).thenReturn(0L);
+        when(loanLedger.readSettled(0, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(1, 10), event(3, 30)));
+
+        // Both visible events are applied, but the checkpoint stays below the missing sequence
+        assertEquals(2, loanLedgerService.projectEvents());
+        verify(loanReadModel).project(List.of(event(1, 10), event(3, 30)), 1L);
+
+        // The late append becomes visible: only it is applied, and the checkpoint moves past both
+        when(loanReadModel.checkpoint()).thenReturn(1L);
+        when(loanLedger.readSettled(1, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(2, 20), event(3, 30)));
+
+        assertEquals(1, loanLedgerService.projectEvents());
+        verify(loanReadModel).project(List.of(event(2, 20)), 3L);
+    }
+
+    @Test
+    void projectEvents_shouldReleaseCheckpoint_whenGapTimesOut() {
+        // Without a timeout a missing sequence is taken as abandoned as soon as it is seen
+        LoanLedgerServiceImpl loanLedgerService = new LoanLedgerServiceImpl(loanLedger, loanProjection,
+                loanReadModel, Duration.ZERO);
+        when(loanReadModel.checkpoint()).thenReturn(0L);
+        when(loanLedger.readSettled(0, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(1, 10), event(3, 30)));
+
+        assertEquals(2, loanLedgerService.projectEvents());
+        verify(loanReadModel).project(List.of(event(1, 10), event(3, 30)), 3L);
+    }
+
+    @Test
+    void projectEvents_shouldNotApplyEventsTwice_whileCheckpointIsHeld() {
+        LoanLedgerServiceImpl loanLedgerService = new LoanLedgerServiceImpl(loanLedger, loanProjection,
+                loanReadModel, Duration.ofMinutes(1));
+        when(loanReadModel.checkpoint()).thenReturn(0L, 1L);
+        when(loanLedger.readSettled(0, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(1, 10), event(3, 30)));
+        when(loanLedger.readSettled(1, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(3, 30)));
+        loanLedgerService.projectEvents();
+
+        // The gap is still open, so the next run reads event 3 again but has nothing to apply
+        assertEquals(0, loanLedgerService.projectEvents());
+        verify(loanReadModel, times(1)).project(anyList(), anyLong());
+    }
+
+    @Test
+    void projectEvents_shouldContinueFromCheckpoint_whenAnotherInstanceProjectedFurther() {
+        LoanLedgerServiceImpl loanLedgerService = new LoanLedgerServiceImpl(loanLedger, loanProjection,
+                loanReadModel, Duration.ofMinutes(1));
+        when(loanReadModel.checkpoint()).thenReturn(0L);
+        when(loanLedger.readSettled(0, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(1, 10)));
+
+        // Another instance had already projected through sequence 5 when the batch got the lock
+        when(loanReadModel.project(List.of(event(1, 10)), 1L)).thenReturn(5L);
+        loanLedgerService.projectEvents();
+
+        // The next run reads on from there, and the event seen then is not skipped as already read
+        when(loanReadModel.checkpoint()).thenReturn(5L);
+        when(loanLedger.readSettled(5, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(6, 60)));
+        assertEquals(1, loanLedgerService.projectEvents());
+        verify(loanReadModel).project(List.of(event(6, 60)), 6L);
+    }
+
+    @Test
+    void projectEvents_shouldApplyEventsAgain_whenBatchFailed() {
+        LoanLedgerServiceImpl loanLedgerService = new LoanLedgerServiceImpl(loanLedger, loanProjection,
+                loanReadModel, Duration.ofMinutes(1));
+        when(loanReadModel.checkpoint()).thenReturn(0L);
+        when(loanLedger.readSettled(0, LEDGER_BATCH_SIZE)).thenReturn(List.of(event(1, 10), event(2, 20)));
+        when(loanReadModel.project(anyList(), anyLong()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(2L);
+
+        assertThrows(IllegalStateException.class, loanLedgerService::projectEvents);
+
+        // The failed batch was rolled back, so the next run applies the same events
+        assertEquals(2, loanLedgerService.projectEvents());
+        verify(loanReadModel, times(2)).project(List.of(event(1, 10), event(2, 20)), 2L);
+    }
+
+    private static LedgerEvent event(long sequence, long bookId) {
+        return new LedgerEvent(sequence, BOOK_BORROWED, bookId, 1, 7L, sequence, NOW, NOW.plusDays(14));
+    }
+}
@@ -0,0 +1,92 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.service.impl.PartitionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.san.libraryservice.constant.PartitionConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PartitionServiceImpl partitionService;
+
+    @BeforeEach
+    void setUp() {
+        partitionService = new PartitionServiceImpl(jdbcTemplate, transactionTemplate, 3, 24);
+    }
+
+    @Test
+    void createUpcomingPartitions_shouldCreateCurrentAndAheadMonths() {
+        // June already exists, July to September are new
+        when(jdbcTemplate.queryForObject(eq(CREATE_PARTITION), eq(Boolean.class), any(Date.class)))
+                .thenReturn(false, true, true, true);
+
+        int created = partitionService.createUpcomingPartitions(TODAY);
+
+        assertEquals(3, created);
+        verify(jdbcTemplate).queryForObject(CREATE_PARTITION, Boolean.class, Date.valueOf("2025-06-01"));
+        verify(jdbcTemplate).queryForObject(CREATE_PARTITION, Boolean.class, Date.valueOf("2025-09-01"));
+    }
+
+    @Test
+    void archiveExpiredPartitions_shouldDetachOnlyPartitionsBeyondRetention() {
+        // Retention is 24 months, so June 2023 is the oldest partition kept
+        when(jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class)).thenReturn(List.of(
+                "borrow_record_default", "borrow_record_p2023_05", "borrow_record_p2023_06"));
+        runTransactionCallbacks();
+        when(jdbcTemplate.queryForObject(SELECT_PARTITION_HAS_ACTIVE_LOANS.formatted("borrow_record_p2023_05"),
+                Boolean.class)).thenReturn(false);
+
+        List<String> archived = partitionService.archiveExpiredPartitions(TODAY);
+
+        assertEquals(List.of("borrow_record_p2023_05"), archived);
+        verify(jdbcTemplate).execute(DETACH_PARTITION.formatted("borrow_record_p2023_05"));
+        verify(jdbcTemplate).execute(ARCHIVE_PARTITION.formatted("borrow_record_p2023_05"));
+        verify(jdbcTemplate, never()).execute(DETACH_PARTITION.formatted("borrow_record_p2023_06"));
+        verify(jdbcTemplate, never()).execute(DETACH_PARTITION.formatted("borrow_record_default"));
+    }
+
+    @Test
+    void archiveExpiredPartitions_shouldKeepPartition_whenLoanStillActive() {
+        // A book borrowed three years ago has never been returned
+        when(jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class))
+                .thenReturn(List.of("borrow_record_p2022_01"));
+        runTransactionCallbacks();
+        when(jdbcTemplate.queryForObject(SELECT_PARTITION_HAS_ACTIVE_LOANS.formatted("borrow_record_p2022_01"),
+                Boolean.class)).thenReturn(true);
+
+        List<String> archived = partitionService.archiveExpiredPartitions(TODAY);
+
+        assertTrue(archived.isEmpty());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+}
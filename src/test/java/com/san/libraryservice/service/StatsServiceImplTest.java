@@ -0,0 +1,125 @@
+package com.san.libraryservice.service;
+
+import com.san.libraryservice.dto.AuthorLoans;
+import com.san.libraryservice.dto.DailyLoans;
+import com.san.libraryservice.dto.StatsResponse;
+import com.san.libraryservice.event.BookAddedEvent;
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.repository.BookRepository;
+import com.san.libraryservice.repository.BorrowerRepository;
+import com.san.libraryservice.service.impl.StatsServiceImpl;
+import com.san.libraryservice.stats.LoanStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.san.libraryservice.constant.StatsConstants.STATS_DAYS;
+import static com.san.libraryservice.constant.StatsConstants.STATS_TOP_AUTHORS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BorrowerRepository borrowerRepository;
+
+    @Mock
+    private LoanStatistics loanStatistics;
+
+    @InjectMocks
+    private StatsServiceImpl statsService;
+
+    @Test
+    void getStats_shouldReflectRecordedChanges_withoutQueries() {
+        // Three books and a borrower are added, two books are borrowed today and one is returned
+        LocalDate today = LocalDate.now();
+        statsService.recordBookAdded();
+        statsService.recordBookAdded();
+        statsService.recordBookAdded();
+        statsService.recordBorrowerRegistered();
+        statsService.recordBorrow("Joshua Bloch", today);
+        statsService.recordBorrow("Robert Martin", today);
+        statsService.recordReturn();
+
+        StatsResponse stats = statsService.getStats();
+
+        assertEquals(3, stats.getTotalBooks());
+        assertEquals(1, stats.getBooksOnLoan());
+        assertEquals(2, stats.getAvailableBooks());
+        assertEquals(1, stats.getTotalBorrowers());
+        assertEquals(STATS_DAYS, stats.getLoansPerDay().size());
+        assertEquals(new DailyLoans(today, 2), stats.getLoansPerDay().get(STATS_DAYS - 1));
+        verifyNoInteractions(bookRepository, borrowerRepository, loanStatistics);
+    }
+
+    @Test
+    void onBookAdded_shouldCountBook() {
+        // The event is handled once the transaction that added the book has committed
+        statsService.onBookAdded(new BookAddedEvent(new Book()));
+
+        assertEquals(1, statsService.getStats().getTotalBooks());
+        assertEquals(1, statsService.getStats().getAvailableBooks());
+    }
+
+    @Test
+    void recordBorrow_shouldKeepMostBorrowedAuthorsRanked() {
+        // One more author than the list holds, each borrowed once more than the previous one
+        for (int author = 0; author <= STATS_TOP_AUTHORS; author++) {
+            for (int loan = 0; loan <= author; loan++) {
+                statsService.recordBorrow("Author " + author, LocalDate.now());
+            }
+        }
+        // The least borrowed author overtakes all others
+        for (int loan = 0; loan < STATS_TOP_AUTHORS + 1; loan++) {
+            statsService.recordBorrow("Author 0", LocalDate.now());
+        }
+
+        List<AuthorLoans> topAuthors = statsService.getStats().getTopAuthors();
+
+        assertEquals(STATS_TOP_AUTHORS, topAuthors.size());
+        assertEquals(new AuthorLoans("Author 0", STATS_TOP_AUTHORS + 2), topAuthors.get(0));
+        assertEquals(new AuthorLoans("Author " + STATS_TOP_AUTHORS, STATS_TOP_AUTHORS + 1), topAuthors.get(1));
+        assertTrue(topAuthors.stream().noneMatch(entry -> entry.author().equals("Author 1")));
+    }
+
+    @Test
+    void reconcile_shouldReplaceCountersWithLedgerTotals() {
+        // A counter drifted before the reconciliation
+        statsService.recordBorrow("Stale Author", LocalDate.now());
+        LocalDate today = LocalDate.now();
+        LocalDate firstReported = today.minusDays(STATS_DAYS - 1L);
+        when(bookRepository.count()).thenReturn(2L);
+        when(borrowerRepository.count()).thenReturn(5L);
+        // Book 1 was borrowed and returned long ago, then both books were borrowed today
+        when(loanStatistics.countActiveLoans()).thenReturn(2L);
+        when(loanStatistics.countLoansByDay(firstReported)).thenReturn(Map.of(today, 2L));
+        when(loanStatistics.countLoansByAuthor()).thenReturn(Map.of("Joshua Bloch", 2L, "Robert Martin", 1L));
+
+        assertEquals(2, statsService.reconcile());
+
+        StatsResponse stats = statsService.getStats();
+        assertEquals(2, stats.getTotalBooks());
+        assertEquals(2, stats.getBooksOnLoan());
+        assertEquals(0, stats.getAvailableBooks());
+        assertEquals(5, stats.getTotalBorrowers());
+        assertEquals(new DailyLoans(today, 2), stats.getLoansPerDay().get(STATS_DAYS - 1));
+        assertEquals(2, stats.getLoansPerDay().stream().mapToLong(DailyLoans::loans).sum());
+        assertEquals(List.of(new AuthorLoans("Joshua Bloch", 2), new AuthorLoans("Robert Martin", 1)),
+                stats.getTopAuthors());
+
+        // The reconciled counters keep counting the loans recorded afterwards
+        statsService.recordBorrow("Robert Martin", today);
+        statsService.recordBorrow("Robert Martin", today);
+        assertEquals(new AuthorLoans("Robert Martin", 3), statsService.getStats().getTopAuthors().get(0));
+    }
+}
@@ -0,0 +1,184 @@
+package com.san.libraryservice.storage;
+
+import com.san.libraryservice.model.Book;
+import com.san.libraryservice.model.BorrowRecord;
+import com.san.libraryservice.model.Borrower;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageEngineTest {
+
+    private static final byte[] FIRST = {1};
+    private static final byte[] SECOND = {2};
+
+    @TempDir
+    private Path directory;
+
+    private StorageEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = new StorageEngine(directory, true);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+    }
+
+    @Test
+    void commit_shouldMakeWritesVisibleOnlyAfterCommit() throws Exception {
+        // Another thread must not see the row until the transaction commits
+        engine.begin();
+        engine.put(Table.BOOK, 1, FIRST);
+
+        assertArrayEquals(FIRST, engine.get(Table.BOOK, 1));
+        assertNull(readOnOtherThread(Table.BOOK, 1));
+
+        engine.commit();
+
+        assertArrayEquals(FIRST, readOnOtherThread(Table.BOOK, 1));
+    }
+
+    @Test
+    void rollback_shouldDiscardWrites() {
+        // A committed row survives a rolled back update and delete
+        engine.put(Table.BOOK, 1, FIRST);
+
+        engine.begin();
+        engine.put(Table.BOOK, 1, SECOND);
+        engine.delete(Table.BOOK, 1);
+        engine.put(Table.BOOK, 2, SECOND);
+        engine.rollback();
+
+        assertArrayEquals(FIRST, engine.get(Table.BOOK, 1));
+        assertNull(engine.get(Table.BOOK, 2));
+        assertEquals(1, engine.count(Table.BOOK));
+    }
+
+    @Test
+    void scan_shouldMergeUncommittedWritesInIdOrder() {
+        // Rows 1 and 3 are committed; the transaction deletes 1, inserts 2 and 4
+        engine.put(Table.BOOK, 1, FIRST);
+        engine.put(Table.BOOK, 3, FIRST);
+
+        engine.begin();
+        engine.delete(Table.BOOK, 1);
+        engine.put(Table.BOOK, 4, SECOND);
+        engine.put(Table.BOOK, 2, SECOND);
+
+        StringBuilder ids = new StringBuilder();
+        engine.scan(Table.BOOK, (id, row) -> ids.append(id).append(row[0]));
+        engine.rollback();
+
+        assertEquals("223142", ids.toString());
+    }
+
+    @Test
+    void recover_shouldReplayTheLogAfterACrash() throws IOException {
+        // The engine is abandoned without a final snapshot
+        engine.put(Table.BOOK, 1, FIRST);
+        engine.begin();
+        engine.put(Table.BOOK, 2, SECOND);
+        engine.delete(Table.BOOK, 1);
+        engine.commit();
+
+        StorageEngine recovered = new StorageEngine(directory, true);
+
+        assertNull(recovered.get(Table.BOOK, 1));
+        assertArrayEquals(SECOND, recovered.get(Table.BOOK, 2));
+        assertEquals(3, recovered.nextId(Table.BOOK));
+        recovered.close();
+    }
+
+    @Test
+    void recover_shouldApplyCommitsMadeAfterTheSnapshot() throws IOException {
+        // Row 1 is only in the snapshot, row 2 only in the new log
+        engine.put(Table.BOOK, 1, FIRST);
+        engine.snapshot();
+        engine.put(Table.BORROWER, 2, SECOND);
+
+        StorageEngine recovered = new StorageEngine(directory, true);
+
+        assertArrayEquals(FIRST, recovered.get(Table.BOOK, 1));
+        assertArrayEquals(SECOND, recovered.get(Table.BORROWER, 2));
+        assertEquals(List.of("snapshot-0000000000000000001.snap", "wal-0000000000000000002.log"), files());
+        recovered.close();
+    }
+
+    @Test
+    void recover_shouldDropATornLastEntry() throws IOException {
+        // The second commit loses its last bytes, as if the process died mid-write
+        engine.put(Table.BOOK, 1, FIRST);
+        engine.put(Table.BOOK, 2, SECOND);
+        Path log = directory.resolve(files().get(0));
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        StorageEngine recovered = new StorageEngine(directory, true);
+        recovered.put(Table.BOOK, 3, SECOND);
+        StorageEngine recoveredAgain = new StorageEngine(directory, true);
+
+        assertArrayEquals(FIRST, recoveredAgain.get(Table.BOOK, 1));
+        assertNull(recoveredAgain.get(Table.BOOK, 2));
+        assertArrayEquals(SECOND, recoveredAgain.get(Table.BOOK, 3));
+        recovered.close();
+    }
+
+    @Test
+    void borrowRecordRepository_shouldTrackActiveLoans() throws IOException {
+        // A loan stops being active once it is returned, and the index survives a restart
+        InMemoryBookRepository bookRepository = new InMemoryBookRepository(engine);
+        InMemoryBorrowerRepository borrowerRepository = new InMemoryBorrowerRepository(engine);
+        InMemoryBorrowRecordRepository borrowRecordRepository = new InMemoryBorrowRecordRepository(engine);
+        Book book = bookRepository.save(Book.builder().isbn("978-0-13-468599-1").title("Effective Java").build());
+        Borrower borrower = borrowerRepository.save(Borrower.builder().name("Supun San").build());
+        LocalDateTime now = LocalDateTime.now();
+        BorrowRecord loan = borrowRecordRepository.save(
+                BorrowRecord.builder().book(book).borrower(borrower).borrowedAt(now).dueAt(now.plusDays(14)).build());
+
+        assertTrue(borrowRecordRepository.existsByBookIdAndReturnedAtIsNull(book.getId()));
+        assertEquals(loan.getId(), borrowRecordRepository
+                .findByBorrowerIdAndBookIdAndReturnedAtIsNull(borrower.getId(), book.getId()).orElseThrow().getId());
+
+        StorageEngine recovered = new StorageEngine(directory, true);
+        InMemoryBorrowRecordRepository recoveredRepository = new InMemoryBorrowRecordRepository(recovered);
+        BorrowRecord recoveredLoan = recoveredRepository.findById(loan.getId()).orElseThrow();
+        assertEquals("Effective Java", recoveredLoan.getBook().getTitle());
+        recoveredLoan.setReturnedAt(now.plusDays(1));
+        recoveredRepository.save(recoveredLoan);
+
+        assertFalse(recoveredRepository.existsByBookIdAndReturnedAtIsNull(book.getId()));
+        assertEquals(book.getId(), new InMemoryBookRepository(recovered)
+                .findFirstByIsbn("978-0-13-468599-1").orElseThrow().getId());
+        recovered.close();
+    }
+
+    private byte[] readOnOtherThread(Table table, long id) throws Exception {
+        byte[][] result = new byte[1][];
+        Thread thread = new Thread(() -> result[0] = engine.get(table, id));
+        thread.start();
+        thread.join();
+        return result[0];
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.san.libraryservice.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.san.libraryservice.validation.IsbnValidator.INVALID_ISBN;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsbnValidatorTest {
+
+    private final IsbnValidator validator = new IsbnValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"9780134685991", "978-0-13-468599-1", "978 0 13 468599 1", "0-306-40615-2", "080442957X", "080442957x"})
+    void isValid_shouldAcceptValidIsbns(String isbn) {
+        assertTrue(validator.isValid(isbn, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"978-0-13-468599-2", "0-306-40615-3", "97801346859A1", "X804429570", "08044295X7", "12345", "---", "97801346859910"})
+    void isValid_shouldRejectInvalidIsbns(String isbn) {
+        assertFalse(validator.isValid(isbn, null));
+    }
+
+    @Test
+    void isValid_shouldSkipBlankValues() {
+        // Blank and null values are left to @NotBlank
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid("   ", null));
+    }
+
+    @Test
+    void toIsbn13_shouldNormalizeIsbn10AndIsbn13() {
+        // ISBN-10 values are converted to their 978-prefixed ISBN-13 equivalent
+        assertEquals(9780306406157L, IsbnValidator.toIsbn13("0-306-40615-2"));
+        assertEquals(9780306406157L, IsbnValidator.toIsbn13("978-0-306-40615-7"));
+        assertEquals(9780804429573L, IsbnValidator.toIsbn13("080442957X"));
+        assertEquals(INVALID_ISBN, IsbnValidator.toIsbn13("0-306-40615-3"));
+    }
+}
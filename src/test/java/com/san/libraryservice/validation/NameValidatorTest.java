@@ -0,0 +1,38 @@
+package com.san.libraryservice.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameValidatorTest {
+
+    private final NameValidator validator = new NameValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Supun San", "Supun-San", "O'Brien", "  Joshua Bloch  ", "José Álvarez", "Zoë", "Łukasz", "José"})
+    void isValid_shouldAcceptNames(String name) {
+        assertTrue(validator.isValid(name, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Jo", "R2D2", "Ann-", "-Ann", "John_Smith", "́abc", "John.Smith"})
+    void isValid_shouldRejectInvalidNames(String name) {
+        assertFalse(validator.isValid(name, null));
+    }
+
+    @Test
+    void isValid_shouldEnforceMaximumLength() {
+        // 50 letters are allowed, 51 are not
+        assertTrue(validator.isValid("a".repeat(50), null));
+        assertFalse(validator.isValid("a".repeat(51), null));
+    }
+
+    @Test
+    void isValid_shouldSkipBlankValues() {
+        // Blank and null values are left to @NotBlank
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid("   ", null));
+    }
+}
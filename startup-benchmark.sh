@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Compares the startup time of the default and fast-startup images.
+# Each image is started RUNS times against the PostgreSQL service of docker-compose.yml, and the
+# "process running for" time Spring Boot logs once the application has started is recorded.
+# Results are printed and written to target/startup-benchmark.txt.
+#
+# Usage: DB_USER=... DB_PASS=... DB_NAME=... ./startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+RESULTS=target/startup-benchmark.txt
+: "${DB_USER:?DB_USER must be set}" "${DB_PASS:?DB_PASS must be set}" "${DB_NAME:?DB_NAME must be set}"
+
+mvn -q -DskipTests package
+docker build -q -t library-system:default . > /dev/null
+mvn -q -DskipTests -Pfast-startup package
+docker build -q --target fast-startup -t library-system:fast . > /dev/null
+
+docker compose up -d postgres
+network=$(docker inspect -f '{{range $name, $_ := .NetworkSettings.Networks}}{{$name}}{{end}}' \
+    "$(docker compose ps -q postgres)")
+
+# Starts the image once and prints the seconds the JVM had been running when startup completed
+startup_seconds() {
+    local container
+    container=$(docker run -d --network "$network" -e SPRING_PROFILES_ACTIVE=prod \
+        -e DB_USER="$DB_USER" -e DB_PASS="$DB_PASS" -e DB_NAME="$DB_NAME" "$1")
+    local seconds=""
+    for _ in $(seq 1 120); do
+        seconds=$(docker logs "$container" 2>&1 | grep -o 'process running for [0-9.]*' | grep -o '[0-9.]*$' || true)
+        if [ -n "$seconds" ] || [ "$(docker inspect -f '{{.State.Running}}' "$container")" != "true" ]; then
+            break
+        fi
+        sleep 0.5
+    done
+    docker rm -f "$container" > /dev/null
+    if [ -z "$seconds" ]; then
+        echo "$1 did not start" >&2
+        exit 1
+    fi
+    echo "$seconds"
+}
+
+mkdir -p target
+{
+    echo "Startup time in seconds, $RUNS runs per image ($(date -u +%Y-%m-%dT%H:%M:%SZ))"
+    for image in default fast; do
+        times=()
+        for _ in $(seq 1 "$RUNS"); do
+            times+=("$(startup_seconds "library-system:$image")")
+        done
+        median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{ t[NR] = $1 } END { print (NR % 2) ? t[(NR + 1) / 2] : (t[NR / 2] + t[NR / 2 + 1]) / 2 }')
+        echo "library-system:$image median ${median}s (runs: ${times[*]})"
+    done
+} | tee "$RESULTS"